@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Matthew Hall and others.
+ * Copyright (c) 2008, 2026 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,11 +36,13 @@ import org.eclipse.core.databinding.property.list.SimpleListProperty;
  */
 public class BeanListProperty<S, E> extends SimpleListProperty<S, E> {
 	private final PropertyDescriptor propertyDescriptor;
+	private final BeanPropertyAccessor accessor;
 	private final Class<E> elementType;
 
 	@SuppressWarnings("unchecked")
 	public BeanListProperty(PropertyDescriptor propertyDescriptor, Class<E> elementType) {
 		this.propertyDescriptor = propertyDescriptor;
+		this.accessor = new BeanPropertyAccessor(propertyDescriptor);
 		this.elementType = elementType == null
 				? (Class<E>) BeanPropertyHelper.getCollectionPropertyElementType(propertyDescriptor)
 				: elementType;
@@ -53,7 +55,7 @@ public class BeanListProperty<S, E> extends SimpleListProperty<S, E> {
 
 	@Override
 	protected List<E> doGetList(S source) {
-		return asList(BeanPropertyHelper.readProperty(source, propertyDescriptor));
+		return asList(accessor.read(source));
 	}
 
 	@SuppressWarnings("unchecked")
@@ -72,7 +74,7 @@ public class BeanListProperty<S, E> extends SimpleListProperty<S, E> {
 
 	@Override
 	protected void doSetList(S source, List<E> list) {
-		BeanPropertyHelper.writeProperty(source, propertyDescriptor, convertListToBeanPropertyType(list));
+		accessor.write(source, convertListToBeanPropertyType(list));
 	}
 
 	private Object convertListToBeanPropertyType(List<E> list) {
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.beans;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.databinding.util.Policy;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+/**
+ * Reads and writes a bean property through method handles of its read and
+ * write methods. Unlike {@link Method#invoke(Object, Object...)}, invoking a
+ * method handle neither checks access nor boxes the arguments into an array on
+ * every call, and the accessor does not need to look up the methods of the
+ * {@link PropertyDescriptor} again for each access.
+ * <p>
+ * The method handles are cached per method, and the cache is held by the
+ * declaring class of the method, so it does not keep classes from being
+ * unloaded. Errors are handled like {@link BeanPropertyHelper} has always
+ * handled them: problems accessing the property are logged, exceptions thrown
+ * by the accessor methods are rethrown wrapped in a {@link RuntimeException}.
+ * </p>
+ */
+public final class BeanPropertyAccessor {
+	private static final MethodType READ_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType WRITE_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static final ClassValue<Map<Method, Handle>> HANDLES = new ClassValue<>() {
+		@Override
+		protected Map<Method, Handle> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/**
+	 * A method handle of an accessor method, adapted to take and return
+	 * objects.
+	 */
+	private static final class Handle {
+		final Method method;
+		final MethodHandle handle;
+		/** The type of the bean. */
+		final Class<?> receiverType;
+		/** The (wrapped) type of the written value, or <code>null</code>. */
+		final Class<?> valueType;
+
+		Handle(Method method, MethodType type) throws IllegalAccessException {
+			this.method = method;
+			BeanPropertyHelper.setAccessible(method);
+			this.handle = MethodHandles.lookup().unreflect(method).asType(type);
+			this.receiverType = method.getDeclaringClass();
+			this.valueType = type == WRITE_TYPE
+					? MethodType.methodType(method.getParameterTypes()[0]).wrap().returnType()
+					: null;
+		}
+	}
+
+	private final PropertyDescriptor propertyDescriptor;
+
+	// Resolved on first use, since a property may be read-only or write-only.
+	private volatile Handle readHandle;
+	private volatile Handle writeHandle;
+
+	/**
+	 * @param propertyDescriptor
+	 *            the property to access
+	 */
+	public BeanPropertyAccessor(PropertyDescriptor propertyDescriptor) {
+		this.propertyDescriptor = propertyDescriptor;
+	}
+
+	/**
+	 * Returns the contents of the property for the given bean.
+	 *
+	 * @param source
+	 *            the source bean
+	 * @return the contents of the property for the given bean.
+	 */
+	public Object read(Object source) {
+		Handle read;
+		try {
+			read = readHandle;
+			if (read == null) {
+				Method readMethod = propertyDescriptor.getReadMethod();
+				if (readMethod == null) {
+					throw new IllegalArgumentException(propertyDescriptor.getName()
+							+ " property does not have a read method."); //$NON-NLS-1$
+				}
+				read = readHandle = getHandle(readMethod, READ_TYPE);
+			}
+			checkReceiver(read, source);
+		} catch (Exception e) {
+			Policy.getLog().log(new Status(IStatus.WARNING, Policy.JFACE_DATABINDING, IStatus.OK,
+					"Could not read value of " + source + "." + propertyDescriptor.getName(), e)); //$NON-NLS-1$ //$NON-NLS-2$
+			return null;
+		}
+		try {
+			return read.handle.invokeExact(source);
+		} catch (Throwable e) {
+			/*
+			 * Thrown by the read method, wrapped as when the
+			 * InvocationTargetException of a reflective call is unwrapped.
+			 */
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Sets the contents of the property on the given source object to the
+	 * given value.
+	 *
+	 * @param source
+	 *            the source object which has the property being updated
+	 * @param value
+	 *            the new value of the property
+	 */
+	public void write(Object source, Object value) {
+		Handle write;
+		try {
+			write = writeHandle;
+			if (write == null) {
+				Method writeMethod = propertyDescriptor.getWriteMethod();
+				if (null == writeMethod) {
+					throw new IllegalArgumentException("Missing public setter method for " //$NON-NLS-1$
+							+ propertyDescriptor.getName() + " property"); //$NON-NLS-1$
+				}
+				write = writeHandle = getHandle(writeMethod, WRITE_TYPE);
+			}
+			checkReceiver(write, source);
+			if (value == null ? write.method.getParameterTypes()[0].isPrimitive()
+					: !write.valueType.isInstance(value)) {
+				if (value != null && write.valueType != write.method.getParameterTypes()[0]) {
+					// primitive widening conversions are only done by reflection
+					write.method.invoke(source, value);
+					return;
+				}
+				throw new IllegalArgumentException("argument type mismatch"); //$NON-NLS-1$
+			}
+		} catch (InvocationTargetException e) {
+			throw new RuntimeException(e.getCause());
+		} catch (Exception e) {
+			Policy.getLog().log(new Status(IStatus.WARNING, Policy.JFACE_DATABINDING, IStatus.OK,
+					"Could not change value of " + source + "." + propertyDescriptor.getName(), e)); //$NON-NLS-1$ //$NON-NLS-2$
+			return;
+		}
+		try {
+			write.handle.invokeExact(source, value);
+		} catch (Throwable e) {
+			/*
+			 * Thrown by the write method, wrapped as when the
+			 * InvocationTargetException of a reflective call is unwrapped.
+			 */
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static void checkReceiver(Handle handle, Object source) {
+		if (!handle.receiverType.isInstance(source)) {
+			if (source == null) {
+				throw new NullPointerException();
+			}
+			throw new IllegalArgumentException("object is not an instance of declaring class"); //$NON-NLS-1$
+		}
+	}
+
+	private static Handle getHandle(Method method, MethodType type) throws IllegalAccessException {
+		Map<Method, Handle> handles = HANDLES.get(method.getDeclaringClass());
+		Handle handle = handles.get(method);
+		if (handle == null) {
+			handle = new Handle(method, type);
+			handles.putIfAbsent(method, handle);
+		}
+		return handle;
+	}
+}
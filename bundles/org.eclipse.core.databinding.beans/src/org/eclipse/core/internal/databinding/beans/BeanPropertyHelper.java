@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 Matthew Hall and others.
+ * Copyright (c) 2008, 2026 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,21 +21,31 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.databinding.observable.value.IObservableValue;
-import org.eclipse.core.databinding.util.Policy;
-import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.Status;
 
 /**
  * @since 1.2
  */
 public class BeanPropertyHelper {
+	/**
+	 * The property descriptors found by
+	 * {@link #getPropertyDescriptor(Class, String)}, by bean class and property
+	 * name.
+	 */
+	private static final ClassValue<Map<String, PropertyDescriptor>> PROPERTY_DESCRIPTORS = new ClassValue<>() {
+		@Override
+		protected Map<String, PropertyDescriptor> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
 	/**
 	 * Sets the contents of the given property on the given source object to the
 	 * given value.
@@ -49,29 +59,7 @@ public class BeanPropertyHelper {
 	 */
 	public static void writeProperty(Object source,
 			PropertyDescriptor propertyDescriptor, Object value) {
-		try {
-			Method writeMethod = propertyDescriptor.getWriteMethod();
-			if (null == writeMethod) {
-				throw new IllegalArgumentException(
-						"Missing public setter method for " //$NON-NLS-1$
-								+ propertyDescriptor.getName() + " property"); //$NON-NLS-1$
-			}
-			setAccessible(writeMethod);
-			writeMethod.invoke(source, value);
-		} catch (InvocationTargetException e) {
-			/*
-			 * InvocationTargetException wraps any exception thrown by the
-			 * invoked method.
-			 */
-			throw new RuntimeException(e.getCause());
-		} catch (Exception e) {
-			Policy.getLog()
-					.log(new Status(
-							IStatus.WARNING,
-							Policy.JFACE_DATABINDING,
-							IStatus.OK,
-							"Could not change value of " + source + "." + propertyDescriptor.getName(), e)); //$NON-NLS-1$ //$NON-NLS-2$
-		}
+		new BeanPropertyAccessor(propertyDescriptor).write(source, value);
 	}
 
 	/**
@@ -85,29 +73,7 @@ public class BeanPropertyHelper {
 	 */
 	public static Object readProperty(Object source,
 			PropertyDescriptor propertyDescriptor) {
-		try {
-			Method readMethod = propertyDescriptor.getReadMethod();
-			if (readMethod == null) {
-				throw new IllegalArgumentException(propertyDescriptor.getName()
-						+ " property does not have a read method."); //$NON-NLS-1$
-			}
-			setAccessible(readMethod);
-			return readMethod.invoke(source);
-		} catch (InvocationTargetException e) {
-			/*
-			 * InvocationTargetException wraps any exception thrown by the
-			 * invoked method.
-			 */
-			throw new RuntimeException(e.getCause());
-		} catch (Exception e) {
-			Policy.getLog()
-					.log(new Status(
-							IStatus.WARNING,
-							Policy.JFACE_DATABINDING,
-							IStatus.OK,
-							"Could not read value of " + source + "." + propertyDescriptor.getName(), e)); //$NON-NLS-1$ //$NON-NLS-2$
-			return null;
-		}
+		return new BeanPropertyAccessor(propertyDescriptor).read(source);
 	}
 
 	/**
@@ -146,6 +112,18 @@ public class BeanPropertyHelper {
 	 */
 	public static PropertyDescriptor getPropertyDescriptor(Class<?> beanClass,
 			String propertyName) {
+		Map<String, PropertyDescriptor> descriptors = PROPERTY_DESCRIPTORS.get(beanClass);
+		PropertyDescriptor descriptor = descriptors.get(propertyName);
+		if (descriptor == null) {
+			descriptor = findPropertyDescriptor(beanClass, propertyName);
+			if (descriptor != null) {
+				descriptors.putIfAbsent(propertyName, descriptor);
+			}
+		}
+		return descriptor;
+	}
+
+	private static PropertyDescriptor findPropertyDescriptor(Class<?> beanClass, String propertyName) {
 		if (!beanClass.isInterface()) {
 			BeanInfo beanInfo;
 			try {
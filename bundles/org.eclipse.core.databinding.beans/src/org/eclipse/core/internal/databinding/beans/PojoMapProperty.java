@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Matthew Hall and others.
+ * Copyright (c) 2008, 2026 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -33,11 +33,13 @@ import org.eclipse.core.databinding.property.map.SimpleMapProperty;
  */
 public class PojoMapProperty<S, K, V> extends SimpleMapProperty<S, K, V> {
 	private final PropertyDescriptor propertyDescriptor;
+	private final BeanPropertyAccessor accessor;
 	private final Class<K> keyType;
 	private final Class<V> valueType;
 
 	public PojoMapProperty(PropertyDescriptor propertyDescriptor, Class<K> keyType, Class<V> valueType) {
 		this.propertyDescriptor = propertyDescriptor;
+		this.accessor = new BeanPropertyAccessor(propertyDescriptor);
 		this.keyType = keyType;
 		this.valueType = valueType;
 	}
@@ -54,7 +56,7 @@ public class PojoMapProperty<S, K, V> extends SimpleMapProperty<S, K, V> {
 
 	@Override
 	protected Map<K, V> doGetMap(S source) {
-		return asMap(BeanPropertyHelper.readProperty(source, propertyDescriptor));
+		return asMap(accessor.read(source));
 	}
 
 	@SuppressWarnings("unchecked")
@@ -71,7 +73,7 @@ public class PojoMapProperty<S, K, V> extends SimpleMapProperty<S, K, V> {
 
 	@Override
 	protected void doSetMap(S source, Map<K, V> map) {
-		BeanPropertyHelper.writeProperty(source, propertyDescriptor, map);
+		accessor.write(source, map);
 	}
 
 	@Override
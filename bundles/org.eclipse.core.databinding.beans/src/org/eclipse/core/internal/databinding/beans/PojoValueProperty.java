@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Matthew Hall and others.
+ * Copyright (c) 2008, 2026 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,11 +30,13 @@ import org.eclipse.core.databinding.property.value.SimpleValueProperty;
  */
 public class PojoValueProperty<S, T> extends SimpleValueProperty<S, T> {
 	private final PropertyDescriptor propertyDescriptor;
+	private final BeanPropertyAccessor accessor;
 	private final Class<T> valueType;
 
 	@SuppressWarnings("unchecked")
 	public PojoValueProperty(PropertyDescriptor propertyDescriptor, Class<T> valueType) {
 		this.propertyDescriptor = propertyDescriptor;
+		this.accessor = new BeanPropertyAccessor(propertyDescriptor);
 		this.valueType = valueType == null ? (Class<T>) propertyDescriptor.getPropertyType() : valueType;
 	}
 
@@ -48,12 +50,12 @@ public class PojoValueProperty<S, T> extends SimpleValueProperty<S, T> {
 	protected T doGetValue(S source) {
 		if (source == null)
 			return null;
-		return (T) BeanPropertyHelper.readProperty(source, propertyDescriptor);
+		return (T) accessor.read(source);
 	}
 
 	@Override
 	protected void doSetValue(Object source, Object value) {
-		BeanPropertyHelper.writeProperty(source, propertyDescriptor, value);
+		accessor.write(source, value);
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2016 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@
 
 package org.eclipse.core.databinding.observable;
 
+import org.eclipse.core.internal.databinding.observable.ComputedScheduler;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.ListenerList;
 
@@ -113,9 +114,42 @@ import org.eclipse.core.runtime.ListenerList;
 	protected void fireEvent(ObservableEvent event) {
 		Object listenerType = event.getListenerType();
 		int listenerTypeIndex = findListenerTypeIndex(listenerType);
+		ComputedScheduler scheduler = realm.scheduler;
+		if (scheduler.isInvalidating()) {
+			// Fired by a computed observable marked dirty by a change: only
+			// mark the observables computed from it dirty, the other
+			// listeners are notified once the change has been propagated.
+			IObservable source = (IObservable) event.getSource();
+			if (listenerTypeIndex != -1) {
+				for (IObservablesListener listener : listenerLists[listenerTypeIndex]) {
+					if (listener instanceof ComputedScheduler.Dependent) {
+						scheduler.invalidate(() -> event.dispatch(listener));
+					} else {
+						scheduler.defer(source, () -> event.dispatch(listener));
+					}
+				}
+			}
+			scheduler.fired(source);
+			return;
+		}
 		if (listenerTypeIndex != -1) {
-			for (IObservablesListener listener : listenerLists[listenerTypeIndex]) {
-				event.dispatch(listener);
+			ListenerList<IObservablesListener> listeners = listenerLists[listenerTypeIndex];
+			// Mark the computed observables depending on the source dirty
+			// before notifying any other listener.
+			boolean hasDependents = false;
+			for (IObservablesListener listener : listeners) {
+				if (listener instanceof ComputedScheduler.Dependent) {
+					hasDependents = true;
+					scheduler.invalidate(() -> event.dispatch(listener));
+				}
+			}
+			for (IObservablesListener listener : listeners) {
+				if (!(listener instanceof ComputedScheduler.Dependent)) {
+					event.dispatch(listener);
+				}
+			}
+			if (hasDependents) {
+				scheduler.flush();
 			}
 		}
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@
 package org.eclipse.core.databinding.observable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -37,6 +38,16 @@ import org.eclipse.core.databinding.observable.value.ValueDiff;
  * @since 1.0
  */
 public class Diffs {
+	/**
+	 * Changed ranges of lists up to this size, measured as the product of the
+	 * lengths of the old and the new range, are diffed by
+	 * {@link #createListDiffs(List, List, int, List)}, which describes moves
+	 * with adjacent removals and additions. Larger ranges are diffed by
+	 * {@link #createLargeListDiffs(Object[], Object[], int, int, int, List)}
+	 * in near-linear time.
+	 */
+	private static final int SMALL_LIST_DIFF_SIZE = 4096;
+
 	private static final class UnmodifiableListDiff<E> extends ListDiff<E> {
 		private ListDiff<? extends E> toWrap;
 
@@ -226,9 +237,42 @@ public class Diffs {
 	 * @return the differences between oldList and newList
 	 * @since 1.6
 	 */
+	@SuppressWarnings("unchecked")
 	public static <E> ListDiff<E> computeListDiff(List<? extends E> oldList, List<? extends E> newList) {
 		List<ListDiffEntry<E>> diffEntries = new ArrayList<>();
-		createListDiffs(new ArrayList<>(oldList), newList, diffEntries);
+		Object[] oldElements = oldList.toArray();
+		Object[] newElements = newList.toArray();
+
+		// Skip the common prefix and suffix
+		int start = 0;
+		int min = Math.min(oldElements.length, newElements.length);
+		while (start < min && Objects.equals(oldElements[start], newElements[start])) {
+			start++;
+		}
+		int oldEnd = oldElements.length;
+		int newEnd = newElements.length;
+		while (oldEnd > start && newEnd > start && Objects.equals(oldElements[oldEnd - 1], newElements[newEnd - 1])) {
+			oldEnd--;
+			newEnd--;
+		}
+
+		if (oldEnd == start) {
+			// pure insertion, e.g. appending to the list
+			for (int i = start; i < newEnd; i++) {
+				diffEntries.add(createListDiffEntry(i, true, (E) newElements[i]));
+			}
+		} else if (newEnd == start) {
+			// pure removal
+			for (int i = oldEnd; i > start;) {
+				diffEntries.add(createListDiffEntry(--i, false, (E) oldElements[i]));
+			}
+		} else if ((long) (oldEnd - start) * (newEnd - start) <= SMALL_LIST_DIFF_SIZE) {
+			List<E> oldRange = (List<E>) Arrays.asList(oldElements).subList(start, oldEnd);
+			List<E> newRange = (List<E>) Arrays.asList(newElements).subList(start, newEnd);
+			createListDiffs(new ArrayList<>(oldRange), newRange, start, diffEntries);
+		} else {
+			createLargeListDiffs(oldElements, newElements, start, oldEnd, newEnd, diffEntries);
+		}
 		return createListDiff(diffEntries);
 	}
 
@@ -264,14 +308,18 @@ public class Diffs {
 
 	/**
 	 * adapted from EMF's ListDifferenceAnalyzer
+	 *
+	 * @param offset
+	 *            the position of the first element of the lists in the whole
+	 *            list, added to the positions of the entries
 	 */
-	private static <E> void createListDiffs(List<E> oldList, List<? extends E> newList,
+	private static <E> void createListDiffs(List<E> oldList, List<? extends E> newList, int offset,
 			List<ListDiffEntry<E>> listDiffs) {
 		int index = 0;
 		for (E newValue : newList) {
 			if (oldList.size() <= index) {
 				// append newValue to newList
-				listDiffs.add(createListDiffEntry(index, true, newValue));
+				listDiffs.add(createListDiffEntry(offset + index, true, newValue));
 			} else {
 				boolean done;
 				do {
@@ -286,7 +334,7 @@ public class Diffs {
 									oldValue, index);
 							if (newIndexOfOldValue == -1) {
 								// removing oldValue from list[index]
-								listDiffs.add(createListDiffEntry(index, false,
+								listDiffs.add(createListDiffEntry(offset + index, false,
 										oldValue));
 								oldList.remove(index);
 								done = false;
@@ -303,27 +351,27 @@ public class Diffs {
 									// correct spot.
 									newIndexOfOldValue = oldList.size() - 1;
 								}
-								listDiffs.add(createListDiffEntry(index, false,
+								listDiffs.add(createListDiffEntry(offset + index, false,
 										oldValue));
 								oldList.remove(index);
 								listDiffs.add(createListDiffEntry(
-										newIndexOfOldValue, true, oldValue));
+										offset + newIndexOfOldValue, true, oldValue));
 								oldList.add(newIndexOfOldValue, oldValue);
 								done = false;
 							} else {
 								// move newValue from list[oldIndexOfNewValue]
 								// to [index]
 								listDiffs.add(createListDiffEntry(
-										oldIndexOfNewValue, false, newValue));
+										offset + oldIndexOfNewValue, false, newValue));
 								oldList.remove(oldIndexOfNewValue);
-								listDiffs.add(createListDiffEntry(index, true,
+								listDiffs.add(createListDiffEntry(offset + index, true,
 										newValue));
 								oldList.add(index, newValue);
 							}
 						} else {
 							// add newValue at list[index]
 							oldList.add(index, newValue);
-							listDiffs.add(createListDiffEntry(index, true,
+							listDiffs.add(createListDiffEntry(offset + index, true,
 									newValue));
 						}
 					}
@@ -333,7 +381,149 @@ public class Diffs {
 		}
 		for (int i = oldList.size(); i > index;) {
 			// remove excess trailing elements not present in newList
-			listDiffs.add(createListDiffEntry(--i, false, oldList.get(i)));
+			listDiffs.add(createListDiffEntry(offset + --i, false, oldList.get(i)));
+		}
+	}
+
+	/**
+	 * Computes the differences between the ranges
+	 * <code>[start, oldEnd)</code> of the old and
+	 * <code>[start, newEnd)</code> of the new elements in near-linear time.
+	 * <p>
+	 * Equal elements are matched through a hash index, the k-th occurrence of
+	 * an element in the new range with its k-th occurrence in the old range.
+	 * The longest increasing subsequence of the matched old positions, taken
+	 * in new order, is a longest common subsequence of the ranges when the
+	 * elements are distinct. Its elements stay in place, all others are
+	 * removed, added or moved. A moved element is described by an adjacent
+	 * removal and addition whenever it is moved towards the front of the list.
+	 * </p>
+	 */
+	@SuppressWarnings("unchecked")
+	private static <E> void createLargeListDiffs(Object[] oldElements, Object[] newElements, int start, int oldEnd,
+			int newEnd, List<ListDiffEntry<E>> listDiffs) {
+		int oldSize = oldEnd - start;
+		int newSize = newEnd - start;
+
+		// match equal elements, chaining the old positions of equal elements
+		int[] nextOccurrence = new int[oldSize];
+		Map<Object, Integer> firstOccurrence = new HashMap<>();
+		for (int i = oldSize - 1; i >= 0; i--) {
+			Integer next = firstOccurrence.put(oldElements[start + i], Integer.valueOf(i));
+			nextOccurrence[i] = next == null ? -1 : next.intValue();
+		}
+		int[] match = new int[newSize];
+		for (int j = 0; j < newSize; j++) {
+			Object element = newElements[start + j];
+			Integer occurrence = firstOccurrence.get(element);
+			if (occurrence == null) {
+				match[j] = -1;
+			} else {
+				int i = occurrence.intValue();
+				match[j] = i;
+				if (nextOccurrence[i] == -1) {
+					firstOccurrence.remove(element);
+				} else {
+					firstOccurrence.put(element, Integer.valueOf(nextOccurrence[i]));
+				}
+			}
+		}
+		firstOccurrence = null;
+		nextOccurrence = null;
+
+		// longest increasing subsequence of the matched old positions
+		int[] tails = new int[newSize];
+		int[] predecessors = new int[newSize];
+		int length = 0;
+		for (int j = 0; j < newSize; j++) {
+			int i = match[j];
+			if (i == -1) {
+				continue;
+			}
+			int low = 0;
+			int high = length;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (match[tails[middle]] < i) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			predecessors[j] = low > 0 ? tails[low - 1] : -1;
+			tails[low] = j;
+			if (low == length) {
+				length++;
+			}
+		}
+		boolean[] stable = new boolean[oldSize];
+		for (int j = length > 0 ? tails[length - 1] : -1; j != -1; j = predecessors[j]) {
+			stable[match[j]] = true;
+		}
+		tails = null;
+		predecessors = null;
+
+		// The list is the new range up to the current index followed by the
+		// old elements not yet consumed. A Fenwick tree counts the latter to
+		// find the current position of an old element.
+		int[] tree = new int[oldSize + 1];
+		for (int k = 1; k <= oldSize; k++) {
+			tree[k] = k & -k;
+		}
+		boolean[] consumed = new boolean[oldSize];
+		int head = 0;
+		for (int j = 0; j < newSize; j++) {
+			int position = start + j;
+			int i = match[j];
+			while (true) {
+				while (head < oldSize && consumed[head]) {
+					head++;
+				}
+				if (head == oldSize || head == i || stable[head]) {
+					break;
+				}
+				// remove an element that was removed or moved towards the end
+				listDiffs.add(createListDiffEntry(position, false, (E) oldElements[start + head]));
+				consume(tree, consumed, head);
+			}
+			if (i == -1 || consumed[i]) {
+				listDiffs.add(createListDiffEntry(position, true, (E) newElements[start + j]));
+			} else if (i == head) {
+				// already in place
+				consume(tree, consumed, i);
+			} else {
+				// move the element towards the front
+				int oldPosition = position + countRemaining(tree, i);
+				listDiffs.add(createListDiffEntry(oldPosition, false, (E) oldElements[start + i]));
+				consume(tree, consumed, i);
+				listDiffs.add(createListDiffEntry(position, true, (E) newElements[start + j]));
+			}
+		}
+		int remaining = countRemaining(tree, oldSize);
+		for (int i = oldSize - 1; remaining > 0; i--) {
+			if (!consumed[i]) {
+				// remove excess trailing elements not present in the new range
+				listDiffs.add(createListDiffEntry(start + newSize + --remaining, false, (E) oldElements[start + i]));
+			}
+		}
+	}
+
+	/**
+	 * @return the number of old elements before the given one which are not
+	 *         yet consumed
+	 */
+	private static int countRemaining(int[] tree, int index) {
+		int count = 0;
+		for (int k = index; k > 0; k -= k & -k) {
+			count += tree[k];
+		}
+		return count;
+	}
+
+	private static void consume(int[] tree, boolean[] consumed, int index) {
+		consumed[index] = true;
+		for (int k = index + 1; k < tree.length; k += k & -k) {
+			tree[k]--;
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,9 +19,13 @@ package org.eclipse.core.databinding.observable;
 
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.function.Consumer;
 
 import org.eclipse.core.databinding.util.Policy;
+import org.eclipse.core.internal.databinding.observable.BatchedChanges;
+import org.eclipse.core.internal.databinding.observable.ComputedScheduler;
 import org.eclipse.core.internal.databinding.observable.Queue;
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.SafeRunner;
@@ -76,6 +80,12 @@ import org.eclipse.core.runtime.Status;
  * lock, it may be easier to implement syncExec and keep the default
  * implementation of asyncExec.
  * </p>
+ * <p>
+ * Changes of many observables can be made in a batch with
+ * {@link #runBatch(Runnable)}. The change events of the observables of the
+ * realm are then deferred until the batch ends, and only one event with the
+ * merged changes is fired for each changed observable.
+ * </p>
  *
  * @since 1.0
  *
@@ -128,6 +138,17 @@ public abstract class Realm {
 
 	Queue workQueue = new Queue();
 
+	/**
+	 * The changes deferred by the running batch, or <code>null</code>. Only
+	 * accessed from within this realm.
+	 */
+	private BatchedChanges batch;
+
+	/**
+	 * Propagates the changes through the computed observables of this realm.
+	 */
+	final ComputedScheduler scheduler = new ComputedScheduler();
+
 	/**
 	 * Runs the given runnable. If an exception occurs within the runnable, it is
 	 * logged and not re-thrown. If the runnable implements {@link ISafeRunnable},
@@ -324,6 +345,86 @@ public abstract class Realm {
 		}
 	}
 
+	/**
+	 * Runs the given runnable as a batch. While the batch runs, the change
+	 * events of list, set, map and value observables of this realm are not
+	 * fired but deferred. When the batch ends, the deferred diffs of each
+	 * observable are merged into one diff and a single change event is fired
+	 * per observable, in the order in which the observables first changed.
+	 * Listeners thus see the observables in their final state only, which
+	 * avoids redundant work in bindings and viewers for bulk updates.
+	 * <p>
+	 * Must be called from within this realm. A batch started while another
+	 * batch runs joins the outer batch. If the runnable throws an exception, the
+	 * changes made so far are still fired before the exception is propagated.
+	 * Changes made by listeners while the merged events are fired are not
+	 * batched. Changes whose merged diff is empty, for example a value that is
+	 * set back to its initial value, are not fired at all.
+	 * </p>
+	 * <p>
+	 * <b>Note:</b> Derived observables, such as a
+	 * {@link org.eclipse.core.databinding.observable.value.ComputedValue
+	 * ComputedValue}, a computed list or set, or observables that track other
+	 * observables through their change events, are only updated when those
+	 * events are fired. Reading such an observable inside the batch therefore
+	 * returns a stale value that does not reflect the changes made in the batch
+	 * so far. Read derived observables after the batch has ended.
+	 * </p>
+	 *
+	 * @param runnable the runnable changing the observables
+	 * @since 1.14
+	 */
+	public void runBatch(Runnable runnable) {
+		Assert.isTrue(isCurrent(), "Batches must be run from within the realm"); //$NON-NLS-1$
+		if (batch != null) {
+			runnable.run();
+			return;
+		}
+		BatchedChanges changes = new BatchedChanges();
+		batch = changes;
+		try {
+			runnable.run();
+		} finally {
+			batch = null;
+			changes.fire();
+		}
+	}
+
+	/**
+	 * Returns whether a batch started by {@link #runBatch(Runnable)} is running
+	 * in this realm.
+	 *
+	 * @return <code>true</code> if change events are currently deferred
+	 * @since 1.14
+	 */
+	public boolean isBatching() {
+		return batch != null;
+	}
+
+	/**
+	 * Defers a change of an observable of this realm until the running batch
+	 * ends. The diffs deferred for an observable are merged and passed to
+	 * <code>fire</code> once when the batch ends.
+	 * <p>
+	 * This method is called by the observable implementations of this framework
+	 * while {@link #isBatching()} returns <code>true</code>. Clients that
+	 * implement observables without extending those may call it as well.
+	 * <code>fire</code> must only fire the change events and must not call an
+	 * overridable method that defers the change again, otherwise overrides of
+	 * that method run once for the change and once for the merged change.
+	 * </p>
+	 *
+	 * @param <D>        the type of the diff
+	 * @param observable the changed observable
+	 * @param diff       the change
+	 * @param fire       fires the events of the (merged) change
+	 * @since 1.14
+	 */
+	public <D extends IDiff> void deferChange(IObservable observable, D diff, Consumer<D> fire) {
+		Assert.isNotNull(batch, "No batch is running"); //$NON-NLS-1$
+		batch.add(observable, diff, fire);
+	}
+
 	/**
 	 * Sets the provided <code>realm</code> as the default for the duration of
 	 * {@link Runnable#run()} and resets the previous realm after completion.
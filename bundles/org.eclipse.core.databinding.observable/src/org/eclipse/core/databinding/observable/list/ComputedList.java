@@ -1,5 +1,5 @@
 /************************************************************************************************************
- * Copyright (c) 2007, 2017 Matthew Hall and others.
+ * Copyright (c) 2007, 2026 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,6 +32,7 @@ import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.StaleEvent;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.internal.databinding.observable.ComputedScheduler;
 
 /**
  * A lazily calculated list that automatically computes and registers listeners
@@ -39,6 +40,11 @@ import org.eclipse.core.databinding.observable.value.IObservableValue;
  * {@link IObservable} objects. Any change to one of the observable dependencies
  * causes the list to be recomputed.
  * <p>
+ * A change is first propagated to all computed observables depending on it,
+ * before their listeners are notified in topological order, see
+ * {@link org.eclipse.core.databinding.observable.value.ComputedValue}.
+ * </p>
+ * <p>
  * This class is thread safe. All state accessing methods must be invoked from
  * the {@link Realm#isCurrent() current realm}. Methods for adding and removing
  * listeners may be invoked from any thread.
@@ -179,7 +185,7 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 	 * </p>
 	 */
 	private class PrivateInterface implements Runnable, IChangeListener,
-			IStaleListener {
+			IStaleListener, ComputedScheduler.Dependent {
 		@Override
 		public void run() {
 			cachedList = calculate();
@@ -245,7 +251,8 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 				}
 			}
 
-			dependencies = newDependencies;
+			dependencies = ComputedScheduler.updateDependencies(dependencies, newDependencies, privateInterface,
+					privateInterface);
 
 			dirty = false;
 		}
@@ -273,7 +280,11 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 
 			makeStale();
 
-			stopListening();
+			// Keep listening if somebody is listening to us, the dependencies
+			// are likely the same when recomputing.
+			if (!hasListeners()) {
+				stopListening();
+			}
 
 			// copy the old list
 			final List<E> oldList = new ArrayList<>(cachedList);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 Matthew Hall and others.
+ * Copyright (c) 2008, 2026 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,7 @@ import java.util.ListIterator;
 
 import org.eclipse.core.databinding.observable.DecoratingObservableCollection;
 import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.Realm;
 
 /**
  * An observable list which decorates another observable list.
@@ -67,6 +68,15 @@ public class DecoratingObservableList<E> extends
 	}
 
 	protected void fireListChange(ListDiff<E> diff) {
+		Realm realm = getRealm();
+		if (realm.isBatching()) {
+			realm.deferChange(this, diff, this::fireListChangeEvents);
+			return;
+		}
+		fireListChangeEvents(diff);
+	}
+
+	private void fireListChangeEvents(ListDiff<E> diff) {
 		// fire general change event first
 		super.fireChange();
 		fireEvent(new ListChangeEvent<>(this, diff));
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -79,6 +79,15 @@ public abstract class ObservableList<E> extends AbstractObservable implements
 	}
 
 	protected void fireListChange(ListDiff<E> diff) {
+		Realm realm = getRealm();
+		if (realm.isBatching()) {
+			realm.deferChange(this, diff, this::fireListChangeEvents);
+			return;
+		}
+		fireListChangeEvents(diff);
+	}
+
+	private void fireListChangeEvents(ListDiff<E> diff) {
 		// fire general change event first
 		super.fireChange();
 		fireEvent(new ListChangeEvent<>(this, diff));
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -250,6 +250,16 @@ public abstract class AbstractObservableMap<K, V> extends AbstractMap<K, V>
 	 */
 	protected void fireMapChange(MapDiff<K, V> diff) {
 		checkRealm();
+
+		Realm realm = getRealm();
+		if (realm.isBatching()) {
+			realm.deferChange(this, diff, this::fireMapChangeEvents);
+			return;
+		}
+		fireMapChangeEvents(diff);
+	}
+
+	private void fireMapChangeEvents(MapDiff<K, V> diff) {
 		fireChange();
 		changeSupport.fireEvent(new MapChangeEvent<>(this, diff));
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 Matthew Hall and others.
+ * Copyright (c) 2008, 2026 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ import java.util.Set;
 
 import org.eclipse.core.databinding.observable.DecoratingObservable;
 import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.Realm;
 
 /**
  * An observable map which decorates another observable map.
@@ -77,6 +78,15 @@ public class DecoratingObservableMap<K, V> extends DecoratingObservable
 	}
 
 	protected void fireMapChange(MapDiff<K, V> diff) {
+		Realm realm = getRealm();
+		if (realm.isBatching()) {
+			realm.deferChange(this, diff, this::fireMapChangeEvents);
+			return;
+		}
+		fireMapChangeEvents(diff);
+	}
+
+	private void fireMapChangeEvents(MapDiff<K, V> diff) {
 		// fire general change event first
 		super.fireChange();
 		fireEvent(new MapChangeEvent<>(this, diff));
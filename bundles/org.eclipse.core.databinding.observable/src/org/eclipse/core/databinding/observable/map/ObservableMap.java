@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -98,6 +98,15 @@ public class ObservableMap<K, V> extends AbstractObservable implements IObservab
 	protected void fireMapChange(MapDiff<K, V> diff) {
 		checkRealm();
 
+		Realm realm = getRealm();
+		if (realm.isBatching()) {
+			realm.deferChange(this, diff, this::fireMapChangeEvents);
+			return;
+		}
+		fireMapChangeEvents(diff);
+	}
+
+	private void fireMapChangeEvents(MapDiff<K, V> diff) {
 		// fire general change event first
 		super.fireChange();
 
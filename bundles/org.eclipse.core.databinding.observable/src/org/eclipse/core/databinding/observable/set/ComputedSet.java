@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 Matthew Hall and others.
+ * Copyright (c) 2008, 2026 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,7 @@ import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.StaleEvent;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.internal.databinding.observable.ComputedScheduler;
 
 /**
  * A lazily calculated set that automatically computes and registers listeners
@@ -38,6 +39,11 @@ import org.eclipse.core.databinding.observable.value.IObservableValue;
  * {@link IObservable} objects. Any change to one of the observable dependencies
  * causes the set to be recomputed.
  * <p>
+ * A change is first propagated to all computed observables depending on it,
+ * before their listeners are notified in topological order, see
+ * {@link org.eclipse.core.databinding.observable.value.ComputedValue}.
+ * </p>
+ * <p>
  * This class is thread safe. All state accessing methods must be invoked from
  * the {@link Realm#isCurrent() current realm}. Methods for adding and removing
  * listeners may be invoked from any thread.
@@ -175,7 +181,7 @@ public abstract class ComputedSet<E> extends AbstractObservableSet<E> {
 	 * </p>
 	 */
 	private class PrivateInterface implements Runnable, IChangeListener,
-			IStaleListener {
+			IStaleListener, ComputedScheduler.Dependent {
 		@Override
 		public void run() {
 			cachedSet = calculate();
@@ -239,7 +245,8 @@ privateInterface, privateInterface, null);
 				}
 			}
 
-			dependencies = newDependencies;
+			dependencies = ComputedScheduler.updateDependencies(dependencies, newDependencies, privateInterface,
+					privateInterface);
 
 			dirty = false;
 		}
@@ -268,7 +275,11 @@ privateInterface, privateInterface, null);
 			final Set<E> oldSet = new HashSet<>(cachedSet);
 			makeStale();
 
-			stopListening();
+			// Keep listening if somebody is listening to us, the dependencies
+			// are likely the same when recomputing.
+			if (!hasListeners()) {
+				stopListening();
+			}
 
 			// Fire the "dirty" event. This implementation recomputes the new
 			// set lazily.
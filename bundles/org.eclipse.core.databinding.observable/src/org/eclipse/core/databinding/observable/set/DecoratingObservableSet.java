@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 Matthew Hall and others.
+ * Copyright (c) 2008, 2026 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ package org.eclipse.core.databinding.observable.set;
 
 import org.eclipse.core.databinding.observable.DecoratingObservableCollection;
 import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.Realm;
 
 /**
  * An observable set which decorates another observable set.
@@ -69,6 +70,15 @@ public class DecoratingObservableSet<E> extends
 	}
 
 	protected void fireSetChange(SetDiff<E> diff) {
+		Realm realm = getRealm();
+		if (realm.isBatching()) {
+			realm.deferChange(this, diff, this::fireSetChangeEvents);
+			return;
+		}
+		fireSetChangeEvents(diff);
+	}
+
+	private void fireSetChangeEvents(SetDiff<E> diff) {
 		// fire general change event first
 		super.fireChange();
 		fireEvent(new SetChangeEvent<>(this, diff));
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -70,6 +70,15 @@ public abstract class ObservableSet<E> extends AbstractObservable implements
 	}
 
 	protected void fireSetChange(SetDiff<E> diff) {
+		Realm realm = getRealm();
+		if (realm.isBatching()) {
+			realm.deferChange(this, diff, this::fireSetChangeEvents);
+			return;
+		}
+		fireSetChangeEvents(diff);
+	}
+
+	private void fireSetChangeEvents(SetDiff<E> diff) {
 		// fire general change event first
 		super.fireChange();
 
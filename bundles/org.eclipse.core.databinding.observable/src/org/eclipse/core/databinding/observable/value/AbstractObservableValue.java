@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -81,6 +81,15 @@ abstract public class AbstractObservableValue<T> extends AbstractObservable
 	}
 
 	protected void fireValueChange(ValueDiff<T> diff) {
+		Realm realm = getRealm();
+		if (realm.isBatching()) {
+			realm.deferChange(this, diff, this::fireValueChangeEvents);
+			return;
+		}
+		fireValueChangeEvents(diff);
+	}
+
+	private void fireValueChangeEvents(ValueDiff<T> diff) {
 		// fire general change event first
 		super.fireChange();
 		fireEvent(new ValueChangeEvent<>(this, diff));
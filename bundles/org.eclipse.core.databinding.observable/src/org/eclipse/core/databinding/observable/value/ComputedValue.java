@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2017 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,7 @@ import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.StaleEvent;
 import org.eclipse.core.databinding.observable.list.IObservableList;
+import org.eclipse.core.internal.databinding.observable.ComputedScheduler;
 
 /**
  * A Lazily calculated value that automatically computes and registers listeners
@@ -35,6 +36,13 @@ import org.eclipse.core.databinding.observable.list.IObservableList;
  * {@link IObservable} objects. Any change to one of the observable dependencies
  * causes the value to be recomputed.
  * <p>
+ * A change is first propagated to all computed observables depending on it,
+ * before their listeners are notified in topological order. Listeners thus
+ * never see a value computed from partially updated dependencies, and a
+ * computed value is recomputed at most once per change even if it depends on
+ * the change through several paths.
+ * </p>
+ * <p>
  * This class is thread safe. All state accessing methods must be invoked from
  * the {@link Realm#isCurrent() current realm}. Methods for adding and removing
  * listeners may be invoked from any thread.
@@ -162,7 +170,7 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 	 * </p>
 	 */
 	private class PrivateInterface implements Runnable, IChangeListener,
-			IStaleListener {
+			IStaleListener, ComputedScheduler.Dependent {
 		@Override
 		public void run() {
 			cachedValue = calculate();
@@ -206,7 +214,8 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 				}
 			}
 
-			dependencies = newDependencies;
+			dependencies = ComputedScheduler.updateDependencies(dependencies, newDependencies, privateInterface,
+					privateInterface);
 
 			dirty = false;
 		}
@@ -228,7 +237,11 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 		if (!dirty) {
 			dirty = true;
 
-			stopListening();
+			// Keep listening if somebody is listening to us, the dependencies
+			// are likely the same when recomputing.
+			if (!hasListeners()) {
+				stopListening();
+			}
 
 			// copy the old value
 			final T oldValue = cachedValue;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 Matthew Hall and others.
+ * Copyright (c) 2008, 2026 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ package org.eclipse.core.databinding.observable.value;
 
 import org.eclipse.core.databinding.observable.DecoratingObservable;
 import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.Realm;
 
 /**
  * An observable value which decorates another observable value.
@@ -63,6 +64,15 @@ public class DecoratingObservableValue<T> extends DecoratingObservable
 	}
 
 	protected void fireValueChange(ValueDiff<T> diff) {
+		Realm realm = getRealm();
+		if (realm.isBatching()) {
+			realm.deferChange(this, diff, this::fireValueChangeEvents);
+			return;
+		}
+		fireValueChangeEvents(diff);
+	}
+
+	private void fireValueChangeEvents(ValueDiff<T> diff) {
 		// fire general change event first
 		super.fireChange();
 		fireEvent(new ValueChangeEvent<>(this, diff));
@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.observable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.IDiff;
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.list.ListDiff;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+import org.eclipse.core.databinding.observable.map.MapDiff;
+import org.eclipse.core.databinding.observable.set.SetDiff;
+import org.eclipse.core.databinding.observable.value.ValueDiff;
+
+/**
+ * The changes of observables deferred during a batch of a {@link Realm}, see
+ * {@link Realm#runBatch(Runnable)}. The diffs of each observable are merged
+ * into a single diff, which is fired once when the batch ends.
+ *
+ * @since 1.14
+ */
+public class BatchedChanges {
+
+	private static final class Pending<D extends IDiff> {
+		final IObservable observable;
+		final Consumer<D> fire;
+		final List<D> diffs = new ArrayList<>(1);
+
+		Pending(IObservable observable, Consumer<D> fire) {
+			this.observable = observable;
+			this.fire = fire;
+		}
+
+		@SuppressWarnings("unchecked")
+		void fire() {
+			if (observable.isDisposed()) {
+				return;
+			}
+			if (diffs.size() == 1) {
+				fire.accept(diffs.get(0));
+				return;
+			}
+			D diff = (D) merge(diffs);
+			// changes that undo each other are not reported
+			if (!isEmpty(diff)) {
+				fire.accept(diff);
+			}
+		}
+	}
+
+	private final Map<IObservable, Pending<?>> pendingByObservable = new IdentityHashMap<>();
+
+	private final List<Pending<?>> pending = new ArrayList<>();
+
+	/**
+	 * Defers a change of the given observable.
+	 *
+	 * @param <D>        the type of the diff
+	 * @param observable the changed observable
+	 * @param diff       the change
+	 * @param fire       fires the change, is called with the merged diff of all
+	 *                   deferred changes of the observable
+	 */
+	@SuppressWarnings("unchecked")
+	public <D extends IDiff> void add(IObservable observable, D diff, Consumer<D> fire) {
+		Pending<D> changes = (Pending<D>) pendingByObservable.get(observable);
+		if (changes == null) {
+			changes = new Pending<>(observable, fire);
+			pendingByObservable.put(observable, changes);
+			pending.add(changes);
+		}
+		changes.diffs.add(diff);
+	}
+
+	/**
+	 * Fires the merged changes of all observables, in the order in which the
+	 * observables first changed.
+	 */
+	public void fire() {
+		for (Pending<?> changes : pending) {
+			changes.fire();
+		}
+	}
+
+	/**
+	 * Merges consecutive diffs of the same observable into one diff.
+	 *
+	 * @param diffs the diffs, in the order they occurred
+	 * @return the merged diff
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static IDiff merge(List<? extends IDiff> diffs) {
+		IDiff first = diffs.get(0);
+		if (first instanceof ListDiff) {
+			return mergeListDiffs((List) diffs);
+		} else if (first instanceof SetDiff) {
+			return mergeSetDiffs((List) diffs);
+		} else if (first instanceof MapDiff) {
+			return mergeMapDiffs((List) diffs);
+		} else if (first instanceof ValueDiff) {
+			ValueDiff<?> last = (ValueDiff<?>) diffs.get(diffs.size() - 1);
+			return Diffs.createValueDiff(((ValueDiff<?>) first).getOldValue(), last.getNewValue());
+		}
+		throw new IllegalArgumentException("Unknown diff type " + first.getClass()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns whether the given (merged) diff describes no change.
+	 *
+	 * @param diff the diff
+	 * @return <code>true</code> if firing the diff would not change anything
+	 */
+	public static boolean isEmpty(IDiff diff) {
+		if (diff instanceof ListDiff) {
+			return ((ListDiff<?>) diff).isEmpty();
+		} else if (diff instanceof SetDiff) {
+			return ((SetDiff<?>) diff).isEmpty();
+		} else if (diff instanceof MapDiff) {
+			return ((MapDiff<?, ?>) diff).isEmpty();
+		} else if (diff instanceof ValueDiff) {
+			ValueDiff<?> valueDiff = (ValueDiff<?>) diff;
+			return Objects.equals(valueDiff.getOldValue(), valueDiff.getNewValue());
+		}
+		return false;
+	}
+
+	private static <E> ListDiff<E> mergeListDiffs(List<ListDiff<E>> diffs) {
+		// The entries of consecutive diffs apply one after the other.
+		List<ListDiffEntry<E>> entries = new ArrayList<>();
+		for (ListDiff<E> diff : diffs) {
+			for (ListDiffEntry<E> entry : diff.getDifferences()) {
+				entries.add(entry);
+			}
+		}
+		return Diffs.createListDiff(entries);
+	}
+
+	private static <E> SetDiff<E> mergeSetDiffs(List<SetDiff<E>> diffs) {
+		Set<E> additions = new HashSet<>();
+		Set<E> removals = new HashSet<>();
+		for (SetDiff<E> diff : diffs) {
+			for (E element : diff.getRemovals()) {
+				if (!additions.remove(element)) {
+					removals.add(element);
+				}
+			}
+			for (E element : diff.getAdditions()) {
+				if (!removals.remove(element)) {
+					additions.add(element);
+				}
+			}
+		}
+		return Diffs.createSetDiff(additions, removals);
+	}
+
+	private static <K, V> MapDiff<K, V> mergeMapDiffs(List<MapDiff<K, V>> diffs) {
+		// The state of each changed key before the batch and after it.
+		Set<K> keysBefore = new HashSet<>();
+		Map<K, V> valuesBefore = new HashMap<>();
+		Set<K> keysAfter = new HashSet<>();
+		Map<K, V> valuesAfter = new HashMap<>();
+		Set<K> changedKeys = new HashSet<>();
+		for (MapDiff<K, V> diff : diffs) {
+			for (K key : diff.getRemovedKeys()) {
+				if (changedKeys.add(key)) {
+					keysBefore.add(key);
+					valuesBefore.put(key, diff.getOldValue(key));
+				}
+				keysAfter.remove(key);
+				valuesAfter.remove(key);
+			}
+			for (K key : diff.getChangedKeys()) {
+				if (changedKeys.add(key)) {
+					keysBefore.add(key);
+					valuesBefore.put(key, diff.getOldValue(key));
+				}
+				keysAfter.add(key);
+				valuesAfter.put(key, diff.getNewValue(key));
+			}
+			for (K key : diff.getAddedKeys()) {
+				changedKeys.add(key);
+				keysAfter.add(key);
+				valuesAfter.put(key, diff.getNewValue(key));
+			}
+		}
+
+		Set<K> added = new HashSet<>();
+		Set<K> removed = new HashSet<>();
+		Set<K> changed = new HashSet<>();
+		for (K key : changedKeys) {
+			boolean before = keysBefore.contains(key);
+			boolean after = keysAfter.contains(key);
+			if (before && after) {
+				if (!Objects.equals(valuesBefore.get(key), valuesAfter.get(key))) {
+					changed.add(key);
+				}
+			} else if (before) {
+				removed.add(key);
+			} else if (after) {
+				added.add(key);
+			}
+		}
+		return Diffs.createMapDiff(added, removed, changed, valuesBefore, valuesAfter);
+	}
+}
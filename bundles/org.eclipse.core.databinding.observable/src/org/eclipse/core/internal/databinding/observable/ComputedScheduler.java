@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.observable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.databinding.observable.IChangeListener;
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.IObservablesListener;
+import org.eclipse.core.databinding.observable.IStaleListener;
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.list.ComputedList;
+import org.eclipse.core.databinding.observable.value.ComputedValue;
+
+/**
+ * Propagates changes through graphs of computed observables such as
+ * {@link ComputedValue} and {@link ComputedList} without glitches. There is one
+ * scheduler per {@link Realm}.
+ * <p>
+ * A change is propagated in two phases. When an observable fires an event, the
+ * {@link Dependent} listeners of computed observables are notified first. They
+ * only mark their computed observable dirty, and the events the computed
+ * observable fires in turn are dispatched right away to further dependents
+ * only; the dispatching to all other listeners is deferred. Once every
+ * computed observable that depends on the change has been marked dirty, the
+ * deferred events are dispatched in topological order, so that the listeners
+ * of an observable are notified before the listeners of the observables
+ * computed from it. Since computed observables recompute lazily, a listener
+ * never sees a value computed from partially updated dependencies, and each
+ * computed observable is recomputed at most once per change, no matter how
+ * many paths of the graph lead to it.
+ * </p>
+ * <p>
+ * Only accessed from within the realm.
+ * </p>
+ *
+ * @since 1.14
+ */
+public final class ComputedScheduler {
+
+	/**
+	 * A marker for the change and stale listeners computed observables register
+	 * with their dependencies. The listeners must do nothing but mark the
+	 * computed observable dirty or stale and fire the corresponding events.
+	 */
+	public interface Dependent extends IObservablesListener {
+	}
+
+	/**
+	 * The deferred dispatches of the events fired by an invalidated
+	 * observable.
+	 */
+	private static final class Deferred {
+		final List<Runnable> dispatches = new ArrayList<>(2);
+		boolean fired;
+	}
+
+	/**
+	 * The nesting depth of dispatching to {@link Dependent} listeners.
+	 */
+	private int invalidating;
+
+	/**
+	 * The deferred dispatches of the observables that fired while being
+	 * invalidated, in post-order: an observable is added after all observables
+	 * computed from it.
+	 */
+	private final List<Deferred> invalidated = new ArrayList<>();
+
+	// Observables are compared by identity, collections compare their contents.
+	private final Map<IObservable, Deferred> deferred = new IdentityHashMap<>();
+
+	/**
+	 * Returns whether events are fired by a computed observable while it is
+	 * invalidated, in which case only the dispatching to {@link Dependent}
+	 * listeners may happen right away.
+	 *
+	 * @return whether a computed observable is being invalidated
+	 */
+	public boolean isInvalidating() {
+		return invalidating > 0;
+	}
+
+	/**
+	 * Dispatches an event to a {@link Dependent} listener.
+	 *
+	 * @param dispatch
+	 *            dispatches the event
+	 */
+	public void invalidate(Runnable dispatch) {
+		invalidating++;
+		try {
+			dispatch.run();
+		} finally {
+			invalidating--;
+		}
+	}
+
+	/**
+	 * Defers the dispatching of an event fired by an observable while it is
+	 * invalidated.
+	 *
+	 * @param source
+	 *            the observable which fired the event
+	 * @param dispatch
+	 *            dispatches the event
+	 */
+	public void defer(IObservable source, Runnable dispatch) {
+		getDeferred(source).dispatches.add(dispatch);
+	}
+
+	private Deferred getDeferred(IObservable source) {
+		Deferred result = deferred.get(source);
+		if (result == null) {
+			result = new Deferred();
+			deferred.put(source, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Records that an observable has fired an event while it was invalidated,
+	 * after the event has been dispatched to all of its {@link Dependent}
+	 * listeners.
+	 *
+	 * @param source
+	 *            the observable which fired the event
+	 */
+	public void fired(IObservable source) {
+		Deferred result = getDeferred(source);
+		if (!result.fired) {
+			result.fired = true;
+			invalidated.add(result);
+		}
+	}
+
+	/**
+	 * Dispatches the deferred events. Must not be called while
+	 * {@link #isInvalidating()}.
+	 */
+	public void flush() {
+		while (!invalidated.isEmpty()) {
+			Deferred[] order = invalidated.toArray(new Deferred[invalidated.size()]);
+			invalidated.clear();
+			deferred.clear();
+			// The reverse post-order is a topological order.
+			for (int i = order.length - 1; i >= 0; i--) {
+				for (Runnable dispatch : order[i].dispatches) {
+					dispatch.run();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stops listening to the dependencies which are no longer used. The
+	 * listeners are kept registered with the dependencies which are still used,
+	 * and the given array of old dependencies is reused if the dependencies did
+	 * not change.
+	 *
+	 * @param oldDependencies
+	 *            the dependencies before recomputing, or <code>null</code>
+	 * @param newDependencies
+	 *            the dependencies after recomputing
+	 * @param changeListener
+	 *            the change listener to remove
+	 * @param staleListener
+	 *            the stale listener to remove
+	 * @return the dependencies
+	 */
+	public static IObservable[] updateDependencies(IObservable[] oldDependencies, IObservable[] newDependencies,
+			IChangeListener changeListener, IStaleListener staleListener) {
+		if (oldDependencies == null) {
+			return newDependencies;
+		}
+		Map<IObservable, Boolean> used = null;
+		boolean unchanged = oldDependencies.length == newDependencies.length;
+		for (int i = 0; i < oldDependencies.length; i++) {
+			IObservable observable = oldDependencies[i];
+			if (i < newDependencies.length && newDependencies[i] == observable) {
+				// the common case of dependencies read in the same order
+				continue;
+			}
+			if (used == null) {
+				used = new IdentityHashMap<>(newDependencies.length * 2);
+				for (IObservable newDependency : newDependencies) {
+					used.put(newDependency, Boolean.TRUE);
+				}
+			}
+			if (!used.containsKey(observable)) {
+				unchanged = false;
+				observable.removeChangeListener(changeListener);
+				observable.removeStaleListener(staleListener);
+			}
+		}
+		return unchanged ? oldDependencies : newDependencies;
+	}
+}
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.filebuffers;
+
+
+/**
+ * Extension interface for {@link IFileBufferListener}.
+ * <p>
+ * Allows a listener to be informed once about all file buffers created or
+ * disposed by the bulk operations
+ * {@link ITextFileBufferManager#connect(org.eclipse.core.runtime.IPath[], LocationKind, org.eclipse.core.runtime.IProgressMonitor)}
+ * and
+ * {@link ITextFileBufferManager#disconnect(org.eclipse.core.runtime.IPath[], LocationKind, org.eclipse.core.runtime.IProgressMonitor)}.
+ * Listeners that do not implement this interface are informed about each file
+ * buffer separately.
+ * </p>
+ *
+ * @since 3.9
+ */
+public interface IFileBufferListenerExtension extends IFileBufferListener {
+
+	/**
+	 * Informs the listener about the creation of the given buffers.
+	 *
+	 * @param buffers the created file buffers
+	 */
+	void bufferCreated(IFileBuffer[] buffers);
+
+	/**
+	 * Informs the listener that the given buffers have been disposed. All
+	 * state information has already been disposed and accessing it is
+	 * forbidden. However, accessing the file buffers' content is still allowed
+	 * during the notification.
+	 *
+	 * @param buffers the disposed file buffers
+	 */
+	void bufferDisposed(IFileBuffer[] buffers);
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,7 +17,9 @@ package org.eclipse.core.filebuffers;
 import org.eclipse.core.filesystem.IFileStore;
 import org.eclipse.core.internal.filebuffers.FileBuffersPlugin;
 
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
 
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.source.IAnnotationModel;
@@ -225,4 +227,49 @@ public interface ITextFileBufferManager extends IFileBufferManager {
 	 * @since 3.2
 	 */
 	boolean isTextFileLocation(IPath location, boolean strict);
+
+	/**
+	 * Connects the files at the given locations to this manager. This has the
+	 * same effect as calling {@link #connect(IPath, LocationKind, IProgressMonitor)}
+	 * for each location, but the contents of the files are read concurrently
+	 * and {@link IFileBufferListenerExtension} listeners are informed about all
+	 * created file buffers at once.
+	 * <p>
+	 * Either all files are connected or none: if a file could not be connected,
+	 * the files already connected by this call are disconnected again and the
+	 * thrown exception reports all files that could not be connected.
+	 * </p>
+	 *
+	 * @param locations the locations of the files to be connected
+	 * @param locationKind the kind of the given locations
+	 * @param monitor the progress monitor, or <code>null</code>
+	 * @throws CoreException if any of the files could not successfully be
+	 *             connected. The status is a multi-status with a child for
+	 *             each file that could not be connected
+	 * @see LocationKind
+	 * @since 3.9
+	 */
+	void connect(IPath[] locations, LocationKind locationKind, IProgressMonitor monitor) throws CoreException;
+
+	/**
+	 * Disconnects the files at the given locations from this manager. This has
+	 * the same effect as calling
+	 * {@link #disconnect(IPath, LocationKind, IProgressMonitor)} for each
+	 * location, but {@link IFileBufferListenerExtension} listeners are informed
+	 * about all disposed file buffers at once.
+	 * <p>
+	 * A file that could not be disconnected does not prevent the other files
+	 * from being disconnected.
+	 * </p>
+	 *
+	 * @param locations the locations of the files to be disconnected
+	 * @param locationKind the kind of the given locations
+	 * @param monitor the progress monitor, or <code>null</code>
+	 * @throws CoreException if any of the files could not successfully be
+	 *             disconnected. The status is a multi-status with a child for
+	 *             each file that could not be disconnected
+	 * @see LocationKind
+	 * @since 3.9
+	 */
+	void disconnect(IPath[] locations, LocationKind locationKind, IProgressMonitor monitor) throws CoreException;
 }
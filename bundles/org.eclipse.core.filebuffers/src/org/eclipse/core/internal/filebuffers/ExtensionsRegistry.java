@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -218,22 +218,25 @@ public class ExtensionsRegistry {
 	 */
 	@SuppressWarnings("unchecked")
 	private <T> T getExtension(IConfigurationElement entry, Map<IConfigurationElement, Object> extensions, Class<T> extensionType) {
-		T extension= (T) extensions.get(entry);
-		if (extension != null)
-			return extension;
-
-		try {
-			extension= (T) entry.createExecutableExtension("class"); //$NON-NLS-1$
-		} catch (CoreException x) {
-			log(x.getStatus());
-		}
+		// File buffers may be created concurrently
+		synchronized (extensions) {
+			T extension= (T) extensions.get(entry);
+			if (extension != null)
+				return extension;
+
+			try {
+				extension= (T) entry.createExecutableExtension("class"); //$NON-NLS-1$
+			} catch (CoreException x) {
+				log(x.getStatus());
+			}
 
-		if (extensionType.isInstance(extension)) {
-			extensions.put(entry, extension);
-			return extension;
-		}
+			if (extensionType.isInstance(extension)) {
+				extensions.put(entry, extension);
+				return extension;
+			}
 
-		return null;
+			return null;
+		}
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -47,6 +47,11 @@ final class FileBuffersMessages extends NLS {
 	public static String TextFileBufferManager_error_documentSetupFailed;
 	public static String TextFileBufferManager_error_documentFactoryFailed;
 	public static String TextFileBufferManager_warning_documentSetupInstallsDefaultPartitioner;
+	public static String TextFileBufferManager_task_connecting;
+	public static String TextFileBufferManager_error_connectFailed;
+	public static String TextFileBufferManager_error_connectFileFailed;
+	public static String TextFileBufferManager_error_disconnectFailed;
+	public static String TextFileBufferManager_error_disconnectFileFailed;
 	public static String DocumentInputStream_error_streamClosed;
 
 	static {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2011 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -118,13 +118,21 @@ public class ResourceTextFileBufferManager extends TextFileBufferManager {
 
 	IAnnotationModel createAnnotationModel(IFile file) {
 		Assert.isNotNull(file);
-		IAnnotationModelFactory factory= ((ResourceExtensionRegistry)fRegistry).getAnnotationModelFactory(file);
-		if (factory != null)
-			return factory.createAnnotationModel(file.getFullPath());
-		return null;
+		synchronized (fSetupLock) {
+			IAnnotationModelFactory factory= ((ResourceExtensionRegistry)fRegistry).getAnnotationModelFactory(file);
+			if (factory != null)
+				return factory.createAnnotationModel(file.getFullPath());
+			return null;
+		}
 	}
 
 	public IDocument createEmptyDocument(final IFile file) {
+		synchronized (fSetupLock) {
+			return internalCreateEmptyDocument(file);
+		}
+	}
+
+	private IDocument internalCreateEmptyDocument(final IFile file) {
 		IDocument documentFromFactory= createEmptyDocumentFromFactory(file);
 		final IDocument document;
 		if (documentFromFactory != null)
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,8 +20,13 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileInfo;
@@ -35,9 +40,12 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.content.IContentDescription;
 import org.eclipse.core.runtime.content.IContentType;
 import org.eclipse.core.runtime.content.IContentTypeManager;
@@ -47,6 +55,7 @@ import org.eclipse.core.filebuffers.IDocumentSetupParticipant;
 import org.eclipse.core.filebuffers.IDocumentSetupParticipantExtension;
 import org.eclipse.core.filebuffers.IFileBuffer;
 import org.eclipse.core.filebuffers.IFileBufferListener;
+import org.eclipse.core.filebuffers.IFileBufferListenerExtension;
 import org.eclipse.core.filebuffers.IFileBufferStatusCodes;
 import org.eclipse.core.filebuffers.ISynchronizationContext;
 import org.eclipse.core.filebuffers.ITextFileBuffer;
@@ -72,10 +81,24 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 
 	protected static final IContentType TEXT_CONTENT_TYPE= Platform.getContentTypeManager().getContentType(IContentTypeManager.CT_TEXT);
 
+	/**
+	 * The maximal number of threads reading files concurrently when connecting
+	 * several files at once.
+	 */
+	private static final int MAX_CONNECT_THREADS= Math.min(Runtime.getRuntime().availableProcessors(), 8);
+
 	private Map<IPath, AbstractFileBuffer> fFilesBuffers= new HashMap<>();
 	private Map<IFileStore, FileStoreFileBuffer> fFileStoreFileBuffers= new HashMap<>();
 	private List<IFileBufferListener> fFileBufferListeners= new ArrayList<>();
 	protected ExtensionsRegistry fRegistry;
+
+	/**
+	 * Serializes the document setup and the creation of annotation models.
+	 * Contributed factories and setup participants are not required to be
+	 * thread safe, but {@link #connect(IPath[], LocationKind, IProgressMonitor)}
+	 * creates file buffers concurrently.
+	 */
+	final Object fSetupLock= new Object();
 	private ISynchronizationContext fSynchronizationContext;
 
 
@@ -131,6 +154,141 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 		fireBufferCreated(fileBuffer);
 	}
 
+	@Override
+	public void connect(IPath[] locations, LocationKind locationKind, IProgressMonitor monitor) throws CoreException {
+		Assert.isNotNull(locations);
+		SubMonitor subMonitor= SubMonitor.convert(monitor, FileBuffersMessages.TextFileBufferManager_task_connecting, locations.length);
+
+		// Connect the existing buffers and count the connections of the new ones
+		List<IPath> connected= new ArrayList<>(locations.length);
+		Map<IPath, Integer> pending= new LinkedHashMap<>();
+		synchronized (fFilesBuffers) {
+			for (IPath location : locations) {
+				Assert.isNotNull(location);
+				if (locationKind == LocationKind.NORMALIZE)
+					location= normalizeLocation(location);
+				AbstractFileBuffer fileBuffer= internalGetFileBuffer(location);
+				if (fileBuffer != null) {
+					fileBuffer.connect();
+					connected.add(location);
+					subMonitor.worked(1);
+				} else
+					pending.merge(location, 1, Integer::sum);
+			}
+		}
+
+		IPath[] newLocations= pending.keySet().toArray(new IPath[pending.size()]);
+		AbstractFileBuffer[] fileBuffers= new AbstractFileBuffer[newLocations.length];
+		MultiStatus status= new MultiStatus(FileBuffersPlugin.PLUGIN_ID, IFileBufferStatusCodes.CREATION_FAILED, FileBuffersMessages.TextFileBufferManager_error_connectFailed, null);
+		boolean canceled= false;
+		boolean interrupted= false;
+		if (newLocations.length > 0) {
+			ExecutorService executor= Executors.newFixedThreadPool(Math.min(newLocations.length, MAX_CONNECT_THREADS), runnable -> {
+				Thread thread= new Thread(runnable, "File Buffer Connect"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			try {
+				List<Future<?>> futures= new ArrayList<>(newLocations.length);
+				for (int i= 0; i < newLocations.length; i++) {
+					IPath location= newLocations[i];
+					AbstractFileBuffer fileBuffer= createFileBuffer(location, locationKind);
+					fileBuffers[i]= fileBuffer;
+					if (fileBuffer == null)
+						futures.add(null);
+					else
+						futures.add(executor.submit(() -> {
+							fileBuffer.create(location, null);
+							return null;
+						}));
+				}
+				for (int i= 0; i < newLocations.length; i++) {
+					Future<?> future= futures.get(i);
+					if (future == null) {
+						status.add(new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IFileBufferStatusCodes.CREATION_FAILED, FileBuffersMessages.FileBufferManager_error_canNotCreateFilebuffer, null));
+						continue;
+					}
+					if (!canceled && subMonitor.isCanceled())
+						canceled= true;
+					if (canceled && future.cancel(false)) {
+						// The buffer has not been created, there is nothing to dispose
+						fileBuffers[i]= null;
+						continue;
+					}
+					// Wait even when canceled, so that a buffer being created can be disposed below
+					boolean created= false;
+					Throwable failure= null;
+					while (true) {
+						try {
+							future.get();
+							created= true;
+							break;
+						} catch (ExecutionException e) {
+							failure= e.getCause();
+							break;
+						} catch (InterruptedException e) {
+							interrupted= true;
+							canceled= true;
+							if (future.cancel(false))
+								break;
+						}
+					}
+					if (!created) {
+						fileBuffers[i]= null;
+						if (failure != null) {
+							String message= NLSUtility.format(FileBuffersMessages.TextFileBufferManager_error_connectFileFailed, newLocations[i]);
+							status.add(new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IFileBufferStatusCodes.CREATION_FAILED, message, failure));
+						}
+					} else if (!canceled)
+						subMonitor.worked(1);
+				}
+			} finally {
+				executor.shutdown();
+				if (interrupted)
+					Thread.currentThread().interrupt();
+			}
+		}
+
+		if (canceled || !status.isOK()) {
+			for (AbstractFileBuffer fileBuffer : fileBuffers) {
+				if (fileBuffer != null) {
+					fileBuffer.disconnect();
+					fileBuffer.dispose();
+				}
+			}
+			try {
+				internalDisconnect(connected.toArray(new IPath[connected.size()]));
+			} catch (CoreException e) {
+				status.add(e.getStatus());
+			}
+			if (canceled)
+				throw new OperationCanceledException();
+			throw new CoreException(status);
+		}
+
+		List<IFileBuffer> created= new ArrayList<>(newLocations.length);
+		synchronized (fFilesBuffers) {
+			for (int i= 0; i < newLocations.length; i++) {
+				AbstractFileBuffer fileBuffer= fileBuffers[i];
+				int count= pending.get(newLocations[i]).intValue();
+				AbstractFileBuffer oldFileBuffer= internalGetFileBuffer(newLocations[i]);
+				if (oldFileBuffer != null) {
+					fileBuffer.disconnect();
+					fileBuffer.dispose();
+					fileBuffer= oldFileBuffer;
+				} else {
+					fFilesBuffers.put(newLocations[i], fileBuffer);
+					created.add(fileBuffer);
+				}
+				for (int j= 0; j < count; j++)
+					fileBuffer.connect();
+			}
+		}
+
+		// Do notification outside synchronized block
+		fireBuffersCreated(created.toArray(new IFileBuffer[created.size()]));
+	}
+
 	@Override
 	public void connectFileStore(IFileStore fileStore, IProgressMonitor monitor) throws CoreException {
 		Assert.isLegal(fileStore != null);
@@ -208,6 +366,56 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 		fileBuffer.dispose();
 	}
 
+	@Override
+	public void disconnect(IPath[] locations, LocationKind locationKind, IProgressMonitor monitor) throws CoreException {
+		Assert.isNotNull(locations);
+		IPath[] normalized= new IPath[locations.length];
+		for (int i= 0; i < locations.length; i++) {
+			Assert.isNotNull(locations[i]);
+			normalized[i]= locationKind == LocationKind.NORMALIZE ? normalizeLocation(locations[i]) : locations[i];
+		}
+		internalDisconnect(normalized);
+	}
+
+	/**
+	 * Disconnects the files at the given normalized locations.
+	 *
+	 * @param locations the normalized locations of the files to be disconnected
+	 * @throws CoreException if any of the files could not successfully be disconnected
+	 */
+	private void internalDisconnect(IPath[] locations) throws CoreException {
+		MultiStatus status= new MultiStatus(FileBuffersPlugin.PLUGIN_ID, IStatus.OK, FileBuffersMessages.TextFileBufferManager_error_disconnectFailed, null);
+		List<AbstractFileBuffer> disposed= new ArrayList<>();
+		synchronized (fFilesBuffers) {
+			for (IPath location : locations) {
+				AbstractFileBuffer fileBuffer= internalGetFileBuffer(location);
+				if (fileBuffer == null)
+					continue;
+
+				try {
+					fileBuffer.disconnect();
+				} catch (CoreException e) {
+					String message= NLSUtility.format(FileBuffersMessages.TextFileBufferManager_error_disconnectFileFailed, location);
+					status.add(new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IStatus.OK, message, e));
+					continue;
+				}
+				if (!fileBuffer.isDisconnected())
+					continue;
+
+				fFilesBuffers.remove(location);
+				disposed.add(fileBuffer);
+			}
+		}
+
+		// Do notification outside synchronized block
+		fireBuffersDisposed(disposed.toArray(new IFileBuffer[disposed.size()]));
+		for (AbstractFileBuffer fileBuffer : disposed)
+			fileBuffer.dispose();
+
+		if (!status.isOK())
+			throw new CoreException(status);
+	}
+
 	@Override
 	public void disconnectFileStore(IFileStore fileStore, IProgressMonitor monitor) throws CoreException {
 		Assert.isLegal(fileStore != null);
@@ -433,6 +641,12 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 
 	@Override
 	public IDocument createEmptyDocument(final IPath location, final LocationKind locationKind) {
+		synchronized (fSetupLock) {
+			return internalCreateEmptyDocument(location, locationKind);
+		}
+	}
+
+	private IDocument internalCreateEmptyDocument(final IPath location, final LocationKind locationKind) {
 		IDocument documentFromFactory= createDocumentFromFactory(location, locationKind);
 		final IDocument document;
 		if (documentFromFactory != null)
@@ -526,10 +740,12 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 	@Override
 	public IAnnotationModel createAnnotationModel(IPath location, LocationKind locationKind) {
 		Assert.isNotNull(location);
-		IAnnotationModelFactory factory= fRegistry.getAnnotationModelFactory(location, locationKind);
-		if (factory != null)
-			return factory.createAnnotationModel(location);
-		return null;
+		synchronized (fSetupLock) {
+			IAnnotationModelFactory factory= fRegistry.getAnnotationModelFactory(location, locationKind);
+			if (factory != null)
+				return factory.createAnnotationModel(location);
+			return null;
+		}
 	}
 
 	@Override
@@ -791,6 +1007,72 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 		}
 	}
 
+	/**
+	 * Informs the listeners about the creation of the given buffers.
+	 * {@link IFileBufferListenerExtension} listeners are informed once.
+	 *
+	 * @param buffers the created file buffers
+	 * @since 3.9
+	 */
+	protected void fireBuffersCreated(final IFileBuffer[] buffers) {
+		if (buffers.length == 0)
+			return;
+		Iterator<IFileBufferListener> e= getFileBufferListenerIterator();
+		while (e.hasNext()) {
+			final IFileBufferListener l= e.next();
+			if (l instanceof IFileBufferListenerExtension extension) {
+				SafeRunner.run(new SafeNotifier() {
+					@Override
+					public void run() {
+						extension.bufferCreated(buffers);
+					}
+				});
+			} else {
+				for (final IFileBuffer buffer : buffers) {
+					SafeRunner.run(new SafeNotifier() {
+						@Override
+						public void run() {
+							l.bufferCreated(buffer);
+						}
+					});
+				}
+			}
+		}
+	}
+
+	/**
+	 * Informs the listeners that the given buffers have been disposed.
+	 * {@link IFileBufferListenerExtension} listeners are informed once.
+	 *
+	 * @param buffers the disposed file buffers
+	 * @since 3.9
+	 */
+	protected void fireBuffersDisposed(final IFileBuffer[] buffers) {
+		if (buffers.length == 0)
+			return;
+		Iterator<IFileBufferListener> e= getFileBufferListenerIterator();
+		while (e.hasNext()) {
+			final IFileBufferListener l= e.next();
+			if (l instanceof IFileBufferListenerExtension extension) {
+				SafeRunner.run(new SafeNotifier() {
+					@Override
+					public void run() {
+						extension.bufferDisposed(buffers);
+					}
+				});
+			} else {
+				for (final IFileBuffer buffer : buffers) {
+					SafeRunner.run(new SafeNotifier() {
+						@Override
+						public void run() {
+							l.bufferDisposed(buffer);
+						}
+					});
+				}
+			}
+		}
+	}
+
 	@Override
 	public void validateState(final IFileBuffer[] fileBuffers, IProgressMonitor monitor, final Object computationContext) throws CoreException {
 	}
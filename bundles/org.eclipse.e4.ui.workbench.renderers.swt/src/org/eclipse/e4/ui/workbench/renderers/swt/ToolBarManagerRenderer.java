@@ -95,8 +95,6 @@ import org.osgi.service.event.Event;
  */
 public class ToolBarManagerRenderer extends SWTPartRenderer {
 
-	private static final Selector ALL_SELECTOR = element -> true;
-
 	/**	 */
 	public static final String POST_PROCESSING_FUNCTION = "ToolBarManagerRenderer.postProcess.func"; //$NON-NLS-1$
 	/**	 */
@@ -294,7 +292,7 @@ public class ToolBarManagerRenderer extends SWTPartRenderer {
 	@Optional
 	private void subscribeTopicDirtyChanged(
 			@SuppressWarnings("unused") @UIEventTopic(UIEvents.Dirtyable.TOPIC_DIRTY) Event eventData) {
-		getUpdater().updateContributionItems(ALL_SELECTOR);
+		getUpdater().updateAllContributionItems();
 	}
 
 	@Inject
@@ -302,16 +300,29 @@ public class ToolBarManagerRenderer extends SWTPartRenderer {
 	private void subscribeTopicUpdateToolbarEnablement(
 			@UIEventTopic(UIEvents.REQUEST_ENABLEMENT_UPDATE_TOPIC) Event eventData) {
 		final Object v = eventData != null ? eventData.getProperty(IEventBroker.DATA) : UIEvents.ALL_ELEMENT_ID;
-		Selector s;
 		if (v instanceof Selector) {
-			s = (Selector) v;
+			getUpdater().updateContributionItems((Selector) v);
 		} else if (v == null || UIEvents.ALL_ELEMENT_ID.equals(v)) {
-			s = ALL_SELECTOR;
-		} else {
-			s = element -> v.equals(element.getElementId());
+			getUpdater().updateAllContributionItems();
+		} else if (v instanceof String) {
+			getUpdater().updateContributionItems((String) v);
 		}
+	}
 
-		getUpdater().updateContributionItems(s);
+	@Inject
+	@Optional
+	private void subscribeTopicElementIdChanged(
+			@UIEventTopic(UIEvents.ApplicationElement.TOPIC_ELEMENTID) Event event) {
+		// Ensure that this event is for a MToolBarElement
+		if (!(event.getProperty(UIEvents.EventTags.ELEMENT) instanceof MToolBarElement)) {
+			return;
+		}
+
+		MToolBarElement itemModel = (MToolBarElement) event.getProperty(UIEvents.EventTags.ELEMENT);
+		IContributionItem ici = getContribution(itemModel);
+		if (ici instanceof AbstractContributionItem) {
+			getUpdater().updateItemId((AbstractContributionItem) ici);
+		}
 	}
 
 	@Inject
@@ -356,7 +367,7 @@ public class ToolBarManagerRenderer extends SWTPartRenderer {
 	public void init() {
 		context.set(ToolBarManagerRenderer.class, this);
 		Throttler throttler = new Throttler(Display.getDefault(), Duration.ofMillis(200),
-				() -> getUpdater().updateContributionItems(ALL_SELECTOR));
+				() -> getUpdater().updateAllContributionItems());
 
 		String[] vars = {
 				"org.eclipse.ui.internal.services.EvaluationService.evaluate", //$NON-NLS-1$
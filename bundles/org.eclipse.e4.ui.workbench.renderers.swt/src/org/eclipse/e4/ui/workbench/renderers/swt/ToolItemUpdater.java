@@ -14,20 +14,34 @@
 
 package org.eclipse.e4.ui.workbench.renderers.swt;
 
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
-import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import org.eclipse.e4.ui.model.application.MApplicationElement;
+import org.eclipse.e4.ui.model.application.ui.menu.MItem;
 import org.eclipse.e4.ui.workbench.Selector;
 import org.eclipse.swt.widgets.Display;
 
+/**
+ * Updates the enablement of the registered tool items in batches.
+ * <p>
+ * Requests are queued and the queued items are updated once, {@link #DELAY}
+ * milliseconds after the first request. Registered items are indexed by their
+ * element id, so that a request for a single id does not need to visit every
+ * item, and a request for all items just marks them all as queued.
+ * </p>
+ */
 public class ToolItemUpdater implements Runnable {
 
 	private static int DELAY = 100;
 	private long timestampOfEarliestQueuedUpdate = 0;
-	private List<AbstractContributionItem> itemsToCheck = new ArrayList<>();
-	private final List<AbstractContributionItem> orphanedToolItems = new ArrayList<>();
+	private final Set<AbstractContributionItem> itemsToCheck = new LinkedHashSet<>();
+	private final Map<String, Set<AbstractContributionItem>> itemsById = new HashMap<>();
+	private final Map<AbstractContributionItem, String> idByItem = new HashMap<>();
 	private final Set<AbstractContributionItem> itemsToUpdateLater = new LinkedHashSet<>();
+	private boolean allItemsQueued;
 
 	public ToolItemUpdater() {
 		String delayProperty = System.getProperty("ToolItemUpdaterDelayInMs"); //$NON-NLS-1$
@@ -37,43 +51,119 @@ public class ToolItemUpdater implements Runnable {
 	}
 
 	void registerItem(AbstractContributionItem item) {
-		if (!itemsToCheck.contains(item)) {
-			itemsToCheck.add(item);
+		if (itemsToCheck.add(item)) {
+			index(item);
+		}
+	}
+
+	/**
+	 * Indexes the given item again after the element id of its model changed.
+	 *
+	 * @param item a registered item, other items are ignored
+	 */
+	void updateItemId(AbstractContributionItem item) {
+		if (itemsToCheck.contains(item)) {
+			unindex(item);
+			index(item);
 		}
 	}
 
 	void removeItem(AbstractContributionItem item) {
-		itemsToCheck.remove(item);
+		if (itemsToCheck.remove(item)) {
+			unindex(item);
+		}
+		itemsToUpdateLater.remove(item);
 	}
 
+	private void index(AbstractContributionItem item) {
+		MItem model = item.getModel();
+		String id = model == null ? null : model.getElementId();
+		if (id != null) {
+			idByItem.put(item, id);
+			itemsById.computeIfAbsent(id, k -> new LinkedHashSet<>()).add(item);
+		}
+	}
+
+	private void unindex(AbstractContributionItem item) {
+		String id = idByItem.remove(item);
+		if (id == null) {
+			return;
+		}
+		Set<AbstractContributionItem> items = itemsById.get(id);
+		if (items != null && items.remove(item) && items.isEmpty()) {
+			itemsById.remove(id);
+		}
+	}
+
+	private static boolean isOrphaned(AbstractContributionItem item) {
+		return item.getModel() == null || item.getModel().getParent() == null;
+	}
+
+	/**
+	 * Queues the enablement update of all registered items.
+	 */
+	public void updateAllContributionItems() {
+		if (!itemsToCheck.isEmpty()) {
+			allItemsQueued = true;
+			scheduleUpdate();
+		}
+	}
+
+	/**
+	 * Queues the enablement update of the registered items with the given
+	 * {@link MApplicationElement#getElementId() element id}.
+	 *
+	 * @param id the element id of the items
+	 */
+	public void updateContributionItems(String id) {
+		Set<AbstractContributionItem> items = itemsById.get(id);
+		if (items == null || allItemsQueued) {
+			return;
+		}
+		boolean queued = false;
+		for (AbstractContributionItem ci : items) {
+			if (!isOrphaned(ci)) {
+				queued |= itemsToUpdateLater.add(ci);
+			}
+		}
+		if (queued) {
+			scheduleUpdate();
+		}
+	}
+
+	/**
+	 * Queues the enablement update of the registered items whose model is
+	 * selected by the given selector.
+	 *
+	 * @param selector selects the models of the items to update
+	 */
 	public void updateContributionItems(Selector selector) {
-		boolean doRunNow = false;
-		for (final AbstractContributionItem ci : itemsToCheck) {
-			if (ci.getModel() != null && ci.getModel().getParent() != null) {
-				if (selector.select(ci.getModel())) {
-					itemsToUpdateLater.add(ci);
-					if (timestampOfEarliestQueuedUpdate == 0) {
-						timestampOfEarliestQueuedUpdate = System.nanoTime();
-					}
-					if (System.nanoTime() - timestampOfEarliestQueuedUpdate > DELAY * 1_000_000) {
-						// runnable was not called within the last DELAY milliseconds, do it now.
-						// For scenario: a plugin is forcing that updateContributionItems is called
-						// again and again in less than given DELAY frequency. TimerExec would then
-						// never be executed.
-						doRunNow = true;
-					} else {
-						Display.getDefault().timerExec(DELAY, this);
-					}
-				}
-			} else {
-				orphanedToolItems.add(ci);
+		if (allItemsQueued) {
+			return;
+		}
+		boolean queued = false;
+		for (Iterator<AbstractContributionItem> it = itemsToCheck.iterator(); it.hasNext();) {
+			AbstractContributionItem ci = it.next();
+			if (isOrphaned(ci)) {
+				it.remove();
+				unindex(ci);
+			} else if (selector.select(ci.getModel())) {
+				queued |= itemsToUpdateLater.add(ci);
 			}
 		}
-		if (!orphanedToolItems.isEmpty()) {
-			itemsToCheck.removeAll(orphanedToolItems);
-			orphanedToolItems.clear();
+		if (queued) {
+			scheduleUpdate();
 		}
-		if (doRunNow) {
+	}
+
+	private void scheduleUpdate() {
+		if (timestampOfEarliestQueuedUpdate == 0) {
+			timestampOfEarliestQueuedUpdate = System.nanoTime();
+			Display.getDefault().timerExec(DELAY, this);
+		} else if (System.nanoTime() - timestampOfEarliestQueuedUpdate > DELAY * 1_000_000L) {
+			// runnable was not called within the last DELAY milliseconds, do it now.
+			// For scenario: the display is too busy to run timers while a plugin keeps
+			// requesting updates.
 			run();
 		}
 	}
@@ -81,7 +171,20 @@ public class ToolItemUpdater implements Runnable {
 	@Override
 	public void run() {
 		timestampOfEarliestQueuedUpdate = 0;
-		AbstractContributionItem[] copy = itemsToUpdateLater.toArray(new AbstractContributionItem[] {});
+		AbstractContributionItem[] copy;
+		if (allItemsQueued) {
+			allItemsQueued = false;
+			for (Iterator<AbstractContributionItem> it = itemsToCheck.iterator(); it.hasNext();) {
+				AbstractContributionItem ci = it.next();
+				if (isOrphaned(ci)) {
+					it.remove();
+					unindex(ci);
+				}
+			}
+			copy = itemsToCheck.toArray(new AbstractContributionItem[] {});
+		} else {
+			copy = itemsToUpdateLater.toArray(new AbstractContributionItem[] {});
+		}
 		itemsToUpdateLater.clear();
 		for (AbstractContributionItem it : copy) {
 			it.updateItemEnablement();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,7 @@ import org.eclipse.jface.internal.databinding.viewers.ViewerElementSet;
 import org.eclipse.jface.viewers.AbstractListViewer;
 import org.eclipse.jface.viewers.AbstractTableViewer;
 import org.eclipse.jface.viewers.IStructuredContentProvider;
+import org.eclipse.jface.viewers.StructuredViewer;
 import org.eclipse.jface.viewers.Viewer;
 
 /**
@@ -50,6 +51,13 @@ public class ObservableListContentProvider<E> implements IStructuredContentProvi
 	private ObservableCollectionContentProvider<E> impl;
 
 	private static class Impl<E> extends ObservableCollectionContentProvider<E> implements IListChangeListener<E> {
+		/**
+		 * Diffs with more entries than this, such as the merged diffs of a
+		 * batch (see Realm#runBatch), refresh the viewer at once rather than
+		 * inserting and removing the elements one by one.
+		 */
+		private static final int REFRESH_THRESHOLD = 500;
+
 		private Viewer viewer;
 
 		Impl(IViewerUpdater<E> explicitViewerUpdater) {
@@ -86,7 +94,9 @@ public class ObservableListContentProvider<E> implements IStructuredContentProvi
 			// Determine which elements were added and removed
 			final Set<E> knownElementAdditions = ViewerElementSet.withComparer(comparer);
 			final Set<E> knownElementRemovals = ViewerElementSet.withComparer(comparer);
-			final boolean[] suspendRedraw = new boolean[] { false };
+			final int differenceCount = event.diff.getDifferences().length;
+			// update the viewer in one go for diffs with several entries
+			final boolean[] suspendRedraw = new boolean[] { differenceCount > 1 };
 			event.diff.accept(new ListDiffVisitor<E>() {
 				@Override
 				public void handleAdd(int index, E element) {
@@ -121,27 +131,32 @@ public class ObservableListContentProvider<E> implements IStructuredContentProvi
 			if (suspendRedraw[0])
 				viewer.getControl().setRedraw(false);
 			try {
-				event.diff.accept(new ListDiffVisitor<E>() {
-					@Override
-					public void handleAdd(int index, E element) {
-						viewerUpdater.insert(element, index);
-					}
-
-					@Override
-					public void handleRemove(int index, E element) {
-						viewerUpdater.remove(element, index);
-					}
-
-					@Override
-					public void handleReplace(int index, E oldElement, E newElement) {
-						viewerUpdater.replace(oldElement, newElement, index);
-					}
-
-					@Override
-					public void handleMove(int oldIndex, int newIndex, E element) {
-						viewerUpdater.move(element, oldIndex, newIndex);
-					}
-				});
+				if (differenceCount > REFRESH_THRESHOLD && !hasExplicitViewerUpdater()
+						&& viewer instanceof StructuredViewer) {
+					((StructuredViewer) viewer).refresh();
+				} else {
+					event.diff.accept(new ListDiffVisitor<E>() {
+						@Override
+						public void handleAdd(int index, E element) {
+							viewerUpdater.insert(element, index);
+						}
+
+						@Override
+						public void handleRemove(int index, E element) {
+							viewerUpdater.remove(element, index);
+						}
+
+						@Override
+						public void handleReplace(int index, E oldElement, E newElement) {
+							viewerUpdater.replace(oldElement, newElement, index);
+						}
+
+						@Override
+						public void handleMove(int oldIndex, int newIndex, E element) {
+							viewerUpdater.move(element, oldIndex, newIndex);
+						}
+					});
+				}
 			} finally {
 				if (suspendRedraw[0])
 					viewer.getControl().setRedraw(true);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 Matthew Hall and others.
+ * Copyright (c) 2008, 2026 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -164,6 +164,14 @@ public abstract class ObservableCollectionContentProvider<E> implements IStructu
 		return null;
 	}
 
+	/**
+	 * @return <code>true</code> if the viewer is updated by a viewer updater
+	 *         given by the client
+	 */
+	protected final boolean hasExplicitViewerUpdater() {
+		return explicitViewerUpdater != null;
+	}
+
 	IViewerUpdater<E> createViewerUpdater(Viewer viewer) {
 		if (explicitViewerUpdater != null)
 			return explicitViewerUpdater;
@@ -0,0 +1,557 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.internal;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.URIUtil;
+import org.eclipse.jface.util.Policy;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * A persistent cache of decoded image data, consulted by the image descriptors
+ * loading images from files and URLs, so that the icons of the installed
+ * bundles are not decoded again on every start.
+ * <p>
+ * The image data is stored per resource and zoom level, including the zoom
+ * levels for which no image exists. Resources of bundles are validated by the
+ * last modification time of the bundle, files by the one of the file loaded
+ * for the zoom level. Missing files, files without a modification time and
+ * resources of other URLs are not cached.
+ * </p>
+ * <p>
+ * The entries read at startup are kept in a memory-mapped file and only
+ * decoded when requested. New entries are kept in memory and written with the
+ * other entries by {@link #close()}, into a new file that replaces the old one
+ * on the next start if it cannot be replaced while it is mapped.
+ * </p>
+ * <p>
+ * The cache is disabled unless a default cache is set with
+ * {@link #setDefault(ImageDataCache)}. It is thread-safe.
+ * </p>
+ *
+ * @since 3.33
+ */
+public final class ImageDataCache {
+
+	private static final int MAGIC = 0x4A464944; // "JFID"
+	private static final int VERSION = 1;
+
+	/**
+	 * The maximum size of the cache file. Entries not used in the session are
+	 * dropped first when it is exceeded.
+	 */
+	private static final int MAX_SIZE = 64 * 1024 * 1024;
+
+	private static final int HEADER_SIZE = 12;
+
+	private static final String NEW_FILE_SUFFIX = ".new"; //$NON-NLS-1$
+
+	private static volatile ImageDataCache defaultCache;
+
+	private static final class Entry {
+		final long stamp;
+		/** The encoded image data, or <code>null</code> if it is mapped. */
+		final byte[] bytes;
+		/** The offset of the encoded image data in the mapped file. */
+		final int offset;
+		/** The length of the encoded image data, -1 if there is no image. */
+		final int length;
+		boolean used;
+
+		Entry(long stamp, byte[] bytes, int offset, int length) {
+			this.stamp = stamp;
+			this.bytes = bytes;
+			this.offset = offset;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * A resource with a name that is the same in every session.
+	 */
+	private static final class Resource {
+		final String name;
+		final long stamp;
+
+		Resource(String name, long stamp) {
+			this.name = name;
+			this.stamp = stamp;
+		}
+	}
+
+	private final Path file;
+
+	private MappedByteBuffer mapped;
+
+	/** The entries by zoom level and key, in the order they are written. */
+	private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+	private boolean dirty;
+
+	private int hits;
+
+	private int misses;
+
+	/**
+	 * Returns the cache consulted by the image descriptors.
+	 *
+	 * @return the cache, or <code>null</code> if image data is not cached
+	 */
+	public static ImageDataCache getDefault() {
+		return defaultCache;
+	}
+
+	/**
+	 * Sets the cache consulted by the image descriptors.
+	 *
+	 * @param cache
+	 *            the cache, or <code>null</code> to stop caching image data
+	 */
+	public static void setDefault(ImageDataCache cache) {
+		defaultCache = cache;
+	}
+
+	/**
+	 * Opens the cache stored in the given file. The file is created when the
+	 * cache is closed, a missing or corrupt file is ignored.
+	 *
+	 * @param file
+	 *            the file storing the cache
+	 */
+	public ImageDataCache(Path file) {
+		this.file = file;
+		Path newFile = file.resolveSibling(file.getFileName() + NEW_FILE_SUFFIX);
+		try {
+			if (Files.exists(newFile)) {
+				Files.move(newFile, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+			if (Files.exists(file)) {
+				read();
+			}
+		} catch (IOException | RuntimeException e) {
+			entries.clear();
+			mapped = null;
+			log("Could not read the image data cache " + file, e); //$NON-NLS-1$
+		}
+	}
+
+	private void read() throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > MAX_SIZE) {
+				throw new IOException("The image data cache is too large"); //$NON-NLS-1$
+			}
+			mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		ByteBuffer buffer = mapped.duplicate();
+		try {
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+				throw new IOException("Unknown image data cache format"); //$NON-NLS-1$
+			}
+			int count = buffer.getInt();
+			for (int i = 0; i < count; i++) {
+				byte[] key = new byte[buffer.getInt()];
+				buffer.get(key);
+				int zoom = buffer.getInt();
+				long stamp = buffer.getLong();
+				int length = buffer.getInt();
+				int offset = buffer.position();
+				if (length > 0) {
+					buffer.position(offset + length);
+				}
+				entries.put(getKey(new String(key, StandardCharsets.UTF_8), zoom),
+						new Entry(stamp, null, offset, length));
+			}
+		} catch (BufferUnderflowException | IllegalArgumentException e) {
+			throw new IOException("The image data cache is corrupt", e); //$NON-NLS-1$
+		}
+	}
+
+	private static String getKey(String resource, int zoom) {
+		return zoom + ":" + resource; //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the image data of a resource at a zoom level, loading it if it is
+	 * not cached or the resource has changed. The image data is loaded from the
+	 * URL itself at every zoom level.
+	 *
+	 * @param url
+	 *            the URL of the resource at 100% zoom, identifies the image
+	 * @param zoom
+	 *            the zoom level
+	 * @param loader
+	 *            loads the image data, may return <code>null</code>
+	 * @return a new image data object, or <code>null</code> if there is no
+	 *         image at the zoom level
+	 */
+	public ImageData getImageData(URL url, int zoom, Supplier<ImageData> loader) {
+		return getImageData(url, zoom, () -> Collections.singletonList(url), loader);
+	}
+
+	/**
+	 * Returns the image data of a resource at a zoom level, loading it if it is
+	 * not cached or the resource has changed.
+	 *
+	 * @param url
+	 *            the URL of the resource at 100% zoom, identifies the image
+	 * @param zoom
+	 *            the zoom level
+	 * @param zoomURLs
+	 *            returns the URLs the loader tries for the zoom level, in
+	 *            order, may contain <code>null</code>; the entries of files are
+	 *            validated against the first one that exists
+	 * @param loader
+	 *            loads the image data, may return <code>null</code>
+	 * @return a new image data object, or <code>null</code> if there is no
+	 *         image at the zoom level
+	 */
+	public ImageData getImageData(URL url, int zoom, Supplier<List<URL>> zoomURLs, Supplier<ImageData> loader) {
+		Resource resource = getResource(url, zoomURLs);
+		if (resource == null) {
+			return loader.get();
+		}
+		String key = getKey(resource.name, zoom);
+		synchronized (this) {
+			Entry entry = entries.get(key);
+			if (entry != null && entry.stamp == resource.stamp) {
+				try {
+					ImageData data = decode(entry);
+					entry.used = true;
+					hits++;
+					return data;
+				} catch (BufferUnderflowException | IllegalArgumentException e) {
+					// a corrupt entry is replaced
+				}
+			}
+			misses++;
+		}
+		ImageData data = loader.get();
+		byte[] bytes = data == null ? null : encode(data);
+		synchronized (this) {
+			Entry entry = new Entry(resource.stamp, bytes, 0, bytes == null ? -1 : bytes.length);
+			entry.used = true;
+			entries.put(key, entry);
+			dirty = true;
+		}
+		return data;
+	}
+
+	/**
+	 * Returns the resource of a URL, with the modification stamp validating its
+	 * entries.
+	 *
+	 * @return the resource, or <code>null</code> if the resource is not cached
+	 */
+	private static Resource getResource(URL url, Supplier<List<URL>> zoomURLs) {
+		if (url == null) {
+			return null;
+		}
+		String protocol = url.getProtocol();
+		if ("file".equalsIgnoreCase(protocol)) { //$NON-NLS-1$
+			// a file is replaced by another one when the first one for the zoom level is created or deleted
+			for (URL zoomURL : zoomURLs.get()) {
+				long stamp = zoomURL == null ? 0 : getLastModified(zoomURL);
+				if (stamp > 0) {
+					return new Resource(zoomURL.toExternalForm(), stamp);
+				}
+			}
+			return null;
+		}
+		if (!InternalPolicy.OSGI_AVAILABLE) {
+			return null;
+		}
+		if ("platform".equalsIgnoreCase(protocol)) { //$NON-NLS-1$
+			url = FileLocator.find(url);
+			if (url == null) {
+				return null;
+			}
+			protocol = url.getProtocol();
+		}
+		if (!"bundleentry".equals(protocol) && !"bundleresource".equals(protocol)) { //$NON-NLS-1$ //$NON-NLS-2$
+			return null;
+		}
+		// The host is the bundle id followed by the framework of the session.
+		Bundle bundle = getBundle(url.getHost());
+		if (bundle == null || bundle.getLastModified() <= 0) {
+			return null;
+		}
+		String name = protocol + "://" + bundle.getSymbolicName() + '_' + bundle.getVersion() + ':' + url.getPort() //$NON-NLS-1$
+				+ url.getPath();
+		return new Resource(name, bundle.getLastModified());
+	}
+
+	/**
+	 * Returns the last modification time of a file URL.
+	 *
+	 * @return the time, or 0 if the file does not exist or has no time
+	 */
+	private static long getLastModified(URL url) {
+		if (!"file".equalsIgnoreCase(url.getProtocol())) { //$NON-NLS-1$
+			return 0;
+		}
+		try {
+			// the path of the URL is encoded, unless the URL was created from an unencoded string
+			File file = URIUtil.toFile(URIUtil.toURI(url));
+			return file == null ? 0 : Files.getLastModifiedTime(file.toPath()).toMillis();
+		} catch (URISyntaxException | IOException | RuntimeException e) {
+			return 0;
+		}
+	}
+
+	private static Bundle getBundle(String host) {
+		int dot = host.indexOf('.');
+		if (dot <= 0) {
+			return null;
+		}
+		Bundle jface = FrameworkUtil.getBundle(ImageDataCache.class);
+		BundleContext context = jface == null ? null : jface.getBundleContext();
+		if (context == null) {
+			return null;
+		}
+		try {
+			return context.getBundle(Long.parseLong(host.substring(0, dot)));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the number of requests answered from the cache and the number of
+	 * requests that loaded the image data.
+	 *
+	 * @return the hit and miss counts
+	 */
+	public synchronized int[] getStatistics() {
+		return new int[] { hits, misses };
+	}
+
+	/**
+	 * Writes the cache to its file if it has changed, and releases the mapped
+	 * file. The cache must not be used afterwards.
+	 */
+	public synchronized void close() {
+		if (dirty) {
+			try {
+				write();
+			} catch (IOException e) {
+				log("Could not write the image data cache " + file, e); //$NON-NLS-1$
+			}
+		}
+		entries.clear();
+		mapped = null;
+		dirty = false;
+	}
+
+	private void write() throws IOException {
+		int totalSize = HEADER_SIZE;
+		for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+			totalSize += getSize(mapEntry);
+		}
+		List<Map.Entry<String, Entry>> written = new ArrayList<>(entries.size());
+		int size = HEADER_SIZE;
+		for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+			int entrySize = getSize(mapEntry);
+			if ((totalSize <= MAX_SIZE || mapEntry.getValue().used) && size + entrySize <= MAX_SIZE) {
+				written.add(mapEntry);
+				size += entrySize;
+			}
+		}
+		// other instances sharing the configuration area may write the cache at the same time
+		Files.createDirectories(file.toAbsolutePath().getParent());
+		Path tempFile = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), null);
+		try {
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(written.size());
+				for (Map.Entry<String, Entry> mapEntry : written) {
+					Entry entry = mapEntry.getValue();
+					String key = mapEntry.getKey();
+					int colon = key.indexOf(':');
+					byte[] resource = key.substring(colon + 1).getBytes(StandardCharsets.UTF_8);
+					out.writeInt(resource.length);
+					out.write(resource);
+					out.writeInt(Integer.parseInt(key.substring(0, colon)));
+					out.writeLong(entry.stamp);
+					out.writeInt(entry.length);
+					if (entry.length > 0) {
+						writeData(out, entry);
+					}
+				}
+			}
+			mapped = null;
+			try {
+				Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException e) {
+				// the mapped file may not be replaceable, the new file replaces it on the next start
+				Files.move(tempFile, file.resolveSibling(file.getFileName() + NEW_FILE_SUFFIX),
+						StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	private static int getSize(Map.Entry<String, Entry> mapEntry) {
+		// the UTF-8 length of the key is at most three times its length
+		return 4 + 3 * mapEntry.getKey().length() + 4 + 8 + 4 + Math.max(mapEntry.getValue().length, 0);
+	}
+
+	private void writeData(OutputStream out, Entry entry) throws IOException {
+		if (entry.bytes != null) {
+			out.write(entry.bytes);
+		} else {
+			byte[] bytes = new byte[entry.length];
+			mapped.duplicate().position(entry.offset).get(bytes);
+			out.write(bytes);
+		}
+	}
+
+	private ImageData decode(Entry entry) {
+		if (entry.length < 0) {
+			return null;
+		}
+		ByteBuffer buffer;
+		if (entry.bytes != null) {
+			buffer = ByteBuffer.wrap(entry.bytes);
+		} else {
+			buffer = mapped.duplicate();
+			buffer.position(entry.offset).limit(entry.offset + entry.length);
+		}
+		return decode(buffer);
+	}
+
+	static ImageData decode(ByteBuffer in) {
+		int width = in.getInt();
+		int height = in.getInt();
+		int depth = in.getInt();
+		int scanlinePad = in.getInt();
+		PaletteData palette;
+		if (in.get() != 0) {
+			palette = new PaletteData(in.getInt(), in.getInt(), in.getInt());
+		} else {
+			RGB[] colors = new RGB[in.getInt()];
+			for (int i = 0; i < colors.length; i++) {
+				colors[i] = new RGB(in.get() & 0xFF, in.get() & 0xFF, in.get() & 0xFF);
+			}
+			palette = new PaletteData(colors);
+		}
+		ImageData data = new ImageData(width, height, depth, palette, scanlinePad, getBytes(in));
+		data.transparentPixel = in.getInt();
+		data.maskPad = in.getInt();
+		data.maskData = getBytes(in);
+		data.alphaData = getBytes(in);
+		data.alpha = in.getInt();
+		data.type = in.getInt();
+		data.x = in.getInt();
+		data.y = in.getInt();
+		data.disposalMethod = in.getInt();
+		data.delayTime = in.getInt();
+		return data;
+	}
+
+	private static byte[] getBytes(ByteBuffer in) {
+		int length = in.getInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.get(bytes);
+		return bytes;
+	}
+
+	static byte[] encode(ImageData data) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + data.data.length);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(data.width);
+			out.writeInt(data.height);
+			out.writeInt(data.depth);
+			out.writeInt(data.scanlinePad);
+			PaletteData palette = data.palette;
+			out.writeBoolean(palette.isDirect);
+			if (palette.isDirect) {
+				out.writeInt(palette.redMask);
+				out.writeInt(palette.greenMask);
+				out.writeInt(palette.blueMask);
+			} else {
+				out.writeInt(palette.colors.length);
+				for (RGB color : palette.colors) {
+					out.writeByte(color.red);
+					out.writeByte(color.green);
+					out.writeByte(color.blue);
+				}
+			}
+			writeBytes(out, data.data);
+			out.writeInt(data.transparentPixel);
+			out.writeInt(data.maskPad);
+			writeBytes(out, data.maskData);
+			writeBytes(out, data.alphaData);
+			out.writeInt(data.alpha);
+			out.writeInt(data.type);
+			out.writeInt(data.x);
+			out.writeInt(data.y);
+			out.writeInt(data.disposalMethod);
+			out.writeInt(data.delayTime);
+		} catch (IOException e) {
+			// not thrown by a byte array stream
+			throw new IllegalStateException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		if (bytes == null) {
+			out.writeInt(-1);
+		} else {
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	private static void log(String message, Exception e) {
+		Policy.getLog().log(new Status(IStatus.WARNING, Policy.JFACE, message, e));
+	}
+}
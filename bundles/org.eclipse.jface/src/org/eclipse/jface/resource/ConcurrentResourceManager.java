@@ -0,0 +1,410 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.resource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageDataProvider;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * A resource manager for a particular device that may be used from any thread.
+ * Like the {@link DeviceResourceManager}, it keeps a reference count for each
+ * allocated resource, but the reference counts are kept in a concurrent map.
+ * <p>
+ * When the device is a {@link Display}, the resources are created and disposed
+ * on its user-interface thread. Threads other than the user-interface thread
+ * wait for the resource to be created, while
+ * {@link #createImageAsync(ImageDescriptor)} decodes the image data in the
+ * background and only creates the image on the user-interface thread.
+ * </p>
+ * <p>
+ * This lets background jobs, such as decorators and label providers computing
+ * their labels in the background, prepare their images, colors and fonts ahead
+ * of time. Like any other resource manager, it can also be the parent of
+ * {@link LocalResourceManager}s used on the user-interface thread.
+ * </p>
+ *
+ * @since 3.33
+ */
+public final class ConcurrentResourceManager extends ResourceManager {
+
+	/**
+	 * The reference count of a resource, and the resource once it is allocated.
+	 */
+	private final class Entry {
+		final DeviceResourceDescriptor<?> descriptor;
+		/** Guarded by this entry. */
+		int count;
+		/** Guarded by this entry, the entry is no longer in the map when set. */
+		boolean removed;
+		/** Guarded by this entry. */
+		Object resource;
+		/** The image data decoded in the background, used to create the image. */
+		volatile ImageData imageData;
+
+		Entry(DeviceResourceDescriptor<?> descriptor) {
+			this.descriptor = descriptor;
+		}
+
+		/**
+		 * Allocates the resource unless it is allocated already or no longer
+		 * referenced. Must be called on the thread of the device.
+		 */
+		synchronized Object allocate() throws DeviceResourceException {
+			if (resource == null && !removed) {
+				resource = imageData != null ? createImage(this) : descriptor.createResource(device);
+				imageData = null;
+				resourceCount.incrementAndGet();
+			}
+			return resource;
+		}
+	}
+
+	private final Device device;
+
+	private final Executor executor;
+
+	private final ConcurrentHashMap<DeviceResourceDescriptor<?>, Entry> map = new ConcurrentHashMap<>();
+
+	private final AtomicInteger resourceCount = new AtomicInteger();
+
+	private Image missingImage;
+
+	private final List<Runnable> disposeExecs = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Creates a new resource manager for the given device, decoding images in
+	 * the common fork-join pool.
+	 *
+	 * @param device device to manage
+	 */
+	public ConcurrentResourceManager(Device device) {
+		this(device, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a new resource manager for the given device.
+	 *
+	 * @param device   device to manage
+	 * @param executor executes the decoding of images for
+	 *                 {@link #createImageAsync(ImageDescriptor)}
+	 */
+	public ConcurrentResourceManager(Device device, Executor executor) {
+		this.device = device;
+		this.executor = executor;
+	}
+
+	@Override
+	public Device getDevice() {
+		return device;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <R> R create(DeviceResourceDescriptor<R> descriptor) throws DeviceResourceException {
+		Entry entry = reference(descriptor);
+		try {
+			return (R) runOnDeviceThread(entry::allocate);
+		} catch (RuntimeException e) {
+			release(entry);
+			throw e;
+		}
+	}
+
+	/**
+	 * Creates an image, decoding its image data in the background. The image
+	 * itself is created on the user-interface thread if the device is a
+	 * {@link Display}. Like {@link #createImage(ImageDescriptor)}, the image must
+	 * be released with {@link #destroy(DeviceResourceDescriptor)} once it is no
+	 * longer used. If it is no longer referenced when it would be created, it is
+	 * not created and the future is cancelled at that time. If the image cannot
+	 * be created, the manager releases it.
+	 * <p>
+	 * The image data is decoded at 100% zoom in the background, the image data
+	 * of other zoom levels is requested from the descriptor when the image is
+	 * drawn at these zoom levels.
+	 * </p>
+	 *
+	 * @param descriptor descriptor of the image to create
+	 * @return the image, completed with a {@link DeviceResourceException} if it
+	 *         cannot be created, whose cause is the exception thrown by the
+	 *         descriptor
+	 */
+	public CompletableFuture<Image> createImageAsync(ImageDescriptor descriptor) {
+		Entry entry = reference(descriptor);
+		synchronized (entry) {
+			if (entry.resource != null) {
+				return CompletableFuture.completedFuture((Image) entry.resource);
+			}
+		}
+		CompletableFuture<Image> result = new CompletableFuture<>();
+		try {
+			executor.execute(() -> {
+				try {
+					entry.imageData = descriptor.getImageData(100);
+					if (device instanceof Display display) {
+						display.asyncExec(() -> complete(entry, result));
+					} else {
+						complete(entry, result);
+					}
+				} catch (RuntimeException e) {
+					fail(entry, result, e);
+				}
+			});
+		} catch (RuntimeException e) {
+			fail(entry, result, e);
+		}
+		return result;
+	}
+
+	private void complete(Entry entry, CompletableFuture<Image> result) {
+		try {
+			Image image = (Image) entry.allocate();
+			entry.imageData = null;
+			if (image != null) {
+				result.complete(image);
+			} else {
+				// released before it was created
+				result.cancel(false);
+			}
+		} catch (RuntimeException e) {
+			fail(entry, result, e);
+		}
+	}
+
+	private void fail(Entry entry, CompletableFuture<Image> result, RuntimeException e) {
+		release(entry);
+		result.completeExceptionally(
+				e instanceof DeviceResourceException ? e : new DeviceResourceException(entry.descriptor, e));
+	}
+
+	private Image createImage(Entry entry) {
+		ImageDescriptor descriptor = (ImageDescriptor) entry.descriptor;
+		ImageData imageData = entry.imageData;
+		try {
+			return new Image(device,
+					(ImageDataProvider) zoom -> zoom == 100 ? imageData : descriptor.getImageData(zoom));
+		} catch (IllegalArgumentException | SWTException e) {
+			return (Image) descriptor.createResource(device);
+		}
+	}
+
+	@Override
+	public <R> void destroy(DeviceResourceDescriptor<R> descriptor) {
+		Entry entry = map.get(descriptor);
+		if (entry != null) {
+			release(entry);
+		}
+	}
+
+	/**
+	 * Adds a reference to the resource of a descriptor.
+	 */
+	private Entry reference(DeviceResourceDescriptor<?> descriptor) {
+		while (true) {
+			Entry entry = map.computeIfAbsent(descriptor, Entry::new);
+			synchronized (entry) {
+				if (!entry.removed) {
+					entry.count++;
+					return entry;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes a reference to a resource, the last reference deallocates it.
+	 */
+	private void release(Entry entry) {
+		Object resource;
+		synchronized (entry) {
+			if (entry.count == 0 || --entry.count > 0) {
+				return;
+			}
+			entry.removed = true;
+			map.remove(entry.descriptor, entry);
+			resource = entry.resource;
+		}
+		if (resource != null) {
+			resourceCount.decrementAndGet();
+			runOnDeviceThreadAsync(() -> entry.descriptor.destroyResource(resource));
+		}
+	}
+
+	/**
+	 * Runs a computation on the thread of the device, waiting for it to
+	 * complete.
+	 */
+	private Object runOnDeviceThread(Supplier<Object> computation) {
+		if (!(device instanceof Display display) || display.getThread() == Thread.currentThread()) {
+			return computation.get();
+		}
+		Object[] result = new Object[1];
+		RuntimeException[] exception = new RuntimeException[1];
+		display.syncExec(() -> {
+			try {
+				result[0] = computation.get();
+			} catch (RuntimeException e) {
+				exception[0] = e;
+			}
+		});
+		if (exception[0] != null) {
+			throw exception[0];
+		}
+		return result[0];
+	}
+
+	private void runOnDeviceThreadAsync(Runnable runnable) {
+		if (!(device instanceof Display display) || display.getThread() == Thread.currentThread()) {
+			runnable.run();
+		} else if (!display.isDisposed()) {
+			display.asyncExec(runnable);
+		}
+	}
+
+	/**
+	 * Returns the number of resources allocated by this manager that have not
+	 * yet been deallocated.
+	 *
+	 * @return the number of live resources
+	 */
+	public int getResourceCount() {
+		return resourceCount.get();
+	}
+
+	/**
+	 * Returns the number of references to the resources of this manager, which
+	 * includes the references to resources that are still being created.
+	 *
+	 * @return the number of references
+	 */
+	public int getReferenceCount() {
+		int count = 0;
+		for (Entry entry : map.values()) {
+			synchronized (entry) {
+				count += entry.count;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public <R> R find(DeviceResourceDescriptor<R> descriptor) {
+		Entry entry = map.get(descriptor);
+		if (entry == null) {
+			return null;
+		}
+		synchronized (entry) {
+			@SuppressWarnings("unchecked")
+			R resource = (R) entry.resource;
+			return resource;
+		}
+	}
+
+	@Override
+	protected Image getDefaultImage() {
+		// the lock is only held on the thread of the device
+		return (Image) runOnDeviceThread(() -> {
+			synchronized (this) {
+				if (missingImage == null) {
+					missingImage = ImageDescriptor.getMissingImageDescriptor().createImage(device);
+				}
+				return missingImage;
+			}
+		});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * May be called from any thread.
+	 * </p>
+	 */
+	@Override
+	public void disposeExec(Runnable r) {
+		Assert.isNotNull(r);
+		disposeExecs.add(r);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * May be called from any thread.
+	 * </p>
+	 */
+	@Override
+	public void cancelDisposeExec(Runnable r) {
+		Assert.isNotNull(r);
+		disposeExecs.remove(r);
+	}
+
+	/**
+	 * Deallocates any resources allocated by this manager that have not yet
+	 * been deallocated. Must be called on the thread of the device.
+	 */
+	@Override
+	public void dispose() {
+		// like the inherited implementation, the runnables are all run and the
+		// first exception is thrown
+		RuntimeException foundException = null;
+		for (Runnable exec : disposeExecs) {
+			try {
+				exec.run();
+			} catch (RuntimeException e) {
+				if (foundException == null) {
+					foundException = e;
+				} else {
+					foundException.addSuppressed(e);
+				}
+			}
+		}
+		disposeExecs.clear();
+		List<Entry> entries = new ArrayList<>(map.values());
+		map.clear();
+		for (Entry entry : entries) {
+			Object resource;
+			synchronized (entry) {
+				entry.removed = true;
+				resource = entry.resource;
+			}
+			if (resource != null) {
+				resourceCount.decrementAndGet();
+				entry.descriptor.destroyResource(resource);
+			}
+		}
+		synchronized (this) {
+			if (missingImage != null) {
+				missingImage.dispose();
+				missingImage = null;
+			}
+		}
+		if (foundException != null) {
+			throw foundException;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,11 +17,16 @@
 package org.eclipse.jface.resource;
 
 import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -31,6 +36,7 @@ import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.internal.ImageDataCache;
 import org.eclipse.jface.internal.InternalPolicy;
 import org.eclipse.jface.util.Policy;
 import org.eclipse.swt.SWT;
@@ -119,10 +125,51 @@ class FileImageDescriptor extends ImageDescriptor implements IAdaptable {
 	 * <p>
 	 * The FileImageDescriptor implementation of this method is not used by
 	 * {@link ImageDescriptor#createImage(boolean, Device)} as of version
-	 * 3.4 so that the SWT OS optimized loading can be used.
+	 * 3.4 so that the SWT OS optimized loading can be used, unless image
+	 * data is cached by the {@link ImageDataCache}.
 	 */
 	@Override
 	public ImageData getImageData(int zoom) {
+		ImageDataCache cache = ImageDataCache.getDefault();
+		if (cache != null) {
+			URL url = getURL();
+			if (url != null) {
+				return cache.getImageData(url, zoom, () -> getURLs(url, zoom), () -> loadImageData(zoom));
+			}
+		}
+		return loadImageData(zoom);
+	}
+
+	private URL getURL() {
+		return getURL(name);
+	}
+
+	private URL getURL(String fileName) {
+		if (fileName == null) {
+			return null;
+		}
+		if (location != null) {
+			return location.getResource(fileName);
+		}
+		try {
+			return new File(fileName).toURI().toURL();
+		} catch (MalformedURLException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the URLs of the files tried by {@link #getStream(int)}, in the same
+	 * order.
+	 */
+	private List<URL> getURLs(URL url, int zoom) {
+		if (zoom == 100) {
+			return Collections.singletonList(url);
+		}
+		return Arrays.asList(getURL(getxName(name, zoom)), getURL(getxPath(name, zoom)));
+	}
+
+	private ImageData loadImageData(int zoom) {
 		InputStream in = getStream(zoom);
 		if (in != null) {
 			try (BufferedInputStream stream = new BufferedInputStream(in)) {
@@ -240,6 +287,10 @@ class FileImageDescriptor extends ImageDescriptor implements IAdaptable {
 
 	@Override
 	public Image createImage(boolean returnMissingImageOnError, Device device) {
+		if (ImageDataCache.getDefault() != null) {
+			// SWT decodes the files itself, cached image data is provided instead
+			return super.createImage(returnMissingImageOnError, device);
+		}
 		if (InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_2x) {
 			try {
 				// We really want a fresh ImageFileNameProvider instance to make
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,12 +22,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.internal.ImageDataCache;
 import org.eclipse.jface.internal.InternalPolicy;
 import org.eclipse.jface.util.Policy;
 import org.eclipse.swt.SWT;
@@ -136,6 +140,27 @@ class URLImageDescriptor extends ImageDescriptor implements IAdaptable {
 
 	private static ImageData getImageData(String url, int zoom) {
 		URL tempURL = getURL(url);
+		ImageDataCache cache = ImageDataCache.getDefault();
+		if (cache != null && tempURL != null) {
+			return cache.getImageData(tempURL, zoom, () -> getURLs(url, tempURL, zoom),
+					() -> loadImageData(url, tempURL, zoom));
+		}
+		return loadImageData(url, tempURL, zoom);
+	}
+
+	/**
+	 * Returns the URLs tried by
+	 * {@link #loadImageData(String, URL, int)}, in the same order.
+	 */
+	private static List<URL> getURLs(String url, URL tempURL, int zoom) {
+		if (zoom == 100) {
+			return Collections.singletonList(tempURL);
+		}
+		String xpath = FileImageDescriptor.getxPath(url, zoom);
+		return Arrays.asList(getxURL(tempURL, zoom), xpath == null ? null : getURL(xpath));
+	}
+
+	private static ImageData loadImageData(String url, URL tempURL, int zoom) {
 		if (tempURL != null) {
 			if (zoom == 100) {
 				return getImageData(tempURL);
@@ -292,7 +317,8 @@ class URLImageDescriptor extends ImageDescriptor implements IAdaptable {
 		}
 		try {
 			if (InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_2x) {
-				if (!InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_DIRECTLY) {
+				// SWT decodes the files itself, cached image data is provided instead
+				if (!InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_DIRECTLY && ImageDataCache.getDefault() == null) {
 					try {
 						// We really want a fresh ImageFileNameProvider instance to make
 						// sure the code that uses created images can use equals(),
@@ -325,7 +351,7 @@ class URLImageDescriptor extends ImageDescriptor implements IAdaptable {
 				}
 				return image;
 			}
-			if (InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_DIRECTLY) {
+			if (InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_DIRECTLY || ImageDataCache.getDefault() != null) {
 				return super.createImage(returnMissingImageOnError, device);
 			}
 
@@ -113,6 +113,14 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 	 */
 	private boolean isTreePathContentProvider = false;
 
+	/**
+	 * Indicates if refreshing the children of an element keeps the items of
+	 * unchanged elements instead of updating the items by position.
+	 *
+	 * @see #setReuseItemsOnRefresh(boolean)
+	 */
+	private boolean reuseItemsOnRefresh = false;
+
 	/**
 	 * Safe runnable used to update an item.
 	 */
@@ -2777,6 +2785,11 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 			}
 		}
 
+		if (reuseItemsOnRefresh && items.length > 0
+				&& reuseItems(widget, items, elementChildren, updateLabels, expanded)) {
+			return;
+		}
+
 		int min = Math.min(elementChildren.length, items.length);
 
 		// dispose of surplus items, optimizing for the case where elements have
@@ -2912,6 +2925,203 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		}
 	}
 
+	/**
+	 * Updates the given items to correspond to the child elements of the given
+	 * widget by keeping the items of all elements that are still present in the
+	 * same relative order. Only the items of removed elements are disposed and
+	 * only inserted elements get new items; moved elements are removed and
+	 * inserted again, since SWT items cannot be moved. The kept items are chosen
+	 * as the longest subsequence of the old items that is still in order, so the
+	 * number of disposed and created items is minimal.
+	 *
+	 * @param widget          the widget
+	 * @param items           the current child items of the widget
+	 * @param elementChildren the new child elements
+	 * @param updateLabels    <code>true</code> to update labels for existing
+	 *                        elements
+	 * @param expanded        the elements of the expanded items
+	 * @return <code>false</code> if the children cannot be matched up
+	 *         unambiguously, in which case nothing has been changed
+	 */
+	private boolean reuseItems(Widget widget, Item[] items, Object[] elementChildren, boolean updateLabels,
+			CustomHashtable expanded) {
+		if (getItemsLimit() > 0) {
+			// the expandable node has to stay the last item
+			return false;
+		}
+		CustomHashtable newIndexes = newHashtable(elementChildren.length * 2 + 1);
+		for (int i = 0; i < elementChildren.length; i++) {
+			if (newIndexes.put(elementChildren[i], Integer.valueOf(i)) != null) {
+				// equal siblings cannot be matched unambiguously
+				return false;
+			}
+		}
+
+		// the new index of the element of each item, or -1 if it has been removed
+		int[] matches = new int[items.length];
+		boolean[] matched = new boolean[elementChildren.length];
+		for (int i = 0; i < items.length; i++) {
+			Object data = items[i].getData();
+			Integer index = data == null ? null : (Integer) newIndexes.get(data);
+			if (index != null && !matched[index.intValue()]) {
+				matches[i] = index.intValue();
+				matched[index.intValue()] = true;
+			} else {
+				matches[i] = -1;
+			}
+		}
+		boolean[] keep = longestIncreasingSubsequence(matches);
+		int kept = 0;
+		for (boolean k : keep) {
+			if (k) {
+				kept++;
+			}
+		}
+
+		Control control = getControl();
+		boolean structureChanged = kept != items.length || kept != elementChildren.length;
+		if (structureChanged) {
+			control.setRedraw(false);
+		}
+		try {
+			for (int i = 0; i < items.length; i++) {
+				if (!keep[i]) {
+					if (items[i].getData() != null) {
+						disassociate(items[i]);
+					}
+					items[i].dispose();
+				}
+			}
+
+			int[] created = new int[elementChildren.length - kept];
+			int createdCount = 0;
+			int next = 0;
+			for (int j = 0; j < elementChildren.length; j++) {
+				while (next < items.length && !keep[next]) {
+					next++;
+				}
+				Object newElement = elementChildren[j];
+				if (next < items.length && matches[next] == j) {
+					Item item = items[next++];
+					Object data = item.getData();
+					if (data != newElement) {
+						// equal elements may still have different labels or
+						// children, so update the data to be the new element
+						unmapElement(data, item);
+						item.setData(newElement);
+						mapElement(newElement, item);
+					}
+					updatePlus(item, newElement);
+					if (updateLabels) {
+						updateItem(item, newElement);
+					} else {
+						associate(newElement, item);
+					}
+				} else {
+					createTreeItem(widget, newElement, j);
+					created[createdCount++] = j;
+				}
+			}
+
+			// kept items keep their expanded state, restore it for the
+			// elements that have been moved
+			if (createdCount > 0 && expanded.size() > 0) {
+				Item[] newItems = getChildren(widget);
+				for (int i = 0; i < createdCount; i++) {
+					int index = created[i];
+					if (expanded.containsKey(elementChildren[index])) {
+						setExpanded(newItems[index], true);
+					}
+				}
+			}
+		} finally {
+			if (structureChanged) {
+				control.setRedraw(true);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns which of the given indexes form a longest strictly increasing
+	 * subsequence. Negative indexes are never part of the subsequence.
+	 *
+	 * @param indexes the indexes
+	 * @return a flag for each index telling whether it is part of the
+	 *         subsequence
+	 */
+	private static boolean[] longestIncreasingSubsequence(int[] indexes) {
+		// tails[k] is the position of the smallest last index of all
+		// increasing subsequences of length k + 1 found so far
+		int[] tails = new int[indexes.length];
+		int[] predecessors = new int[indexes.length];
+		int length = 0;
+		for (int i = 0; i < indexes.length; i++) {
+			int value = indexes[i];
+			if (value < 0) {
+				continue;
+			}
+			int low = 0;
+			int high = length;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (indexes[tails[mid]] < value) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			predecessors[i] = low > 0 ? tails[low - 1] : -1;
+			tails[low] = i;
+			if (low == length) {
+				length++;
+			}
+		}
+		boolean[] result = new boolean[indexes.length];
+		for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = predecessors[i]) {
+			result[i] = true;
+		}
+		return result;
+	}
+
+	/**
+	 * Sets whether refreshing the children of an element keeps the items of all
+	 * elements that are still present, instead of updating the items by
+	 * position.
+	 * <p>
+	 * By default the items are updated by position, so inserting, removing or
+	 * reordering an element relabels all following items and collapses and
+	 * rebuilds their expanded subtrees. When items are reused, only the items of
+	 * removed and inserted elements are disposed and created, in a single pass
+	 * with redraw turned off, and all other items keep their children and
+	 * expanded state. This is the better choice for large trees whose children
+	 * change often, for example after builds.
+	 * </p>
+	 * <p>
+	 * Items are reused only if the siblings are unique with respect to the
+	 * viewer's comparer and no item limit is set, otherwise the children are
+	 * updated by position.
+	 * </p>
+	 *
+	 * @param reuse <code>true</code> to reuse the items of unchanged elements
+	 * @since 3.33
+	 */
+	public void setReuseItemsOnRefresh(boolean reuse) {
+		this.reuseItemsOnRefresh = reuse;
+	}
+
+	/**
+	 * Returns whether refreshing the children of an element keeps the items of
+	 * all elements that are still present.
+	 *
+	 * @return <code>true</code> if items of unchanged elements are reused
+	 * @see #setReuseItemsOnRefresh(boolean)
+	 * @since 3.33
+	 */
+	public boolean isReuseItemsOnRefresh() {
+		return reuseItemsOnRefresh;
+	}
+
 	/** Returns true if children were pruned */
 	/*package*/ boolean optionallyPruneChildren(Item item, Object element) {
 		// need a dummy node if element is expandable;
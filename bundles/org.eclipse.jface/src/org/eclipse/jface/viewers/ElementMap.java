@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jface.viewers;
+
+/**
+ * ElementMap associates a viewer's model elements with their widgets. Keys and
+ * values cannot be null.
+ * <p>
+ * Unlike {@link CustomHashtable}, the map uses open addressing with linear
+ * probing over two parallel arrays, so adding an element does not allocate an
+ * entry object and lookups walk adjacent array slots. Removal shifts the
+ * following entries back instead of leaving tombstones, so the probe sequences
+ * stay short in trees whose items are frequently created and disposed.
+ * </p>
+ * <p>
+ * Keys are compared by identity first, and only if they are not identical by
+ * the element comparer or their <code>equals</code> method. Viewers look up
+ * the very element instances they have mapped most of the time, which then
+ * never calls into client code.
+ * </p>
+ */
+/* package */final class ElementMap {
+
+	private static final int MINIMUM_CAPACITY = 16;
+
+	private final IElementComparer comparer;
+
+	private Object[] keys;
+
+	private Object[] values;
+
+	private int size;
+
+	private int threshold;
+
+	/**
+	 * Constructs a new map with the given initial capacity and element comparer.
+	 *
+	 * @param capacity the number of elements the map can hold before it grows
+	 * @param comparer the element comparer to use to compare keys and obtain
+	 *   hash codes for keys, or <code>null</code> to use the normal
+	 *   <code>equals</code> and <code>hashCode</code> methods
+	 */
+	public ElementMap(int capacity, IElementComparer comparer) {
+		this.comparer = comparer;
+		allocate(tableSizeFor(capacity));
+	}
+
+	/**
+	 * Constructs a new map with the same contents as the given map, but
+	 * possibly a different comparer.
+	 *
+	 * @param map the map to copy
+	 * @param comparer the element comparer to use to compare keys and obtain
+	 *   hash codes for keys, or <code>null</code> to use the normal
+	 *   <code>equals</code> and <code>hashCode</code> methods
+	 */
+	public ElementMap(ElementMap map, IElementComparer comparer) {
+		this(map.size, comparer);
+		Object[] oldKeys = map.keys;
+		Object[] oldValues = map.values;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != null) {
+				put(oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+
+	/**
+	 * Answers the value associated with the specified key in this map.
+	 *
+	 * @param key the key of the value returned
+	 * @return the value associated with the specified key, null if the
+	 *         specified key does not exist
+	 */
+	public Object get(Object key) {
+		int index = indexOf(key);
+		return index < 0 ? null : values[index];
+	}
+
+	/**
+	 * Associates the specified value with the specified key in this map. If the
+	 * key already exists, the old key and value are replaced.
+	 *
+	 * @param key the key to add
+	 * @param value the value to add
+	 * @return the old value associated with the specified key, null if the key
+	 *         did not exist
+	 */
+	public Object put(Object key, Object value) {
+		if (key == null || value == null) {
+			throw new NullPointerException();
+		}
+		int mask = keys.length - 1;
+		int index = hash(key) & mask;
+		Object current;
+		while ((current = keys[index]) != null) {
+			if (current == key || keyEquals(key, current)) {
+				Object result = values[index];
+				// avoid hanging onto keys that are equal but "old" -- see bug 30607
+				keys[index] = key;
+				values[index] = value;
+				return result;
+			}
+			index = (index + 1) & mask;
+		}
+		keys[index] = key;
+		values[index] = value;
+		if (++size > threshold) {
+			resize();
+		}
+		return null;
+	}
+
+	/**
+	 * Removes the key/value pair with the specified key from this map.
+	 *
+	 * @param key the key to remove
+	 * @return the value associated with the specified key, null if the
+	 *         specified key did not exist
+	 */
+	public Object remove(Object key) {
+		int index = indexOf(key);
+		if (index < 0) {
+			return null;
+		}
+		Object result = values[index];
+		deleteSlot(index);
+		size--;
+		return result;
+	}
+
+	/**
+	 * Answers the number of key/value pairs in this map.
+	 *
+	 * @return the number of key/value pairs in this map
+	 */
+	public int size() {
+		return size;
+	}
+
+	private int indexOf(Object key) {
+		if (key == null) {
+			return -1;
+		}
+		int mask = keys.length - 1;
+		int index = hash(key) & mask;
+		Object current;
+		while ((current = keys[index]) != null) {
+			if (current == key || keyEquals(key, current)) {
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Empties the given slot and moves back the entries of the same probe
+	 * sequence that follow it, so that lookups never stop at a hole.
+	 */
+	private void deleteSlot(int slot) {
+		int mask = keys.length - 1;
+		int hole = slot;
+		int index = slot;
+		while (true) {
+			index = (index + 1) & mask;
+			Object key = keys[index];
+			if (key == null) {
+				break;
+			}
+			int home = hash(key) & mask;
+			// move the entry if its home slot is not within (hole, index]
+			if (((index - home) & mask) >= ((index - hole) & mask)) {
+				keys[hole] = key;
+				values[hole] = values[index];
+				hole = index;
+			}
+		}
+		keys[hole] = null;
+		values[hole] = null;
+	}
+
+	private void resize() {
+		Object[] oldKeys = keys;
+		Object[] oldValues = values;
+		allocate(oldKeys.length << 1);
+		int mask = keys.length - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			Object key = oldKeys[i];
+			if (key != null) {
+				int index = hash(key) & mask;
+				while (keys[index] != null) {
+					index = (index + 1) & mask;
+				}
+				keys[index] = key;
+				values[index] = oldValues[i];
+			}
+		}
+	}
+
+	private void allocate(int length) {
+		keys = new Object[length];
+		values = new Object[length];
+		// keep the load factor at 0.5 to keep the probe sequences short
+		threshold = length >> 1;
+	}
+
+	private static int tableSizeFor(int capacity) {
+		int length = MINIMUM_CAPACITY;
+		while (length >> 1 < capacity && length < (1 << 30)) {
+			length <<= 1;
+		}
+		return length;
+	}
+
+	/**
+	 * Answers the hash code for the given key, with the high bits spread into
+	 * the low bits that select the slot.
+	 */
+	private int hash(Object key) {
+		int h = comparer == null ? key.hashCode() : comparer.hashCode(key);
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Compares two keys for equality.
+	 */
+	private boolean keyEquals(Object a, Object b) {
+		if (comparer == null) {
+			return a.equals(b);
+		}
+		return comparer.equals(a, b);
+	}
+
+	@Override
+	public String toString() {
+		if (size == 0) {
+			return "{}"; //$NON-NLS-1$
+		}
+		StringBuilder buffer = new StringBuilder();
+		buffer.append('{');
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != null) {
+				buffer.append(keys[i]);
+				buffer.append('=');
+				buffer.append(values[i]);
+				buffer.append(", "); //$NON-NLS-1$
+			}
+		}
+		buffer.setLength(buffer.length() - 2);
+		buffer.append('}');
+		return buffer.toString();
+	}
+}
@@ -69,7 +69,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 * <code>Object</code>, value type: <code>Widget</code>, or <code>Widget[]</code>).
 	 * <code>null</code> means that the element map is disabled.
 	 */
-	private CustomHashtable elementMap;
+	private ElementMap elementMap;
 
 	/**
 	 * The comparer to use for comparing elements, or <code>null</code> to use
@@ -1264,26 +1264,40 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 */
 	protected void mapElement(Object element, Widget item) {
 		if (elementMap != null) {
-			Object widgetOrWidgets = elementMap.get(element);
-			if (widgetOrWidgets == null) {
-				elementMap.put(element, item);
-			} else if (widgetOrWidgets instanceof Widget) {
-				if (widgetOrWidgets != item) {
-					elementMap.put(element, new Widget[] {
-							(Widget) widgetOrWidgets, item });
-				}
+			// an element is mapped to a single item most of the time, so try that
+			// first and only merge with a previous mapping if there is one
+			Object widgetOrWidgets = elementMap.put(element, item);
+			if (widgetOrWidgets == null || widgetOrWidgets == item) {
+				return;
+			}
+			if (widgetOrWidgets instanceof Widget) {
+				elementMap.put(element, new Widget[] {
+						(Widget) widgetOrWidgets, item });
 			} else {
 				Widget[] widgets = (Widget[]) widgetOrWidgets;
-				int indexOfItem = Arrays.asList(widgets).indexOf(item);
-				if (indexOfItem == -1) {
+				if (indexOf(widgets, item) == -1) {
+					// arrays returned by findItems are shared, never modify them in place
 					int length = widgets.length;
 					System.arraycopy(widgets, 0,
 							widgets = new Widget[length + 1], 0, length);
 					widgets[length] = item;
-					elementMap.put(element, widgets);
 				}
+				elementMap.put(element, widgets);
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the given item in the given array, comparing by
+	 * identity.
+	 */
+	private static int indexOf(Widget[] widgets, Widget item) {
+		for (int i = 0; i < widgets.length; i++) {
+			if (widgets[i] == item) {
+				return i;
 			}
 		}
+		return -1;
 	}
 
 	/**
@@ -1328,6 +1342,17 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 		return new CustomHashtable(capacity, getComparer());
 	}
 
+	/**
+	 * Returns a new element map using the given capacity and this viewer's element
+	 * comparer.
+	 *
+	 * @param capacity the initial capacity of the map
+	 * @return a new element map
+	 */
+	private ElementMap newElementMap(int capacity) {
+		return new ElementMap(capacity, getComparer());
+	}
+
 	/**
 	 * Attempts to preserves the current selection across a run of the given code.
 	 * This method should not preserve the selection if {link
@@ -1766,7 +1791,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 		Assert.isTrue(getInput() == null,
 				"Can only enable the hash look up before input has been set");//$NON-NLS-1$
 		if (enable) {
-			elementMap = newHashtable(CustomHashtable.DEFAULT_CAPACITY);
+			elementMap = newElementMap(CustomHashtable.DEFAULT_CAPACITY);
 		} else {
 			elementMap = null;
 		}
@@ -1784,7 +1809,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	public void setComparer(IElementComparer comparer) {
 		this.comparer = comparer;
 		if (elementMap != null) {
-			elementMap = new CustomHashtable(elementMap, comparer);
+			elementMap = new ElementMap(elementMap, comparer);
 		}
 	}
 
@@ -1855,7 +1880,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 	 */
 	protected void unmapAllElements() {
 		if (elementMap != null) {
-			elementMap = newHashtable(CustomHashtable.DEFAULT_CAPACITY);
+			elementMap = newElementMap(CustomHashtable.DEFAULT_CAPACITY);
 		}
 	}
 
@@ -1905,19 +1930,16 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 				}
 			} else {
 				Widget[] widgets = (Widget[]) widgetOrWidgets;
-				int indexOfItem = Arrays.asList(widgets).indexOf(item);
+				int indexOfItem = indexOf(widgets, item);
 				if (indexOfItem == -1) {
 					return;
 				}
 				int length = widgets.length;
-				if (indexOfItem == 0) {
-					if(length == 1) {
-						elementMap.remove(element);
-					} else {
-						Widget[] updatedWidgets = new Widget[length - 1];
-						System.arraycopy(widgets, 1, updatedWidgets, 0, length -1 );
-						elementMap.put(element, updatedWidgets);
-					}
+				if (length == 1) {
+					elementMap.remove(element);
+				} else if (length == 2) {
+					// go back to the single widget representation
+					elementMap.put(element, widgets[1 - indexOfItem]);
 				} else {
 					Widget[] updatedWidgets = new Widget[length - 1];
 					System.arraycopy(widgets, 0, updatedWidgets, 0, indexOfItem);
@@ -2273,7 +2295,7 @@ public abstract class StructuredViewer extends ContentViewer implements IPostSel
 		comparer = null;
 		if (filters != null)
 			filters.clear();
-		elementMap = newHashtable(1);
+		elementMap = newElementMap(1);
 		openListeners.clear();
 		doubleClickListeners.clear();
 		colorAndFontCollector.clear();
@@ -0,0 +1,408 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.viewers.deferred;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.resource.JFaceResources;
+import org.eclipse.jface.util.Policy;
+import org.eclipse.jface.viewers.AcceptAllFilter;
+import org.eclipse.jface.viewers.IFilter;
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.ITreeViewerListener;
+import org.eclipse.jface.viewers.TreeExpansionEvent;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Lazy tree content provider that computes the children of a regular
+ * {@link ITreeContentProvider} in the background. Requires a
+ * <code>TreeViewer</code> created with the <code>SWT.VIRTUAL</code> flag.
+ * <p>
+ * When an element is expanded, its children are computed by an executor and
+ * the element shows a single pending node until they are known. Whether a
+ * collapsed element has children at all is determined in the background as
+ * well. Once the children are known, only the rows that become visible are
+ * materialized by the tree. The pending node is labeled by its
+ * <code>toString()</code>; label providers that do not fall back to it should
+ * check {@link #isPending(Object)}.
+ * </p>
+ * <p>
+ * The wrapped content provider is called from the executor's threads and must
+ * be thread safe. Sorting and filtering must be set directly on this content
+ * provider, they are applied in the background. Any sorter or filter on the
+ * <code>TreeViewer</code> is ignored, as for every lazy content provider.
+ * </p>
+ * <p>
+ * The computed children are cached. Call {@link #refresh(Object)} instead of
+ * {@link TreeViewer#refresh(Object)} to compute them again.
+ * </p>
+ *
+ * @since 3.33
+ */
+public class DeferredTreeContentProvider implements ILazyTreeContentProvider {
+
+	private static final String PENDING = JFaceResources.getString("DeferredTreeContentProvider.pending"); //$NON-NLS-1$
+
+	private static final Object[] NO_CHILDREN = new Object[0];
+
+	/**
+	 * The child shown while the children of its parent are being computed.
+	 */
+	private static final class PendingNode {
+		private final Object parent;
+
+		PendingNode(Object parent) {
+			this.parent = parent;
+		}
+
+		@Override
+		public String toString() {
+			return PENDING;
+		}
+	}
+
+	private final ITreeContentProvider provider;
+	private final Executor executor;
+
+	private Comparator<Object> sortOrder;
+	private IFilter filter = AcceptAllFilter.getInstance();
+
+	private TreeViewer viewer;
+	private Object input;
+
+	// the tree asks for the child count of an element before the element is
+	// expanded, so the computation is started when the expansion is reported
+	private final ITreeViewerListener expansionListener = new ITreeViewerListener() {
+		@Override
+		public void treeExpanded(TreeExpansionEvent event) {
+			expanded(event.getElement());
+		}
+
+		@Override
+		public void treeCollapsed(TreeExpansionEvent event) {
+			// children stay cached
+		}
+	};
+
+	// accessed in the UI thread only; computations whose pending entry has
+	// been discarded in the meantime are ignored when they complete
+	private final Map<Object, Object[]> children = new HashMap<>();
+	private final Map<Object, Boolean> hasChildren = new HashMap<>();
+	private final Map<Object, PendingNode> pendingChildren = new HashMap<>();
+	private final Set<Object> pendingHasChildren = new HashSet<>();
+
+	/**
+	 * Creates a content provider that computes the children of the given
+	 * content provider in the common fork join pool.
+	 *
+	 * @param provider the content provider to compute the children with
+	 */
+	public DeferredTreeContentProvider(ITreeContentProvider provider) {
+		this(provider, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a content provider that computes the children of the given
+	 * content provider with the given executor.
+	 *
+	 * @param provider the content provider to compute the children with
+	 * @param executor the executor to run the computations
+	 */
+	public DeferredTreeContentProvider(ITreeContentProvider provider, Executor executor) {
+		Assert.isNotNull(provider);
+		Assert.isNotNull(executor);
+		this.provider = provider;
+		this.executor = executor;
+	}
+
+	/**
+	 * Sets the sort order for the children. The comparator is called in the
+	 * background and must be thread safe. Children that have already been
+	 * computed are not sorted again until they are refreshed.
+	 *
+	 * @param sortOrder the sort order, or <code>null</code> to keep the order
+	 *                  of the wrapped content provider
+	 */
+	public void setSortOrder(Comparator<Object> sortOrder) {
+		this.sortOrder = sortOrder;
+	}
+
+	/**
+	 * Sets the filter for the children. The filter is called in the background
+	 * and must be thread safe. Children that have already been computed are not
+	 * filtered again until they are refreshed.
+	 *
+	 * @param filter the filter, or <code>null</code> to show all children
+	 */
+	public void setFilter(IFilter filter) {
+		this.filter = filter == null ? AcceptAllFilter.getInstance() : filter;
+	}
+
+	/**
+	 * Returns whether the given element is the node shown while the children of
+	 * its parent are being computed.
+	 *
+	 * @param element the element to test
+	 * @return <code>true</code> if the element is a pending node
+	 */
+	public static boolean isPending(Object element) {
+		return element instanceof PendingNode;
+	}
+
+	/**
+	 * Discards the children computed for the given element and its descendants
+	 * and refreshes the element in the viewer, which computes them again. Must
+	 * be called in the UI thread.
+	 *
+	 * @param element the element to refresh, or the viewer's input to refresh
+	 *                the whole tree
+	 */
+	public void refresh(Object element) {
+		if (viewer == null) {
+			return;
+		}
+		if (element == input) {
+			discardAll();
+			viewer.refresh();
+			return;
+		}
+		discard(element);
+		viewer.refresh(element);
+	}
+
+	@Override
+	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		if (this.viewer != viewer) {
+			if (this.viewer != null) {
+				this.viewer.removeTreeListener(expansionListener);
+			}
+			this.viewer = (TreeViewer) viewer;
+			if (viewer != null) {
+				this.viewer.addTreeListener(expansionListener);
+			}
+		}
+		this.input = newInput;
+		discardAll();
+		provider.inputChanged(viewer, oldInput, newInput);
+	}
+
+	@Override
+	public void dispose() {
+		discardAll();
+		if (viewer != null) {
+			viewer.removeTreeListener(expansionListener);
+		}
+		viewer = null;
+		input = null;
+		provider.dispose();
+	}
+
+	@Override
+	public void updateElement(Object parent, int index) {
+		Object[] known = children.get(parent);
+		if (known == null) {
+			// the tree only asks for the children of expanded elements, which
+			// may have been expanded without a notification, for example by
+			// expandToLevel
+			if (index == 0 && !(parent instanceof PendingNode)) {
+				viewer.replace(parent, 0, computeChildren(parent));
+			}
+			return;
+		}
+		if (index < known.length) {
+			Object child = known[index];
+			viewer.replace(parent, index, child);
+			updateChildCount(child, -1);
+		}
+	}
+
+	@Override
+	public void updateChildCount(Object element, int currentChildCount) {
+		if (element instanceof PendingNode) {
+			if (currentChildCount != 0) {
+				viewer.setChildCount(element, 0);
+			}
+			return;
+		}
+		Object[] known = children.get(element);
+		if (known != null) {
+			if (known.length != currentChildCount) {
+				viewer.setChildCount(element, known.length);
+			}
+			return;
+		}
+		if (element == input || viewer.getExpandedState(element)) {
+			computeChildren(element);
+			if (currentChildCount != 1) {
+				// room for the pending node
+				viewer.setChildCount(element, 1);
+			}
+			return;
+		}
+		Boolean knownHasChildren = hasChildren.get(element);
+		if (knownHasChildren != null) {
+			if (knownHasChildren.booleanValue() != currentChildCount > 0) {
+				viewer.setHasChildren(element, knownHasChildren.booleanValue());
+			}
+			return;
+		}
+		computeHasChildren(element);
+	}
+
+	@Override
+	public Object getParent(Object element) {
+		if (element instanceof PendingNode pendingNode) {
+			return pendingNode.parent;
+		}
+		return provider.getParent(element);
+	}
+
+	private void expanded(Object element) {
+		if (viewer == null || element instanceof PendingNode || children.containsKey(element)
+				|| pendingChildren.containsKey(element)) {
+			return;
+		}
+		PendingNode pendingNode = computeChildren(element);
+		viewer.setChildCount(element, 1);
+		viewer.replace(element, 0, pendingNode);
+	}
+
+	private PendingNode computeChildren(Object parent) {
+		PendingNode existing = pendingChildren.get(parent);
+		if (existing != null) {
+			return existing;
+		}
+		PendingNode pendingNode = new PendingNode(parent);
+		pendingChildren.put(parent, pendingNode);
+		boolean isInput = parent == input;
+		Comparator<Object> comparator = sortOrder;
+		IFilter childFilter = filter;
+		Display display = viewer.getControl().getDisplay();
+		executor.execute(() -> {
+			Object[] result = NO_CHILDREN;
+			try {
+				Object[] computed = isInput ? provider.getElements(parent) : provider.getChildren(parent);
+				if (computed != null) {
+					result = filterAndSort(computed, childFilter, comparator);
+				}
+			} catch (RuntimeException e) {
+				Policy.getLog().log(new Status(IStatus.ERROR, Policy.JFACE, e.getMessage(), e));
+			}
+			Object[] computedChildren = result;
+			asyncExec(display, () -> childrenComputed(parent, pendingNode, computedChildren));
+		});
+		return pendingNode;
+	}
+
+	private void childrenComputed(Object parent, PendingNode pendingNode, Object[] computed) {
+		if (pendingChildren.get(parent) != pendingNode || viewer.getControl().isDisposed()) {
+			return;
+		}
+		pendingChildren.remove(parent);
+		children.put(parent, computed);
+		hasChildren.put(parent, Boolean.valueOf(computed.length > 0));
+		// the first item shows the pending node and has to be replaced, all
+		// others are blank and the tree asks for them once they are visible
+		viewer.setChildCount(parent, computed.length);
+		if (computed.length > 0) {
+			viewer.replace(parent, 0, computed[0]);
+			updateChildCount(computed[0], -1);
+		}
+	}
+
+	private void computeHasChildren(Object element) {
+		if (!pendingHasChildren.add(element)) {
+			return;
+		}
+		Display display = viewer.getControl().getDisplay();
+		executor.execute(() -> {
+			boolean result = false;
+			try {
+				result = provider.hasChildren(element);
+			} catch (RuntimeException e) {
+				Policy.getLog().log(new Status(IStatus.ERROR, Policy.JFACE, e.getMessage(), e));
+			}
+			boolean computed = result;
+			asyncExec(display, () -> hasChildrenComputed(element, computed));
+		});
+	}
+
+	private void hasChildrenComputed(Object element, boolean computed) {
+		if (!pendingHasChildren.remove(element) || viewer.getControl().isDisposed()) {
+			return;
+		}
+		hasChildren.put(element, Boolean.valueOf(computed));
+		viewer.setHasChildren(element, computed);
+	}
+
+	private static Object[] filterAndSort(Object[] elements, IFilter filter, Comparator<Object> comparator) {
+		Object[] result = elements;
+		if (filter != AcceptAllFilter.getInstance()) {
+			List<Object> selected = new ArrayList<>(elements.length);
+			for (Object element : elements) {
+				if (filter.select(element)) {
+					selected.add(element);
+				}
+			}
+			result = selected.toArray();
+		} else if (comparator != null) {
+			// don't sort the array owned by the wrapped content provider
+			result = elements.clone();
+		}
+		if (comparator != null) {
+			Arrays.sort(result, comparator);
+		}
+		return result;
+	}
+
+	private static void asyncExec(Display display, Runnable runnable) {
+		if (!display.isDisposed()) {
+			display.asyncExec(runnable);
+		}
+	}
+
+	private void discard(Object element) {
+		Object[] known = children.remove(element);
+		hasChildren.remove(element);
+		pendingChildren.remove(element);
+		pendingHasChildren.remove(element);
+		if (known != null) {
+			for (Object child : known) {
+				discard(child);
+			}
+		}
+	}
+
+	private void discardAll() {
+		children.clear();
+		hasChildren.clear();
+		pendingChildren.clear();
+		pendingHasChildren.clear();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.PerformanceStats;
 
 import org.eclipse.core.resources.IWorkspaceRunnable;
 
@@ -41,6 +42,10 @@ import org.eclipse.core.resources.IWorkspaceRunnable;
  */
 public class CheckConditionsOperation implements IWorkspaceRunnable {
 
+	private static final String PERF_CHECK_INITIAL_CONDITIONS= "org.eclipse.ltk.core.refactoring/perf/refactoring/checkInitialConditions"; //$NON-NLS-1$
+	private static final String PERF_CHECK_FINAL_CONDITIONS= "org.eclipse.ltk.core.refactoring/perf/refactoring/checkFinalConditions"; //$NON-NLS-1$
+	private static final String PERF_CHECK_ALL_CONDITIONS= "org.eclipse.ltk.core.refactoring/perf/refactoring/checkAllConditions"; //$NON-NLS-1$
+
 	private Refactoring fRefactoring;
 	private int fStyle;
 	private RefactoringStatus fStatus;
@@ -76,15 +81,25 @@ public class CheckConditionsOperation implements IWorkspaceRunnable {
 	public void run(IProgressMonitor pm) throws CoreException {
 		if (pm == null)
 			pm= new NullProgressMonitor();
+		PerformanceStats stats= null;
 		try {
 			fStatus= null;
-			if ((fStyle & ALL_CONDITIONS) == ALL_CONDITIONS)
+			if ((fStyle & ALL_CONDITIONS) == ALL_CONDITIONS) {
+				stats= PerformanceStats.getStats(PERF_CHECK_ALL_CONDITIONS, fRefactoring.getName());
+				stats.startRun();
 				fStatus= fRefactoring.checkAllConditions(pm);
-			else if ((fStyle & INITIAL_CONDITONS) == INITIAL_CONDITONS)
+			} else if ((fStyle & INITIAL_CONDITONS) == INITIAL_CONDITONS) {
+				stats= PerformanceStats.getStats(PERF_CHECK_INITIAL_CONDITIONS, fRefactoring.getName());
+				stats.startRun();
 				fStatus= fRefactoring.checkInitialConditions(pm);
-			else if ((fStyle & FINAL_CONDITIONS) == FINAL_CONDITIONS)
+			} else if ((fStyle & FINAL_CONDITIONS) == FINAL_CONDITIONS) {
+				stats= PerformanceStats.getStats(PERF_CHECK_FINAL_CONDITIONS, fRefactoring.getName());
+				stats.startRun();
 				fStatus= fRefactoring.checkFinalConditions(pm);
+			}
 		} finally {
+			if (stats != null)
+				stats.endRun();
 			pm.done();
 		}
 	}
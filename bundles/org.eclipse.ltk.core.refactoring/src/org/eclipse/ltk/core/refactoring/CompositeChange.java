@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,8 +16,10 @@ package org.eclipse.ltk.core.refactoring;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -27,6 +29,9 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.SubMonitor;
 
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.ltk.internal.core.refactoring.Changes;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCoreMessages;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
 
@@ -44,6 +49,12 @@ import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
  */
 public class CompositeChange extends Change {
 
+	/**
+	 * The number of text file children from which on their buffers are
+	 * validated concurrently.
+	 */
+	private static final int PARALLEL_VALIDATION_THRESHOLD= 100;
+
 	private String fName;
 	private List<Change> fChanges;
 	private boolean fIsSynthetic;
@@ -227,6 +238,11 @@ public class CompositeChange extends Change {
 	 * will not receive the <code>isValid</code> call.
 	 * </p>
 	 * <p>
+	 * If the composite change has many {@link TextFileChange} children, their
+	 * buffers are validated concurrently in advance and their files are
+	 * validated together after all children have been validated.
+	 * </p>
+	 * <p>
 	 * Client are allowed to extend this method.
 	 * </p>
 	 */
@@ -235,14 +251,75 @@ public class CompositeChange extends Change {
 		RefactoringStatus result= new RefactoringStatus();
 
 		SubMonitor subMonitor= SubMonitor.convert(pm, fChanges.size());
+		Map<Change, BufferValidation> bufferValidations= validateBuffersInParallel();
+		List<IFile> filesToModify= new ArrayList<>();
+		List<IFile> filesToRead= new ArrayList<>();
 		for (Iterator<Change> iter= fChanges.iterator(); iter.hasNext() && !result.hasFatalError();) {
 			Change change= iter.next();
-			if (change.isEnabled()) {
+			BufferValidation bufferValidation= bufferValidations.get(change);
+			if (bufferValidation != null) {
+				subMonitor.split(1);
+				if (bufferValidation.exception != null)
+					throw bufferValidation.exception;
+				result.merge(bufferValidation.status);
+				(bufferValidation.needsSaving ? filesToModify : filesToRead).add(bufferValidation.file);
+			} else if (change.isEnabled()) {
 				result.merge(change.isValid(subMonitor.split(1)));
 			} else {
 				pm.worked(1);
 			}
 		}
+		if (!result.hasFatalError() && !filesToModify.isEmpty()) {
+			result.merge(Changes.validateModifiesFiles(filesToModify.toArray(new IFile[filesToModify.size()])));
+		}
+		if (!result.hasFatalError() && !filesToRead.isEmpty()) {
+			// we are reading the files. So they should be at least in sync
+			result.merge(Changes.checkInSync(filesToRead.toArray(new IFile[filesToRead.size()])));
+		}
+		return result;
+	}
+
+	/**
+	 * The result of {@link TextFileChange#isBufferValid(boolean)}.
+	 */
+	private static final class BufferValidation {
+		final IFile file;
+		final boolean needsSaving;
+		RefactoringStatus status;
+		CoreException exception;
+
+		BufferValidation(TextFileChange change) {
+			file= change.getFile();
+			needsSaving= change.needsSaving();
+		}
+	}
+
+	/**
+	 * Validates the buffers of the enabled text file children concurrently, if
+	 * there are enough of them. Their files are then validated in a single
+	 * batch, which asks the team provider to make them editable only once.
+	 *
+	 * @return the buffer validations by change, empty if the children are
+	 *         validated one by one
+	 */
+	private Map<Change, BufferValidation> validateBuffersInParallel() {
+		Map<Change, BufferValidation> result= new IdentityHashMap<>();
+		for (Change change : fChanges) {
+			if (change.isEnabled() && change instanceof TextFileChange textFileChange && textFileChange.canValidateInBatch()) {
+				result.put(change, new BufferValidation(textFileChange));
+			}
+		}
+		if (result.size() < PARALLEL_VALIDATION_THRESHOLD) {
+			return Collections.emptyMap();
+		}
+		result.entrySet().parallelStream().forEach(entry -> {
+			BufferValidation validation= entry.getValue();
+			try {
+				validation.status= ((TextFileChange) entry.getKey()).isBufferValid(validation.needsSaving);
+			} catch (CoreException e) {
+				validation.exception= e;
+			}
+		});
 		return result;
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@ package org.eclipse.ltk.core.refactoring;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.PerformanceStats;
 import org.eclipse.core.runtime.SubMonitor;
 
 import org.eclipse.core.resources.IWorkspaceRunnable;
@@ -51,6 +52,9 @@ import org.eclipse.ltk.internal.core.refactoring.history.UnknownRefactoringDescr
  */
 public class CreateChangeOperation implements IWorkspaceRunnable {
 
+	private static final String PERF_CREATE_CHANGE= "org.eclipse.ltk.core.refactoring/perf/refactoring/createChange"; //$NON-NLS-1$
+	private static final String PERF_INITIALIZE_CHANGE= "org.eclipse.ltk.core.refactoring/perf/refactoring/initializeChange"; //$NON-NLS-1$
+
 	private Refactoring fRefactoring;
 
 	private CheckConditionsOperation fCheckConditionOperation;
@@ -116,18 +120,32 @@ public class CreateChangeOperation implements IWorkspaceRunnable {
 			fCheckConditionOperation.run(subMonitor.newChild(conditionTicks));
 			RefactoringStatus status= fCheckConditionOperation.getStatus();
 			if (status != null && status.getSeverity() < fConditionCheckingFailedSeverity) {
-				fChange= fRefactoring.createChange(subMonitor.newChild(rtp.getCreateChangeTicks()));
-				fChange.initializeValidationData(new NotCancelableProgressMonitor(
-						subMonitor.newChild(rtp.getInitializeChangeTicks())));
+				createChange(subMonitor, rtp);
 			} else {
 				subMonitor.worked(rtp.getCreateChangeTicks() + rtp.getInitializeChangeTicks());
 			}
 		} else {
 			subMonitor.setWorkRemaining(rtp.getCreateChangeTicks() + rtp.getInitializeChangeTicks());
+			createChange(subMonitor, rtp);
+		}
+
+	}
+
+	private void createChange(SubMonitor subMonitor, RefactoringTickProvider rtp) throws CoreException {
+		PerformanceStats stats= PerformanceStats.getStats(PERF_CREATE_CHANGE, fRefactoring.getName());
+		stats.startRun();
+		try {
 			fChange= fRefactoring.createChange(subMonitor.newChild(rtp.getCreateChangeTicks()));
+		} finally {
+			stats.endRun();
+		}
+		stats= PerformanceStats.getStats(PERF_INITIALIZE_CHANGE, fRefactoring.getName());
+		stats.startRun();
+		try {
 			fChange.initializeValidationData(new NotCancelableProgressMonitor(subMonitor.newChild(rtp.getInitializeChangeTicks())));
+		} finally {
+			stats.endRun();
 		}
-
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@ package org.eclipse.ltk.core.refactoring;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.PerformanceStats;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
 
@@ -61,6 +62,10 @@ import org.eclipse.ltk.internal.core.refactoring.NotCancelableProgressMonitor;
  */
 public class PerformChangeOperation implements IWorkspaceRunnable {
 
+	private static final String PERF_VALIDATE_CHANGE= "org.eclipse.ltk.core.refactoring/perf/change/isValid"; //$NON-NLS-1$
+	private static final String PERF_PERFORM_CHANGE= "org.eclipse.ltk.core.refactoring/perf/change/perform"; //$NON-NLS-1$
+	private static final String PERF_INITIALIZE_UNDO= "org.eclipse.ltk.core.refactoring/perf/change/initializeUndo"; //$NON-NLS-1$
+
 	private Change fChange;
 	private CreateChangeOperation fCreateChangeOperation;
 	private RefactoringStatus fValidationStatus;
@@ -233,7 +238,13 @@ public class PerformChangeOperation implements IWorkspaceRunnable {
 			boolean undoInitialized= false;
 			try {
 				SubMonitor subMon= SubMonitor.convert(monitor, 11);
-				fValidationStatus= fChange.isValid(subMon.newChild(1));
+				PerformanceStats stats= PerformanceStats.getStats(PERF_VALIDATE_CHANGE, fChange.getName());
+				stats.startRun();
+				try {
+					fValidationStatus= fChange.isValid(subMon.newChild(1));
+				} finally {
+					stats.endRun();
+				}
 				if (fValidationStatus.hasFatalError())
 					return;
 				boolean aboutToPerformChangeCalled= false;
@@ -244,7 +255,13 @@ public class PerformChangeOperation implements IWorkspaceRunnable {
 						aboutToPerformChangeCalled= true;
 					}
 					fChangeExecutionFailed= true;
-					fUndoChange= fChange.perform(subMon.newChild(9));
+					stats= PerformanceStats.getStats(PERF_PERFORM_CHANGE, fChange.getName());
+					stats.startRun();
+					try {
+						fUndoChange= fChange.perform(subMon.newChild(9));
+					} finally {
+						stats.endRun();
+					}
 					fChangeExecutionFailed= false;
 					fChangeExecuted= true;
 				} finally {
@@ -256,8 +273,14 @@ public class PerformChangeOperation implements IWorkspaceRunnable {
 				}
 				fChange.dispose();
 				if (fUndoChange != null) {
-					fUndoChange.initializeValidationData(new NotCancelableProgressMonitor(
-							subMon.newChild(1)));
+					stats= PerformanceStats.getStats(PERF_INITIALIZE_UNDO, fChange.getName());
+					stats.startRun();
+					try {
+						fUndoChange.initializeValidationData(new NotCancelableProgressMonitor(
+								subMon.newChild(1)));
+					} finally {
+						stats.endRun();
+					}
 					undoInitialized= true;
 				}
 				if (fUndoManager != null) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -85,6 +85,17 @@ public class TextFileChange extends TextChange {
 	private BufferValidationState fValidationState;
 	private ContentStamp fContentStamp;
 
+	private static final ClassValue<Boolean> BATCH_VALIDATION= new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			try {
+				return Boolean.valueOf(type.getMethod("isValid", IProgressMonitor.class).getDeclaringClass() == TextFileChange.class); //$NON-NLS-1$
+			} catch (NoSuchMethodException e) {
+				return Boolean.FALSE;
+			}
+		}
+	};
+
 	/**
 	 * Creates a new <code>TextFileChange</code> for the given file.
 	 *
@@ -174,17 +185,39 @@ public class TextFileChange extends TextChange {
 		}
 	}
 
+	/**
+	 * Validates the buffer of this change without validating the file
+	 * itself. This only reads the state of the file and its buffer.
+	 *
+	 * @param needsSaving the result of {@link #needsSaving()}
+	 * @return the status of the buffer
+	 * @throws CoreException if the validation data has not been initialized
+	 */
+	RefactoringStatus isBufferValid(boolean needsSaving) throws CoreException {
+		if (fValidationState == null)
+			throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), "TextFileChange has not been initialialized")); //$NON-NLS-1$
+		return fValidationState.isValid(needsSaving);
+	}
+
+	/**
+	 * Returns whether a composite change may validate this change together with
+	 * others, that is whether {@link #isValid(IProgressMonitor)} is not
+	 * overridden.
+	 *
+	 * @return whether this change may be validated in batch
+	 */
+	boolean canValidateInBatch() {
+		return BATCH_VALIDATION.get(getClass()).booleanValue();
+	}
+
 	@Override
 	public RefactoringStatus isValid(IProgressMonitor monitor) throws CoreException {
 		if (monitor == null)
 			monitor= new NullProgressMonitor();
 		try {
 			monitor.beginTask("", 1); //$NON-NLS-1$
-			if (fValidationState == null)
-				throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), "TextFileChange has not been initialialized")); //$NON-NLS-1$
-
 			boolean needsSaving= needsSaving();
-			RefactoringStatus result= fValidationState.isValid(needsSaving);
+			RefactoringStatus result= isBufferValid(needsSaving);
 			if (needsSaving) {
 				result.merge(Changes.validateModifiesFiles(new IFile[] { fFile}));
 			} else {
@@ -0,0 +1,726 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring.history;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.eclipse.core.runtime.Assert;
+
+import org.eclipse.ltk.core.refactoring.RefactoringDescriptor;
+import org.eclipse.ltk.core.refactoring.RefactoringDescriptorProxy;
+
+/**
+ * Binary, append-only store for a refactoring history.
+ * <p>
+ * Refactoring descriptors are appended to a log file as binary records. A
+ * separate index file keeps the time stamp, position and description of each
+ * live record sorted by time stamp, so that range queries for descriptor
+ * proxies neither read the log nor parse XML, and resolving a descriptor reads
+ * a single record. Changing a comment appends a new record for the same time
+ * stamp, and removing a descriptor appends a removal record. The log is
+ * compacted once most of it consists of superseded records.
+ * </p>
+ * <p>
+ * The index is rebuilt from the log whenever it is missing or does not cover
+ * the whole log, e.g. after a crash between writing the two files.
+ * </p>
+ * <p>
+ * The history log is not thread safe. It is accessed by its
+ * {@link RefactoringHistoryManager} only.
+ * </p>
+ *
+ * @since 3.14
+ */
+final class RefactoringHistoryLog {
+
+	/** The magic number of the log file */
+	private static final int LOG_MAGIC= 0x52484C47;
+
+	/** The magic number of the index file */
+	private static final int INDEX_MAGIC= 0x52484C49;
+
+	/** The version of the file formats */
+	private static final int VERSION= 1;
+
+	/** The length of the file headers */
+	private static final int LOG_HEADER_LENGTH= 8;
+
+	/** The position of the covered log length in the index header */
+	private static final int INDEX_COVERED_POSITION= 8;
+
+	/** The record kind of an added descriptor */
+	private static final byte KIND_ADD= 1;
+
+	/** The record kind of a removed descriptor */
+	private static final byte KIND_REMOVE= 2;
+
+	/** The number of superseded bytes which may stay in the log */
+	private static final long COMPACTION_THRESHOLD= 64 * 1024;
+
+	/**
+	 * Returns whether a history log exists in the specified folder.
+	 *
+	 * @param folder
+	 *            the history folder
+	 * @return <code>true</code> if a log exists, <code>false</code> otherwise
+	 */
+	static boolean exists(final File folder) {
+		return new File(folder, RefactoringHistoryService.NAME_LOG_FILE).isFile();
+	}
+
+	/** The descriptions of the live records, in index order */
+	private String[] fDescriptions= new String[0];
+
+	/** The index file */
+	private final File fIndexFile;
+
+	/** The lengths of the live records, in index order */
+	private int[] fLengths= new int[0];
+
+	/** The log file */
+	private final File fLogFile;
+
+	/** Is the log only read, without writing to the log or its index? */
+	private final boolean fReadOnly;
+
+	/** The length of the log file when it was last read or written */
+	private long fLogLength= -1;
+
+	/** The modification time of the log file when it was last read or written */
+	private long fLogModified= -1;
+
+	/** The offsets of the live records in the log, in index order */
+	private long[] fOffsets= new long[0];
+
+	/** The number of live records */
+	private int fSize= 0;
+
+	/** The ascending time stamps of the live records */
+	private long[] fStamps= new long[0];
+
+	/**
+	 * Opens the history log in the specified folder, creating it if
+	 * necessary.
+	 *
+	 * @param folder
+	 *            the history folder
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	RefactoringHistoryLog(final File folder) throws IOException {
+		this(folder, false);
+	}
+
+	/**
+	 * Opens the history log in the specified folder.
+	 * <p>
+	 * A read only log must exist. If its index is missing or stale, the index
+	 * is rebuilt in memory only, and the log is neither truncated nor
+	 * written to.
+	 * </p>
+	 *
+	 * @param folder
+	 *            the history folder
+	 * @param readOnly
+	 *            <code>true</code> to only read the log, <code>false</code>
+	 *            to create it if necessary and allow changes
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	RefactoringHistoryLog(final File folder, final boolean readOnly) throws IOException {
+		Assert.isNotNull(folder);
+		fLogFile= new File(folder, RefactoringHistoryService.NAME_LOG_FILE);
+		fIndexFile= new File(folder, RefactoringHistoryService.NAME_LOG_INDEX_FILE);
+		fReadOnly= readOnly;
+		if (readOnly && !fLogFile.isFile())
+			throw new IOException(fLogFile + " does not exist"); //$NON-NLS-1$
+		if (!fLogFile.isFile()) {
+			Files.createDirectories(folder.toPath());
+			try (DataOutputStream output= new DataOutputStream(new FileOutputStream(fLogFile))) {
+				output.writeInt(LOG_MAGIC);
+				output.writeInt(VERSION);
+			}
+			writeIndex();
+		} else if (!readIndex())
+			rebuildIndex();
+	}
+
+	/**
+	 * Adds the specified refactoring descriptor to the log. A descriptor with
+	 * the same time stamp is replaced.
+	 *
+	 * @param descriptor
+	 *            the refactoring descriptor to add
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	void add(final RefactoringDescriptor descriptor) throws IOException {
+		add(new RefactoringDescriptor[] { descriptor });
+	}
+
+	/**
+	 * Adds the specified refactoring descriptors to the log. Descriptors with
+	 * the same time stamps are replaced.
+	 *
+	 * @param descriptors
+	 *            the refactoring descriptors to add
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	void add(final RefactoringDescriptor[] descriptors) throws IOException {
+		Assert.isTrue(!fReadOnly);
+		final ByteArrayOutputStream buffer= new ByteArrayOutputStream(descriptors.length * 256);
+		final DataOutputStream output= new DataOutputStream(buffer);
+		final long length= fLogFile.length();
+		final long[] offsets= new long[descriptors.length];
+		final int[] lengths= new int[descriptors.length];
+		for (int index= 0; index < descriptors.length; index++) {
+			offsets[index]= length + output.size();
+			writeAddRecord(output, descriptors[index]);
+			lengths[index]= (int) (length + output.size() - offsets[index]);
+		}
+		appendToLog(buffer.toByteArray());
+		boolean append= true;
+		for (int index= 0; index < descriptors.length; index++) {
+			final long stamp= descriptors[index].getTimeStamp();
+			append&= fSize == 0 || stamp > fStamps[fSize - 1];
+			put(stamp, offsets[index], lengths[index], descriptors[index].getDescription());
+		}
+		if (append)
+			appendToIndex(fSize - descriptors.length, fLogFile.length());
+		else
+			writeIndex();
+	}
+
+	/**
+	 * Appends the specified bytes to the log.
+	 *
+	 * @param bytes
+	 *            the bytes to append
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	private void appendToLog(final byte[] bytes) throws IOException {
+		try (FileOutputStream output= new FileOutputStream(fLogFile, true)) {
+			output.write(bytes);
+		}
+	}
+
+	/**
+	 * Appends the index entries from the specified position on to the index
+	 * file and updates the covered log length.
+	 *
+	 * @param from
+	 *            the position of the first entry to append
+	 * @param covered
+	 *            the log length covered by the index
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	private void appendToIndex(final int from, final long covered) throws IOException {
+		final ByteArrayOutputStream buffer= new ByteArrayOutputStream((fSize - from) * 64);
+		final DataOutputStream output= new DataOutputStream(buffer);
+		for (int index= from; index < fSize; index++)
+			writeIndexEntry(output, index);
+		try (RandomAccessFile file= new RandomAccessFile(fIndexFile, "rw")) { //$NON-NLS-1$
+			file.seek(file.length());
+			file.write(buffer.toByteArray());
+			file.seek(INDEX_COVERED_POSITION);
+			file.writeLong(covered);
+		}
+		updateLogState();
+	}
+
+	/**
+	 * Compacts the log if most of it consists of superseded records.
+	 *
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	private void compactIfNeeded() throws IOException {
+		long live= LOG_HEADER_LENGTH;
+		for (int index= 0; index < fSize; index++)
+			live+= fLengths[index];
+		final long superseded= fLogFile.length() - live;
+		if (superseded > COMPACTION_THRESHOLD && superseded > live) {
+			final File temporary= new File(fLogFile.getParentFile(), fLogFile.getName() + ".tmp"); //$NON-NLS-1$
+			final long[] offsets= new long[fSize];
+			try (RandomAccessFile input= new RandomAccessFile(fLogFile, "r"); //$NON-NLS-1$
+					DataOutputStream output= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+				output.writeInt(LOG_MAGIC);
+				output.writeInt(VERSION);
+				for (int index= 0; index < fSize; index++) {
+					final byte[] record= new byte[fLengths[index]];
+					input.seek(fOffsets[index]);
+					input.readFully(record);
+					offsets[index]= output.size();
+					output.write(record);
+				}
+			}
+			Files.move(temporary.toPath(), fLogFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			fOffsets= offsets;
+			writeIndex();
+		}
+	}
+
+	/**
+	 * Returns the index of the record with the specified time stamp.
+	 *
+	 * @param stamp
+	 *            the time stamp
+	 * @return the index of the record, or <code>-(insertion point) - 1</code>
+	 *         if there is no record with this time stamp
+	 */
+	private int indexOf(final long stamp) {
+		return Arrays.binarySearch(fStamps, 0, fSize, stamp);
+	}
+
+	/**
+	 * Returns whether the log was opened read only.
+	 *
+	 * @return <code>true</code> if the log is read only, <code>false</code>
+	 *         otherwise
+	 */
+	boolean isReadOnly() {
+		return fReadOnly;
+	}
+
+	/**
+	 * Returns whether the log has not been changed on disk by somebody else
+	 * since it was last read or written by this history log.
+	 *
+	 * @return <code>true</code> if the log is current, <code>false</code>
+	 *         otherwise
+	 */
+	boolean isCurrent() {
+		return fLogFile.length() == fLogLength && fLogFile.lastModified() == fLogModified;
+	}
+
+	/**
+	 * Returns the number of refactoring descriptors in the log.
+	 *
+	 * @return the number of refactoring descriptors
+	 */
+	int size() {
+		return fSize;
+	}
+
+	/**
+	 * Inserts or replaces an index entry.
+	 *
+	 * @param stamp
+	 *            the time stamp of the record
+	 * @param offset
+	 *            the offset of the record in the log
+	 * @param length
+	 *            the length of the record
+	 * @param description
+	 *            the description of the refactoring
+	 */
+	private void put(final long stamp, final long offset, final int length, final String description) {
+		int index= indexOf(stamp);
+		if (index < 0) {
+			index= -index - 1;
+			if (fSize == fStamps.length) {
+				final int capacity= Math.max(16, fSize * 2);
+				fStamps= Arrays.copyOf(fStamps, capacity);
+				fOffsets= Arrays.copyOf(fOffsets, capacity);
+				fLengths= Arrays.copyOf(fLengths, capacity);
+				fDescriptions= Arrays.copyOf(fDescriptions, capacity);
+			}
+			System.arraycopy(fStamps, index, fStamps, index + 1, fSize - index);
+			System.arraycopy(fOffsets, index, fOffsets, index + 1, fSize - index);
+			System.arraycopy(fLengths, index, fLengths, index + 1, fSize - index);
+			System.arraycopy(fDescriptions, index, fDescriptions, index + 1, fSize - index);
+			fSize++;
+		}
+		fStamps[index]= stamp;
+		fOffsets[index]= offset;
+		fLengths[index]= length;
+		fDescriptions[index]= description;
+	}
+
+	/**
+	 * Reads the refactoring descriptor proxies in the specified time range.
+	 * <p>
+	 * The refactoring descriptor proxies are returned in ascending order of
+	 * their time stamps.
+	 * </p>
+	 *
+	 * @param project
+	 *            the name of the project, or <code>null</code> for the
+	 *            workspace
+	 * @param start
+	 *            the start time stamp, inclusive
+	 * @param end
+	 *            the end time stamp, inclusive
+	 * @return the refactoring descriptor proxies
+	 */
+	RefactoringDescriptorProxy[] readProxies(final String project, final long start, final long end) {
+		if (start > end)
+			return new RefactoringDescriptorProxy[0];
+		int from= indexOf(start);
+		if (from < 0)
+			from= -from - 1;
+		int to= indexOf(end);
+		to= to < 0 ? -to - 1 : to + 1;
+		final RefactoringDescriptorProxy[] proxies= new RefactoringDescriptorProxy[to - from];
+		for (int index= from; index < to; index++)
+			proxies[index - from]= new DefaultRefactoringDescriptorProxy(fDescriptions[index], project, fStamps[index]);
+		return proxies;
+	}
+
+	/**
+	 * Reads the refactoring descriptor with the specified time stamp.
+	 *
+	 * @param stamp
+	 *            the time stamp
+	 * @param project
+	 *            the name of the project to use if the descriptor has none,
+	 *            or <code>null</code>
+	 * @return the refactoring descriptor, or <code>null</code> if the log
+	 *         does not contain a descriptor with this time stamp
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	RefactoringDescriptor readDescriptor(final long stamp, final String project) throws IOException {
+		final int index= indexOf(stamp);
+		if (index < 0)
+			return null;
+		final byte[] record= new byte[fLengths[index]];
+		try (RandomAccessFile file= new RandomAccessFile(fLogFile, "r")) { //$NON-NLS-1$
+			file.seek(fOffsets[index]);
+			file.readFully(record);
+		}
+		final DataInputStream input= new DataInputStream(new ByteArrayInputStream(record));
+		input.readInt();
+		input.readByte();
+		input.readLong();
+		final String id= readString(input);
+		String name= readNullableString(input);
+		final String description= readString(input);
+		final String comment= readNullableString(input);
+		final int flags= input.readInt();
+		final int count= input.readInt();
+		final Map<String, String> arguments= new HashMap<>(count);
+		for (int argument= 0; argument < count; argument++)
+			arguments.put(readString(input), readString(input));
+		if (project != null && name == null)
+			name= project; // override project from log like RefactoringSessionReader
+		try {
+			final RefactoringDescriptor descriptor= RefactoringContributionManager.getInstance().createDescriptor(id, name, description, comment, arguments, flags);
+			descriptor.setTimeStamp(stamp);
+			return descriptor;
+		} catch (RuntimeException exception) {
+			throw new IOException(exception);
+		}
+	}
+
+	/**
+	 * Reads all refactoring descriptors of the log.
+	 * <p>
+	 * The refactoring descriptors are returned in ascending order of their
+	 * time stamps.
+	 * </p>
+	 *
+	 * @param project
+	 *            the name of the project to use for descriptors without one,
+	 *            or <code>null</code>
+	 * @return the refactoring descriptors
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	RefactoringDescriptor[] readDescriptors(final String project) throws IOException {
+		final RefactoringDescriptor[] descriptors= new RefactoringDescriptor[fSize];
+		for (int index= 0; index < fSize; index++)
+			descriptors[index]= readDescriptor(fStamps[index], project);
+		return descriptors;
+	}
+
+	/**
+	 * Reads the index file.
+	 *
+	 * @return <code>true</code> if the index covers the whole log,
+	 *         <code>false</code> if it needs to be rebuilt
+	 */
+	private boolean readIndex() {
+		if (!fIndexFile.isFile())
+			return false;
+		try (DataInputStream input= new DataInputStream(new BufferedInputStream(new FileInputStream(fIndexFile)))) {
+			if (input.readInt() != INDEX_MAGIC || input.readInt() != VERSION || input.readLong() != fLogFile.length())
+				return false;
+			fSize= 0;
+			while (true) {
+				final long stamp;
+				try {
+					stamp= input.readLong();
+				} catch (EOFException exception) {
+					break;
+				}
+				final long offset= input.readLong();
+				final int length= input.readInt();
+				put(stamp, offset, length, readString(input));
+			}
+			updateLogState();
+			return true;
+		} catch (IOException exception) {
+			fSize= 0;
+			return false;
+		}
+	}
+
+	/**
+	 * Rebuilds the index by scanning the log. A truncated record at the end
+	 * of the log is discarded.
+	 *
+	 * @throws IOException
+	 *             if an input/output error occurs or the log is invalid
+	 */
+	private void rebuildIndex() throws IOException {
+		final TreeMap<Long, long[]> records= new TreeMap<>();
+		final Map<Long, String> descriptions= new HashMap<>();
+		final long length= fLogFile.length();
+		long offset= LOG_HEADER_LENGTH;
+		try (DataInputStream input= new DataInputStream(new BufferedInputStream(new FileInputStream(fLogFile)))) {
+			if (input.readInt() != LOG_MAGIC || input.readInt() != VERSION)
+				throw new IOException(fLogFile + " is not a refactoring history log"); //$NON-NLS-1$
+			while (offset + 4 <= length) {
+				final int size= input.readInt();
+				if (size < 13 || offset + size > length)
+					break;
+				final byte kind= input.readByte();
+				final long stamp= input.readLong();
+				if (kind == KIND_ADD) {
+					final byte[] rest= new byte[size - 13];
+					input.readFully(rest);
+					final DataInputStream record= new DataInputStream(new ByteArrayInputStream(rest));
+					readString(record);
+					readNullableString(record);
+					records.put(stamp, new long[] { offset, size });
+					descriptions.put(stamp, readString(record));
+				} else {
+					input.skipBytes(size - 13);
+					if (kind == KIND_REMOVE) {
+						records.remove(stamp);
+						descriptions.remove(stamp);
+					}
+				}
+				offset+= size;
+			}
+		}
+		if (offset < length && !fReadOnly) {
+			try (RandomAccessFile file= new RandomAccessFile(fLogFile, "rw")) { //$NON-NLS-1$
+				file.setLength(offset);
+			}
+		}
+		fSize= 0;
+		for (Entry<Long, long[]> entry : records.entrySet())
+			put(entry.getKey(), entry.getValue()[0], (int) entry.getValue()[1], descriptions.get(entry.getKey()));
+		if (fReadOnly)
+			updateLogState();
+		else
+			writeIndex();
+	}
+
+	/**
+	 * Removes the refactoring descriptors with the specified time stamps.
+	 *
+	 * @param proxies
+	 *            the refactoring descriptor proxies to remove
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	void remove(final RefactoringDescriptorProxy[] proxies) throws IOException {
+		Assert.isTrue(!fReadOnly);
+		final ByteArrayOutputStream buffer= new ByteArrayOutputStream(proxies.length * 16);
+		final DataOutputStream output= new DataOutputStream(buffer);
+		for (RefactoringDescriptorProxy proxy : proxies) {
+			final int index= indexOf(proxy.getTimeStamp());
+			if (index >= 0) {
+				output.writeInt(13);
+				output.writeByte(KIND_REMOVE);
+				output.writeLong(proxy.getTimeStamp());
+				fSize--;
+				System.arraycopy(fStamps, index + 1, fStamps, index, fSize - index);
+				System.arraycopy(fOffsets, index + 1, fOffsets, index, fSize - index);
+				System.arraycopy(fLengths, index + 1, fLengths, index, fSize - index);
+				System.arraycopy(fDescriptions, index + 1, fDescriptions, index, fSize - index);
+				fDescriptions[fSize]= null;
+			}
+		}
+		if (output.size() > 0) {
+			appendToLog(buffer.toByteArray());
+			writeIndex();
+			compactIfNeeded();
+		}
+	}
+
+	/**
+	 * Deletes the log and its index.
+	 *
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	void delete() throws IOException {
+		Assert.isTrue(!fReadOnly);
+		Files.deleteIfExists(fIndexFile.toPath());
+		Files.deleteIfExists(fLogFile.toPath());
+		fSize= 0;
+	}
+
+	/**
+	 * Replaces the comment of the refactoring descriptor with the specified
+	 * time stamp.
+	 *
+	 * @param stamp
+	 *            the time stamp
+	 * @param comment
+	 *            the comment
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	void setComment(final long stamp, final String comment) throws IOException {
+		final RefactoringDescriptor descriptor= readDescriptor(stamp, null);
+		if (descriptor != null) {
+			descriptor.setComment(comment);
+			add(descriptor);
+			compactIfNeeded();
+		}
+	}
+
+	/**
+	 * Remembers the current state of the log file.
+	 */
+	private void updateLogState() {
+		fLogLength= fLogFile.length();
+		fLogModified= fLogFile.lastModified();
+	}
+
+	/**
+	 * Writes the index file from scratch.
+	 *
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	private void writeIndex() throws IOException {
+		final File temporary= new File(fIndexFile.getParentFile(), fIndexFile.getName() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream output= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+			output.writeInt(INDEX_MAGIC);
+			output.writeInt(VERSION);
+			output.writeLong(fLogFile.length());
+			for (int index= 0; index < fSize; index++)
+				writeIndexEntry(output, index);
+		}
+		Files.move(temporary.toPath(), fIndexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		updateLogState();
+	}
+
+	/**
+	 * Writes an index entry.
+	 *
+	 * @param output
+	 *            the output to write to
+	 * @param index
+	 *            the position of the entry
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	private void writeIndexEntry(final DataOutputStream output, final int index) throws IOException {
+		output.writeLong(fStamps[index]);
+		output.writeLong(fOffsets[index]);
+		output.writeInt(fLengths[index]);
+		writeString(output, fDescriptions[index]);
+	}
+
+	/**
+	 * Writes the record of an added refactoring descriptor.
+	 *
+	 * @param output
+	 *            the output to write to
+	 * @param descriptor
+	 *            the refactoring descriptor
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	private static void writeAddRecord(final DataOutputStream output, final RefactoringDescriptor descriptor) throws IOException {
+		final ByteArrayOutputStream buffer= new ByteArrayOutputStream(256);
+		final DataOutputStream record= new DataOutputStream(buffer);
+		record.writeByte(KIND_ADD);
+		record.writeLong(descriptor.getTimeStamp());
+		writeString(record, descriptor.getID());
+		writeNullableString(record, descriptor.getProject());
+		writeString(record, descriptor.getDescription());
+		final String comment= descriptor.getComment();
+		writeNullableString(record, "".equals(comment) ? null : comment); //$NON-NLS-1$
+		record.writeInt(descriptor.getFlags());
+		final Map<String, String> arguments= RefactoringHistoryManager.getArgumentMap(descriptor);
+		if (arguments != null) {
+			record.writeInt(arguments.size());
+			for (Entry<String, String> entry : arguments.entrySet()) {
+				writeString(record, entry.getKey());
+				writeString(record, entry.getValue());
+			}
+		} else
+			record.writeInt(0);
+		output.writeInt(record.size() + 4);
+		buffer.writeTo(output);
+	}
+
+	private static String readNullableString(final DataInputStream input) throws IOException {
+		final int length= input.readInt();
+		if (length < 0)
+			return null;
+		final byte[] bytes= new byte[length];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static String readString(final DataInputStream input) throws IOException {
+		final String string= readNullableString(input);
+		return string != null ? string : ""; //$NON-NLS-1$
+	}
+
+	private static void writeNullableString(final DataOutputStream output, final String string) throws IOException {
+		if (string == null) {
+			output.writeInt(-1);
+		} else {
+			final byte[] bytes= string.getBytes(StandardCharsets.UTF_8);
+			output.writeInt(bytes.length);
+			output.write(bytes);
+		}
+	}
+
+	private static void writeString(final DataOutputStream output, final String string) throws IOException {
+		writeNullableString(output, string != null ? string : ""); //$NON-NLS-1$
+	}
+}
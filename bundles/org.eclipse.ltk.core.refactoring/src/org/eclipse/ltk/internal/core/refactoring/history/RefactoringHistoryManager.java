@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2015 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@ package org.eclipse.ltk.internal.core.refactoring.history;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -727,6 +728,12 @@ public final class RefactoringHistoryManager {
 	/** The cached file store, or <code>null</code> */
 	private IFileStore fCachedStore= null;
 
+	/** Is the binary history log currently being exported? */
+	private boolean fExporting= false;
+
+	/** The binary history log, or <code>null</code> */
+	private RefactoringHistoryLog fHistoryLog= null;
+
 	/** The history file store */
 	private final IFileStore fHistoryStore;
 
@@ -771,7 +778,17 @@ public final class RefactoringHistoryManager {
 		try {
 			SubMonitor subMon= SubMonitor.convert(monitor, RefactoringCoreMessages.RefactoringHistoryService_updating_history, 18);
 			final long stamp= descriptor.getTimeStamp();
-			if (stamp >= 0) {
+			final RefactoringHistoryLog log= stamp >= 0 ? getHistoryLog(true) : null;
+			if (log != null) {
+				try {
+					final Map<String, String> arguments= getArgumentMap(descriptor);
+					if (arguments != null)
+						checkArgumentMap(arguments);
+					log.add(descriptor);
+				} catch (IOException exception) {
+					throw createCoreException(exception);
+				}
+			} else if (stamp >= 0) {
 				final IPath path= stampToPath(stamp);
 				final IFileStore folder= fHistoryStore.getFileStore(path);
 				final IFileStore history= folder.getChild(RefactoringHistoryService.NAME_HISTORY_FILE);
@@ -847,6 +864,167 @@ public final class RefactoringHistoryManager {
 		}
 	}
 
+	/**
+	 * Exports the binary history log in the specified folder into the XML
+	 * history layout and deletes it.
+	 *
+	 * @param folder
+	 *            the history folder
+	 * @throws CoreException
+	 *             if an error occurs while exporting the history log
+	 */
+	private void exportHistoryLog(final File folder) throws CoreException {
+		fHistoryLog= null;
+		fExporting= true;
+		try {
+			final RefactoringHistoryLog log= new RefactoringHistoryLog(folder);
+			for (RefactoringDescriptor descriptor : log.readDescriptors(null))
+				addRefactoringDescriptor(descriptor, false, new NullProgressMonitor());
+			log.delete();
+		} catch (IOException exception) {
+			throw createCoreException(exception);
+		} finally {
+			fExporting= false;
+		}
+	}
+
+	/**
+	 * Exports the binary history log of the managed history into the XML
+	 * history layout, if there is one.
+	 *
+	 * @throws CoreException
+	 *             if an error occurs while exporting the history log
+	 */
+	void exportHistoryLog() throws CoreException {
+		final File folder= fHistoryStore.toLocalFile(EFS.NONE, null);
+		if (folder != null && RefactoringHistoryLog.exists(folder))
+			exportHistoryLog(folder);
+	}
+
+	/**
+	 * Returns the binary history log of the managed history.
+	 * <p>
+	 * Whether the history is to be kept in a binary history log is determined
+	 * anew on each call, since the preference may change while the manager is
+	 * cached. Before a change, an existing history in the XML layout is
+	 * imported into a new binary history log. Conversely, if the history is
+	 * not to be kept in a binary history log, but one exists, it is exported
+	 * into the XML layout. Reading an existing history log neither imports
+	 * nor exports, and does not write to the log or its index.
+	 * </p>
+	 *
+	 * @param write
+	 *            <code>true</code> if the history is about to be changed,
+	 *            <code>false</code> if it is only read
+	 * @return the binary history log, or <code>null</code> if the history is
+	 *         kept in the XML layout
+	 * @throws CoreException
+	 *             if an error occurs while opening, importing or exporting the
+	 *             history log
+	 */
+	private RefactoringHistoryLog getHistoryLog(final boolean write) throws CoreException {
+		final File folder= fHistoryStore.toLocalFile(EFS.NONE, null);
+		if (folder == null || fExporting)
+			return null;
+		final boolean existing= RefactoringHistoryLog.exists(folder);
+		if (!write) {
+			if (!existing)
+				return null;
+			if (fHistoryLog == null || !fHistoryLog.isCurrent()) {
+				try {
+					fHistoryLog= new RefactoringHistoryLog(folder, true);
+				} catch (IOException exception) {
+					throw createCoreException(exception);
+				}
+			}
+			return fHistoryLog;
+		}
+		if (!RefactoringHistoryService.hasBinaryRefactoringHistory(fHistoryStore)) {
+			if (existing)
+				exportHistoryLog(folder);
+			return null;
+		}
+		if (fHistoryLog == null || fHistoryLog.isReadOnly() || !fHistoryLog.isCurrent()) {
+			try {
+				fHistoryLog= new RefactoringHistoryLog(folder);
+			} catch (IOException exception) {
+				throw createCoreException(exception);
+			}
+			if (!existing)
+				importHistory(fHistoryLog);
+		}
+		return fHistoryLog;
+	}
+
+	/**
+	 * Imports the history in the XML layout into the specified binary history
+	 * log and removes the XML history files.
+	 *
+	 * @param log
+	 *            the new, empty history log
+	 * @throws CoreException
+	 *             if an error occurs while importing the history
+	 */
+	private void importHistory(final RefactoringHistoryLog log) throws CoreException {
+		final List<RefactoringDescriptor> descriptors= new ArrayList<>();
+		final List<IFileStore> folders= new ArrayList<>();
+		try {
+			for (IFileStore child : fHistoryStore.childStores(EFS.NONE, null)) {
+				if (child.fetchInfo().isDirectory() && !child.getName().isEmpty() && Character.isDigit(child.getName().charAt(0))) {
+					readHistoryFiles(child, descriptors);
+					folders.add(child);
+				}
+			}
+			if (!descriptors.isEmpty()) {
+				final RefactoringDescriptor[] array= descriptors.toArray(new RefactoringDescriptor[descriptors.size()]);
+				sortRefactoringDescriptorsAscending(array);
+				log.add(array);
+			}
+		} catch (IOException exception) {
+			try {
+				log.delete();
+			} catch (IOException nested) {
+				// Do nothing
+			}
+			fHistoryLog= null;
+			throw createCoreException(exception);
+		} catch (CoreException exception) {
+			try {
+				log.delete();
+			} catch (IOException nested) {
+				// Do nothing
+			}
+			fHistoryLog= null;
+			throw exception;
+		}
+		for (IFileStore folder : folders)
+			folder.delete(EFS.NONE, null);
+	}
+
+	/**
+	 * Reads the refactoring descriptors of all history files in the XML
+	 * history layout below the specified folder.
+	 *
+	 * @param store
+	 *            the file store to read
+	 * @param collection
+	 *            the collection of descriptors to fill in
+	 * @throws CoreException
+	 *             if an error occurs while reading the history files
+	 */
+	private static void readHistoryFiles(final IFileStore store, final Collection<RefactoringDescriptor> collection) throws CoreException {
+		for (IFileStore child : store.childStores(EFS.NONE, null)) {
+			if (RefactoringHistoryService.NAME_HISTORY_FILE.equalsIgnoreCase(child.getName())) {
+				try (InputStream input= new BufferedInputStream(child.openInputStream(EFS.NONE, null))) {
+					Collections.addAll(collection, new RefactoringSessionReader(false, null).readSession(new InputSource(input)).getRefactorings());
+				} catch (IOException exception) {
+					throw createCoreException(exception);
+				}
+			} else if (child.fetchInfo().isDirectory())
+				readHistoryFiles(child, collection);
+		}
+	}
+
 	/**
 	 * Returns the cached refactoring history document.
 	 *
@@ -921,11 +1099,25 @@ public final class RefactoringHistoryManager {
 			SubMonitor subMon= SubMonitor.convert(monitor, RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, 200);
 			final Set<RefactoringDescriptorProxy> set= new HashSet<>();
 			try {
-				if (fHistoryStore.fetchInfo(EFS.NONE, subMon.newChild(20, SubMonitor.SUPPRESS_SUBTASK)).exists())
-					readRefactoringDescriptorProxies(fHistoryStore, fProjectName, set, start, end, subMon.newChild(80), RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+				if (fHistoryStore.fetchInfo(EFS.NONE, subMon.newChild(20, SubMonitor.SUPPRESS_SUBTASK)).exists()) {
+					final RefactoringHistoryLog log= getHistoryLog(false);
+					if (log != null)
+						Collections.addAll(set, log.readProxies(fProjectName, start, end));
+					else
+						readRefactoringDescriptorProxies(fHistoryStore, fProjectName, set, start, end, subMon.newChild(80), RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+				}
 				final IFileStore store= EFS.getLocalFileSystem().getStore(RefactoringCorePlugin.getDefault().getStateLocation()).getChild(RefactoringHistoryService.NAME_HISTORY_FOLDER).getChild(RefactoringHistoryService.NAME_WORKSPACE_PROJECT);
-				if (store.fetchInfo(EFS.NONE, subMon.newChild(20, SubMonitor.SUPPRESS_SUBTASK)).exists())
-					readRefactoringDescriptorProxies(store, null, set, start, end, subMon.newChild(80), RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+				if (store.fetchInfo(EFS.NONE, subMon.newChild(20, SubMonitor.SUPPRESS_SUBTASK)).exists()) {
+					final File folder= store.toLocalFile(EFS.NONE, null);
+					if (folder != null && RefactoringHistoryLog.exists(folder)) {
+						try {
+							Collections.addAll(set, new RefactoringHistoryLog(folder, true).readProxies(null, start, end));
+						} catch (IOException exception) {
+							throw createCoreException(exception);
+						}
+					} else
+						readRefactoringDescriptorProxies(store, null, set, start, end, subMon.newChild(80), RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+				}
 			} catch (CoreException exception) {
 				RefactoringCorePlugin.log(exception);
 			}
@@ -1037,6 +1229,15 @@ public final class RefactoringHistoryManager {
 	 */
 	void removeRefactoringDescriptors(final RefactoringDescriptorProxy[] proxies, final IProgressMonitor monitor, final String task) throws CoreException {
 		try {
+			final RefactoringHistoryLog log= getHistoryLog(true);
+			if (log != null) {
+				try {
+					log.remove(proxies);
+				} catch (IOException exception) {
+					throw createCoreException(exception);
+				}
+				return;
+			}
 			final Map<IPath, Collection<RefactoringDescriptorProxy>> paths= new HashMap<>();
 			for (RefactoringDescriptorProxy proxy : proxies) {
 				final IPath path= stampToPath(proxy.getTimeStamp());
@@ -1075,6 +1276,14 @@ public final class RefactoringHistoryManager {
 			if (stamp >= 0) {
 				InputStream input= null;
 				try {
+					final RefactoringHistoryLog log= getHistoryLog(false);
+					if (log != null) {
+						try {
+							return log.readDescriptor(stamp, fProjectName);
+						} catch (IOException exception) {
+							throw createCoreException(exception);
+						}
+					}
 					final IFileStore folder= fHistoryStore.getFileStore(stampToPath(stamp));
 					final IFileStore file= folder.getChild(RefactoringHistoryService.NAME_HISTORY_FILE);
 					if (file.fetchInfo(EFS.NONE, subMon.newChild(1, SubMonitor.SUPPRESS_SUBTASK)).exists()) {
@@ -1122,7 +1331,14 @@ public final class RefactoringHistoryManager {
 		try {
 			SubMonitor subMonitor= SubMonitor.convert(monitor, RefactoringCoreMessages.RefactoringHistoryService_updating_history, 100);
 			final long stamp= proxy.getTimeStamp();
-			if (stamp >= 0) {
+			final RefactoringHistoryLog log= stamp >= 0 ? getHistoryLog(true) : null;
+			if (log != null) {
+				try {
+					log.setComment(stamp, comment);
+				} catch (IOException exception) {
+					throw createCoreException(exception);
+				}
+			} else if (stamp >= 0) {
 				final IPath path= stampToPath(stamp);
 				final IFileStore folder= fHistoryStore.getFileStore(path);
 				final IFileStore history= folder.getChild(RefactoringHistoryService.NAME_HISTORY_FILE);
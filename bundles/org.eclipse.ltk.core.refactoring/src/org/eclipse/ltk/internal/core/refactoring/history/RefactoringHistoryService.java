@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -124,6 +124,12 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 	/** The refactoring history index file name */
 	public static final String NAME_INDEX_FILE= "refactorings.index"; //$NON-NLS-1$
 
+	/** The binary refactoring history log file name */
+	public static final String NAME_LOG_FILE= "refactorings.log"; //$NON-NLS-1$
+
+	/** The binary refactoring history log index file name */
+	public static final String NAME_LOG_INDEX_FILE= "refactorings.log.index"; //$NON-NLS-1$
+
 	/** The name of the special workspace project */
 	public static final String NAME_WORKSPACE_PROJECT= ".workspace"; //$NON-NLS-1$
 
@@ -186,6 +192,30 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 		return fInstance;
 	}
 
+	/**
+	 * Returns whether the refactoring history in the specified location is
+	 * kept in a binary history log.
+	 * <p>
+	 * Binary history logs are only used for the refactoring histories kept in
+	 * the state location of the <code>org.eclipse.ltk.core.refactoring</code>
+	 * plugin, and only if
+	 * {@link RefactoringPreferenceConstants#PREFERENCE_BINARY_REFACTORING_HISTORY}
+	 * is enabled. Shared refactoring histories always use the XML format.
+	 * </p>
+	 *
+	 * @param store
+	 *            the file store describing the history location
+	 * @return <code>true</code> if the history is kept in a binary log,
+	 *         <code>false</code> otherwise
+	 */
+	public static boolean hasBinaryRefactoringHistory(final IFileStore store) {
+		Assert.isNotNull(store);
+		if (!Platform.getPreferencesService().getBoolean(RefactoringCorePlugin.getPluginId(), RefactoringPreferenceConstants.PREFERENCE_BINARY_REFACTORING_HISTORY, false, null))
+			return false;
+		final IFileStore history= EFS.getLocalFileSystem().getStore(RefactoringCorePlugin.getDefault().getStateLocation()).getChild(NAME_HISTORY_FOLDER);
+		return history.equals(store.getParent());
+	}
+
 	/**
 	 * Returns whether a project has a shared refactoring history.
 	 *
@@ -250,6 +280,8 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 					if (enable) {
 						final IFileStore source= history.getChild(name);
 						if (source.fetchInfo(EFS.NONE, subMonitor.newChild(20)).exists()) {
+							// Shared histories are always kept in the XML layout
+							getInstance().getManager(source, name).exportHistoryLog();
 							IFileStore destination= EFS.getStore(uri).getChild(NAME_HISTORY_FOLDER);
 							if (destination.fetchInfo(EFS.NONE, subMonitor.newChild(20)).exists())
 								destination.delete(EFS.NONE, subMonitor.newChild(20));
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -118,6 +118,7 @@ import org.eclipse.search2.internal.ui.basic.views.ShowPreviousResultAction;
 import org.eclipse.search2.internal.ui.basic.views.TableViewerNavigator;
 import org.eclipse.search2.internal.ui.basic.views.TreeViewerNavigator;
 import org.eclipse.search2.internal.ui.text.AnnotationManagers;
+import org.eclipse.search2.internal.ui.text.ElementsChangedEvent;
 import org.eclipse.search2.internal.ui.text.PositionTracker;
 
 /**
@@ -1225,6 +1226,8 @@ public abstract class AbstractTextSearchViewPage extends Page implements ISearch
 		} else if (e instanceof FilterUpdateEvent) {
 			postUpdate(((FilterUpdateEvent) e).getUpdatedMatches());
 			updateFilterActions(fFilterActions);
+		} else if (e instanceof ElementsChangedEvent) {
+			postUpdate(((ElementsChangedEvent) e).getElements());
 		}
 	}
 
@@ -1253,6 +1256,15 @@ public abstract class AbstractTextSearchViewPage extends Page implements ISearch
 		scheduleUIUpdate(); // still synchronized
 	}
 
+	private void postUpdate(Object[] elements) {
+		for (Object element : elements) {
+			if (element != null) {
+				fBatchedUpdates.add(element);
+			}
+		}
+		scheduleUIUpdate();
+	}
+
 	private void runBatchedUpdates() {
 		Collection<Object> drain = new ArrayList<>();
 		fBatchedUpdates.drainTo(drain);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.search2.internal.ui.basic.views;
 
+import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Tree;
 import org.eclipse.swt.widgets.TreeItem;
 
@@ -137,10 +138,23 @@ public class TreeViewerNavigator implements INavigate {
 	}
 
 	private TreeItem[] getChildren(TreeItem item) {
-		fViewer.setExpandedState(item.getData(), true);
+		Object element= getData(item);
+		if (element == null)
+			return new TreeItem[0];
+		fViewer.setExpandedState(element, true);
 		return item.getItems();
 	}
 
+	/**
+	 * Returns the element of an item. The items of a virtual tree get their element when they are
+	 * first shown, asking for the text of the item makes the tree request it.
+	 */
+	private static Object getData(TreeItem item) {
+		if ((item.getParent().getStyle() & SWT.VIRTUAL) != 0)
+			item.getText();
+		return item.getData();
+	}
+
 	private TreeItem getNextSibling(TreeItem currentItem, boolean forward) {
 		TreeItem[] siblings= getSiblings(currentItem);
 		if (siblings.length < 2)
@@ -169,7 +183,7 @@ public class TreeViewerNavigator implements INavigate {
 	}
 
 	private boolean hasMatches(TreeItem item) {
-		Object element= item.getData();
+		Object element= getData(item);
 		if (element == null)
 			return false;
 		return fPage.getDisplayedMatchCount(element) > 0;
@@ -192,7 +206,7 @@ public class TreeViewerNavigator implements INavigate {
 
 	private void internalSetSelection(TreeItem ti) {
 		if (ti != null) {
-			Object data= ti.getData();
+			Object data= getData(ti);
 			if (data != null) {
 				ISelection selection= new StructuredSelection(data);
 				fViewer.setSelection(selection, true);
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search2.internal.ui.text;
+
+import org.eclipse.search.ui.ISearchResult;
+import org.eclipse.search.ui.SearchResultEvent;
+
+/**
+ * An event indicating that the matches of some elements have changed, without naming the matches.
+ * Search results that do not create the match objects of an element until they are accessed fire
+ * it instead of a {@link org.eclipse.search.ui.text.MatchEvent}. The
+ * {@link org.eclipse.search.ui.text.AbstractTextSearchViewPage} updates the given elements.
+ */
+public class ElementsChangedEvent extends SearchResultEvent {
+	private static final long serialVersionUID= 1L;
+
+	private final Object[] fElements;
+
+	/**
+	 * Creates the event.
+	 *
+	 * @param searchResult the search result this event is about
+	 * @param elements the elements whose matches have been added, removed or filtered
+	 */
+	public ElementsChangedEvent(ISearchResult searchResult, Object[] elements) {
+		super(searchResult);
+		fElements= elements;
+	}
+
+	/**
+	 * @return the elements whose matches have changed
+	 */
+	public Object[] getElements() {
+		return fElements;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,8 +13,13 @@
  *******************************************************************************/
 package org.eclipse.search2.internal.ui.text;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -31,7 +36,10 @@ import org.eclipse.core.filebuffers.ITextFileBuffer;
 import org.eclipse.core.filebuffers.LocationKind;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DefaultPositionUpdater;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IPositionUpdater;
 import org.eclipse.jface.text.Position;
 
 import org.eclipse.search.internal.ui.SearchPlugin;
@@ -48,16 +56,64 @@ import org.eclipse.search.ui.text.MatchEvent;
 import org.eclipse.search.ui.text.RemoveAllEvent;
 
 
+/**
+ * Tracks the positions of the matches of text search results in the documents of the connected
+ * file buffers, and updates the matches when a buffer is saved.
+ * <p>
+ * The positions of the matches in a buffer are kept in a position category of its document, so
+ * they can be added, updated and removed in bulk. The positions of a file are added sorted by
+ * offset, and disposing a buffer removes the whole category instead of every single position.
+ * </p>
+ */
 public class PositionTracker implements IQueryListener, ISearchResultListener, IFileBufferListener {
 
-	private Map<Match, Position> fMatchesToPositions= new HashMap<>();
-	private Map<Match, AbstractTextSearchResult> fMatchesToSearchResults= new HashMap<>();
-	private Map<ITextFileBuffer, Set<Match>> fFileBuffersToMatches= new HashMap<>();
+	private static final String POSITION_CATEGORY= PositionTracker.class.getName();
 
-	private interface IFileBufferMatchOperation {
-		void run(ITextFileBuffer buffer, Match match);
+	/**
+	 * The position of a match, also referencing the search result containing the match.
+	 */
+	private static final class MatchPosition extends Position {
+		final Match fMatch;
+		final AbstractTextSearchResult fResult;
+		BufferPositions fBufferPositions;
+
+		MatchPosition(int offset, int length, Match match, AbstractTextSearchResult result) {
+			super(offset, length);
+			fMatch= match;
+			fResult= result;
+		}
+	}
+
+	/**
+	 * The positions tracked in the document of a file buffer.
+	 */
+	private static final class BufferPositions {
+		final ITextFileBuffer fBuffer;
+		final IDocument fDocument;
+		final IPositionUpdater fUpdater= new DefaultPositionUpdater(POSITION_CATEGORY);
+		// positions compare by offset and length, which change
+		final Set<MatchPosition> fPositions= Collections.newSetFromMap(new IdentityHashMap<>());
+
+		BufferPositions(ITextFileBuffer buffer) {
+			fBuffer= buffer;
+			fDocument= buffer.getDocument();
+			fDocument.addPositionCategory(POSITION_CATEGORY);
+			fDocument.addPositionUpdater(fUpdater);
+		}
+
+		void dispose() {
+			fDocument.removePositionUpdater(fUpdater);
+			try {
+				fDocument.removePositionCategory(POSITION_CATEGORY);
+			} catch (BadPositionCategoryException e) {
+				// already removed
+			}
+		}
 	}
 
+	private Map<Match, MatchPosition> fMatchesToPositions= new HashMap<>();
+	private Map<ITextFileBuffer, BufferPositions> fFileBuffersToPositions= new HashMap<>();
+
 	public PositionTracker() {
 		NewSearchUI.addQueryListener(this);
 		FileBuffers.getTextFileBufferManager().addFileBufferListener(this);
@@ -88,10 +144,24 @@ public class PositionTracker implements IQueryListener, ISearchResultListener, I
 			Match[] matches = evt.getMatches();
 			int kind = evt.getKind();
 			AbstractTextSearchResult result = (AbstractTextSearchResult) e.getSearchResult();
-			for (Match match : matches) {
-				ITextFileBuffer fb= getTrackedFileBuffer(result, match.getElement());
-				if (fb != null) {
-					updateMatch(match, fb, kind, result);
+			if (kind == MatchEvent.ADDED) {
+				// the matches of a file are usually added together
+				Map<ITextFileBuffer, List<Match>> matchesByBuffer= new LinkedHashMap<>();
+				Object lastElement= null;
+				ITextFileBuffer fb= null;
+				for (Match match : matches) {
+					if (lastElement == null || !lastElement.equals(match.getElement())) {
+						lastElement= match.getElement();
+						fb= getTrackedFileBuffer(result, lastElement);
+					}
+					if (fb != null) {
+						matchesByBuffer.computeIfAbsent(fb, b -> new ArrayList<>()).add(match);
+					}
+				}
+				matchesByBuffer.forEach((buffer, added) -> trackPositions(result, buffer, added.toArray(new Match[added.size()])));
+			} else if (kind == MatchEvent.REMOVED) {
+				for (Match match : matches) {
+					untrackPosition(match);
 				}
 			}
 		} else if (e instanceof RemoveAllEvent) {
@@ -101,56 +171,87 @@ public class PositionTracker implements IQueryListener, ISearchResultListener, I
 		}
 	}
 
-	private void updateMatch(Match match, ITextFileBuffer fb, int kind, AbstractTextSearchResult result) {
-		if (kind == MatchEvent.ADDED) {
-			trackPosition(result, fb, match);
-		} else if (kind == MatchEvent.REMOVED) {
-			untrackPosition(fb, match);
-		}
-	}
-
 	private void untrackAll(AbstractTextSearchResult result) {
-		Set<Match> matchSet= new HashSet<>(fMatchesToPositions.keySet());
-		for (Match match : matchSet) {
-			AbstractTextSearchResult matchContainer= fMatchesToSearchResults.get(match);
-			if (result.equals(matchContainer)) {
-				ITextFileBuffer fb= getTrackedFileBuffer(result, match.getElement());
-				if (fb != null) {
-					untrackPosition(fb, match);
-				}
+		List<MatchPosition> positions= new ArrayList<>();
+		for (MatchPosition position : fMatchesToPositions.values()) {
+			if (result.equals(position.fResult)) {
+				positions.add(position);
 			}
 		}
-	}
-
-	private void untrackPosition(ITextFileBuffer fb, Match match) {
-		Position position= fMatchesToPositions.get(match);
-		if (position != null) {
-			removeFileBufferMapping(fb, match);
-			fMatchesToSearchResults.remove(match);
-			fMatchesToPositions.remove(match);
-			fb.getDocument().removePosition(position);
+		for (MatchPosition position : positions) {
+			untrackPosition(position.fMatch);
 		}
 	}
 
-	private void trackPosition(AbstractTextSearchResult result, ITextFileBuffer fb, Match match) {
-		int offset = match.getOffset();
-		int length = match.getLength();
-		if (offset < 0 || length < 0)
+	private void untrackPosition(Match match) {
+		MatchPosition position= fMatchesToPositions.remove(match);
+		if (position == null)
 			return;
+		BufferPositions positions= position.fBufferPositions;
+		positions.fPositions.remove(position);
+		if (positions.fPositions.isEmpty()) {
+			fFileBuffersToPositions.remove(positions.fBuffer);
+			positions.dispose();
+		} else {
+			try {
+				positions.fDocument.removePosition(POSITION_CATEGORY, position);
+			} catch (BadPositionCategoryException e) {
+				// the category is only removed together with the last position
+			}
+		}
+	}
 
-		try {
-			IDocument doc= fb.getDocument();
-			Position position= new Position(offset, length);
-			if (match.getBaseUnit() == Match.UNIT_LINE) {
-				position= convertToCharacterPosition(position, doc);
+	/**
+	 * Tracks the positions of the given matches in the document of a buffer. The positions are
+	 * added in offset order, so that they are appended to the position category.
+	 */
+	private void trackPositions(AbstractTextSearchResult result, ITextFileBuffer fb, Match[] matches) {
+		IDocument doc= fb.getDocument();
+		List<MatchPosition> added= new ArrayList<>(matches.length);
+		List<Match> outside= null;
+		for (Match match : matches) {
+			int offset = match.getOffset();
+			int length = match.getLength();
+			if (offset < 0 || length < 0 || fMatchesToPositions.containsKey(match))
+				continue;
+			try {
+				if (match.getBaseUnit() == Match.UNIT_LINE) {
+					Position position= convertToCharacterPosition(new Position(offset, length), doc);
+					offset= position.getOffset();
+					length= position.getLength();
+				} else if (offset + length > doc.getLength()) {
+					throw new BadLocationException();
+				}
+				added.add(new MatchPosition(offset, length, match, result));
+			} catch (BadLocationException e) {
+				// the match is outside the document
+				if (outside == null) {
+					outside= new ArrayList<>();
+				}
+				outside.add(match);
+			}
+		}
+		if (!added.isEmpty()) {
+			added.sort(Comparator.comparingInt(Position::getOffset));
+			BufferPositions positions= fFileBuffersToPositions.get(fb);
+			if (positions == null) {
+				positions= new BufferPositions(fb);
+				fFileBuffersToPositions.put(fb, positions);
+			}
+			for (MatchPosition position : added) {
+				try {
+					doc.addPosition(POSITION_CATEGORY, position);
+				} catch (BadLocationException | BadPositionCategoryException e) {
+					// checked above
+					continue;
+				}
+				position.fBufferPositions= positions;
+				positions.fPositions.add(position);
+				fMatchesToPositions.put(position.fMatch, position);
 			}
-			doc.addPosition(position);
-			fMatchesToSearchResults.put(match, result);
-			fMatchesToPositions.put(match, position);
-			addFileBufferMapping(fb, match);
-		} catch (BadLocationException e) {
-			// the match is outside the document
-			result.removeMatch(match);
+		}
+		if (outside != null) {
+			result.removeMatches(outside.toArray(new Match[outside.size()]));
 		}
 	}
 
@@ -168,24 +269,6 @@ public class PositionTracker implements IQueryListener, ISearchResultListener, I
 		return new Position(charOffset, charLength);
 	}
 
-	private void addFileBufferMapping(ITextFileBuffer fb, Match match) {
-		Set<Match> matches= fFileBuffersToMatches.get(fb);
-		if (matches == null) {
-			matches= new HashSet<>();
-			fFileBuffersToMatches.put(fb, matches);
-		}
-		matches.add(match);
-	}
-
-	private void removeFileBufferMapping(ITextFileBuffer fb, Match match) {
-		Set<Match> matches= fFileBuffersToMatches.get(fb);
-		if (matches != null) {
-			matches.remove(match);
-			if (matches.isEmpty())
-				fFileBuffersToMatches.remove(fb);
-		}
-	}
-
 	private ITextFileBuffer getTrackedFileBuffer(AbstractTextSearchResult result, Object element) {
 		IFileMatchAdapter adapter= result.getFileMatchAdapter();
 		if (adapter == null)
@@ -199,10 +282,11 @@ public class PositionTracker implements IQueryListener, ISearchResultListener, I
 	}
 
 	public Position getCurrentPosition(Match match) {
-		Position pos= fMatchesToPositions.get(match);
-		if (pos == null)
-			return pos;
-		AbstractTextSearchResult result= fMatchesToSearchResults.get(match);
+		MatchPosition matchPosition= fMatchesToPositions.get(match);
+		if (matchPosition == null)
+			return null;
+		Position pos= matchPosition;
+		AbstractTextSearchResult result= matchPosition.fResult;
 		if (match.getBaseUnit() == Match.UNIT_LINE && result != null) {
 			ITextFileBuffer fb= getTrackedFileBuffer(result, match.getElement());
 			if (fb != null) {
@@ -237,7 +321,6 @@ public class PositionTracker implements IQueryListener, ISearchResultListener, I
 	// IFileBufferListener implementation ---------------------------------------------------------------------
 	@Override
 	public void bufferCreated(IFileBuffer buffer) {
-		final int[] trackCount= new int[1];
 		if (!(buffer instanceof ITextFileBuffer))
 			return;
 
@@ -257,35 +340,21 @@ public class PositionTracker implements IQueryListener, ISearchResultListener, I
 				IFileMatchAdapter adapter = textResult.getFileMatchAdapter();
 				if (adapter != null) {
 					Match[] matches = adapter.computeContainedMatches(textResult, file);
-					for (Match match : matches) {
-						trackCount[0]++;
-						trackPosition((AbstractTextSearchResult) result, (ITextFileBuffer) buffer, match);
-					}
+					trackPositions(textResult, (ITextFileBuffer) buffer, matches);
 				}
 			}
 		}
 	}
 
-	private void doForExistingMatchesIn(IFileBuffer buffer, IFileBufferMatchOperation operation) {
-		if (!(buffer instanceof ITextFileBuffer))
-			return;
-		Set<Match> matches= fFileBuffersToMatches.get(buffer);
-		if (matches != null) {
-			Set<Match> matchSet= new HashSet<>(matches);
-			for (Match element : matchSet) {
-				operation.run((ITextFileBuffer) buffer, element);
-			}
-		}
-	}
-
-
 	@Override
 	public void bufferDisposed(IFileBuffer buffer) {
-		final int[] trackCount= new int[1];
-		doForExistingMatchesIn(buffer, (textBuffer, match) -> {
-			trackCount[0]++;
-			untrackPosition(textBuffer, match);
-		});
+		BufferPositions positions= fFileBuffersToPositions.remove(buffer);
+		if (positions != null) {
+			for (MatchPosition position : positions.fPositions) {
+				fMatchesToPositions.remove(position.fMatch);
+			}
+			positions.dispose();
+		}
 	}
 
 	@Override
@@ -295,13 +364,17 @@ public class PositionTracker implements IQueryListener, ISearchResultListener, I
 
 	@Override
 	public void bufferContentReplaced(IFileBuffer buffer) {
-		final int[] trackCount= new int[1];
-		doForExistingMatchesIn(buffer, (textBuffer, match) -> {
-			trackCount[0]++;
-			AbstractTextSearchResult result= fMatchesToSearchResults.get(match);
-			untrackPosition(textBuffer, match);
-			trackPosition(result, textBuffer, match);
-		});
+		BufferPositions positions= fFileBuffersToPositions.get(buffer);
+		if (positions == null)
+			return;
+		// track the matches again in the replaced content
+		Map<AbstractTextSearchResult, List<Match>> matchesByResult= new LinkedHashMap<>();
+		for (MatchPosition position : positions.fPositions) {
+			matchesByResult.computeIfAbsent(position.fResult, r -> new ArrayList<>()).add(position.fMatch);
+		}
+		bufferDisposed(buffer);
+		ITextFileBuffer textBuffer= (ITextFileBuffer) buffer;
+		matchesByResult.forEach((result, matches) -> trackPositions(result, textBuffer, matches.toArray(new Match[matches.size()])));
 	}
 
 	@Override
@@ -313,29 +386,33 @@ public class PositionTracker implements IQueryListener, ISearchResultListener, I
 	public void dirtyStateChanged(IFileBuffer buffer, boolean isDirty) {
 		if (isDirty)
 			return;
-		final int[] trackCount= new int[1];
-		doForExistingMatchesIn(buffer, (textBuffer, match) -> {
-			trackCount[0]++;
-			Position pos= fMatchesToPositions.get(match);
-			if (pos != null) {
-				if (pos.isDeleted()) {
-					AbstractTextSearchResult result= fMatchesToSearchResults.get(match);
-					// might be that the containing element has been removed.
-					if (result != null) {
-						result.removeMatch(match);
-					}
-					untrackPosition(textBuffer, match);
-				} else {
-					if (match.getBaseUnit() == Match.UNIT_LINE) {
-						try {
-							pos= convertToLinePosition(pos, textBuffer.getDocument());
-						} catch (BadLocationException e) {
-							SearchPlugin.getDefault().getLog().log(new Status(IStatus.ERROR, SearchPlugin.getID(), 0, e.getLocalizedMessage(), e));
-						}
+		BufferPositions positions= fFileBuffersToPositions.get(buffer);
+		if (positions == null)
+			return;
+		ITextFileBuffer textBuffer= (ITextFileBuffer) buffer;
+		Map<AbstractTextSearchResult, List<Match>> deleted= new LinkedHashMap<>();
+		for (MatchPosition pos : positions.fPositions.toArray(new MatchPosition[positions.fPositions.size()])) {
+			Match match= pos.fMatch;
+			if (pos.isDeleted()) {
+				deleted.computeIfAbsent(pos.fResult, r -> new ArrayList<>()).add(match);
+			} else {
+				Position newPos= pos;
+				if (match.getBaseUnit() == Match.UNIT_LINE) {
+					try {
+						newPos= convertToLinePosition(pos, textBuffer.getDocument());
+					} catch (BadLocationException e) {
+						SearchPlugin.getDefault().getLog().log(new Status(IStatus.ERROR, SearchPlugin.getID(), 0, e.getLocalizedMessage(), e));
 					}
-					match.setOffset(pos.getOffset());
-					match.setLength(pos.getLength());
 				}
+				match.setOffset(newPos.getOffset());
+				match.setLength(newPos.getLength());
+			}
+		}
+		deleted.forEach((result, matches) -> {
+			Match[] removed= matches.toArray(new Match[matches.size()]);
+			result.removeMatches(removed);
+			for (Match match : removed) {
+				untrackPosition(match);
 			}
 		});
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -48,6 +48,7 @@ public final class SearchMessages extends NLS {
 	public static String ReplaceConfigurationPage_isRegex_label;
 	public static String ReplaceConfigurationPage_replace_label;
 	public static String ReplaceConfigurationPage_with_label;
+	public static String ReplaceConfigurationPage_streaming_label;
 	public static String ReplaceRefactoring_composite_change_name;
 	public static String ReplaceRefactoring_error_access_file;
 	public static String ReplaceRefactoring_error_accessing_file_buffer;
@@ -61,6 +62,10 @@ public final class SearchMessages extends NLS {
 	public static String ReplaceRefactoring_group_label_match_replace;
 	public static String ReplaceRefactoring_refactoring_name;
 	public static String ReplaceRefactoring_result_update_name;
+	public static String StreamingReplaceChange_progress;
+	public static String StreamingReplaceChange_error_problems;
+	public static String StreamingReplaceChange_error_file_deleted;
+	public static String StreamingReplaceChange_error_file_modified;
 
 	public static String SearchDialog_title;
 	public static String SearchDialog_searchAction;
@@ -207,6 +212,7 @@ public final class SearchMessages extends NLS {
 	public static String SearchPreferencePage_defaultPerspective_none;
 	public static String SearchPreferencePage_ignorePotentialMatches;
 	public static String SearchPreferencePage_rememberLastUsedPage;
+	public static String SearchPreferencePage_virtualResultViewers;
 	public static String ReplaceAction_label_all;
 	public static String ReplaceAction_label_selected;
 	public static String SelectAllAction_label;
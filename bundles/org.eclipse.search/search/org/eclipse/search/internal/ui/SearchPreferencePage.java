@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -56,6 +56,7 @@ public class SearchPreferencePage extends FieldEditorPreferencePage implements I
 	public static final String TEXT_SEARCH_ENGINE = TextSearchEngineRegistry.PREFERENCE_ENGINE_KEY;
 	public static final String TEXT_SEARCH_QUERY_PROVIDER = "org.eclipse.search.textSearchQueryProvider"; //$NON-NLS-1$
 	public static final String LIMIT_HISTORY= "org.eclipse.search.limitHistory"; //$NON-NLS-1$
+	public static final String VIRTUAL_RESULT_VIEWERS= "org.eclipse.search.virtualResultViewers"; //$NON-NLS-1$
 
 	private ColorFieldEditor fColorEditor;
 	private BooleanFieldEditor fEmphasizedCheckbox;
@@ -91,6 +92,7 @@ public class SearchPreferencePage extends FieldEditorPreferencePage implements I
 		store.setDefault(TEXT_SEARCH_ENGINE, ""); //default search engine is empty string //$NON-NLS-1$
 		store.setDefault(TEXT_SEARCH_QUERY_PROVIDER, ""); // default query provider is empty string  //$NON-NLS-1$
 		store.setDefault(LIMIT_HISTORY, 10);
+		store.setDefault(VIRTUAL_RESULT_VIEWERS, true);
 	}
 
 
@@ -115,6 +117,8 @@ public class SearchPreferencePage extends FieldEditorPreferencePage implements I
 				SearchMessages.SearchPreferencePage_rememberLastUsedPage, getFieldEditorParent());
 		addField(fRememberLastUsedPageCheckbox);
 
+		addField(new BooleanFieldEditor(VIRTUAL_RESULT_VIEWERS, SearchMessages.SearchPreferencePage_virtualResultViewers, getFieldEditorParent()));
+
 		fEmphasizedCheckbox= new BooleanFieldEditor(
 			EMPHASIZE_POTENTIAL_MATCHES,
 			SearchMessages.SearchPreferencePage_emphasizePotentialMatches,
@@ -229,6 +233,17 @@ public class SearchPreferencePage extends FieldEditorPreferencePage implements I
 		return store.getBoolean(REUSE_EDITOR);
 	}
 
+	/**
+	 * Returns whether the viewers of the 'Search' view only create the items that are shown. Takes
+	 * effect for the viewers created afterwards.
+	 *
+	 * @return <code>true</code> if virtual viewers are used
+	 */
+	public static boolean isResultViewerVirtual() {
+		IPreferenceStore store= SearchPlugin.getDefault().getPreferenceStore();
+		return store.getBoolean(VIRTUAL_RESULT_VIEWERS);
+	}
+
 	public static boolean isViewBroughtToFront() {
 		IPreferenceStore store= SearchPlugin.getDefault().getPreferenceStore();
 		return store.getBoolean(BRING_VIEW_TO_FRONT);
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.ui.text;
+
+import java.util.Arrays;
+
+import org.eclipse.core.resources.IFile;
+
+/**
+ * The text matches of a single file, stored in columns of primitive arrays instead of a
+ * {@link FileMatch} and a {@link LineElement} object per match. The offsets and lengths of the
+ * matches are stored per match, the number, offset and contents of the lines containing matches
+ * are stored per line; the contents of all lines share a single string.
+ * <p>
+ * Matches are added in increasing offset order by the collector of a {@link FileSearchQuery},
+ * which is the only writer. Once the file has been searched, the table is trimmed and only read.
+ * The {@link FileSearchResult} creates the match objects from it when they are first accessed.
+ * </p>
+ */
+final class CompactFileMatches {
+
+	private static final int INITIAL_CAPACITY= 4;
+
+	private final IFile fFile;
+
+	private int fMatchCount;
+	private int[] fMatchOffsets= new int[INITIAL_CAPACITY];
+	private int[] fMatchLengths= new int[INITIAL_CAPACITY];
+	/** The index of the line of each match. */
+	private int[] fMatchLines= new int[INITIAL_CAPACITY];
+
+	private int fLineCount;
+	private int[] fLineNumbers= new int[INITIAL_CAPACITY];
+	private int[] fLineOffsets= new int[INITIAL_CAPACITY];
+	/** The end of the contents of each line in {@link #fContents}, lines are stored consecutively. */
+	private int[] fLineContentEnds= new int[INITIAL_CAPACITY];
+
+	private StringBuilder fContentBuilder= new StringBuilder();
+	private String fContents;
+
+	CompactFileMatches(IFile file) {
+		fFile= file;
+	}
+
+	IFile getFile() {
+		return fFile;
+	}
+
+	int getMatchCount() {
+		return fMatchCount;
+	}
+
+	int getLineCount() {
+		return fLineCount;
+	}
+
+	/**
+	 * Returns whether the last added line contains the given offset.
+	 *
+	 * @param offset the offset in the file
+	 * @return <code>true</code> if the last line contains the offset
+	 */
+	boolean lastLineContains(int offset) {
+		return fLineCount > 0 && fLineOffsets[fLineCount - 1] <= offset && offset < getLastLineEnd();
+	}
+
+	/**
+	 * @return the offset after the last added line, or 0 if no line has been added
+	 */
+	int getLastLineEnd() {
+		if (fLineCount == 0) {
+			return 0;
+		}
+		return fLineOffsets[fLineCount - 1] + getLineLength(fLineCount - 1);
+	}
+
+	/**
+	 * @return the number of the last added line, or 0 if no line has been added
+	 */
+	int getLastLineNumber() {
+		return fLineCount == 0 ? 0 : fLineNumbers[fLineCount - 1];
+	}
+
+	/**
+	 * Starts a new line. Its contents are to be appended to the returned buffer before the next
+	 * line is started.
+	 *
+	 * @param lineNumber the number of the line, starting at 1
+	 * @param lineOffset the offset of the line in the file
+	 * @return the buffer to append the contents of the line to
+	 */
+	StringBuilder addLine(int lineNumber, int lineOffset) {
+		if (fLineCount == fLineNumbers.length) {
+			int capacity= fLineCount * 2;
+			fLineNumbers= Arrays.copyOf(fLineNumbers, capacity);
+			fLineOffsets= Arrays.copyOf(fLineOffsets, capacity);
+			fLineContentEnds= Arrays.copyOf(fLineContentEnds, capacity);
+		}
+		if (fLineCount > 0) {
+			fLineContentEnds[fLineCount - 1]= fContentBuilder.length();
+		}
+		fLineNumbers[fLineCount]= lineNumber;
+		fLineOffsets[fLineCount]= lineOffset;
+		fLineCount++;
+		return fContentBuilder;
+	}
+
+	/**
+	 * Adds a match on the last added line.
+	 *
+	 * @param offset the offset of the match
+	 * @param length the length of the match
+	 */
+	void addMatch(int offset, int length) {
+		if (fMatchCount == fMatchOffsets.length) {
+			int capacity= fMatchCount * 2;
+			fMatchOffsets= Arrays.copyOf(fMatchOffsets, capacity);
+			fMatchLengths= Arrays.copyOf(fMatchLengths, capacity);
+			fMatchLines= Arrays.copyOf(fMatchLines, capacity);
+		}
+		fMatchOffsets[fMatchCount]= offset;
+		fMatchLengths[fMatchCount]= length;
+		fMatchLines[fMatchCount]= fLineCount - 1;
+		fMatchCount++;
+	}
+
+	/**
+	 * Ends adding matches and releases the spare capacity of the columns.
+	 */
+	void trim() {
+		if (fLineCount > 0) {
+			fLineContentEnds[fLineCount - 1]= fContentBuilder.length();
+		}
+		fContents= fContentBuilder.toString();
+		fContentBuilder= null;
+		fMatchOffsets= Arrays.copyOf(fMatchOffsets, fMatchCount);
+		fMatchLengths= Arrays.copyOf(fMatchLengths, fMatchCount);
+		fMatchLines= Arrays.copyOf(fMatchLines, fMatchCount);
+		fLineNumbers= Arrays.copyOf(fLineNumbers, fLineCount);
+		fLineOffsets= Arrays.copyOf(fLineOffsets, fLineCount);
+		fLineContentEnds= Arrays.copyOf(fLineContentEnds, fLineCount);
+	}
+
+	private int getLineContentStart(int line) {
+		return line == 0 ? 0 : fLineContentEnds[line - 1];
+	}
+
+	private int getLineLength(int line) {
+		int end= line == fLineCount - 1 && fContentBuilder != null ? fContentBuilder.length() : fLineContentEnds[line];
+		return end - getLineContentStart(line);
+	}
+
+	/**
+	 * Creates the match objects, sorted by offset. Must only be called after {@link #trim()}.
+	 *
+	 * @return the matches
+	 */
+	FileMatch[] createMatches() {
+		LineElement[] lines= new LineElement[fLineCount];
+		for (int i= 0; i < fLineCount; i++) {
+			String contents= fContents.substring(getLineContentStart(i), fLineContentEnds[i]);
+			lines[i]= new LineElement(fFile, fLineNumbers[i], fLineOffsets[i], contents);
+		}
+		FileMatch[] matches= new FileMatch[fMatchCount];
+		for (int i= 0; i < fMatchCount; i++) {
+			matches[i]= new FileMatch(fFile, fMatchOffsets[i], fMatchLengths[i], lines[fMatchLines[i]]);
+		}
+		return matches;
+	}
+}
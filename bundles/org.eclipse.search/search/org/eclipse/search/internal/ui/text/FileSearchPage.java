@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -39,6 +39,7 @@ import org.eclipse.jface.dialogs.ErrorDialog;
 import org.eclipse.jface.viewers.ILabelProvider;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.ISelectionProvider;
+import org.eclipse.jface.viewers.IStructuredContentProvider;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.ITreeViewerListener;
@@ -52,6 +53,7 @@ import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.jface.viewers.ViewerComparator;
 import org.eclipse.search.internal.ui.Messages;
 import org.eclipse.search.internal.ui.SearchMessages;
+import org.eclipse.search.internal.ui.SearchPreferencePage;
 import org.eclipse.search.ui.IContextMenuConstants;
 import org.eclipse.search.ui.ISearchResultViewPart;
 import org.eclipse.search.ui.NewSearchUI;
@@ -59,8 +61,10 @@ import org.eclipse.search.ui.text.AbstractTextSearchResult;
 import org.eclipse.search.ui.text.AbstractTextSearchViewPage;
 import org.eclipse.search.ui.text.Match;
 import org.eclipse.search2.internal.ui.OpenSearchPreferencesAction;
+import org.eclipse.swt.SWT;
 import org.eclipse.swt.dnd.DND;
 import org.eclipse.swt.dnd.Transfer;
+import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Item;
 import org.eclipse.swt.widgets.Table;
@@ -161,6 +165,33 @@ public class FileSearchPage extends AbstractTextSearchViewPage implements IAdapt
 		viewer.addDragSupport(ops, transfers, new NavigatorDragAdapter(viewer));
 	}
 
+	@Override
+	protected TableViewer createTableViewer(Composite parent) {
+		return new TableViewer(parent, getViewerStyle());
+	}
+
+	@Override
+	protected TreeViewer createTreeViewer(Composite parent) {
+		return new TreeViewer(parent, getViewerStyle());
+	}
+
+	/**
+	 * The viewers are virtual, creating only the items that are shown, when the
+	 * {@link SearchPreferencePage#VIRTUAL_RESULT_VIEWERS} preference is on, whatever the size of
+	 * the result.
+	 */
+	private static int getViewerStyle() {
+		int style= SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL;
+		if (SearchPreferencePage.isResultViewerVirtual()) {
+			style|= SWT.VIRTUAL;
+		}
+		return style;
+	}
+
+	private static boolean isVirtual(StructuredViewer viewer) {
+		return (viewer.getControl().getStyle() & SWT.VIRTUAL) != 0;
+	}
+
 	@Override
 	protected void configureTableViewer(TableViewer viewer) {
 		viewer.setUseHashlookup(true);
@@ -177,8 +208,13 @@ public class FileSearchPage extends AbstractTextSearchViewPage implements IAdapt
 		viewer.setUseHashlookup(true);
 		FileLabelProvider innerLabelProvider= new FileLabelProvider(this, FileLabelProvider.SHOW_LABEL);
 		viewer.setLabelProvider(new DecoratingFileSearchLabelProvider(innerLabelProvider));
-		viewer.setContentProvider(new FileTreeContentProvider(this, viewer));
-		viewer.setComparator(new DecoratorIgnoringViewerSorter(innerLabelProvider));
+		if (isVirtual(viewer)) {
+			// lazy content providers sort the children themselves
+			viewer.setContentProvider(new LazyFileTreeContentProvider(this, viewer, new DecoratorIgnoringViewerSorter(innerLabelProvider)));
+		} else {
+			viewer.setContentProvider(new FileTreeContentProvider(this, viewer));
+			viewer.setComparator(new DecoratorIgnoringViewerSorter(innerLabelProvider));
+		}
 		fContentProvider= (IFileSearchContentProvider) viewer.getContentProvider();
 		addDragAdapters(viewer);
 		viewer.addTreeListener(new ITreeViewerListener() {
@@ -473,7 +509,10 @@ public class FileSearchPage extends AbstractTextSearchViewPage implements IAdapt
 
 	private int getFilteredMatchCount() {
 		StructuredViewer viewer = getViewer();
-		if (viewer instanceof TreeViewer) {
+		if (viewer.getContentProvider() instanceof LazyFileTreeContentProvider) {
+			// the items of a virtual tree are only created when shown
+			return ((LazyFileTreeContentProvider) viewer.getContentProvider()).getUnfilteredMatchCount();
+		} else if (viewer instanceof TreeViewer) {
 			ITreeContentProvider tp = (ITreeContentProvider) viewer.getContentProvider();
 			return getMatchCount(tp, getRootElements((TreeViewer) getViewer()));
 		} else {
@@ -513,7 +552,10 @@ public class FileSearchPage extends AbstractTextSearchViewPage implements IAdapt
 
 	private int getMatchCount(TableViewer viewer) {
 		int count = 0;
-		for (Object element : getRootElements(viewer)) {
+		Object[] elements = isVirtual(viewer)
+				? ((IStructuredContentProvider) viewer.getContentProvider()).getElements(getInput())
+				: getRootElements(viewer);
+		for (Object element : elements) {
 			count += getDisplayedMatchCount(element);
 		}
 		return count;
@@ -525,7 +567,7 @@ public class FileSearchPage extends AbstractTextSearchViewPage implements IAdapt
 			if (element instanceof LineElement) {
 				LineElement lineEntry= (LineElement) element;
 				IResource res = lineEntry.getParent();
-				if (super.getDisplayedMatchCount(res) > 0) {
+				if (getUnfilteredMatchCount(res) > 0) {
 					return lineEntry.getNumberOfMatches(getInput());
 				}
 			}
@@ -540,7 +582,7 @@ public class FileSearchPage extends AbstractTextSearchViewPage implements IAdapt
 			if (element instanceof LineElement) {
 				LineElement lineEntry= (LineElement) element;
 				IResource res = lineEntry.getParent();
-				if (super.getDisplayedMatchCount(res) > 0) {
+				if (getUnfilteredMatchCount(res) > 0) {
 					return lineEntry.getMatches(getInput());
 				}
 			}
@@ -549,6 +591,18 @@ public class FileSearchPage extends AbstractTextSearchViewPage implements IAdapt
 		return super.getDisplayedMatches(element);
 	}
 
+	/**
+	 * Counts the matches of a file without creating the match objects of the file, if they are
+	 * kept in compact form by the search result.
+	 */
+	private int getUnfilteredMatchCount(Object element) {
+		AbstractTextSearchResult input= getInput();
+		if (input instanceof FileSearchResult) {
+			return ((FileSearchResult) input).getUnfilteredMatchCount(element);
+		}
+		return super.getDisplayedMatchCount(element);
+	}
+
 	@Override
 	protected void evaluateChangedElements(Match[] matches, Set<Object> changedElements) {
 		if (showLineMatches()) {
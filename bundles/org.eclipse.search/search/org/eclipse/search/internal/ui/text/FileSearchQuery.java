@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,8 +18,6 @@
  *******************************************************************************/
 package org.eclipse.search.internal.ui.text;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
@@ -43,7 +41,6 @@ import org.eclipse.search.ui.ISearchResult;
 import org.eclipse.search.ui.NewSearchUI;
 import org.eclipse.search.ui.text.AbstractTextSearchResult;
 import org.eclipse.search.ui.text.FileTextSearchScope;
-import org.eclipse.search.ui.text.Match;
 
 
 public class FileSearchQuery implements ISearchQuery {
@@ -55,7 +52,7 @@ public class FileSearchQuery implements ISearchQuery {
 		private final boolean fSearchInBinaries;
 
 		private final boolean fIsLightweightAutoRefresh;
-		private final ConcurrentHashMap<IFile, ArrayList<FileMatch>> fCachedMatches;
+		private final ConcurrentHashMap<IFile, CompactFileMatches> fCachedMatches;
 		private volatile boolean stop;
 
 		private TextSearchResultCollector(AbstractTextSearchResult result, boolean isFileSearchOnly, boolean searchInBinaries) {
@@ -94,38 +91,33 @@ public class FileSearchQuery implements ISearchQuery {
 			}
 			fCachedMatches.compute(matchRequestor.getFile(), (f, matches) -> {
 				// each file is processed by at most one job
-				int matchOffset = matchRequestor.getMatchOffset();
-				LineElement lineElement = getLineElement(matchOffset, matchRequestor, matches);
-				if (lineElement != null) {
-					FileMatch fileMatch = new FileMatch(matchRequestor.getFile(), matchOffset,
-							matchRequestor.getMatchLength(), lineElement);
-					if (matches == null) {
-						matches = new ArrayList<>();
-					}
-					matches.add(fileMatch);
+				if (matches == null) {
+					matches= new CompactFileMatches(f);
+				}
+				int matchOffset= matchRequestor.getMatchOffset();
+				if (addLine(matchOffset, matchRequestor, matches)) {
+					matches.addMatch(matchOffset, matchRequestor.getMatchLength());
 				}
 				return matches;
 			});
 			return true;
 		}
 
-		private LineElement getLineElement(int offset, TextSearchMatchAccess matchRequestor, ArrayList<FileMatch> matches) {
-			int lineNumber= 1;
-			int lineStart= 0;
-
-			if (matches != null) {
-				// match on same line as last?
-				FileMatch last= matches.get(matches.size() - 1);
-				LineElement lineElement= last.getLineElement();
-				if (lineElement.contains(offset)) {
-					return lineElement;
-				}
-				// start with the offset and line information from the last match
-				lineStart= lineElement.getOffset() + lineElement.getLength();
-				lineNumber= lineElement.getLine() + 1;
+		/**
+		 * Makes sure the line containing the offset is the last line of the matches.
+		 *
+		 * @return <code>false</code> if the line could not be found
+		 */
+		private boolean addLine(int offset, TextSearchMatchAccess matchRequestor, CompactFileMatches matches) {
+			// match on same line as last?
+			if (matches.lastLineContains(offset)) {
+				return true;
 			}
+			// start with the offset and line information from the last match
+			int lineStart= matches.getLastLineEnd();
+			int lineNumber= matches.getLastLineNumber() + 1;
 			if (offset < lineStart) {
-				return null; // offset before the last line
+				return false; // offset before the last line
 			}
 
 			int i= lineStart;
@@ -137,22 +129,21 @@ public class FileSearchQuery implements ISearchQuery {
 						i++;
 					}
 					if (offset < i) {
-						String lineContent= getContents(matchRequestor, lineStart, i); // include line delimiter
-						return new LineElement(matchRequestor.getFile(), lineNumber, lineStart, lineContent);
+						appendContents(matchRequestor, lineStart, i, matches.addLine(lineNumber, lineStart)); // include line delimiter
+						return true;
 					}
 					lineNumber++;
 					lineStart= i;
 				}
 			}
 			if (offset < i) {
-				String lineContent= getContents(matchRequestor, lineStart, i); // until end of file
-				return new LineElement(matchRequestor.getFile(), lineNumber, lineStart, lineContent);
+				appendContents(matchRequestor, lineStart, i, matches.addLine(lineNumber, lineStart)); // until end of file
+				return true;
 			}
-			return null; // offset outside of range
+			return false; // offset outside of range
 		}
 
-		private static String getContents(TextSearchMatchAccess matchRequestor, int start, int end) {
-			StringBuilder buf= new StringBuilder();
+		private static void appendContents(TextSearchMatchAccess matchRequestor, int start, int end, StringBuilder buf) {
 			for (int i= start; i < end; i++) {
 				char ch= matchRequestor.getFileContentChar(i);
 				if (Character.isWhitespace(ch) || Character.isISOControl(ch)) {
@@ -161,7 +152,6 @@ public class FileSearchQuery implements ISearchQuery {
 					buf.append(ch);
 				}
 			}
-			return buf.toString();
 		}
 
 		@Override
@@ -178,21 +168,30 @@ public class FileSearchQuery implements ISearchQuery {
 
 		@Override
 		public void flushMatches(IFile file) {
-			List<FileMatch> matches = fCachedMatches.remove(file);
-			if (matches != null && !matches.isEmpty()) {
-				fResult.addMatches(matches.toArray(new Match[matches.size()]));
+			CompactFileMatches matches= fCachedMatches.remove(file);
+			if (matches != null) {
+				addMatches(matches);
 			}
 		}
 
 		private void flushMatches() {
 			fCachedMatches.values().removeIf(matches -> {
-				if (matches != null && !matches.isEmpty()) {
-					fResult.addMatches(matches.toArray(new Match[matches.size()]));
-					return true;
-				}
-				return false;
+				addMatches(matches);
+				return true;
 			});
 		}
+
+		private void addMatches(CompactFileMatches matches) {
+			if (matches.getMatchCount() == 0) {
+				return;
+			}
+			matches.trim();
+			if (fResult instanceof FileSearchResult) {
+				((FileSearchResult) fResult).addMatches(matches);
+			} else {
+				fResult.addMatches(matches.createMatches());
+			}
+		}
 	}
 
 	private final FileTextSearchScope fScope;
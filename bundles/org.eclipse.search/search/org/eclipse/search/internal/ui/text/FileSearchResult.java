@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,11 +14,20 @@
  *******************************************************************************/
 package org.eclipse.search.internal.ui.text;
 
+import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IFile;
 
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.LocationKind;
+
 import org.eclipse.jface.resource.ImageDescriptor;
 
 import org.eclipse.ui.IEditorInput;
@@ -28,17 +37,34 @@ import org.eclipse.ui.IFileEditorInput;
 import org.eclipse.search.internal.ui.SearchPlugin;
 import org.eclipse.search.internal.ui.SearchPluginImages;
 import org.eclipse.search.ui.ISearchQuery;
+import org.eclipse.search.ui.SearchResultEvent;
 import org.eclipse.search.ui.text.AbstractTextSearchResult;
 import org.eclipse.search.ui.text.IEditorMatchAdapter;
 import org.eclipse.search.ui.text.IFileMatchAdapter;
 import org.eclipse.search.ui.text.Match;
 import org.eclipse.search.ui.text.MatchFilter;
+import org.eclipse.search2.internal.ui.text.ElementsChangedEvent;
 
 public class FileSearchResult extends AbstractTextSearchResult implements IEditorMatchAdapter, IFileMatchAdapter {
 	private final Match[] EMPTY_ARR= new Match[0];
 
 	private FileSearchQuery fQuery;
 
+	/**
+	 * The matches of the files whose matches have not been accessed yet.
+	 */
+	private final ConcurrentMap<Object, CompactFileMatches> fCompactMatches= new ConcurrentHashMap<>();
+	private final AtomicInteger fCompactMatchCount= new AtomicInteger();
+	/**
+	 * The thread creating the match objects of a file, the events fired for them are not sent.
+	 */
+	private volatile Thread fCreatingThread;
+	/**
+	 * The thread updating the filter state of the match objects, which does not create the match
+	 * objects of the files in compact form.
+	 */
+	private volatile Thread fFilteringThread;
+
 	public FileSearchResult(FileSearchQuery job) {
 		fQuery= job;
 		setActiveMatchFilters(getLastUsedFilters());
@@ -70,9 +96,17 @@ public class FileSearchResult extends AbstractTextSearchResult implements IEdito
 
 	@Override
 	public synchronized void setActiveMatchFilters(MatchFilter[] filters) {
-		// TODO Auto-generated method stub
-		super.setActiveMatchFilters(filters);
+		// the matches in compact form are filtered per file, see #isFiltered(Object)
+		fFilteringThread= Thread.currentThread();
+		try {
+			super.setActiveMatchFilters(filters);
+		} finally {
+			fFilteringThread= null;
+		}
 		setLastUsedFilters(filters);
+		if (!fCompactMatches.isEmpty()) {
+			fireChange(new ElementsChangedEvent(this, fCompactMatches.keySet().toArray()));
+		}
 	}
 
 	@Override
@@ -123,6 +157,211 @@ public class FileSearchResult extends AbstractTextSearchResult implements IEdito
 		return null;
 	}
 
+	/**
+	 * Adds the matches of a file in compact form. The match objects are only created when the
+	 * matches of the file are accessed, for example when the file is expanded in the Search view or
+	 * opened in an editor. Listeners are notified by an {@link ElementsChangedEvent} for the file
+	 * instead of a {@link org.eclipse.search.ui.text.MatchEvent}, as the match objects do not exist
+	 * yet.
+	 * <p>
+	 * The match objects are created right away if the file already has matches or if a buffer is
+	 * connected for it, so that the {@link org.eclipse.search2.internal.ui.text.PositionTracker}
+	 * tracks their positions.
+	 * </p>
+	 *
+	 * @param matches the trimmed matches of a file
+	 */
+	void addMatches(CompactFileMatches matches) {
+		IFile file= matches.getFile();
+		// the file is open in an editor
+		boolean connected= FileBuffers.getTextFileBufferManager().getTextFileBuffer(file.getFullPath(), LocationKind.IFILE) != null;
+		boolean compact;
+		synchronized (this) {
+			compact= !connected && super.getMatchCount(file) == 0 && !fCompactMatches.containsKey(file);
+			if (compact) {
+				fCompactMatches.put(file, matches);
+				fCompactMatchCount.addAndGet(matches.getMatchCount());
+			}
+		}
+		if (compact) {
+			fireChange(new ElementsChangedEvent(this, new Object[] { file }));
+		} else {
+			addMatches(matches.createMatches());
+		}
+	}
+
+	private void createMatches(Object element) {
+		if (element == null || fCompactMatches.isEmpty()) {
+			return;
+		}
+		CompactFileMatches matches= fCompactMatches.get(element);
+		if (matches != null) {
+			createMatches(matches);
+		}
+	}
+
+	/**
+	 * Creates the match objects of a file and adds them without notifying the listeners.
+	 */
+	private synchronized void createMatches(CompactFileMatches matches) {
+		if (fCompactMatches.get(matches.getFile()) != matches) {
+			return; // created by another thread or removed
+		}
+		Match[] created= matches.createMatches();
+		fCreatingThread= Thread.currentThread();
+		try {
+			super.addMatches(created);
+		} finally {
+			fCreatingThread= null;
+		}
+		fCompactMatches.remove(matches.getFile());
+		fCompactMatchCount.addAndGet(-matches.getMatchCount());
+	}
+
+	@Override
+	protected void fireChange(SearchResultEvent e) {
+		if (fCreatingThread != Thread.currentThread()) {
+			super.fireChange(e);
+		}
+	}
+
+	@Override
+	public Match[] getMatches(Object element) {
+		createMatches(element);
+		return super.getMatches(element);
+	}
+
+	@Override
+	public Enumeration<Match> getMatchSet(Object element) {
+		createMatches(element);
+		return super.getMatchSet(element);
+	}
+
+	@Override
+	public void addMatch(Match match) {
+		createMatches(match.getElement());
+		super.addMatch(match);
+	}
+
+	@Override
+	public void addMatches(Match[] matches) {
+		if (!fCompactMatches.isEmpty()) {
+			for (Match match : matches) {
+				createMatches(match.getElement());
+			}
+		}
+		super.addMatches(matches);
+	}
+
+	@Override
+	public void removeAll() {
+		synchronized (this) {
+			fCompactMatches.clear();
+			fCompactMatchCount.set(0);
+		}
+		super.removeAll();
+	}
+
+	@Override
+	public int getMatchCount() {
+		return super.getMatchCount() + fCompactMatchCount.get();
+	}
+
+	@Override
+	public int getMatchCount(Object element) {
+		if (element != null) {
+			CompactFileMatches matches= fCompactMatches.get(element);
+			if (matches != null) {
+				return matches.getMatchCount();
+			}
+		}
+		return super.getMatchCount(element);
+	}
+
+	@Override
+	public Object[] getElements() {
+		if (fCompactMatches.isEmpty() || fFilteringThread == Thread.currentThread()) {
+			return super.getElements();
+		}
+		Set<Object> elements= new LinkedHashSet<>(fCompactMatches.keySet());
+		for (Object element : super.getElements()) {
+			elements.add(element);
+		}
+		return elements.toArray();
+	}
+
+	/**
+	 * Returns the number of matches of an element that are not filtered by the active match
+	 * filters, without creating the match objects of a file whose matches are in compact form.
+	 *
+	 * @param element the element to count the matches of
+	 * @return the number of matches shown for the element
+	 */
+	public int getUnfilteredMatchCount(Object element) {
+		if (element == null) {
+			return 0;
+		}
+		CompactFileMatches matches= fCompactMatches.get(element);
+		if (matches != null) {
+			return isFiltered(element) ? 0 : matches.getMatchCount();
+		}
+		if (getActiveMatchFilters() == null) {
+			return super.getMatchCount(element);
+		}
+		int count= 0;
+		Enumeration<Match> matchSet= super.getMatchSet(element);
+		while (matchSet.hasMoreElements()) {
+			if (!matchSet.nextElement().isFiltered()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the number of lines of a file that contain matches not filtered by the active match
+	 * filters, without creating the match objects of a file whose matches are in compact form.
+	 *
+	 * @param element the file to count the lines of
+	 * @return the number of line elements shown for the file
+	 */
+	public int getUnfilteredLineCount(Object element) {
+		if (element == null) {
+			return 0;
+		}
+		CompactFileMatches matches= fCompactMatches.get(element);
+		if (matches != null) {
+			return isFiltered(element) ? 0 : matches.getLineCount();
+		}
+		boolean filtering= getActiveMatchFilters() != null;
+		Set<LineElement> lines= new HashSet<>();
+		Enumeration<Match> matchSet= super.getMatchSet(element);
+		while (matchSet.hasMoreElements()) {
+			FileMatch match= (FileMatch) matchSet.nextElement();
+			if (match.getLineElement() != null && !(filtering && match.isFiltered())) {
+				lines.add(match.getLineElement());
+			}
+		}
+		return lines.size();
+	}
+
+	/**
+	 * Returns whether the matches of a file in compact form are filtered. The match filters of file
+	 * searches only depend on the file of a match, so all matches of the file are filtered alike.
+	 */
+	private boolean isFiltered(Object file) {
+		MatchFilter[] filters= getActiveMatchFilters();
+		if (filters != null) {
+			FileMatch match= new FileMatch((IFile) file);
+			for (MatchFilter filter : filters) {
+				if (filter.filters(match)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public Match[] computeContainedMatches(AbstractTextSearchResult result, IFile file) {
 		return getMatches(file);
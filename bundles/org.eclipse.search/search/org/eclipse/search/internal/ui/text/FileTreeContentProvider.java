@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -104,6 +104,14 @@ public class FileTreeContentProvider implements ITreeContentProvider, IFileSearc
 		}
 	}
 
+	private void insertLineElements(Object file, boolean refreshViewer) {
+		for (Match match : fResult.getMatches(file)) {
+			if (!match.isFiltered()) {
+				insert(((FileMatch) match).getLineElement(), refreshViewer);
+			}
+		}
+	}
+
 	private void insert(Object child, boolean refreshViewer) {
 		Object parent= getParent(child);
 		while (parent != null) {
@@ -184,6 +192,17 @@ public class FileTreeContentProvider implements ITreeContentProvider, IFileSearc
 		return fPage.getDisplayedMatchCount(element) > 0;
 	}
 
+	/**
+	 * The page does not count the matches of files when showing line elements, so they are counted
+	 * by the search result.
+	 */
+	private int getUnfilteredMatchCount(Object element) {
+		if (fResult instanceof FileSearchResult) {
+			return ((FileSearchResult) fResult).getUnfilteredMatchCount(element);
+		}
+		return fResult.getMatchCount(element);
+	}
+
 	private int getMatchCount(Object element) {
 		return fResult.getActiveMatchFilters() != null && fResult.getActiveMatchFilters().length > 0
 				? fPage.getDisplayedMatchCount(element)
@@ -240,6 +259,7 @@ public class FileTreeContentProvider implements ITreeContentProvider, IFileSearc
 	@Override
 	public synchronized void elementsChanged(Object[] updatedElements) {
 		boolean singleElement = updatedElements.length == 1;
+		boolean showLineMatches = !((FileSearchQuery) fResult.getQuery()).isFileNameSearch();
 		Set<LineElement> lineMatches = Collections.emptySet();
 		// if we have active match filters, we should only use non-filtered FileMatch
 		// objects to collect LineElements to update
@@ -262,9 +282,12 @@ public class FileTreeContentProvider implements ITreeContentProvider, IFileSearc
 		try {
 			for (Object updatedElement : updatedElements) {
 				if (!(updatedElement instanceof LineElement)) {
-					// change events to elements are reported in file search.
+					// change events to elements are reported in file search,
+					// and for files whose matches were added in compact form.
 					// ask the page to determine if element is filtered.
-					if (getMatchCount(updatedElement) > 0) {
+					if (showLineMatches && getUnfilteredMatchCount(updatedElement) > 0) {
+						insertLineElements(updatedElement, singleElement);
+					} else if (!showLineMatches && getMatchCount(updatedElement) > 0) {
 						insert(updatedElement, singleElement);
 					} else {
 						remove(updatedElement, singleElement);
@@ -0,0 +1,365 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.ui.text;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerComparator;
+
+import org.eclipse.search.ui.text.Match;
+
+/**
+ * The content provider of the tree layout of a file search in a virtual tree viewer. Like the
+ * {@link FileTreeContentProvider}, it keeps the resources containing matches, but the tree items
+ * are only created when they are shown. The children of an element are only sorted when the
+ * element is expanded, and the line elements of a file are only created when the file is
+ * expanded. The match and line counts are taken from the {@link FileSearchResult}, so the
+ * matches it keeps in compact form are not created for files that are not expanded.
+ * <p>
+ * Lazy content providers do not support sorting by the viewer, the children are sorted with the
+ * given comparator instead. The provider also implements {@link ITreeContentProvider}, for the
+ * actions of the page that walk the tree.
+ * </p>
+ */
+public class LazyFileTreeContentProvider implements ILazyTreeContentProvider, ITreeContentProvider, IFileSearchContentProvider {
+
+	private final Object[] EMPTY_ARR= new Object[0];
+
+	private final FileSearchPage fPage;
+	private final TreeViewer fTreeViewer;
+	private final ViewerComparator fComparator;
+
+	private FileSearchResult fResult;
+	private boolean fShowLineMatches;
+	/** The children of the search result and of the containers. */
+	private Map<Object, Set<Object>> fChildrenMap;
+	/** The sorted children of the elements that have been expanded, including files. */
+	private Map<Object, Object[]> fSortedChildren;
+
+	LazyFileTreeContentProvider(FileSearchPage page, TreeViewer viewer, ViewerComparator comparator) {
+		fPage= page;
+		fTreeViewer= viewer;
+		fComparator= comparator;
+	}
+
+	@Override
+	public void dispose() {
+		// nothing to do
+	}
+
+	@Override
+	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		if (newInput instanceof FileSearchResult) {
+			initialize((FileSearchResult) newInput);
+		}
+	}
+
+	private synchronized void initialize(FileSearchResult result) {
+		fResult= result;
+		fChildrenMap= new HashMap<>();
+		fSortedChildren= new HashMap<>();
+		fShowLineMatches= !((FileSearchQuery) result.getQuery()).isFileNameSearch();
+		for (Object element : result.getElements()) {
+			if (result.getUnfilteredMatchCount(element) > 0) {
+				insert(element);
+			}
+		}
+	}
+
+	// ILazyTreeContentProvider ---------------------------------------------------------
+
+	@Override
+	public void updateElement(Object parent, int index) {
+		Object[] children= getSortedChildren(parent);
+		if (index < children.length) {
+			Object child= children[index];
+			fTreeViewer.replace(parent, index, child);
+			fTreeViewer.setChildCount(child, getChildCount(child));
+		}
+	}
+
+	@Override
+	public void updateChildCount(Object element, int currentChildCount) {
+		int count= getChildCount(element);
+		if (count != currentChildCount) {
+			fTreeViewer.setChildCount(element, count);
+		}
+	}
+
+	private int getChildCount(Object element) {
+		if (element == null) {
+			return 0;
+		}
+		if (element == fResult) {
+			return limit(getChildren(fChildrenMap, element));
+		}
+		if (fShowLineMatches && element instanceof IFile) {
+			Object[] lineElements= fSortedChildren.get(element);
+			if (lineElements != null) {
+				return lineElements.length;
+			}
+			return fResult.getUnfilteredLineCount(element);
+		}
+		return getChildren(fChildrenMap, element);
+	}
+
+	private static int getChildren(Map<Object, Set<Object>> childrenMap, Object parent) {
+		Set<Object> children= childrenMap.get(parent);
+		return children == null ? 0 : children.size();
+	}
+
+	private int limit(int count) {
+		int elementLimit= fPage.getElementLimit().intValue();
+		if (elementLimit != -1 && elementLimit < count) {
+			return elementLimit;
+		}
+		return count;
+	}
+
+	private Object[] getSortedChildren(Object parent) {
+		if (parent == null) {
+			return EMPTY_ARR;
+		}
+		Object[] children= fSortedChildren.get(parent);
+		if (children == null) {
+			if (fShowLineMatches && parent instanceof IFile) {
+				children= computeLineElements(parent);
+			} else {
+				Set<Object> childSet= fChildrenMap.get(parent);
+				if (childSet == null) {
+					return EMPTY_ARR;
+				}
+				children= childSet.toArray();
+			}
+			Arrays.sort(children, (e1, e2) -> fComparator.compare(fTreeViewer, e1, e2));
+			fSortedChildren.put(parent, children);
+		}
+		return children;
+	}
+
+	private Object[] computeLineElements(Object file) {
+		boolean filtering= fResult.getActiveMatchFilters() != null;
+		Set<Object> lineElements= new LinkedHashSet<>();
+		for (Match match : fResult.getMatches(file)) {
+			LineElement lineElement= ((FileMatch) match).getLineElement();
+			if (lineElement != null && !(filtering && match.isFiltered())) {
+				lineElements.add(lineElement);
+			}
+		}
+		return lineElements.toArray();
+	}
+
+	// the resources containing matches -------------------------------------------------
+
+	/**
+	 * Adds the element and its parents to the tree.
+	 *
+	 * @param child the element to add
+	 * @return the topmost element whose children changed, or <code>null</code> if the element was
+	 *         already contained
+	 */
+	private Object insert(Object child) {
+		Object changed= null;
+		Object parent= getParent(child);
+		while (parent != null) {
+			if (!insertChild(parent, child)) {
+				return changed;
+			}
+			changed= parent;
+			child= parent;
+			parent= getParent(child);
+		}
+		return insertChild(fResult, child) ? fResult : changed;
+	}
+
+	/**
+	 * Adds the child to the parent.
+	 *
+	 * @param parent the parent
+	 * @param child the child
+	 * @return <code>true</code> if the parent did not already contain the child
+	 */
+	private boolean insertChild(Object parent, Object child) {
+		Set<Object> children= fChildrenMap.get(parent);
+		if (children == null) {
+			children= new HashSet<>();
+			fChildrenMap.put(parent, children);
+		}
+		if (children.add(child)) {
+			fSortedChildren.remove(parent);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the element, and its parents that have no other children, from the tree.
+	 *
+	 * @param element the element to remove
+	 * @return the topmost element whose children changed, or <code>null</code> if the element was
+	 *         not contained
+	 */
+	private Object remove(Object element) {
+		fSortedChildren.remove(element);
+		Object parent= getParent(element);
+		if (parent == null) {
+			parent= fResult;
+		}
+		Set<Object> siblings= fChildrenMap.get(parent);
+		if (siblings == null || !siblings.remove(element)) {
+			return null;
+		}
+		fSortedChildren.remove(parent);
+		if (siblings.isEmpty() && parent != fResult) {
+			fChildrenMap.remove(parent);
+			Object changed= remove(parent);
+			if (changed != null) {
+				return changed;
+			}
+		}
+		return parent;
+	}
+
+	/**
+	 * Returns the number of matches shown below the elements at the top of the tree.
+	 *
+	 * @return the number of matches not filtered out
+	 */
+	synchronized int getUnfilteredMatchCount() {
+		int count= 0;
+		Object[] elements= getElements(fResult);
+		for (Object element : elements) {
+			count+= getUnfilteredMatchCount(element);
+		}
+		return count;
+	}
+
+	private int getUnfilteredMatchCount(Object element) {
+		Set<Object> children= fChildrenMap.get(element);
+		if (children == null) {
+			return fResult.getUnfilteredMatchCount(element);
+		}
+		int count= 0;
+		for (Object child : children) {
+			count+= getUnfilteredMatchCount(child);
+		}
+		return count;
+	}
+
+	@Override
+	public synchronized void elementsChanged(Object[] updatedElements) {
+		// line elements are reported in text search, files otherwise and for matches in compact form
+		Set<Object> files= new LinkedHashSet<>();
+		for (Object updatedElement : updatedElements) {
+			if (updatedElement instanceof LineElement) {
+				files.add(((LineElement) updatedElement).getParent());
+			} else {
+				files.add(updatedElement);
+			}
+		}
+		Set<Object> changedParents= new LinkedHashSet<>();
+		for (Object file : files) {
+			if (fResult.getUnfilteredMatchCount(file) > 0) {
+				// the line elements of the file are computed again
+				fSortedChildren.remove(file);
+				Object changed= insert(file);
+				changedParents.add(changed != null ? changed : file);
+			} else {
+				Object changed= remove(file);
+				if (changed != null) {
+					changedParents.add(changed);
+				}
+			}
+		}
+		if (changedParents.contains(fResult)) {
+			fTreeViewer.refresh();
+			return;
+		}
+		for (Object parent : changedParents) {
+			if (!hasAncestorIn(parent, changedParents)) {
+				fTreeViewer.refresh(parent);
+			}
+		}
+	}
+
+	private boolean hasAncestorIn(Object element, Set<Object> elements) {
+		Object parent= getParent(element);
+		while (parent != null) {
+			if (elements.contains(parent)) {
+				return true;
+			}
+			parent= getParent(parent);
+		}
+		return false;
+	}
+
+	@Override
+	public void clear() {
+		initialize(fResult);
+		fTreeViewer.refresh();
+	}
+
+	// ITreeContentProvider ---------------------------------------------------------------
+
+	@Override
+	public Object[] getElements(Object inputElement) {
+		Object[] children= getChildren(inputElement);
+		int count= limit(children.length);
+		if (count < children.length) {
+			return Arrays.copyOf(children, count);
+		}
+		return children;
+	}
+
+	@Override
+	public Object[] getChildren(Object parentElement) {
+		return getSortedChildren(parentElement).clone();
+	}
+
+	@Override
+	public boolean hasChildren(Object element) {
+		return getChildCount(element) > 0;
+	}
+
+	@Override
+	public Object getParent(Object element) {
+		if (element instanceof IProject)
+			return null;
+		if (element instanceof IResource) {
+			IResource resource= (IResource) element;
+			return resource.getParent();
+		}
+		if (element instanceof LineElement) {
+			return ((LineElement) element).getParent();
+		}
+		if (element instanceof FileMatch) {
+			FileMatch match= (FileMatch) element;
+			return match.getLineElement();
+		}
+		return null;
+	}
+}
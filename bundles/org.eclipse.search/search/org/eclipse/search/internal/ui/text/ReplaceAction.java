@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2011 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,8 @@ import org.eclipse.jface.action.Action;
 
 import org.eclipse.search.internal.ui.SearchMessages;
 
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.ui.refactoring.RefactoringUI;
 import org.eclipse.ltk.ui.refactoring.RefactoringWizard;
 import org.eclipse.ltk.ui.refactoring.RefactoringWizardOpenOperation;
 
@@ -56,13 +58,15 @@ public class ReplaceAction extends Action {
 		try {
 			ReplaceRefactoring refactoring= new ReplaceRefactoring(fResult, fSelection);
 			ReplaceWizard refactoringWizard= new ReplaceWizard(refactoring);
-			if (fSelection == null) {
-				refactoringWizard.setDefaultPageTitle(SearchMessages.ReplaceAction_title_all);
-			} else {
-				refactoringWizard.setDefaultPageTitle(SearchMessages.ReplaceAction_title_selected);
-			}
+			String title= fSelection == null ? SearchMessages.ReplaceAction_title_all : SearchMessages.ReplaceAction_title_selected;
+			refactoringWizard.setDefaultPageTitle(title);
 			RefactoringWizardOpenOperation op= new RefactoringWizardOpenOperation(refactoringWizard);
 			op.run(fShell, SearchMessages.ReplaceAction_description_operation);
+			RefactoringStatus performStatus= refactoring.getPerformStatus();
+			if (performStatus != null && !performStatus.isOK()) {
+				// a streaming replace skips files and matches that cannot be replaced
+				RefactoringUI.createLightWeightStatusDialog(performStatus, fShell, title).open();
+			}
 		} catch (InterruptedException e) {
 			// refactoring got cancelled
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2009 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -53,11 +53,15 @@ public class ReplaceConfigurationPage extends UserInputWizardPage {
 
 	private static final String SETTINGS_GROUP= "ReplaceDialog2"; //$NON-NLS-1$
 	private static final String SETTINGS_REPLACE_WITH= "replace_with"; //$NON-NLS-1$
+	private static final String SETTINGS_STREAMING= "streaming"; //$NON-NLS-1$
 
 	private final ReplaceRefactoring fReplaceRefactoring;
 
 	private Combo fTextField;
 	private Button fReplaceWithRegex;
+	private Button fStreaming;
+	private String fStoredStreaming;
+	private boolean fStreamingChanged;
 	private Label fStatusLabel;
 	private ContentAssistCommandAdapter fTextFieldContentAssist;
 
@@ -144,6 +148,25 @@ public class ReplaceConfigurationPage extends UserInputWizardPage {
 			fReplaceWithRegex.setEnabled(false);
 		}
 
+		@SuppressWarnings("unused")
+		Label streamingLabel= new Label(result, SWT.NONE);
+		fStreaming= new Button(result, SWT.CHECK);
+		fStreaming.setText(SearchMessages.ReplaceConfigurationPage_streaming_label);
+		boolean streaming= fReplaceRefactoring.getNumberOfFiles() >= ReplaceRefactoring.STREAMING_FILE_THRESHOLD;
+		if (settings != null) {
+			fStoredStreaming= settings.get(SETTINGS_STREAMING);
+		}
+		if (fStoredStreaming != null) {
+			streaming= Boolean.parseBoolean(fStoredStreaming);
+		}
+		fStreaming.setSelection(streaming);
+		fStreaming.addSelectionListener(new SelectionAdapter() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				fStreamingChanged= true;
+			}
+		});
+
 		fStatusLabel= new Label(result, SWT.NULL);
 		gd= new GridData(GridData.FILL_HORIZONTAL);
 		gd.verticalAlignment= SWT.BOTTOM;
@@ -209,11 +232,17 @@ public class ReplaceConfigurationPage extends UserInputWizardPage {
 				.getDialogSettingsProvider(FrameworkUtil.getBundle(ReplaceConfigurationPage.class)).getDialogSettings()
 				.addNewSection(SETTINGS_GROUP);
 		settings.put(SETTINGS_REPLACE_WITH, history.toArray(new String[history.size()]));
-
+		// only a choice of the user overrides the default that depends on the number of files
+		if (fStreamingChanged) {
+			settings.put(SETTINGS_STREAMING, fStreaming.getSelection());
+		} else if (fStoredStreaming != null) {
+			settings.put(SETTINGS_STREAMING, fStoredStreaming);
+		}
 	}
 
 	private void initializeRefactoring() {
 		fReplaceRefactoring.setReplaceString(fTextField.getText());
+		fReplaceRefactoring.setStreaming(fStreaming.getSelection());
 	}
 
 }
\ No newline at end of file
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2023 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -75,6 +75,12 @@ import org.eclipse.ltk.core.refactoring.participants.ResourceChangeChecker;
 
 public class ReplaceRefactoring extends Refactoring {
 
+	/**
+	 * The number of files from which on the replace is streamed by default, see
+	 * {@link #setStreaming(boolean)}.
+	 */
+	public static final int STREAMING_FILE_THRESHOLD= 1000;
+
 	private static class MatchGroup {
 		public TextEditChangeGroup group;
 		public FileMatch match;
@@ -183,6 +189,11 @@ public class ReplaceRefactoring extends Refactoring {
 
 	private String fReplaceString;
 
+	private boolean fStreaming;
+
+	/** The search pattern of a streaming regular expression replace, or <code>null</code>. */
+	private Pattern fStreamingPattern;
+
 	private Change fChange;
 
 	public ReplaceRefactoring(FileSearchResult result, Object[] selection) {
@@ -206,6 +217,41 @@ public class ReplaceRefactoring extends Refactoring {
 		fReplaceString= string;
 	}
 
+	/**
+	 * Sets whether the matches are replaced file by file in bounded batches. A streaming replace
+	 * does not create a text change with a preview for every file but computes and saves the edits
+	 * of each file while the change is performed, keeping only the replaced regions for undo. This
+	 * keeps the memory needed to replace matches in many files low.
+	 *
+	 * @param streaming <code>true</code> to stream the replace
+	 */
+	public void setStreaming(boolean streaming) {
+		fStreaming= streaming;
+	}
+
+	/**
+	 * @return whether the matches are replaced file by file
+	 * @see #setStreaming(boolean)
+	 */
+	public boolean isStreaming() {
+		return fStreaming;
+	}
+
+	/**
+	 * Returns the files and matches that a streaming replace skipped while its change was
+	 * performed, see {@link #setStreaming(boolean)}. A replace with a preview reports them before
+	 * the change is performed instead.
+	 *
+	 * @return the status of the performed streaming change, or <code>null</code> if no streaming
+	 *         change has been performed
+	 */
+	public RefactoringStatus getPerformStatus() {
+		if (fChange instanceof StreamingReplaceChange) {
+			return ((StreamingReplaceChange) fChange).getPerformStatus();
+		}
+		return null;
+	}
+
 	@Override
 	public RefactoringStatus checkInitialConditions(IProgressMonitor pm) throws CoreException, OperationCanceledException {
 		String searchString= getQuery().getSearchString();
@@ -368,6 +414,17 @@ public class ReplaceRefactoring extends Refactoring {
 			return resultingStatus;
 		}
 		progress.setWorkRemaining(workSize);
+		if (fStreaming) {
+			try {
+				PatternConstructor.interpretReplaceEscapes(fReplaceString, query.getSearchString(), "\n"); //$NON-NLS-1$
+			} catch (PatternSyntaxException e) {
+				String message= Messages.format(SearchMessages.ReplaceRefactoring_error_replacement_expression, e.getLocalizedMessage());
+				return RefactoringStatus.createFatalErrorStatus(message);
+			}
+			fStreamingPattern= pattern;
+			fChange= new StreamingReplaceChange(fResult, this, allFiles);
+			return resultingStatus;
+		}
 		CompositeChange compositeChange= new CompositeChange(SearchMessages.ReplaceRefactoring_composite_change_name);
 		compositeChange.markAsSynthetic();
 
@@ -448,30 +505,12 @@ public class ReplaceRefactoring extends Refactoring {
 
 			for (FileMatch match : matches) {
 				pm.checkCanceled();
-				int offset= match.getOffset();
-				int length= match.getLength();
-				Position currentPosition= tracker.getCurrentPosition(match);
-				if (currentPosition != null) {
-					offset= currentPosition.offset;
-					if (length != currentPosition.length) {
-						resultingStatus.addError(Messages.format(SearchMessages.ReplaceRefactoring_error_match_content_changed, file.getName()));
-						continue;
-					}
-				}
-
-				String originalText= getOriginalText(document, offset, length);
-				if (originalText == null) {
-					resultingStatus.addError(Messages.format(SearchMessages.ReplaceRefactoring_error_match_content_changed, file.getName()));
-					continue;
-				}
-
-				String replacementString= computeReplacementString(pattern, originalText, fReplaceString, lineDelimiter);
-				if (replacementString == null) {
+				ReplaceEdit replaceEdit= createReplaceEdit(match, document, pattern, lineDelimiter, tracker);
+				if (replaceEdit == null) {
 					resultingStatus.addError(Messages.format(SearchMessages.ReplaceRefactoring_error_match_content_changed, file.getName()));
 					continue;
 				}
 
-				ReplaceEdit replaceEdit= new ReplaceEdit(offset, length, replacementString);
 				change.addEdit(replaceEdit);
 				TextEditChangeGroup textEditChangeGroup= new TextEditChangeGroup(change, new TextEditGroup(SearchMessages.ReplaceRefactoring_group_label_match_replace, replaceEdit));
 				change.addTextEditChangeGroup(textEditChangeGroup);
@@ -483,6 +522,99 @@ public class ReplaceRefactoring extends Refactoring {
 		return change;
 	}
 
+	/**
+	 * Creates the edit replacing the given match in the current content of the document.
+	 *
+	 * @return the edit or <code>null</code> if the match content has changed
+	 */
+	private ReplaceEdit createReplaceEdit(FileMatch match, IDocument document, Pattern pattern, String lineDelimiter,
+			PositionTracker tracker) throws PatternSyntaxException {
+		int offset= match.getOffset();
+		int length= match.getLength();
+		Position currentPosition= tracker.getCurrentPosition(match);
+		if (currentPosition != null) {
+			offset= currentPosition.offset;
+			if (length != currentPosition.length) {
+				return null;
+			}
+		}
+
+		String originalText= getOriginalText(document, offset, length);
+		if (originalText == null) {
+			return null;
+		}
+
+		String replacementString= computeReplacementString(pattern, originalText, fReplaceString, lineDelimiter);
+		if (replacementString == null) {
+			return null;
+		}
+		return new ReplaceEdit(offset, length, replacementString);
+	}
+
+	/**
+	 * Computes the replacements of a streaming replace in the given file, see
+	 * {@link #setStreaming(boolean)}. Matches whose content has changed are skipped and reported
+	 * to the given status.
+	 *
+	 * @param file the file
+	 * @param document the connected document of the file
+	 * @param problems the status collecting skipped matches
+	 * @return the replacements sorted by offset, or <code>null</code> if there is nothing to
+	 *         replace
+	 */
+	StreamingReplaceChange.FileReplacements computeReplacements(IFile file, IDocument document, RefactoringStatus problems) {
+		Set<FileMatch> bucket= fMatches.get(file);
+		if (bucket == null || bucket.isEmpty()) {
+			return null;
+		}
+		String lineDelimiter= TextUtilities.getDefaultLineDelimiter(document);
+		PositionTracker tracker= InternalSearchUI.getInstance().getPositionTracker();
+
+		ArrayList<ReplaceEdit> edits= new ArrayList<>(bucket.size());
+		ArrayList<Match> replaced= new ArrayList<>(bucket.size());
+		boolean skipped= false;
+		for (FileMatch match : bucket) {
+			ReplaceEdit edit;
+			try {
+				edit= createReplaceEdit(match, document, fStreamingPattern, lineDelimiter, tracker);
+			} catch (PatternSyntaxException e) {
+				edit= null;
+			}
+			if (edit == null) {
+				skipped= true;
+			} else {
+				edits.add(edit);
+				replaced.add(match);
+			}
+		}
+		if (skipped) {
+			problems.addWarning(Messages.format(SearchMessages.ReplaceRefactoring_error_match_content_changed, file.getName()));
+		}
+		if (edits.isEmpty()) {
+			return null;
+		}
+		if (fIgnoredMatches != null) {
+			URI uri= file.getLocationURI();
+			if (uri != null) {
+				ArrayList<FileMatch> ignoredMatches= fIgnoredMatches.get(uri);
+				if (ignoredMatches != null)
+					replaced.addAll(ignoredMatches);
+			}
+		}
+
+		edits.sort(Comparator.comparingInt(ReplaceEdit::getOffset));
+		int[] offsets= new int[edits.size()];
+		int[] lengths= new int[edits.size()];
+		String[] texts= new String[edits.size()];
+		for (int i= 0; i < offsets.length; i++) {
+			ReplaceEdit edit= edits.get(i);
+			offsets[i]= edit.getOffset();
+			lengths[i]= edit.getLength();
+			texts[i]= edit.getText();
+		}
+		return new StreamingReplaceChange.FileReplacements(file, offsets, lengths, texts, replaced.toArray(new Match[replaced.size()]));
+	}
+
 	private static String getOriginalText(IDocument doc, int offset, int length) {
 		try {
 			return doc.get(offset, length);
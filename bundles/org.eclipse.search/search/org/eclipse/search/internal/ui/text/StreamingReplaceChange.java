@@ -0,0 +1,321 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.ui.text;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.search.internal.ui.Messages;
+import org.eclipse.search.internal.ui.SearchMessages;
+import org.eclipse.search.internal.ui.SearchPlugin;
+import org.eclipse.search.ui.text.Match;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.RefactoringStatusEntry;
+
+/**
+ * A change that replaces text in many files without building a {@link org.eclipse.ltk.core.refactoring.TextFileChange}
+ * per file up front. The files are processed in batches of {@link #BATCH_SIZE}: the buffers of a
+ * batch are connected, the edits are applied and saved and the buffers are disconnected again
+ * before the next batch is started. Only the replaced regions and their original text are kept
+ * for the undo change.
+ * <p>
+ * The change performed by a {@link ReplaceRefactoring} computes its edits from the matches of
+ * each file. Its undo change (and the undo change of that) replays the recorded replacements.
+ * </p>
+ */
+class StreamingReplaceChange extends Change {
+
+	/**
+	 * The number of files whose buffers are connected at the same time.
+	 */
+	static final int BATCH_SIZE= 100;
+
+	/**
+	 * The replacements in a single file.
+	 */
+	static final class FileReplacements {
+		final IFile file;
+		final int[] offsets;
+		final int[] lengths;
+		final String[] texts;
+		/** The matches to update in the search result, can be empty. */
+		final Match[] matches;
+		/** The modification stamp after saving or {@link IResource#NULL_STAMP} if the file was not saved. */
+		long stamp= IResource.NULL_STAMP;
+
+		FileReplacements(IFile file, int[] offsets, int[] lengths, String[] texts, Match[] matches) {
+			this.file= file;
+			this.offsets= offsets;
+			this.lengths= lengths;
+			this.texts= texts;
+			this.matches= matches;
+		}
+	}
+
+	private final FileSearchResult fResult;
+	private final IFile[] fFiles;
+	private final ReplaceRefactoring fRefactoring;
+	private final FileReplacements[] fReplacements;
+	private final boolean fIsRemove;
+	private RefactoringStatus fPerformStatus= new RefactoringStatus();
+
+	/**
+	 * Creates the change that replaces the matches collected by the given refactoring.
+	 *
+	 * @param result the search result to remove the replaced matches from
+	 * @param refactoring the refactoring computing the replacements of each file
+	 * @param files the files to change, in the order they are processed
+	 */
+	StreamingReplaceChange(FileSearchResult result, ReplaceRefactoring refactoring, IFile[] files) {
+		fResult= result;
+		fRefactoring= refactoring;
+		fFiles= files;
+		fReplacements= null;
+		fIsRemove= true;
+	}
+
+	private StreamingReplaceChange(FileSearchResult result, FileReplacements[] replacements, boolean isRemove) {
+		fResult= result;
+		fRefactoring= null;
+		fReplacements= replacements;
+		fFiles= new IFile[replacements.length];
+		for (int i= 0; i < replacements.length; i++) {
+			fFiles[i]= replacements[i].file;
+		}
+		fIsRemove= isRemove;
+	}
+
+	@Override
+	public String getName() {
+		return SearchMessages.ReplaceRefactoring_composite_change_name;
+	}
+
+	@Override
+	public Object getModifiedElement() {
+		return null;
+	}
+
+	@Override
+	public Object[] getAffectedObjects() {
+		return fFiles.clone();
+	}
+
+	@Override
+	public void initializeValidationData(IProgressMonitor pm) {
+		// the modification stamps are recorded while performing
+	}
+
+	@Override
+	public RefactoringStatus isValid(IProgressMonitor pm) throws CoreException, OperationCanceledException {
+		RefactoringStatus result= new RefactoringStatus();
+		if (fReplacements == null) {
+			// checked by ReplaceRefactoring#checkFinalConditions
+			return result;
+		}
+		SubMonitor progress= SubMonitor.convert(pm, fReplacements.length);
+		for (FileReplacements replacements : fReplacements) {
+			progress.checkCanceled();
+			IFile file= replacements.file;
+			if (!file.exists()) {
+				result.addFatalError(Messages.format(SearchMessages.StreamingReplaceChange_error_file_deleted, file.getFullPath().toString()));
+			} else if (replacements.stamp != IResource.NULL_STAMP && replacements.stamp != file.getModificationStamp()) {
+				result.addFatalError(Messages.format(SearchMessages.StreamingReplaceChange_error_file_modified, file.getFullPath().toString()));
+			}
+			progress.worked(1);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the files and matches skipped by the last {@link #perform(IProgressMonitor)}. A
+	 * replace does not fail as a whole because single files or matches could not be replaced.
+	 *
+	 * @return the status describing the skipped files and matches, OK if nothing was skipped
+	 */
+	RefactoringStatus getPerformStatus() {
+		return fPerformStatus;
+	}
+
+	@Override
+	public Change perform(IProgressMonitor pm) throws CoreException {
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		RefactoringStatus problems= new RefactoringStatus();
+		fPerformStatus= problems;
+		List<FileReplacements> undo= new ArrayList<>();
+		SubMonitor progress= SubMonitor.convert(pm, getName(), fFiles.length);
+		long start= System.nanoTime();
+		for (int batchStart= 0; batchStart < fFiles.length; batchStart+= BATCH_SIZE) {
+			if (progress.isCanceled()) {
+				// Stop after a completed batch and keep the undo of what was already saved.
+				break;
+			}
+			int batchEnd= Math.min(batchStart + BATCH_SIZE, fFiles.length);
+			List<IPath> connected= connect(manager, batchStart, batchEnd, problems);
+			try {
+				for (int i= batchStart; i < batchEnd; i++) {
+					IFile file= fFiles[i];
+					ITextFileBuffer buffer= manager.getTextFileBuffer(file.getFullPath(), LocationKind.IFILE);
+					if (buffer != null && connected.contains(file.getFullPath())) {
+						FileReplacements replacements= performReplacements(i, buffer, problems);
+						if (replacements != null) {
+							undo.add(replacements);
+						}
+					}
+					progress.worked(1);
+				}
+			} finally {
+				manager.disconnect(connected.toArray(new IPath[connected.size()]), LocationKind.IFILE, null);
+			}
+			long elapsed= Math.max(System.nanoTime() - start, 1);
+			long filesPerSecond= batchEnd * 1_000_000_000L / elapsed;
+			progress.subTask(Messages.format(SearchMessages.StreamingReplaceChange_progress,
+					new Object[] { Integer.valueOf(batchEnd), Integer.valueOf(fFiles.length), Long.valueOf(filesPerSecond) }));
+		}
+		if (!problems.isOK() && fRefactoring == null) {
+			// undo and redo are performed without a wizard that could show the problems
+			MultiStatus status= new MultiStatus(SearchPlugin.getID(), IStatus.OK, SearchMessages.StreamingReplaceChange_error_problems, null);
+			for (RefactoringStatusEntry entry : problems.getEntries()) {
+				status.add(entry.toStatus());
+			}
+			SearchPlugin.log(status);
+		}
+		if (undo.isEmpty()) {
+			return null;
+		}
+		return new StreamingReplaceChange(fResult, undo.toArray(new FileReplacements[undo.size()]), !fIsRemove);
+	}
+
+	/**
+	 * Connects the buffers of the files in the given range. Falls back to connecting the files one by
+	 * one if the whole batch can't be connected, so that a single bad file does not fail the batch.
+	 *
+	 * @return the locations of the connected files
+	 */
+	private List<IPath> connect(ITextFileBufferManager manager, int start, int end, RefactoringStatus problems) {
+		List<IPath> locations= new ArrayList<>(end - start);
+		for (int i= start; i < end; i++) {
+			locations.add(fFiles[i].getFullPath());
+		}
+		try {
+			manager.connect(locations.toArray(new IPath[locations.size()]), LocationKind.IFILE, null);
+			return locations;
+		} catch (CoreException e) {
+			// the bulk connect has been rolled back
+		}
+		List<IPath> connected= new ArrayList<>(locations.size());
+		for (IPath location : locations) {
+			try {
+				manager.connect(location, LocationKind.IFILE, null);
+				connected.add(location);
+			} catch (CoreException e) {
+				problems.addError(Messages.format(SearchMessages.ReplaceRefactoring_error_access_file, new Object[] { location.toString(), e.getLocalizedMessage() }));
+			}
+		}
+		return connected;
+	}
+
+	private FileReplacements performReplacements(int index, ITextFileBuffer buffer, RefactoringStatus problems) {
+		IFile file= fFiles[index];
+		IDocument document= buffer.getDocument();
+		FileReplacements replacements;
+		if (fReplacements != null) {
+			replacements= fReplacements[index];
+		} else {
+			replacements= fRefactoring.computeReplacements(file, document, problems);
+			if (replacements == null) {
+				return null;
+			}
+		}
+
+		int count= replacements.offsets.length;
+		ReplaceEdit[] edits= new ReplaceEdit[count];
+		String[] originalTexts= new String[count];
+		MultiTextEdit root= new MultiTextEdit();
+		try {
+			String lastText= null;
+			for (int i= 0; i < count; i++) {
+				edits[i]= new ReplaceEdit(replacements.offsets[i], replacements.lengths[i], replacements.texts[i]);
+				root.addChild(edits[i]);
+				String originalText= document.get(replacements.offsets[i], replacements.lengths[i]);
+				// Share the instance if the same text is replaced over and over, as UndoCollector does.
+				if (originalText.equals(lastText)) {
+					originalText= lastText;
+				} else {
+					lastText= originalText;
+				}
+				originalTexts[i]= originalText;
+			}
+			boolean wasDirty= buffer.isDirty();
+			root.apply(document, TextEdit.UPDATE_REGIONS);
+			updateSearchResult(replacements.matches);
+
+			int[] offsets= new int[count];
+			int[] lengths= new int[count];
+			for (int i= 0; i < count; i++) {
+				offsets[i]= edits[i].getOffset();
+				lengths[i]= edits[i].getLength();
+			}
+			FileReplacements result= new FileReplacements(file, offsets, lengths, originalTexts, replacements.matches);
+			if (!wasDirty) {
+				try {
+					buffer.commit(null, false);
+					result.stamp= file.getModificationStamp();
+				} catch (CoreException e) {
+					problems.addError(Messages.format(SearchMessages.ReplaceRefactoring_error_access_file, new Object[] { file.getFullPath().toString(), e.getLocalizedMessage() }));
+				}
+			}
+			return result;
+		} catch (BadLocationException | MalformedTreeException e) {
+			problems.addError(Messages.format(SearchMessages.ReplaceRefactoring_error_match_content_changed, file.getName()));
+			return null;
+		}
+	}
+
+	private void updateSearchResult(Match[] matches) {
+		if (matches.length == 0) {
+			return;
+		}
+		if (fIsRemove) {
+			fResult.removeMatches(matches);
+		} else {
+			fResult.addMatches(matches);
+		}
+	}
+}
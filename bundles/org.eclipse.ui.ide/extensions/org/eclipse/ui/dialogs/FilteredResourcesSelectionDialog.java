@@ -81,6 +81,7 @@ import org.eclipse.ui.actions.WorkingSetFilterActionGroup;
 import org.eclipse.ui.ide.ResourceUtil;
 import org.eclipse.ui.internal.WorkbenchMessages;
 import org.eclipse.ui.internal.WorkbenchPlugin;
+import org.eclipse.ui.internal.dialogs.IConcurrentItemsFilter;
 import org.eclipse.ui.internal.ide.IDEWorkbenchMessages;
 import org.eclipse.ui.internal.ide.IIDEHelpContextIds;
 import org.eclipse.ui.internal.ide.model.ResourceFactory;
@@ -428,7 +429,7 @@ public class FilteredResourcesSelectionDialog extends FilteredItemsSelectionDial
 
 	@Override
 	protected ItemsFilter createFilter() {
-		latestFilter = new ResourceFilter(container, searchContainer, isDerived, typeMask);
+		latestFilter = new DefaultResourceFilter();
 		return latestFilter;
 	}
 
@@ -1203,6 +1204,16 @@ public class FilteredResourcesSelectionDialog extends FilteredItemsSelectionDial
 
 	}
 
+	/**
+	 * The filter created by this dialog. Matching resources only reads their
+	 * name, path, type and derived flag, which is thread safe, so large cached
+	 * results are narrowed down in parallel. Filters created by subclasses are not
+	 * marked, since they may match differently.
+	 */
+	private final class DefaultResourceFilter extends ResourceFilter implements IConcurrentItemsFilter {
+		// inherits the matching of ResourceFilter unchanged
+	}
+
 	private static class FilterResourcesByLocation extends ViewerFilter {
 
 		private boolean enabled;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -130,7 +130,7 @@ public class CachedMarkerBuilder {
 
 		if (isIncremental()) {
 			if (incrementJob != null) {
-				incrementJob.clearEntries();
+				incrementJob.clearUpdates();
 			}
 		}
 	}
@@ -435,11 +435,8 @@ public class CachedMarkerBuilder {
 				// ensure cancellation before calling the method
 				// updateJob.cancel();
 			} else {
-				/*
-				 * updateJob = isIncremental() ? new IncrementUpdateJob(this):
-				 * new MarkerUpdateJob(this);
-				 */
-				updateJob = new MarkerUpdateJob(this);
+				updateJob = isIncremental() ? (incrementJob = new IncrementUpdateJob(this))
+						: new MarkerUpdateJob(this);
 				updateJob.setPriority(Job.LONG);
 				updateJob.setSystem(true);
 			}
@@ -580,20 +577,25 @@ public class CachedMarkerBuilder {
 	}
 
 ///////	<Incremental update code>///////
-		private IncrementUpdateJob incrementJob;
 	/**
-	 * Checks whether the builder should perform incrementally Note : Incremental
-	 * updating method is NOT used and tested yet but left out for further
-	 * investigation(*).
+	 * Whether marker deltas are applied to the markers instead of gathering
+	 * all markers again, set with the system property
+	 * <code>org.eclipse.ui.views.markers.incrementalUpdates</code>.
+	 */
+	private static final boolean INCREMENTAL_UPDATES = Boolean
+			.getBoolean("org.eclipse.ui.views.markers.incrementalUpdates"); //$NON-NLS-1$
+
+	private IncrementUpdateJob incrementJob;
+
+	/**
+	 * Checks whether the builder should perform incrementally. All markers are
+	 * gathered again when the filters, the grouping or the sort mode change,
+	 * other marker changes are applied to the sorted and grouped markers.
 	 *
 	 * @return Returns true if we should collect markers incrementally.
 	 */
 	boolean isIncremental() {
-		/*
-		 * We do not update incrementally. We have
-		 * code for further investigation(*) for this anyway.
-		 */
-		return false;
+		return INCREMENTAL_UPDATES;
 	}
 
 	/**
@@ -624,11 +626,15 @@ public class CachedMarkerBuilder {
 	void incrementalUpdate(MarkerUpdate update) {
 		synchronized (getUpdateScheduler().getSchedulingLock()) {
 			if (incrementJob == null) {
+				// the first update gathers all markers
 				scheduleUpdateJob(MarkerUpdateScheduler.SHORT_DELAY, true);
+				return;
 			}
-		}
-		if (incrementJob != null) {
 			incrementJob.addUpdate(update);
+			if (active) {
+				// not shown as busy in the view, the update is only applied
+				incrementJob.schedule(MarkerUpdateScheduler.SHORT_DELAY);
+			}
 		}
 	}
 ///////	</Incremental update code>///////
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 IBM Corporation and others.
+ * Copyright (c) 2015, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,251 +14,141 @@
 
 package org.eclipse.ui.internal.views.markers;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.ui.views.markers.internal.MarkerMessages;
 
 /**
- * The job that performs incremental update. Once the processing is complete it
- * schedules an UI update. If it'll be possible and beneficial switch to
- * incremental updatation, this has been left out for further investigation(*).
- * only, and not used currently.
+ * The job that performs incremental updates. It gathers all markers when a
+ * clean update is requested, and otherwise applies the queued marker deltas to
+ * the sorted and grouped markers. Once the processing is complete it schedules
+ * an UI update.
+ *
+ * Marker operations cannot be locked between gathering the markers and
+ * receiving their deltas, so the deltas are applied such that applying them to
+ * markers that already include them has no effect.
  *
  * @since 3.6
  */
 class IncrementUpdateJob extends MarkerUpdateJob {
 
-	private LinkedList<MarkerEntry> incrementEntryList;
-	private LinkedList<MarkerUpdate> updateQueue;
+	private final LinkedList<MarkerUpdate> updateQueue = new LinkedList<>();
 
 	public IncrementUpdateJob(CachedMarkerBuilder builder) {
 		super(builder);
-		incrementEntryList = new LinkedList<>();
 	}
 
 	@Override
 	protected IStatus run(IProgressMonitor monitor) {
 		monitor.beginTask(MarkerMessages.MarkerView_processUpdates, IProgressMonitor.UNKNOWN);
-		boolean clean= isClean();
-		if (clean) {
-			clearEntries();
-		}
-		Collection<MarkerEntry> markerEntries = incrementalEntries();
-		if (clean) {
-			/*
-			 * Unfortunately we cannot lock marker operations between gathering
-			 * and updation. We have this code in place only for further
-			 * investigation
-			 */
-			clean = !clean(markerEntries, monitor);
-			LinkedList<MarkerUpdate> queue = getUpdatesQueue();
-			synchronized (queue) {
-				queue.clear();
-			}
-		}
-		if (monitor.isCanceled()) {
-			return Status.CANCEL_STATUS;
-		}
-		if (!clean) {
-			builder.registerTypesToListener();
-			if (!processUpdates(monitor)) {
+		if (isClean()) {
+			// the updates received while gathering are applied afterwards
+			clearUpdates();
+			buildMarkers(monitor);
+			if (monitor.isCanceled() || isClean()) {
 				return Status.CANCEL_STATUS;
 			}
 		}
-		if (!processMarkerEntries(markerEntries, monitor)) {
-			return Status.CANCEL_STATUS;
-		}
-		if (monitor.isCanceled()) {
-			return Status.CANCEL_STATUS;
-		}
-		// update with sorted entries
-		updateIncrementalList(markerEntries);
-
-		if (monitor.isCanceled()) {
-			return Status.CANCEL_STATUS;
-		}
-		builder.getUpdateScheduler().scheduleUIUpdate(MarkerUpdateScheduler.SHORT_DELAY);
-		if (monitor.isCanceled()) {
+		if (!processUpdates(monitor)) {
 			return Status.CANCEL_STATUS;
 		}
-		builder.setBuilding(false);
 		updateDone();
 		return Status.OK_STATUS;
 	}
 
 	/**
-	 * Update the list
-	 */
-	private boolean updateIncrementalList(Collection<MarkerEntry> markerEntries) {
-		markerEntries.clear();
-		Markers clone = builder.getMarkers();
-		synchronized (clone) {
-			clone = clone.getClone();
-		}
-		markerEntries.addAll(Arrays.asList(clone.getMarkerEntryArray()));
-		return true;
-	}
-
-	/**
-	 * Process the incremental updates
+	 * Process the queued updates
+	 *
+	 * @return <code>false</code> if cancelled
 	 */
 	private boolean processUpdates(IProgressMonitor monitor) {
-		Collection<MarkerEntry> markerEntries = incrementalEntries();
-		int addCount = 0, removedCount = 0, changedCount = 0, size = 0, newSize = 0;
-		LinkedList<MarkerUpdate> queue = getUpdatesQueue();
-		MarkerUpdate next = null;
-		do {
-			synchronized (queue) {
-				if (!queue.isEmpty()) {
-					next = queue.removeFirst();
-				} else {
-					next = null;
-				}
-			}
-			if (monitor.isCanceled() || next == null) {
-				break;
-			}
-			/**
-			 * The following performs incremental updation of the markers that
-			 * were gathered intially, and keeps them synched at any point with
-			 * the markers of interest in Workspace
-			 */
-			// unfortunately marker operations cannot be locked
-			// so locking between gathering of markers and
-			// marker deltas is not possible
-			size = markerEntries.size();
-			handleRemovedEntries(markerEntries, next.removed);
-			newSize = markerEntries.size();
-			removedCount += size - newSize;
-
-			handleChangedEntries(markerEntries, next.changed);
-			changedCount += next.changed.size();
-
-			size = newSize;
-			handleAddedEntries(markerEntries, next.added);
-			newSize = markerEntries.size();
-			removedCount += newSize - size;
-		} while (next != null);
-		boolean[] changeFlags = new boolean[] { addCount > 0, removedCount > 0,
-				changedCount > 0 };
-		for (boolean changeFlag : changeFlags) {
-			if (changeFlag) {
-				builder.updateChangeFlags(changeFlags);
+		List<MarkerUpdate> updates;
+		synchronized (updateQueue) {
+			if (updateQueue.isEmpty()) {
 				return true;
 			}
+			updates = new ArrayList<>(updateQueue);
+			updateQueue.clear();
 		}
-		return false;
-	}
-
-	private void handleAddedEntries(Collection<MarkerEntry> markerEntries, Collection<MarkerEntry> added) {
 		MarkerContentGenerator generator = builder.getGenerator();
-		Iterator<MarkerEntry> iterator = added.iterator();
-		while (iterator.hasNext()) {
-			MarkerEntry entry = iterator.next();
-			if (generator.select(entry)) {
-				markerEntries.add(entry);
-			}
+		if (generator == null) {
+			return true;
 		}
-	}
 
-	private void handleChangedEntries(Collection<MarkerEntry> markerEntries,
-			Collection<MarkerEntry> changed) {
-		MarkerContentGenerator generator = builder.getGenerator();
-		Iterator<MarkerEntry> iterator = changed.iterator();
-		while (iterator.hasNext()) {
-			MarkerEntry entry = iterator.next();
-			Iterator<MarkerEntry> iterator2 = markerEntries.iterator();
-			while (iterator2.hasNext()) {
-				MarkerEntry oldEntry = iterator2.next();
-				if (oldEntry.getMarker().equals(entry.getMarker())) {
-					iterator2.remove();
-				}
+		// a change replaces the entry of the marker, later updates win
+		Set<IMarker> removed = new HashSet<>();
+		Map<IMarker, MarkerEntry> added = new LinkedHashMap<>();
+		boolean[] changeFlags = new boolean[3];
+		for (MarkerUpdate update : updates) {
+			for (MarkerEntry entry : update.removed) {
+				removed.add(entry.getMarker());
+				added.remove(entry.getMarker());
 			}
-			if (!generator.select(entry)) {
-				iterator.remove();
+			for (MarkerEntry entry : update.changed) {
+				removed.add(entry.getMarker());
+				added.put(entry.getMarker(), entry);
 			}
-		}
-		markerEntries.addAll(changed);
-	}
-
-	private void handleRemovedEntries(Collection<MarkerEntry> markerEntries,
-			Collection<MarkerEntry> removed) {
-		boolean found = false;
-		Iterator<MarkerEntry> iterator = markerEntries.iterator();
-		while (iterator.hasNext()) {
-			MarkerEntry entry = iterator.next();
-			found = entry.getStaleState();
-			if (found) {
-				iterator.remove();
+			for (MarkerEntry entry : update.added) {
+				removed.add(entry.getMarker());
+				added.put(entry.getMarker(), entry);
 			}
-			if (removed.isEmpty()) {
-				continue;
+			changeFlags[0] |= !update.added.isEmpty();
+			changeFlags[1] |= !update.removed.isEmpty();
+			changeFlags[2] |= !update.changed.isEmpty();
+		}
+		Collection<MarkerEntry> selected = new ArrayList<>(added.size());
+		for (MarkerEntry entry : added.values()) {
+			if (monitor.isCanceled()) {
+				setClean();
+				return false;
 			}
-			Iterator<MarkerEntry> iterator2 = removed.iterator();
-			while (iterator2.hasNext()) {
-				MarkerEntry stale = iterator2.next();
-				if (stale.getMarker().equals(entry.getMarker())) {
-					iterator2.remove();
-					if (!found) {
-						iterator.remove();
-					}
-					break;
-				}
+			if (entry.getMarker().exists() && generator.select(entry)) {
+				selected.add(entry);
 			}
 		}
-		if (removed.isEmpty()) {
-			// TODO: do we check for residuals?
-			return;
-		}
-		// TODO: do we check for residuals?
-		iterator = markerEntries.iterator();
-		while (iterator.hasNext()) {
-			MarkerEntry entry = iterator.next();
-			if (entry.getMarker() != null && !entry.getMarker().exists()) {
-				iterator.remove();
+
+		if (!builder.getMarkers().updateWithDelta(removed, selected, monitor)) {
+			if (monitor.isCanceled()) {
+				// the updates are lost, gather all markers the next time
+				setClean();
+				return false;
 			}
+			// the markers are not sorted and grouped as the view shows them
+			setClean();
+			buildMarkers(monitor);
+			return !monitor.isCanceled() && !isClean();
 		}
+		builder.updateChangeFlags(changeFlags);
+		builder.getUpdateScheduler().scheduleUIUpdate(MarkerUpdateScheduler.SHORT_DELAY);
+		return true;
 	}
 
 	/**
-	 * Clean
-	 */
-	void clearEntries() {
-		incrementEntryList = new LinkedList<>();
-	}
-
-	/**
-	 * @return Returns the incrementEntryies.
-	 */
-	Collection<MarkerEntry> incrementalEntries() {
-		return incrementEntryList;
-	}
-
-	/**
-	 * @return the updateQueue that holds the updates and maintains ordering
+	 * Add update to the queue
 	 */
-	LinkedList<MarkerUpdate> getUpdatesQueue() {
-		synchronized (builder.MARKER_INCREMENTAL_UPDATE_FAMILY) {
-			if (updateQueue == null) {
-				updateQueue = new LinkedList<>();
-			}
-			return updateQueue;
+	void addUpdate(MarkerUpdate update) {
+		synchronized (updateQueue) {
+			updateQueue.addLast(update);
 		}
 	}
 
 	/**
-	 * Add update to the list
+	 * Clear the queued updates
 	 */
-	void addUpdate(MarkerUpdate update) {
-		LinkedList<MarkerUpdate> updateList = getUpdatesQueue();
-		synchronized (updateList) {
-			updateList.addLast(update);
+	void clearUpdates() {
+		synchronized (updateQueue) {
+			updateQueue.clear();
 		}
 	}
 
@@ -269,4 +159,4 @@ class IncrementUpdateJob extends MarkerUpdateJob {
 		}
 		return super.belongsTo(family);
 	}
-}
\ No newline at end of file
+}
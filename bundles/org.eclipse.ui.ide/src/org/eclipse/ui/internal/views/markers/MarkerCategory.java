@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2018 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ import java.util.Objects;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.ui.views.markers.MarkerItem;
+import org.eclipse.ui.views.markers.internal.MarkerGroupingEntry;
 import org.eclipse.ui.views.markers.internal.MarkerMessages;
 
 class MarkerCategory extends MarkerSupportItem {
@@ -31,6 +32,11 @@ class MarkerCategory extends MarkerSupportItem {
 
 	private final String name;
 
+	/**
+	 * The entry of the category group the markers of this category belong to.
+	 */
+	final MarkerGroupingEntry groupingEntry;
+
 	private int severity = -1;
 
 	private final Markers markers;
@@ -43,11 +49,12 @@ class MarkerCategory extends MarkerSupportItem {
 	 *            the builder used to generate the children lazily.
 	 */
 	MarkerCategory(Markers markers, int startIndex,
-			int endIndex, String categoryName) {
+			int endIndex, String categoryName, MarkerGroupingEntry groupingEntry) {
 		this.markers = markers;
 		start = startIndex;
 		end = endIndex;
 		name = categoryName;
+		this.groupingEntry = groupingEntry;
 	}
 
 	@Override
@@ -162,13 +169,15 @@ class MarkerCategory extends MarkerSupportItem {
 		}
 	}
 
+	/*
+	 * Each viewer input clone creates its own categories, which read their
+	 * children from the clone. The categories of the same builder, grouping
+	 * entry and name are equal, so that the viewer keeps their items,
+	 * selection and expansion across updates.
+	 */
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = prime * result
-				+ Objects.hashCode(markers);
-		return prime * result + Objects.hashCode(name);
+		return Objects.hash(markers.getBuilder(), groupingEntry, name);
 	}
 
 	@Override
@@ -180,7 +189,8 @@ class MarkerCategory extends MarkerSupportItem {
 		if (getClass() != obj.getClass())
 			return false;
 		MarkerCategory other = (MarkerCategory) obj;
-		return Objects.equals(markers, other.markers) && Objects.equals(name, other.name);
+		return Objects.equals(markers.getBuilder(), other.markers.getBuilder())
+				&& Objects.equals(groupingEntry, other.groupingEntry) && Objects.equals(name, other.name);
 	}
 
 	@Override
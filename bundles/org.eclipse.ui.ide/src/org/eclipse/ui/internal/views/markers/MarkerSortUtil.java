@@ -30,6 +30,8 @@ package org.eclipse.ui.internal.views.markers;
 
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -322,6 +324,45 @@ public class MarkerSortUtil {
 		}
 	}
 
+	/**
+	 * Returns whether the sorting methods sort the whole range rather than its
+	 * first k elements only, that is, whether batching is disabled.
+	 */
+	static boolean isSortingWholeRange() {
+		return BATCH_SIZE == Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Merges the sorted entries of <code>[from,to]</code> in the array, leaving
+	 * out the removed ones, with the sorted added entries and appends them to
+	 * result. Runs in O(N+K), equal entries of the array come first.
+	 */
+	public static void mergeSorted(MarkerEntry[] entries, int from, int to,
+			Predicate<? super MarkerEntry> removed, List<? extends MarkerEntry> added,
+			Comparator<MarkerItem> comparator, List<? super MarkerEntry> result) {
+		int i = from;
+		int j = 0;
+		while (i <= to && j < added.size()) {
+			MarkerEntry entry = entries[i];
+			if (removed.test(entry)) {
+				i++;
+			} else if (comparator.compare(added.get(j), entry) < 0) {
+				result.add(added.get(j++));
+			} else {
+				result.add(entry);
+				i++;
+			}
+		}
+		for (; i <= to; i++) {
+			if (!removed.test(entries[i])) {
+				result.add(entries[i]);
+			}
+		}
+		for (; j < added.size(); j++) {
+			result.add(added.get(j));
+		}
+	}
+
 	public static void sortStartingKElement(MockMarkerEntry[] fArray1,
  Comparator<MarkerItem> comparator, int from,
 			int k, int limit) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,7 +25,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.runtime.CoreException;
@@ -61,6 +63,16 @@ class Markers {
 	private Map<IMarker, MarkerEntry> markerToEntryMap;
 	private Integer[] markerCounts;
 
+	// the group the categories were made with, null if not grouped
+	private MarkerGroup categoryGroup;
+	// whether all marker entries are sorted, not just the ones up to the limit
+	private boolean sorted;
+
+	// the entries added or changed since the viewer took them, null if the
+	// whole viewer needs to be refreshed
+	private Map<IMarker, MarkerEntry> changedEntries;
+	private final Object changedEntriesLock = new Object();
+
 	Markers(CachedMarkerBuilder builder) {
 		this.builder = builder;
 	}
@@ -83,9 +95,14 @@ class Markers {
 				markerToEntryMap = null;
 			}
 			markerCounts = null;
+			requestFullRefresh();
+			sorted = false;
+			categoryGroup = null;
 			if (markerEntries.isEmpty()) {
 				categories = EMPTY_CATEGORY_ARRAY;
 				markerEntryArray = EMPTY_ENTRY_ARRAY;
+				categoryGroup = builder.getCategoryGroup();
+				sorted = true;
 				return true;
 			}
 			if (monitor.isCanceled()) {
@@ -120,6 +137,7 @@ class Markers {
 		try {
 			inChange = true;
 			// Sort by Category first
+			categoryGroup = builder.getCategoryGroup();
 			if (builder.isShowingHierarchy()) {
 				MarkerCategory[] markerCategories = groupIntoCategories(monitor, markerEntryArray);
 				categories = markerCategories;
@@ -147,6 +165,8 @@ class Markers {
 		MarkerCategory lastCategory = null;
 		try {
 			inChange = true;
+			sorted = false;
+			requestFullRefresh();
 			if (builder.isShowingHierarchy()) {
 				Comparator<MarkerItem> comparator = markerComparator.getFieldsComparator();
 				for (MarkerCategory category : categories) {
@@ -174,6 +194,7 @@ class Markers {
 			if (monitor.isCanceled()) {
 				return false;
 			}
+			sorted = MarkerSortUtil.isSortingWholeRange();
 			monitor.worked(50);
 			return true;
 		} catch (IllegalArgumentException e) {
@@ -225,7 +246,7 @@ class Markers {
 			end = entry.getValue();
 			markerCategories[i++] = new MarkerCategory(this, start, end,
 					builder.getCategoryGroup().getMarkerField()
-							.getValue(newMarkers[start]));
+							.getValue(newMarkers[start]), entry.getKey());
 			start = end + 1;
 		}
 		return markerCategories;
@@ -279,6 +300,141 @@ class Markers {
 		return result;
 	}
 
+	/**
+	 * Update the sorted and grouped marker entries with the changed markers
+	 * instead of sorting and grouping all of them again. The entries of removed
+	 * markers are left out and the added entries are merged into the sorted
+	 * entries of their category.
+	 *
+	 * @param removed
+	 *            the markers whose entries are removed, including the changed
+	 *            markers
+	 * @param added
+	 *            the new entries of the added and changed markers that match
+	 *            the filters
+	 * @return <code>false</code> if cancelled or if the markers have to be
+	 *         sorted and grouped again, for example because the category
+	 *         group changed
+	 */
+	synchronized boolean updateWithDelta(Set<IMarker> removed, Collection<MarkerEntry> added,
+			IProgressMonitor monitor) {
+		if (!sorted || categoryGroup != builder.getCategoryGroup()) {
+			return false;
+		}
+		boolean initialVal = inChange;
+		try {
+			inChange = true;
+			List<MarkerEntry> result = new ArrayList<>(markerEntryArray.length + added.size());
+			MarkerCategory[] newCategories = EMPTY_CATEGORY_ARRAY;
+			if (categoryGroup == null) {
+				List<MarkerEntry> sortedAdded = new ArrayList<>(added);
+				sortedAdded.sort(builder.getComparator());
+				MarkerSortUtil.mergeSorted(markerEntryArray, 0, markerEntryArray.length - 1,
+						entry -> removed.contains(entry.getMarker()), sortedAdded, builder.getComparator(), result);
+			} else {
+				newCategories = mergeIntoCategories(removed, added, result, monitor);
+			}
+			if (monitor.isCanceled()) {
+				return false;
+			}
+			for (MarkerEntry entry : result) {
+				entry.clearCache();
+			}
+			MarkerEntry.clearCollationCache();
+			markerToEntryMap = null;
+			markerCounts = null;
+			markerEntryArray = result.toArray(new MarkerEntry[result.size()]);
+			categories = newCategories;
+			synchronized (changedEntriesLock) {
+				if (changedEntries != null) {
+					changedEntries.keySet().removeAll(removed);
+					for (MarkerEntry entry : added) {
+						changedEntries.put(entry.getMarker(), entry);
+					}
+				}
+			}
+			return true;
+		} finally {
+			inChange = initialVal;
+		}
+	}
+
+	/**
+	 * Merges the added entries into the categories of the category group,
+	 * creating the categories that did not have entries yet and leaving out the
+	 * ones that have none left.
+	 *
+	 * @return the new categories
+	 */
+	private MarkerCategory[] mergeIntoCategories(Set<IMarker> removed, Collection<MarkerEntry> added,
+			List<MarkerEntry> result, IProgressMonitor monitor) {
+		Comparator<MarkerGroupingEntry> groupComparator = categoryGroup.getEntriesComparator();
+		Comparator<MarkerItem> comparator = builder.getComparator().getFieldsComparator();
+		Map<MarkerGroupingEntry, List<MarkerEntry>> addedByGroup = new TreeMap<>(groupComparator);
+		for (MarkerEntry entry : added) {
+			IMarker marker = entry.getMarker();
+			try {
+				MarkerGroupingEntry groupingEntry = categoryGroup.findGroupValue(marker.getType(), marker);
+				addedByGroup.computeIfAbsent(groupingEntry, key -> new ArrayList<>()).add(entry);
+			} catch (CoreException e) {
+				entry.checkIfMarkerStale();
+			}
+		}
+		Map<MarkerGroupingEntry, MarkerCategory> existing = new TreeMap<>(groupComparator);
+		for (MarkerCategory category : categories) {
+			existing.put(category.groupingEntry, category);
+		}
+		Set<MarkerGroupingEntry> groupingEntries = new TreeSet<>(groupComparator);
+		groupingEntries.addAll(existing.keySet());
+		groupingEntries.addAll(addedByGroup.keySet());
+
+		List<MarkerCategory> newCategories = new ArrayList<>(groupingEntries.size());
+		for (MarkerGroupingEntry groupingEntry : groupingEntries) {
+			if (monitor.isCanceled()) {
+				return EMPTY_CATEGORY_ARRAY;
+			}
+			List<MarkerEntry> categoryAdded = addedByGroup.getOrDefault(groupingEntry, Collections.emptyList());
+			categoryAdded.sort(comparator);
+			MarkerCategory category = existing.get(groupingEntry);
+			int start = result.size();
+			if (category == null) {
+				result.addAll(categoryAdded);
+			} else {
+				MarkerSortUtil.mergeSorted(markerEntryArray, category.start, category.end,
+						entry -> removed.contains(entry.getMarker()), categoryAdded, comparator, result);
+			}
+			if (result.size() > start) {
+				String name = categoryGroup.getMarkerField().getValue(result.get(start));
+				newCategories.add(new MarkerCategory(this, start, result.size() - 1, name, groupingEntry));
+			}
+		}
+		return newCategories.toArray(new MarkerCategory[newCategories.size()]);
+	}
+
+	/**
+	 * Returns the entries added or changed since the last call, and starts
+	 * collecting them again.
+	 *
+	 * @return the entries whose labels need to be updated, or <code>null</code>
+	 *         if the viewer needs to be refreshed completely
+	 */
+	Collection<MarkerEntry> takeChangedEntries() {
+		synchronized (changedEntriesLock) {
+			Map<IMarker, MarkerEntry> changed = changedEntries;
+			changedEntries = new HashMap<>();
+			return changed == null ? null : changed.values();
+		}
+	}
+
+	/**
+	 * Request that the viewer is refreshed completely on its next update.
+	 */
+	void requestFullRefresh() {
+		synchronized (changedEntriesLock) {
+			changedEntries = null;
+		}
+	}
+
 	/**
 	 * Returns an array of marker counts where getMarkerCounts()[severity] is
 	 * the number of markers in the list with the given severity.
@@ -380,7 +536,15 @@ class Markers {
 		Markers markers = new Markers(builder);
 		if (!inChange) {
 			markers.markerEntryArray = markerEntryArray.clone();
-			markers.categories = categories.clone();
+			// the categories of the clone get their children from the clone
+			MarkerCategory[] categoryArray = categories;
+			MarkerCategory[] clonedCategories = new MarkerCategory[categoryArray.length];
+			for (int i = 0; i < categoryArray.length; i++) {
+				MarkerCategory category = categoryArray[i];
+				clonedCategories[i] = new MarkerCategory(markers, category.start, category.end, category.getName(),
+						category.groupingEntry);
+			}
+			markers.categories = clonedCategories;
 		}
 		return markers;
 	}
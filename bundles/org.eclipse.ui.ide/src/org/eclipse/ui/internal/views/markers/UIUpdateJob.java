@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,8 @@
 
 package org.eclipse.ui.internal.views.markers;
 
+import java.util.Collection;
+
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -84,7 +86,13 @@ class UIUpdateJob extends WorkbenchJob {
 			 * as new input as we would offset the benefits of optimization in
 			 * TreeViewer.
 			 */
+			Markers markers = view.getBuilder().getMarkers();
+			// taken before the clone, so that the clone has all changed entries
+			Collection<MarkerEntry> changed = markers.takeChangedEntries();
 			clone= view.createViewerInputClone();
+			if (clone == null || !view.isVisible()) {
+				markers.requestFullRefresh();
+			}
 			if (clone == null) {
 				// do not update yet,we are changing
 				return Status.CANCEL_STATUS;
@@ -99,7 +107,14 @@ class UIUpdateJob extends WorkbenchJob {
 				contentProvider.inputChanged(viewer, view.getViewerInput(), clone);
 
 				viewer.getTree().setRedraw(false);
-				viewer.refresh(true);
+				if (changed == null) {
+					viewer.refresh(true);
+				} else {
+					// only the changed markers and the category counts need new labels
+					viewer.refresh(false);
+					viewer.update(changed.toArray(), null);
+					viewer.update(clone.getCategories(), null);
+				}
 				if (!monitor.isCanceled()) {
 					//do not expand if canceled
 					view.reexpandCategories();
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.monitoring;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Samples the stack of the UI thread continuously with the execution samples of the Java Flight
+ * Recorder. Unlike {@link java.lang.management.ThreadMXBean#getThreadInfo(long, int)}, taking an
+ * execution sample does not bring the VM to a safepoint, so sampling can stay on all the time.
+ * Execution samples are only taken while the thread runs Java code, not while it waits for the
+ * next OS event, so every sample of the UI thread represents busy time.
+ * <p>
+ * The most recent samples and the durations of the most recent UI events are kept in ring
+ * buffers, so the activity of the UI thread leading up to a freeze can be logged with it.
+ */
+public class ContinuousUiThreadSampler {
+	private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample"; //$NON-NLS-1$
+	private static final int SAMPLE_BUFFER_SIZE = 2048;
+	private static final int EVENT_BUFFER_SIZE = 1024;
+
+	/**
+	 * Receives the samples of the UI thread.
+	 */
+	public interface SampleListener {
+		/**
+		 * Called on the thread of the sampler for each sample of the UI thread.
+		 *
+		 * @param timestamp the time of the sample in milliseconds since January 1, 1970 UTC
+		 * @param stackTrace the stack trace of the UI thread
+		 * @param interval the sampling interval in milliseconds
+		 */
+		void sampled(long timestamp, StackTraceElement[] stackTrace, long interval);
+	}
+
+	/**
+	 * Activity of the UI thread during a period of time.
+	 */
+	public static class Activity {
+		/** The start of the period in milliseconds since January 1, 1970 UTC. */
+		public final long from;
+		/** The end of the period in milliseconds since January 1, 1970 UTC. */
+		public final long to;
+		/** The number of recorded UI events that finished during the period. */
+		public final int eventCount;
+		/** The total duration of the recorded UI events in milliseconds. */
+		public final long eventDuration;
+		/** The stack traces of the UI thread sampled during the period, oldest first. */
+		public final List<StackTraceElement[]> samples;
+
+		Activity(long from, long to, int eventCount, long eventDuration,
+				List<StackTraceElement[]> samples) {
+			this.from = from;
+			this.to = to;
+			this.eventCount = eventCount;
+			this.eventDuration = eventDuration;
+			this.samples = samples;
+		}
+	}
+
+	private final long uiThreadId;
+	private final long interval;
+	private final SampleListener listener;
+	private RecordingStream stream;
+
+	// Ring buffers, guarded by this.
+	private final long[] sampleTimes = new long[SAMPLE_BUFFER_SIZE];
+	private final StackTraceElement[][] sampleStacks = new StackTraceElement[SAMPLE_BUFFER_SIZE][];
+	private long sampleCount;
+	private final long[] eventEnds = new long[EVENT_BUFFER_SIZE];
+	private final long[] eventDurations = new long[EVENT_BUFFER_SIZE];
+	private long eventCount;
+
+	/**
+	 * Creates a sampler. Visible for testing, use {@link #start(long, long, SampleListener)}.
+	 */
+	ContinuousUiThreadSampler(long uiThreadId, long interval, SampleListener listener) {
+		this.uiThreadId = uiThreadId;
+		this.interval = interval;
+		this.listener = listener;
+	}
+
+	/**
+	 * Starts sampling the UI thread.
+	 *
+	 * @param uiThreadId the id of the UI thread
+	 * @param interval the sampling interval in milliseconds
+	 * @param listener receives every sample of the UI thread, or {@code null}
+	 * @return the running sampler, or {@code null} if the Java Flight Recorder is not available
+	 *     in this VM
+	 */
+	public static ContinuousUiThreadSampler start(long uiThreadId, long interval,
+			SampleListener listener) {
+		ContinuousUiThreadSampler sampler =
+				new ContinuousUiThreadSampler(uiThreadId, interval, listener);
+		try {
+			RecordingStream stream = new RecordingStream();
+			stream.enable(EXECUTION_SAMPLE).withPeriod(Duration.ofMillis(interval));
+			stream.onEvent(EXECUTION_SAMPLE, sampler::executionSampled);
+			stream.startAsync();
+			sampler.stream = stream;
+		} catch (LinkageError | RuntimeException e) {
+			// The jdk.jfr module is missing or the Flight Recorder is disabled.
+			MonitoringPlugin.logWarning(Messages.ContinuousUiThreadSampler_unavailable_error);
+			return null;
+		}
+		return sampler;
+	}
+
+	/**
+	 * Stops sampling.
+	 */
+	public void stop() {
+		if (stream != null) {
+			stream.close();
+			stream = null;
+		}
+	}
+
+	private void executionSampled(RecordedEvent event) {
+		RecordedThread thread = event.getThread("sampledThread"); //$NON-NLS-1$
+		if (thread == null || thread.getJavaThreadId() != uiThreadId) {
+			return;
+		}
+		RecordedStackTrace stackTrace = event.getStackTrace();
+		if (stackTrace == null) {
+			return;
+		}
+		List<StackTraceElement> elements = new ArrayList<>(stackTrace.getFrames().size());
+		for (RecordedFrame frame : stackTrace.getFrames()) {
+			if (frame.isJavaFrame()) {
+				RecordedMethod method = frame.getMethod();
+				elements.add(new StackTraceElement(method.getType().getName(), method.getName(),
+						null, frame.getLineNumber()));
+			}
+		}
+		recordSample(event.getStartTime().toEpochMilli(), elements.toArray(new StackTraceElement[0]));
+	}
+
+	/**
+	 * Records a sample of the UI thread. Visible for testing.
+	 */
+	void recordSample(long timestamp, StackTraceElement[] stackTrace) {
+		synchronized (this) {
+			int index = (int) (sampleCount++ % SAMPLE_BUFFER_SIZE);
+			sampleTimes[index] = timestamp;
+			sampleStacks[index] = stackTrace;
+		}
+		if (listener != null) {
+			listener.sampled(timestamp, stackTrace, interval);
+		}
+	}
+
+	/**
+	 * Records a finished UI event. Events shorter than the sampling interval are ignored since
+	 * they can't have samples. Called on the UI thread.
+	 *
+	 * @param start the start of the event in milliseconds since January 1, 1970 UTC
+	 * @param duration the duration of the event in milliseconds
+	 */
+	public void recordEvent(long start, long duration) {
+		if (duration < interval) {
+			return;
+		}
+		synchronized (this) {
+			int index = (int) (eventCount++ % EVENT_BUFFER_SIZE);
+			eventEnds[index] = start + duration;
+			eventDurations[index] = duration;
+		}
+	}
+
+	/**
+	 * Returns the recorded activity of the UI thread in the given period, as far as it is still
+	 * kept in the ring buffers.
+	 *
+	 * @param from the start of the period in milliseconds since January 1, 1970 UTC
+	 * @param to the end of the period in milliseconds since January 1, 1970 UTC
+	 */
+	public synchronized Activity getActivity(long from, long to) {
+		List<StackTraceElement[]> samples = new ArrayList<>();
+		for (long i = Math.max(sampleCount - SAMPLE_BUFFER_SIZE, 0); i < sampleCount; i++) {
+			int index = (int) (i % SAMPLE_BUFFER_SIZE);
+			if (sampleTimes[index] >= from && sampleTimes[index] < to) {
+				samples.add(sampleStacks[index]);
+			}
+		}
+		int events = 0;
+		long duration = 0;
+		for (long i = Math.max(eventCount - EVENT_BUFFER_SIZE, 0); i < eventCount; i++) {
+			int index = (int) (i % EVENT_BUFFER_SIZE);
+			if (eventEnds[index] >= from && eventEnds[index] < to) {
+				events++;
+				duration += eventDurations[index];
+			}
+		}
+		return new Activity(from, to, events, duration, samples);
+	}
+}
@@ -20,13 +20,20 @@ import java.lang.management.ThreadInfo;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.internal.monitoring.ContinuousUiThreadSampler.Activity;
 import org.eclipse.ui.monitoring.IUiFreezeEventLogger;
 import org.eclipse.ui.monitoring.PreferenceConstants;
 import org.eclipse.ui.monitoring.StackSample;
@@ -37,6 +44,8 @@ import org.eclipse.ui.monitoring.UiFreezeEvent;
  */
 public class DefaultUiFreezeEventLogger implements IUiFreezeEventLogger {
 	private static final DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault()); //$NON-NLS-1$
+	/** Maximum number of distinct stacks logged for the sampled activity of the UI thread. */
+	private static final int MAX_ACTIVITY_STACKS = 5;
 	private final long longEventErrorThresholdMillis;
 
 	private static class StackTrace extends Throwable {
@@ -70,6 +79,18 @@ public class DefaultUiFreezeEventLogger implements IUiFreezeEventLogger {
 	 */
 	@Override
 	public void log(UiFreezeEvent event) {
+		log(event, null);
+	}
+
+	/**
+	 * Converts the given {@link UiFreezeEvent} into a {@link MultiStatus} and writes it to the log
+	 * together with the continuously sampled activity of the UI thread around it.
+	 *
+	 * @param event the event that caused the UI thread to freeze
+	 * @param activity the activity of the UI thread leading up to and during the event, or
+	 *     {@code null}
+	 */
+	public void log(UiFreezeEvent event, Activity activity) {
 		long lastTimestamp = event.getStartTimestamp();
 		String startTime = dateFormat.format(new Date(lastTimestamp).toInstant());
 
@@ -119,9 +140,39 @@ public class DefaultUiFreezeEventLogger implements IUiFreezeEventLogger {
 			lastTimestamp = sample.getTimestamp();
 		}
 
+		if (activity != null && !activity.samples.isEmpty()) {
+			loggedEvent.add(createActivityStatus(event, activity));
+		}
+
 		ILog.of(getClass()).log(loggedEvent);
 	}
 
+	/**
+	 * Summarizes the sampled activity of the UI thread with the most frequently sampled stacks.
+	 */
+	private static IStatus createActivityStatus(UiFreezeEvent event, Activity activity) {
+		Map<List<StackTraceElement>, Integer> counts = new HashMap<>();
+		for (StackTraceElement[] stackTrace : activity.samples) {
+			counts.merge(Arrays.asList(stackTrace), 1, Integer::sum);
+		}
+		List<Map.Entry<List<StackTraceElement>, Integer>> stacks = new ArrayList<>(counts.entrySet());
+		stacks.sort(Map.Entry.comparingByValue(Comparator.reverseOrder()));
+
+		String header = NLS.bind(Messages.DefaultUiFreezeEventLogger_activity_header_4,
+				new Object[] { String.format("%.1f", (event.getStartTimestamp() - activity.from) / 1000.0), //$NON-NLS-1$
+						activity.samples.size(), activity.eventCount, activity.eventDuration });
+		MultiStatus status =
+				new SeverityMultiStatus(IStatus.INFO, PreferenceConstants.PLUGIN_ID, header, null);
+		for (Map.Entry<List<StackTraceElement>, Integer> entry :
+				stacks.subList(0, Math.min(stacks.size(), MAX_ACTIVITY_STACKS))) {
+			Throwable stackTrace = new StackTrace(entry.getKey().toArray(new StackTraceElement[0]));
+			status.add(new Status(IStatus.INFO, PreferenceConstants.PLUGIN_ID,
+					NLS.bind(Messages.DefaultUiFreezeEventLogger_activity_stack_1, entry.getValue()),
+					stackTrace));
+		}
+		return status;
+	}
+
 	private static IStatus createThreadStatus(ThreadInfo thread) {
 		Throwable stackTrace = new StackTrace(thread.getStackTrace());
 		StringBuilder threadText = createThreadMessage(thread);
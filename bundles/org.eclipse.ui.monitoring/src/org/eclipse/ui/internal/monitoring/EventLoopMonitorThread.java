@@ -49,6 +49,8 @@ import org.eclipse.ui.monitoring.UiFreezeEvent;
  */
 public class EventLoopMonitorThread extends Thread {
 	private static final int EVENT_HISTORY_SIZE = 100;
+	/** How long before a freeze the continuously sampled activity of the UI thread is logged. */
+	private static final long LEAD_UP_DURATION = 10000;
 	private static final String EXTENSION_ID = "org.eclipse.ui.monitoring.logger"; //$NON-NLS-1$
 	private static final String NEW_LINE_AND_BULLET = "\n* "; //$NON-NLS-1$
 	private static final String TRACE_EVENT_MONITOR = "/debug/event_monitor"; //$NON-NLS-1$
@@ -80,6 +82,16 @@ public class EventLoopMonitorThread extends Thread {
 		public String uiThreadFilter;
 		/** @see org.eclipse.ui.monitoring.PreferenceConstants#NONINTERESTING_THREAD_FILTER */
 		public String noninterestingThreadFilter;
+		/** If true, fold freeze events into the persistent UI freeze profile. */
+		public boolean freezeProfileEnabled;
+		/** @see org.eclipse.ui.monitoring.PreferenceConstants#FREEZE_PROFILE_WINDOW_DAYS */
+		public int freezeProfileWindowDays;
+		/** @see org.eclipse.ui.monitoring.PreferenceConstants#FREEZE_PROFILE_MAX_SIZE_KB */
+		public int freezeProfileMaxSizeKb;
+		/** If true, sample the UI thread continuously with the Java Flight Recorder. */
+		public boolean continuousSamplingEnabled;
+		/** @see org.eclipse.ui.monitoring.PreferenceConstants#CONTINUOUS_SAMPLING_INTERVAL_MILLIS */
+		public int continuousSamplingInterval;
 
 		/**
 		 * Checks if the values of parameters for UI responsiveness monitoring are valid.
@@ -346,6 +358,8 @@ public class EventLoopMonitorThread extends Thread {
 	private final List<IUiFreezeEventLogger> externalLoggers =
 			new ArrayList<>();
 	private DefaultUiFreezeEventLogger defaultLogger;
+	private FreezeProfile freezeProfile;
+	private volatile ContinuousUiThreadSampler continuousSampler;
 	private final Display display;
 	private final FilterHandler uiThreadFilter;
 	private final FilterHandler noninterestingThreadFilter;
@@ -358,6 +372,11 @@ public class EventLoopMonitorThread extends Thread {
 	private final long uiThreadId;
 	private final Object sleepMonitor;
 	private final boolean logToErrorLog;
+	private final boolean freezeProfileEnabled;
+	private final int freezeProfileWindowDays;
+	private final int freezeProfileMaxSizeKb;
+	private final boolean continuousSamplingEnabled;
+	private final int continuousSamplingInterval;
 	private EventHistory eventHistory;
 	private ThreadMXBean threadMXBean;
 	private boolean dumpLockedMonitors;
@@ -393,6 +412,11 @@ public class EventLoopMonitorThread extends Thread {
 		allThreadsSampleInterval = longEventErrorThreshold * 2 / 3;
 		deadlockThreshold = args.deadlockThreshold;
 		logToErrorLog = args.logToErrorLog;
+		freezeProfileEnabled = args.freezeProfileEnabled;
+		freezeProfileWindowDays = args.freezeProfileWindowDays;
+		freezeProfileMaxSizeKb = args.freezeProfileMaxSizeKb;
+		continuousSamplingEnabled = args.continuousSamplingEnabled;
+		continuousSamplingInterval = Math.max(args.continuousSamplingInterval, 1);
 		uiThreadFilter = new FilterHandler(args.uiThreadFilter);
 		noninterestingThreadFilter = new FilterHandler(args.noninterestingThreadFilter);
 		sleepMonitor = new Object();
@@ -436,6 +460,10 @@ public class EventLoopMonitorThread extends Thread {
 			long startTime = eventStartOrResumeTime;
 			if (startTime != 0) {
 				int duration = (int) (currTime - startTime);
+				ContinuousUiThreadSampler sampler = continuousSampler;
+				if (sampler != null) {
+					sampler.recordEvent(startTime, duration);
+				}
 				if (duration >= longEventWarningThreshold) {
 					LongEventInfo info = new LongEventInfo(startTime, duration);
 					eventToPublish.set(info);
@@ -452,9 +480,20 @@ public class EventLoopMonitorThread extends Thread {
 			defaultLogger = new DefaultUiFreezeEventLogger(longEventErrorThreshold);
 		}
 
+		if (freezeProfileEnabled) {
+			freezeProfile = new FreezeProfile(FreezeProfile.getDefaultFile(),
+					freezeProfileWindowDays, freezeProfileMaxSizeKb * 1024L);
+		}
+
+		if (continuousSamplingEnabled) {
+			FreezeProfile profile = freezeProfile;
+			continuousSampler = ContinuousUiThreadSampler.start(uiThreadId,
+					continuousSamplingInterval, profile == null ? null : profile::addSample);
+		}
+
 		loadLoggerExtensions();
 
-		if (!logToErrorLog && externalLoggers.isEmpty()) {
+		if (!logToErrorLog && freezeProfile == null && externalLoggers.isEmpty()) {
 			MonitoringPlugin.logWarning(Messages.EventLoopMonitorThread_logging_disabled_error);
 		}
 
@@ -643,6 +682,14 @@ public class EventLoopMonitorThread extends Thread {
 
 			lastEventStartOrResumeTime = currEventStartOrResumeTime;
 		}
+
+		if (continuousSampler != null) {
+			continuousSampler.stop();
+			continuousSampler = null;
+		}
+		if (freezeProfile != null) {
+			freezeProfile.flush();
+		}
 	}
 
 	private ThreadInfo[] captureThreadStacks(boolean dumpAllThreads) {
@@ -774,8 +821,24 @@ public class EventLoopMonitorThread extends Thread {
 			tracer.trace("Logging " + event + "Prior events:\n" + eventHistory.extractAndClear()); //$NON-NLS-1$//$NON-NLS-2$
 		}
 
+		ContinuousUiThreadSampler sampler = continuousSampler;
 		if (logToErrorLog) {
-			defaultLogger.log(event);
+			if (sampler != null) {
+				long end = event.getStartTimestamp() + event.getTotalDuration();
+				defaultLogger.log(event,
+						sampler.getActivity(event.getStartTimestamp() - LEAD_UP_DURATION, end));
+			} else {
+				defaultLogger.log(event);
+			}
+		}
+
+		if (freezeProfile != null) {
+			if (sampler != null) {
+				// The continuous samples already cover the freeze.
+				freezeProfile.flush();
+			} else {
+				freezeProfile.log(event);
+			}
 		}
 
 		for (int i = 0; i < externalLoggers.size(); i++) {
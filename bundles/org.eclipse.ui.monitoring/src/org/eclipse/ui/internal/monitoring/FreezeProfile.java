@@ -0,0 +1,403 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.monitoring;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ThreadInfo;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.monitoring.IUiFreezeEventLogger;
+import org.eclipse.ui.monitoring.StackSample;
+import org.eclipse.ui.monitoring.UiFreezeEvent;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.namespace.PackageNamespace;
+import org.osgi.framework.wiring.BundleCapability;
+import org.osgi.framework.wiring.BundleWiring;
+
+/**
+ * Folds the UI thread stack samples of all freezes into a persistent collapsed-stack profile.
+ * The time of each freeze is split evenly between its samples and added to the sampled stack.
+ * The profile keeps one bucket per day and drops the buckets that fall out of a rolling window.
+ * When the profile is saved, the lightest stacks are dropped until it fits into a bounded size.
+ * <p>
+ * The profile can be exported in the folded-stack format understood by flame graph tools,
+ * either per stack frame or with consecutive frames of the same plug-in merged into one.
+ */
+public class FreezeProfile implements IUiFreezeEventLogger {
+	private static final String FILE_NAME = "freeze_profile.txt"; //$NON-NLS-1$
+	private static final String FILE_HEADER = "# day duration_ms folded_stack"; //$NON-NLS-1$
+	private static final String NO_SAMPLES_FRAME = "[no stack samples]"; //$NON-NLS-1$
+	private static final String TRUNCATED_FRAME = "[truncated]"; //$NON-NLS-1$
+	private static final String JRE = "jre"; //$NON-NLS-1$
+	/** Maximum number of frames of a folded stack, the frames closest to the root are dropped. */
+	private static final int MAX_STACK_DEPTH = 512;
+	private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+	/** Estimated size of the day and duration fields of a stored line, including separators. */
+	private static final int LINE_OVERHEAD = 24;
+
+	private final File file;
+	private final int windowDays;
+	private final long maxSizeBytes;
+	/** Day since the epoch to folded stack to accumulated milliseconds. */
+	private final TreeMap<Long, Map<String, Long>> buckets = new TreeMap<>();
+	/** Estimated size of the buckets when stored, see {@link #estimateSize(String)}. */
+	private long estimatedSize;
+
+	/**
+	 * Creates a profile stored in the given file and loads its current contents.
+	 *
+	 * @param file the file to store the profile in
+	 * @param windowDays the number of days to keep samples for
+	 * @param maxSizeBytes the maximum size of the stored profile in bytes
+	 */
+	public FreezeProfile(File file, int windowDays, long maxSizeBytes) {
+		this.file = file;
+		this.windowDays = Math.max(windowDays, 1);
+		this.maxSizeBytes = Math.max(maxSizeBytes, 0);
+		load();
+		expire(System.currentTimeMillis());
+	}
+
+	/**
+	 * Returns the file of the profile collected by the monitoring thread.
+	 */
+	public static File getDefaultFile() {
+		return Platform.getStateLocation(FrameworkUtil.getBundle(FreezeProfile.class))
+				.append(FILE_NAME).toFile();
+	}
+
+	/**
+	 * Adds the stack samples of the given event to the profile and saves it. Events that are
+	 * still running are ignored since they are logged again when they finish.
+	 *
+	 * @param event the event that caused the UI thread to freeze
+	 */
+	@Override
+	public synchronized void log(UiFreezeEvent event) {
+		if (event.isStillRunning()) {
+			return;
+		}
+		long timestamp = event.getStartTimestamp();
+		StackSample[] samples = event.getStackTraceSamples();
+		if (samples.length == 0) {
+			add(timestamp, NO_SAMPLES_FRAME, event.getTotalDuration());
+		} else {
+			long remaining = event.getTotalDuration();
+			for (int i = 0; i < samples.length; i++) {
+				long duration = remaining / (samples.length - i);
+				remaining -= duration;
+				// The first thread is guaranteed to be the display thread.
+				ThreadInfo[] threads = samples[i].getStackTraces();
+				add(timestamp, fold(threads[0].getStackTrace()), duration);
+			}
+		}
+		expire(timestamp);
+		flush();
+	}
+
+	/**
+	 * Adds a stack sample taken independently of a freeze event, e.g. by the
+	 * {@link ContinuousUiThreadSampler}. The profile is saved by the next {@link #flush()}, which
+	 * may not happen before the end of the session. To keep the memory bounded in the meantime,
+	 * old buckets are dropped as days pass, and the lightest stacks are dropped whenever the
+	 * profile grows to twice its maximum size.
+	 *
+	 * @param timestamp the time of the sample in milliseconds since January 1, 1970 UTC
+	 * @param stackTrace the stack trace of the UI thread
+	 * @param duration the time represented by the sample in milliseconds
+	 */
+	public void addSample(long timestamp, StackTraceElement[] stackTrace, long duration) {
+		String foldedStack = fold(stackTrace);
+		synchronized (this) {
+			add(timestamp, foldedStack, duration);
+			expire(timestamp);
+			if (estimatedSize > 2 * maxSizeBytes) {
+				trim();
+			}
+		}
+	}
+
+	/**
+	 * Saves the profile and logs a failure to do so.
+	 */
+	public synchronized void flush() {
+		expire(System.currentTimeMillis());
+		try {
+			save();
+		} catch (IOException e) {
+			MonitoringPlugin.logError(NLS.bind(Messages.FreezeProfile_save_error_1, file), e);
+		}
+	}
+
+	/**
+	 * Adds the given duration to a folded stack. Visible for testing.
+	 */
+	synchronized void add(long timestamp, String foldedStack, long duration) {
+		if (duration > 0) {
+			Long total = buckets.computeIfAbsent(Long.valueOf(Math.floorDiv(timestamp, MILLIS_PER_DAY)),
+					day -> new HashMap<>()).merge(foldedStack, Long.valueOf(duration), Long::sum);
+			if (total.longValue() == duration) {
+				// A new stack of the bucket.
+				estimatedSize += estimateSize(foldedStack);
+			}
+		}
+	}
+
+	/**
+	 * Returns the estimated size of a stored line of the given stack in bytes.
+	 */
+	private static long estimateSize(String foldedStack) {
+		return foldedStack.length() + LINE_OVERHEAD;
+	}
+
+	/**
+	 * Returns the stack in the folded format, with the frames separated by semicolons starting
+	 * from the root.
+	 */
+	static String fold(StackTraceElement[] stackTrace) {
+		StringBuilder buf = new StringBuilder();
+		int depth = stackTrace.length;
+		if (depth > MAX_STACK_DEPTH) {
+			buf.append(TRUNCATED_FRAME);
+			depth = MAX_STACK_DEPTH;
+		}
+		for (int i = depth - 1; i >= 0; i--) {
+			if (buf.length() != 0) {
+				buf.append(';');
+			}
+			StackTraceElement element = stackTrace[i];
+			buf.append(element.getClassName()).append('.').append(element.getMethodName());
+		}
+		return buf.toString();
+	}
+
+	/**
+	 * Drops the buckets that fall out of the window ending on the day of the given time.
+	 */
+	private void expire(long now) {
+		long firstDay = Math.floorDiv(now, MILLIS_PER_DAY) - windowDays + 1;
+		Map<Long, Map<String, Long>> expired = buckets.headMap(Long.valueOf(firstDay));
+		for (Map<String, Long> bucket : expired.values()) {
+			for (String stack : bucket.keySet()) {
+				estimatedSize -= estimateSize(stack);
+			}
+		}
+		expired.clear();
+	}
+
+	/**
+	 * Returns the accumulated milliseconds of each folded stack over the whole window.
+	 */
+	public synchronized Map<String, Long> getStacks() {
+		Map<String, Long> stacks = new HashMap<>();
+		for (Map<String, Long> bucket : buckets.values()) {
+			bucket.forEach((stack, duration) -> stacks.merge(stack, duration, Long::sum));
+		}
+		return stacks;
+	}
+
+	/**
+	 * Returns the accumulated milliseconds of each folded stack over the whole window, with the
+	 * frames replaced by the plug-ins declaring their classes and consecutive frames of the same
+	 * plug-in merged.
+	 *
+	 * @param pluginResolver returns the plug-in of a class given its name
+	 */
+	public Map<String, Long> getPluginStacks(Function<String, String> pluginResolver) {
+		Map<String, String> pluginsByClass = new HashMap<>();
+		Map<String, Long> stacks = new HashMap<>();
+		getStacks().forEach((stack, duration) -> {
+			StringBuilder buf = new StringBuilder();
+			String lastPlugin = null;
+			for (String frame : stack.split(";")) { //$NON-NLS-1$
+				int pos = frame.lastIndexOf('.');
+				String plugin = frame.startsWith("[") || pos < 0 ? frame : //$NON-NLS-1$
+						pluginsByClass.computeIfAbsent(frame.substring(0, pos), pluginResolver);
+				if (!plugin.equals(lastPlugin)) {
+					if (buf.length() != 0) {
+						buf.append(';');
+					}
+					buf.append(plugin);
+					lastPlugin = plugin;
+				}
+			}
+			stacks.merge(buf.toString(), duration, Long::sum);
+		});
+		return stacks;
+	}
+
+	/**
+	 * Writes the given stacks in the folded-stack format, one stack followed by its accumulated
+	 * milliseconds per line.
+	 *
+	 * @param stacks the stacks returned by {@link #getStacks()} or
+	 *     {@link #getPluginStacks(Function)}
+	 * @param writer the writer to write to
+	 */
+	public static void writeFolded(Map<String, Long> stacks, Writer writer) throws IOException {
+		for (Map.Entry<String, Long> entry : new TreeMap<>(stacks).entrySet()) {
+			writer.write(entry.getKey());
+			writer.write(' ');
+			writer.write(entry.getValue().toString());
+			writer.write('\n');
+		}
+	}
+
+	/**
+	 * Returns a function that maps a class name to the symbolic name of the bundle exporting
+	 * its package. Classes of the Java runtime are mapped to "jre", classes of packages that are
+	 * not exported by any bundle to their package name.
+	 */
+	public static Function<String, String> createPluginResolver() {
+		Map<String, String> bundlesByPackage = new HashMap<>();
+		BundleContext context = FrameworkUtil.getBundle(FreezeProfile.class).getBundleContext();
+		if (context != null) {
+			for (Bundle bundle : context.getBundles()) {
+				BundleWiring wiring = bundle.adapt(BundleWiring.class);
+				if (wiring == null) {
+					continue;
+				}
+				for (BundleCapability capability :
+						wiring.getCapabilities(PackageNamespace.PACKAGE_NAMESPACE)) {
+					Object name = capability.getAttributes().get(PackageNamespace.PACKAGE_NAMESPACE);
+					if (name instanceof String) {
+						bundlesByPackage.putIfAbsent((String) name, bundle.getSymbolicName());
+					}
+				}
+			}
+		}
+		return className -> {
+			int pos = className.lastIndexOf('.');
+			String packageName = pos < 0 ? "" : className.substring(0, pos); //$NON-NLS-1$
+			if (packageName.startsWith("java.") || packageName.startsWith("javax.") //$NON-NLS-1$ //$NON-NLS-2$
+					|| packageName.startsWith("jdk.") || packageName.startsWith("sun.")) { //$NON-NLS-1$ //$NON-NLS-2$
+				return JRE;
+			}
+			return bundlesByPackage.getOrDefault(packageName, packageName);
+		};
+	}
+
+	private void load() {
+		if (!file.isFile()) {
+			return;
+		}
+		try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isEmpty() || line.startsWith("#")) { //$NON-NLS-1$
+					continue;
+				}
+				String[] fields = line.split(" ", 3); //$NON-NLS-1$
+				if (fields.length == 3) {
+					long day = Long.parseLong(fields[0]);
+					add(day * MILLIS_PER_DAY, fields[2], Long.parseLong(fields[1]));
+				}
+			}
+		} catch (IOException | NumberFormatException e) {
+			MonitoringPlugin.logError(NLS.bind(Messages.FreezeProfile_load_error_1, file), e);
+			buckets.clear();
+			estimatedSize = 0;
+		}
+	}
+
+	/**
+	 * Saves the profile, after dropping the lightest stacks that don't fit into the maximum size.
+	 * Visible for testing.
+	 */
+	synchronized void save() throws IOException {
+		List<Line> lines = trim();
+
+		file.getParentFile().mkdirs();
+		File tempFile = new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try (BufferedWriter writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8)) {
+			writer.write(FILE_HEADER);
+			writer.write('\n');
+			for (Line line : lines) {
+				writer.write(line.text);
+				writer.write('\n');
+			}
+		}
+		Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Drops the lightest stacks that don't fit into the maximum size.
+	 *
+	 * @return the lines of the remaining stacks, heaviest first
+	 */
+	private List<Line> trim() {
+		List<Line> lines = new ArrayList<>();
+		for (Map.Entry<Long, Map<String, Long>> bucket : buckets.entrySet()) {
+			for (Map.Entry<String, Long> entry : bucket.getValue().entrySet()) {
+				lines.add(new Line(bucket.getKey().longValue(), entry.getKey(),
+						entry.getValue().longValue()));
+			}
+		}
+		lines.sort(Comparator.comparingLong((Line line) -> line.duration).reversed());
+
+		long size = FILE_HEADER.length() + 1;
+		int keep = 0;
+		while (keep < lines.size()) {
+			long lineSize = lines.get(keep).text.getBytes(StandardCharsets.UTF_8).length + 1;
+			if (size + lineSize > maxSizeBytes) {
+				break;
+			}
+			size += lineSize;
+			keep++;
+		}
+		for (Line line : lines.subList(keep, lines.size())) {
+			Long day = Long.valueOf(line.day);
+			Map<String, Long> bucket = buckets.get(day);
+			bucket.remove(line.stack);
+			estimatedSize -= estimateSize(line.stack);
+			if (bucket.isEmpty()) {
+				buckets.remove(day);
+			}
+		}
+		return lines.subList(0, keep);
+	}
+
+	private static class Line {
+		final long day;
+		final String stack;
+		final long duration;
+		final String text;
+
+		Line(long day, String stack, long duration) {
+			this.day = day;
+			this.stack = stack;
+			this.duration = duration;
+			this.text = day + " " + duration + " " + stack; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+}
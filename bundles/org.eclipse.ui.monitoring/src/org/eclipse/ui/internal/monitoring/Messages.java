@@ -17,6 +17,9 @@ package org.eclipse.ui.internal.monitoring;
 import org.eclipse.osgi.util.NLS;
 
 final class Messages extends NLS {
+	public static String ContinuousUiThreadSampler_unavailable_error;
+	public static String DefaultUiFreezeEventLogger_activity_header_4;
+	public static String DefaultUiFreezeEventLogger_activity_stack_1;
 	public static String DefaultUiFreezeEventLogger_holding_1;
 	public static String DefaultUiFreezeEventLogger_sample_header_2;
 	public static String DefaultUiFreezeEventLogger_stack_trace_header;
@@ -40,6 +43,8 @@ final class Messages extends NLS {
 	public static String EventLoopMonitorThread_warning_threshold_error_1;
 	public static String EventLoopMonitorThread_max_event_loop_depth_exceeded_1;
 	public static String FilterHandler_missing_thread_error;
+	public static String FreezeProfile_load_error_1;
+	public static String FreezeProfile_save_error_1;
 	public static String MonitoringStartup_initialization_error;
 
 	private Messages() {
@@ -91,6 +91,16 @@ public class MonitoringStartup implements EventHandler {
 		args.noninterestingThreadFilter =
 				preferences.getString(PreferenceConstants.NONINTERESTING_THREAD_FILTER);
 		args.logToErrorLog = preferences.getBoolean(PreferenceConstants.LOG_TO_ERROR_LOG);
+		args.freezeProfileEnabled =
+				preferences.getBoolean(PreferenceConstants.FREEZE_PROFILE_ENABLED);
+		args.freezeProfileWindowDays =
+				preferences.getInt(PreferenceConstants.FREEZE_PROFILE_WINDOW_DAYS);
+		args.freezeProfileMaxSizeKb =
+				preferences.getInt(PreferenceConstants.FREEZE_PROFILE_MAX_SIZE_KB);
+		args.continuousSamplingEnabled =
+				preferences.getBoolean(PreferenceConstants.CONTINUOUS_SAMPLING_ENABLED);
+		args.continuousSamplingInterval =
+				preferences.getInt(PreferenceConstants.CONTINUOUS_SAMPLING_INTERVAL_MILLIS);
 
 		return args;
 	}
@@ -28,11 +28,21 @@ public final class Messages extends NLS {
 	public static String MonitoringPreferenceListener_preference_error;
 	public static String MonitoringPreferencePage_add_ui_thread_filter_button_label;
 	public static String MonitoringPreferencePage_add_noninteresting_thread_filter_button_label;
+	public static String MonitoringPreferencePage_continuous_sampling_interval_label;
+	public static String MonitoringPreferencePage_continuous_sampling_label;
 	public static String MonitoringPreferencePage_deadlock_threshold_label;
 	public static String MonitoringPreferencePage_deadlock_threshold_too_low_error;
 	public static String MonitoringPreferencePage_enable_monitoring_label;
 	public static String MonitoringPreferencePage_error_threshold_label;
 	public static String MonitoringPreferencePage_error_threshold_too_low_error;
+	public static String MonitoringPreferencePage_export_freeze_profile_button_label;
+	public static String MonitoringPreferencePage_export_freeze_profile_by_frame;
+	public static String MonitoringPreferencePage_export_freeze_profile_by_plugin;
+	public static String MonitoringPreferencePage_export_freeze_profile_error_header;
+	public static String MonitoringPreferencePage_export_freeze_profile_error_1;
+	public static String MonitoringPreferencePage_freeze_profile_label;
+	public static String MonitoringPreferencePage_freeze_profile_max_size_label;
+	public static String MonitoringPreferencePage_freeze_profile_window_label;
 	public static String MonitoringPreferencePage_log_freeze_events_label;
 	public static String MonitoringPreferencePage_max_stack_samples_label;
 	public static String MonitoringPreferencePage_noninteresting_thread_filter_label;
@@ -35,6 +35,11 @@ public class MonitoringPreferenceInitializer extends AbstractPreferenceInitializ
 		store.setDefault(PreferenceConstants.DEADLOCK_REPORTING_THRESHOLD_MILLIS,
 				5 * 60 * 1000); // 5 min
 		store.setDefault(PreferenceConstants.LOG_TO_ERROR_LOG, true);
+		store.setDefault(PreferenceConstants.FREEZE_PROFILE_ENABLED, false);
+		store.setDefault(PreferenceConstants.FREEZE_PROFILE_WINDOW_DAYS, 7);
+		store.setDefault(PreferenceConstants.FREEZE_PROFILE_MAX_SIZE_KB, 1024);
+		store.setDefault(PreferenceConstants.CONTINUOUS_SAMPLING_ENABLED, false);
+		store.setDefault(PreferenceConstants.CONTINUOUS_SAMPLING_INTERVAL_MILLIS, 20);
 		store.setDefault(PreferenceConstants.UI_THREAD_FILTER, ""); //$NON-NLS-1$
 		store.setDefault(PreferenceConstants.NONINTERESTING_THREAD_FILTER,
 				"java.*" //$NON-NLS-1$
@@ -53,6 +53,11 @@ public class MonitoringPreferenceListener implements IPropertyChangeListener {
 				&& !property.equals(PreferenceConstants.LONG_EVENT_ERROR_THRESHOLD_MILLIS)
 				&& !property.equals(PreferenceConstants.LONG_EVENT_WARNING_THRESHOLD_MILLIS)
 				&& !property.equals(PreferenceConstants.LOG_TO_ERROR_LOG)
+				&& !property.equals(PreferenceConstants.FREEZE_PROFILE_ENABLED)
+				&& !property.equals(PreferenceConstants.FREEZE_PROFILE_WINDOW_DAYS)
+				&& !property.equals(PreferenceConstants.FREEZE_PROFILE_MAX_SIZE_KB)
+				&& !property.equals(PreferenceConstants.CONTINUOUS_SAMPLING_ENABLED)
+				&& !property.equals(PreferenceConstants.CONTINUOUS_SAMPLING_INTERVAL_MILLIS)
 				&& !property.equals(PreferenceConstants.MAX_STACK_SAMPLES)
 				&& !property.equals(PreferenceConstants.UI_THREAD_FILTER)
 				&& !property.equals(PreferenceConstants.NONINTERESTING_THREAD_FILTER)) {
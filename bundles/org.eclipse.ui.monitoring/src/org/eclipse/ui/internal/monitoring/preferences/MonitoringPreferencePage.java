@@ -15,9 +15,17 @@
  *******************************************************************************/
 package org.eclipse.ui.internal.monitoring.preferences;
 
+import static org.eclipse.swt.events.SelectionListener.widgetSelectedAdapter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.layout.GridDataFactory;
 import org.eclipse.jface.layout.GridLayoutFactory;
 import org.eclipse.jface.layout.LayoutConstants;
@@ -25,14 +33,19 @@ import org.eclipse.jface.layout.PixelConverter;
 import org.eclipse.jface.preference.BooleanFieldEditor;
 import org.eclipse.jface.preference.FieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
+import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.preference.IntegerFieldEditor;
 import org.eclipse.jface.util.PropertyChangeEvent;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.FileDialog;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPreferencePage;
+import org.eclipse.ui.internal.monitoring.FreezeProfile;
 import org.eclipse.ui.internal.monitoring.MonitoringPlugin;
 import org.eclipse.ui.monitoring.PreferenceConstants;
 
@@ -146,6 +159,25 @@ public class MonitoringPreferencePage extends FieldEditorPreferencePage
 		createIntegerEditor(
 				PreferenceConstants.MAX_STACK_SAMPLES,
 				Messages.MonitoringPreferencePage_max_stack_samples_label, block, 0, 100);
+		createBooleanEditor(PreferenceConstants.FREEZE_PROFILE_ENABLED,
+				Messages.MonitoringPreferencePage_freeze_profile_label, block);
+		createIntegerEditor(
+				PreferenceConstants.FREEZE_PROFILE_WINDOW_DAYS,
+				Messages.MonitoringPreferencePage_freeze_profile_window_label, block, 1, 365);
+		createIntegerEditor(
+				PreferenceConstants.FREEZE_PROFILE_MAX_SIZE_KB,
+				Messages.MonitoringPreferencePage_freeze_profile_max_size_label, block,
+				16, 100 * 1024);
+		createBooleanEditor(PreferenceConstants.CONTINUOUS_SAMPLING_ENABLED,
+				Messages.MonitoringPreferencePage_continuous_sampling_label, block);
+		createIntegerEditor(
+				PreferenceConstants.CONTINUOUS_SAMPLING_INTERVAL_MILLIS,
+				Messages.MonitoringPreferencePage_continuous_sampling_interval_label, block,
+				10, 1000);
+		Button exportButton = new Button(block, SWT.PUSH);
+		exportButton.setText(Messages.MonitoringPreferencePage_export_freeze_profile_button_label);
+		exportButton.addSelectionListener(widgetSelectedAdapter(e -> exportFreezeProfile()));
+		GridDataFactory.swtDefaults().span(2, 1).applyTo(exportButton);
 		GridLayoutFactory.fillDefaults()
 				.numColumns(2)
 				.spacing(LayoutConstants.getSpacing())
@@ -181,6 +213,35 @@ public class MonitoringPreferencePage extends FieldEditorPreferencePage
 		return block;
 	}
 
+	private void exportFreezeProfile() {
+		FileDialog dialog = new FileDialog(getShell(), SWT.SAVE);
+		dialog.setFilterNames(new String[] {
+				Messages.MonitoringPreferencePage_export_freeze_profile_by_frame,
+				Messages.MonitoringPreferencePage_export_freeze_profile_by_plugin });
+		dialog.setFilterExtensions(new String[] { "*.folded", "*.folded" }); //$NON-NLS-1$ //$NON-NLS-2$
+		dialog.setOverwrite(true);
+		String fileName = dialog.open();
+		if (fileName == null) {
+			return;
+		}
+
+		IPreferenceStore store = MonitoringPlugin.getPreferenceStore();
+		FreezeProfile profile = new FreezeProfile(FreezeProfile.getDefaultFile(),
+				store.getInt(PreferenceConstants.FREEZE_PROFILE_WINDOW_DAYS),
+				store.getInt(PreferenceConstants.FREEZE_PROFILE_MAX_SIZE_KB) * 1024L);
+		Map<String, Long> stacks = dialog.getFilterIndex() == 1
+				? profile.getPluginStacks(FreezeProfile.createPluginResolver())
+				: profile.getStacks();
+		try (Writer writer = Files.newBufferedWriter(Paths.get(fileName), StandardCharsets.UTF_8)) {
+			FreezeProfile.writeFolded(stacks, writer);
+		} catch (IOException e) {
+			String message = NLS.bind(Messages.MonitoringPreferencePage_export_freeze_profile_error_1, fileName);
+			MonitoringPlugin.logError(message, e);
+			MessageDialog.openError(getShell(),
+					Messages.MonitoringPreferencePage_export_freeze_profile_error_header, message);
+		}
+	}
+
 	private static Control createEmptySpace(Composite parent, int height, int span) {
 		Label label= new Label(parent, SWT.LEFT);
 		GridDataFactory.fillDefaults().span(span, 1).hint(0, height).applyTo(label);
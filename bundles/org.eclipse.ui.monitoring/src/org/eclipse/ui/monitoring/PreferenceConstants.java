@@ -58,6 +58,28 @@ public class PreferenceConstants {
 	 * message if all stack frames of the thread match the filter.
 	 */
 	public static final String NONINTERESTING_THREAD_FILTER = "noninteresting_thread_filter"; //$NON-NLS-1$
+	/**
+	 * If true, fold the stack samples of all UI freezes into a persistent profile that can be
+	 * exported for flame graph tools.
+	 */
+	public static final String FREEZE_PROFILE_ENABLED = "freeze_profile_enabled"; //$NON-NLS-1$
+	/**
+	 * Number of days the stack samples are kept in the UI freeze profile.
+	 */
+	public static final String FREEZE_PROFILE_WINDOW_DAYS = "freeze_profile_window_days"; //$NON-NLS-1$
+	/**
+	 * Maximum size of the stored UI freeze profile in kilobytes.
+	 */
+	public static final String FREEZE_PROFILE_MAX_SIZE_KB = "freeze_profile_max_size_kb"; //$NON-NLS-1$
+	/**
+	 * If true, sample the UI thread continuously with the Java Flight Recorder, so that the
+	 * activity leading up to a UI freeze is logged with it and short events are profiled too.
+	 */
+	public static final String CONTINUOUS_SAMPLING_ENABLED = "continuous_sampling_enabled"; //$NON-NLS-1$
+	/**
+	 * Interval in milliseconds between continuous samples of the UI thread.
+	 */
+	public static final String CONTINUOUS_SAMPLING_INTERVAL_MILLIS = "continuous_sampling_interval"; //$NON-NLS-1$
 
 	private PreferenceConstants() {}
 }
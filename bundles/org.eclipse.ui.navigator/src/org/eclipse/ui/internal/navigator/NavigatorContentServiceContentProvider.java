@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2015 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,18 +19,31 @@ package org.eclipse.ui.internal.navigator;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.PerformanceStats;
 import org.eclipse.core.runtime.SafeRunner;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.viewers.AbstractTreeViewer;
 import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.ITreeViewerListener;
 import org.eclipse.jface.viewers.ITreePathContentProvider;
+import org.eclipse.jface.viewers.TreeExpansionEvent;
 import org.eclipse.jface.viewers.TreePath;
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.internal.navigator.extensions.NavigatorContentDescriptor;
 import org.eclipse.ui.internal.navigator.extensions.NavigatorContentExtension;
 import org.eclipse.ui.internal.navigator.extensions.NavigatorViewerDescriptor;
@@ -40,6 +53,7 @@ import org.eclipse.ui.navigator.INavigatorContentDescriptor;
 import org.eclipse.ui.navigator.INavigatorViewerDescriptor;
 import org.eclipse.ui.navigator.IPipelinedTreeContentProvider;
 import org.eclipse.ui.navigator.OverridePolicy;
+import org.eclipse.ui.progress.PendingUpdateAdapter;
 
 /**
  * <p>
@@ -66,14 +80,62 @@ public class NavigatorContentServiceContentProvider implements ITreeContentProvi
 
 	private static final Object[] NO_CHILDREN = new Object[0];
 
+	/**
+	 * Marks the children of an extension that failed to compute them.
+	 */
+	private static final Object[] FAILED = new Object[0];
+
+	/**
+	 * Returned instead of the children by extension while they are computed in
+	 * the background.
+	 */
+	private static final Map<NavigatorContentExtension, Object[]> PENDING = Collections.unmodifiableMap(new HashMap<>());
+
+	/**
+	 * The performance event of an extension computing children, with the
+	 * extension id as blame.
+	 */
+	private static final String PERF_COMPUTE_CHILDREN = "org.eclipse.ui.navigator/perf/contentExtension/computeChildren"; //$NON-NLS-1$
+
 	private final NavigatorContentService contentService;
 
 	private boolean disposeContentService;
 
 	private final boolean enforceHasChildren;
 
+	private final boolean parallelContentExtensions;
+
 	private Viewer viewer;
 
+	/**
+	 * The jobs computing children in the background, by parent element or path.
+	 * Only accessed in the UI thread.
+	 */
+	private final Map<Object, ChildrenJob> childrenJobs = new HashMap<>();
+
+	/**
+	 * The parent element or path that is refreshed with the children computed
+	 * in the background, <code>null</code> outside of that refresh. Only
+	 * accessed in the UI thread.
+	 */
+	private Object refreshedParent;
+
+	/**
+	 * The children by extension of {@link #refreshedParent}.
+	 */
+	private Map<NavigatorContentExtension, Object[]> refreshedChildren;
+
+	private final ITreeViewerListener collapseListener = new ITreeViewerListener() {
+		@Override
+		public void treeExpanded(TreeExpansionEvent event) {
+		}
+
+		@Override
+		public void treeCollapsed(TreeExpansionEvent event) {
+			cancelChildrenJobs(event.getElement(), (AbstractTreeViewer) event.getTreeViewer());
+		}
+	};
+
 	/**
 	 * <p>
 	 * Creates a cached {@link NavigatorContentService}&nbsp;from the given
@@ -104,10 +166,21 @@ public class NavigatorContentServiceContentProvider implements ITreeContentProvi
 		contentService = aContentService;
 		INavigatorViewerDescriptor vDesc = contentService.getViewerDescriptor();
 		enforceHasChildren = vDesc.getBooleanConfigProperty(NavigatorViewerDescriptor.PROP_ENFORCE_HAS_CHILDREN);
+		parallelContentExtensions = vDesc
+				.getBooleanConfigProperty(NavigatorViewerDescriptor.PROP_PARALLEL_CONTENT_EXTENSIONS);
 	}
 
 	@Override
 	public void inputChanged(Viewer aViewer, Object anOldInput, Object aNewInput) {
+		cancelChildrenJobs();
+		if (viewer != aViewer) {
+			if (viewer instanceof AbstractTreeViewer) {
+				((AbstractTreeViewer) viewer).removeTreeListener(collapseListener);
+			}
+			if (parallelContentExtensions && aViewer instanceof AbstractTreeViewer) {
+				((AbstractTreeViewer) aViewer).addTreeListener(collapseListener);
+			}
+		}
 		viewer = aViewer;
 		contentService.updateService(aViewer, anOldInput, aNewInput);
 	}
@@ -140,6 +213,13 @@ public class NavigatorContentServiceContentProvider implements ITreeContentProvi
 		}
 		final Set finalSet = new LinkedHashSet();
 		final ContributorTrackingSet localSet = new ContributorTrackingSet(contentService);
+		final Map<NavigatorContentExtension, Object[]> computedChildren = parallelContentExtensions
+				&& enabledExtensions.size() > 1
+						? getChildrenComputedInParallel(aParentElement, aParentElementOrPath, enabledExtensions, elements)
+						: null;
+		if (computedChildren == PENDING) {
+			return new Object[] { new PendingUpdateAdapter() };
+		}
 
 		for (final Iterator itr = enabledExtensions.iterator(); itr.hasNext();) {
 			SafeRunner.run(new NavigatorSafeRunnable() {
@@ -151,12 +231,15 @@ public class NavigatorContentServiceContentProvider implements ITreeContentProvi
 				public void run() throws Exception {
 					if (!isOverridingExtensionInSet(foundExtension.getDescriptor(),
 							enabledExtensions)) {
-						if (elements)
-							contributedChildren = foundExtension.internalGetContentProvider()
-									.getElements(aParentElementOrPath);
-						else
-							contributedChildren = foundExtension.internalGetContentProvider()
-									.getChildren(aParentElementOrPath);
+						if (computedChildren != null && computedChildren.containsKey(foundExtension)) {
+							contributedChildren = computedChildren.get(foundExtension);
+							if (contributedChildren == FAILED) {
+								// already logged
+								return;
+							}
+						} else {
+							contributedChildren = computeChildren(foundExtension, aParentElementOrPath, elements);
+						}
 						overridingExtensions = foundExtension
 								.getOverridingExtensionsForTriggerPoint(aParentElement);
 						INavigatorContentDescriptor foundDescriptor = foundExtension
@@ -184,6 +267,220 @@ public class NavigatorContentServiceContentProvider implements ITreeContentProvi
 		return finalSet.toArray();
 	}
 
+	private Object[] computeChildren(NavigatorContentExtension anExtension, Object aParentElementOrPath,
+			boolean elements) {
+		boolean timed = Policy.DEBUG_CONTENT_TIMING || PerformanceStats.isEnabled(PERF_COMPUTE_CHILDREN);
+		long start = timed ? System.nanoTime() : 0;
+		Object[] children = elements ? anExtension.internalGetContentProvider().getElements(aParentElementOrPath)
+				: anExtension.internalGetContentProvider().getChildren(aParentElementOrPath);
+		if (timed) {
+			long elapsed = (System.nanoTime() - start) / 1000000;
+			if (PerformanceStats.isEnabled(PERF_COMPUTE_CHILDREN)) {
+				PerformanceStats.getStats(PERF_COMPUTE_CHILDREN, anExtension.getDescriptor().getId()).addRun(elapsed,
+						Policy.getObjectString(aParentElementOrPath));
+			}
+			if (Policy.DEBUG_CONTENT_TIMING) {
+				System.out.println("Content extension " + anExtension.getDescriptor().getId() + //$NON-NLS-1$
+						" computed " + (children == null ? 0 : children.length) + //$NON-NLS-1$
+						" children of " + Policy.getObjectString(aParentElementOrPath) + //$NON-NLS-1$
+						" in " + elapsed + " ms on " //$NON-NLS-1$ //$NON-NLS-2$
+						+ Thread.currentThread().getName());
+			}
+		}
+		return children;
+	}
+
+	/**
+	 * Returns the children of the first class extensions among the given
+	 * extensions, computed concurrently. Called on the UI thread by a tree
+	 * viewer, the children are computed by a job and {@link #PENDING} is
+	 * returned. Once the job is done, the parent is refreshed and the computed
+	 * children are returned while the refresh asks for them. They are dropped
+	 * afterwards, so a parent that is collapsed or removed meanwhile asks
+	 * again the next time it is expanded. A job is restarted when its parent
+	 * is asked for its children again before it is done, as the children may
+	 * have changed since it started. Called on any other thread, the children
+	 * are computed in the calling thread and the other threads it waits for.
+	 *
+	 * @return the children by extension, or {@link #PENDING}
+	 */
+	private Map<NavigatorContentExtension, Object[]> getChildrenComputedInParallel(final Object aParentElement,
+			final Object aParentElementOrPath, final Set enabledExtensions, final boolean elements) {
+		List<NavigatorContentExtension> extensions = new ArrayList<>();
+		for (Iterator itr = enabledExtensions.iterator(); itr.hasNext();) {
+			NavigatorContentExtension extension = (NavigatorContentExtension) itr.next();
+			if (!isOverridingExtensionInSet(extension.getDescriptor(), enabledExtensions)) {
+				// Load the content provider in the calling thread, only querying it
+				// is done concurrently.
+				extension.internalGetContentProvider();
+				extensions.add(extension);
+			}
+		}
+
+		final Display display = Display.getCurrent();
+		if (display == null || !(viewer instanceof AbstractTreeViewer)) {
+			return computeChildrenInParallel(aParentElement, aParentElementOrPath, extensions, elements);
+		}
+		if (refreshedParent != null && refreshedParent.equals(aParentElementOrPath)) {
+			return refreshedChildren;
+		}
+		ChildrenJob running = childrenJobs.remove(aParentElementOrPath);
+		if (running != null) {
+			running.cancel();
+		}
+		final AbstractTreeViewer treeViewer = (AbstractTreeViewer) viewer;
+		ChildrenJob job = new ChildrenJob(aParentElement, aParentElementOrPath) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				final Map<NavigatorContentExtension, Object[]> result = computeChildrenInParallel(aParentElement,
+						aParentElementOrPath, extensions, elements);
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				display.asyncExec(() -> {
+					if (childrenJobs.get(aParentElementOrPath) != this) {
+						// canceled or restarted meanwhile
+						return;
+					}
+					childrenJobs.remove(aParentElementOrPath);
+					if (treeViewer.getControl().isDisposed()) {
+						return;
+					}
+					refreshedParent = aParentElementOrPath;
+					refreshedChildren = result;
+					try {
+						if (elements) {
+							treeViewer.refresh();
+						} else {
+							treeViewer.refresh(aParentElement);
+						}
+					} finally {
+						refreshedParent = null;
+						refreshedChildren = null;
+					}
+				});
+				return Status.OK_STATUS;
+			}
+		};
+		childrenJobs.put(aParentElementOrPath, job);
+		job.schedule();
+		return PENDING;
+	}
+
+	/**
+	 * A job computing the children of a parent in the background.
+	 */
+	private abstract static class ChildrenJob extends Job {
+		final Object parentElement;
+		final Object parentElementOrPath;
+
+		ChildrenJob(Object aParentElement, Object aParentElementOrPath) {
+			super(NLS.bind(CommonNavigatorMessages.NavigatorContentServiceContentProvider_computing_children,
+					Policy.getObjectString(aParentElement)));
+			parentElement = aParentElement;
+			parentElementOrPath = aParentElementOrPath;
+		}
+
+		boolean isBelow(Object anElement) {
+			if (anElement.equals(parentElement)) {
+				return true;
+			}
+			if (parentElementOrPath instanceof TreePath) {
+				TreePath path = (TreePath) parentElementOrPath;
+				for (int i = 0; i < path.getSegmentCount(); i++) {
+					if (anElement.equals(path.getSegment(i))) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Asks the given extensions for their children concurrently. The calling
+	 * thread computes the children of the first extension itself and waits for
+	 * the others. Pipelining is left to the caller, which merges the results in
+	 * the order of the extensions.
+	 *
+	 * @return the children by extension, {@link #FAILED} for the extensions
+	 *         that failed to compute them
+	 */
+	private Map<NavigatorContentExtension, Object[]> computeChildrenInParallel(final Object aParentElement,
+			final Object aParentElementOrPath, final List<NavigatorContentExtension> extensions,
+			final boolean elements) {
+		Map<NavigatorContentExtension, CompletableFuture<Object[]>> futures = new LinkedHashMap<>();
+		for (NavigatorContentExtension extension : extensions) {
+			futures.put(extension, futures.isEmpty() ? null
+					: CompletableFuture.supplyAsync(
+							() -> safeComputeChildren(extension, aParentElement, aParentElementOrPath, elements)));
+		}
+		Map<NavigatorContentExtension, Object[]> children = new HashMap<>();
+		for (Map.Entry<NavigatorContentExtension, CompletableFuture<Object[]>> entry : futures.entrySet()) {
+			CompletableFuture<Object[]> future = entry.getValue();
+			children.put(entry.getKey(), future == null
+					? safeComputeChildren(entry.getKey(), aParentElement, aParentElementOrPath, elements)
+					: future.join());
+		}
+		return children;
+	}
+
+	/**
+	 * Cancels the computation of children in the background.
+	 */
+	private void cancelChildrenJobs() {
+		for (ChildrenJob job : childrenJobs.values()) {
+			job.cancel();
+		}
+		childrenJobs.clear();
+	}
+
+	/**
+	 * Cancels the computation of the children of the collapsed element and its
+	 * descendants. The collapsed parents are refreshed afterwards, which
+	 * replaces their pending nodes so that they ask for their children again
+	 * when they are expanded.
+	 */
+	private void cancelChildrenJobs(Object aCollapsedElement, final AbstractTreeViewer treeViewer) {
+		final List<Object> parents = new ArrayList<>();
+		for (Iterator<ChildrenJob> itr = childrenJobs.values().iterator(); itr.hasNext();) {
+			ChildrenJob job = itr.next();
+			if (job.isBelow(aCollapsedElement)) {
+				job.cancel();
+				itr.remove();
+				parents.add(job.parentElement);
+			}
+		}
+		if (!parents.isEmpty()) {
+			// the item is collapsed once the listeners are notified
+			treeViewer.getControl().getDisplay().asyncExec(() -> {
+				if (!treeViewer.getControl().isDisposed()) {
+					for (Object parent : parents) {
+						treeViewer.refresh(parent);
+					}
+				}
+			});
+		}
+	}
+
+	private Object[] safeComputeChildren(final NavigatorContentExtension anExtension, final Object aParentElement,
+			final Object aParentElementOrPath, final boolean elements) {
+		final Object[][] children = new Object[][] { FAILED };
+		SafeRunner.run(new NavigatorSafeRunnable() {
+			@Override
+			public void run() throws Exception {
+				children[0] = computeChildren(anExtension, aParentElementOrPath, elements);
+			}
+
+			@Override
+			public void handleException(Throwable e) {
+				NavigatorPlugin.logError(0, NLS.bind(CommonNavigatorMessages.Exception_Invoking_Extension,
+						new Object[] { anExtension.getDescriptor().getId(), aParentElement }), e);
+			}
+		});
+		return children[0];
+	}
+
 	/**
 	 * Query each of <code>theOverridingExtensions</code> for children, and then
 	 * pipe them through the Pipeline content provider.
@@ -481,6 +778,10 @@ public class NavigatorContentServiceContentProvider implements ITreeContentProvi
 	 */
 	@Override
 	public void dispose() {
+		cancelChildrenJobs();
+		if (viewer instanceof AbstractTreeViewer) {
+			((AbstractTreeViewer) viewer).removeTreeListener(collapseListener);
+		}
 		if (disposeContentService) {
 			contentService.dispose();
 		}
@@ -42,6 +42,7 @@ import org.eclipse.ui.internal.navigator.extensions.NavigatorContentExtension;
 import org.eclipse.ui.navigator.CommonViewer;
 import org.eclipse.ui.navigator.ICommonLabelProvider;
 import org.eclipse.ui.navigator.INavigatorContentService;
+import org.eclipse.ui.progress.PendingUpdateAdapter;
 
 /**
  * <p>
@@ -132,6 +133,8 @@ public class NavigatorContentServiceLabelProvider extends EventManager
 
 	@Override
 	public String getColumnText(Object anElement, int aColumn) {
+		if (anElement instanceof PendingUpdateAdapter)
+			return anElement.toString();
 		ILabelProvider[] labelProviders = contentService.findRelevantLabelProviders(anElement);
 		if (labelProviders.length == 0)
 			return NLS.bind(CommonNavigatorMessages.NavigatorContentServiceLabelProvider_Error_no_label_provider_for_0_, makeSmallString(anElement));
@@ -149,6 +152,8 @@ public class NavigatorContentServiceLabelProvider extends EventManager
 
 	@Override
 	public StyledString getStyledText(Object anElement) {
+		if (anElement instanceof PendingUpdateAdapter)
+			return new StyledString(anElement.toString());
 		Collection extensions = contentService.findPossibleLabelExtensions(anElement);
 		if (extensions.isEmpty())
 			return new StyledString(NLS.bind(CommonNavigatorMessages.NavigatorContentServiceLabelProvider_Error_no_label_provider_for_0_, makeSmallString(anElement)));
@@ -362,6 +367,10 @@ public class NavigatorContentServiceLabelProvider extends EventManager
 
 	@Override
 	public void updateLabel(ViewerLabel label, TreePath elementPath) {
+		if (elementPath.getLastSegment() instanceof PendingUpdateAdapter) {
+			label.setText(elementPath.getLastSegment().toString());
+			return;
+		}
 
 		Collection contentExtensions = contentService.findPossibleLabelExtensions(elementPath.getLastSegment());
 		reusableLabel.reset(label);
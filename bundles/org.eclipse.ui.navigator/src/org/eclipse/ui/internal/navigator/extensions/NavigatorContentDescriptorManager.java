@@ -50,9 +50,7 @@ public class NavigatorContentDescriptorManager {
 
 	private final Map<String, NavigatorContentDescriptor> allDescriptors = new HashMap<>();
 
-	private final Map<VisibilityAssistant, EvaluationCache> cachedTriggerPointEvaluations = new WeakHashMap<>();
-
-	private final Map<VisibilityAssistant, EvaluationCache> cachedPossibleChildrenEvaluations = new WeakHashMap<>();
+	private final Map<VisibilityAssistant, EvaluationCache> cachedEvaluations = new WeakHashMap<>();
 
 	private ImageRegistry imageRegistry;
 
@@ -126,7 +124,7 @@ public class NavigatorContentDescriptorManager {
 	 */
 	public Set<NavigatorContentDescriptor> findDescriptorsForTriggerPoint(Object anElement,
 			VisibilityAssistant aVisibilityAssistant, boolean considerOverrides) {
-		return findDescriptors(anElement, cachedTriggerPointEvaluations, aVisibilityAssistant, considerOverrides, !POSSIBLE_CHILD);
+		return findDescriptors(anElement, aVisibilityAssistant, considerOverrides, !POSSIBLE_CHILD);
 	}
 
 
@@ -144,19 +142,18 @@ public class NavigatorContentDescriptorManager {
 	 */
 	public Set<NavigatorContentDescriptor> findDescriptorsForPossibleChild(Object anElement,
 			VisibilityAssistant aVisibilityAssistant, boolean toComputeOverrides) {
-		return findDescriptors(anElement, cachedPossibleChildrenEvaluations, aVisibilityAssistant, toComputeOverrides, POSSIBLE_CHILD);
+		return findDescriptors(anElement, aVisibilityAssistant, toComputeOverrides, POSSIBLE_CHILD);
 	}
 
 	private static final boolean POSSIBLE_CHILD = true;
 
 	private Set<NavigatorContentDescriptor> findDescriptors(Object anElement,
-			Map<VisibilityAssistant, EvaluationCache> cachedEvaluations,
 			VisibilityAssistant aVisibilityAssistant, boolean considerOverrides, boolean possibleChild) {
-		EvaluationCache cache = getEvaluationCache(cachedEvaluations, aVisibilityAssistant);
+		EvaluationCache cache = getEvaluationCache(aVisibilityAssistant);
 		Set<NavigatorContentDescriptor> descriptors = new TreeSet<>(ExtensionSequenceNumberComparator.INSTANCE);
 
 		NavigatorContentDescriptor[] cachedDescriptors = null;
-		if ((cachedDescriptors = cache.getDescriptors(anElement, considerOverrides)) != null) {
+		if ((cachedDescriptors = cache.getDescriptors(anElement, considerOverrides, possibleChild)) != null) {
 			descriptors.addAll(Arrays.asList(cachedDescriptors));
 			if (Policy.DEBUG_RESOLUTION) {
 				System.out.println("Find descriptors for : " + Policy.getObjectString(anElement) + //$NON-NLS-1$
@@ -181,18 +178,28 @@ public class NavigatorContentDescriptorManager {
 			System.out.println("Find descriptors for: " + Policy.getObjectString(anElement) + //$NON-NLS-1$
 					(considerOverrides ? " (with overrides)" : "") + ": " + descriptors); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 		}
-		cache.setDescriptors(anElement, descriptors.toArray(new NavigatorContentDescriptor[descriptors.size()]), considerOverrides);
+		cache.setDescriptors(anElement, descriptors.toArray(new NavigatorContentDescriptor[descriptors.size()]), considerOverrides,
+				possibleChild);
 
 		return descriptors;
 	}
 
-	private EvaluationCache getEvaluationCache(Map<VisibilityAssistant, EvaluationCache> anEvaluationMap,
-			VisibilityAssistant aVisibilityAssistant) {
-		EvaluationCache c = anEvaluationMap.get(aVisibilityAssistant);
-		if (c == null) {
-			anEvaluationMap.put(aVisibilityAssistant, c = new EvaluationCache(aVisibilityAssistant));
+	/**
+	 * Returns the cache of the trigger point and possible child evaluations for
+	 * the given assistant.
+	 *
+	 * @param aVisibilityAssistant
+	 *            the assistant the evaluations depend on
+	 * @return the evaluation cache, never <code>null</code>
+	 */
+	public EvaluationCache getEvaluationCache(VisibilityAssistant aVisibilityAssistant) {
+		synchronized (cachedEvaluations) {
+			EvaluationCache c = cachedEvaluations.get(aVisibilityAssistant);
+			if (c == null) {
+				cachedEvaluations.put(aVisibilityAssistant, c = new EvaluationCache(aVisibilityAssistant));
+			}
+			return c;
 		}
-		return c;
 	}
 
 	private boolean addDescriptorsConsideringOverrides(Object anElement,
@@ -300,11 +307,10 @@ public class NavigatorContentDescriptorManager {
 	 * Clears all cached information.
 	 */
 	public void clearCache() {
-		for (EvaluationCache cache : cachedPossibleChildrenEvaluations.values()) {
-			cache.clear();
-		}
-		for (EvaluationCache cache : cachedTriggerPointEvaluations.values()) {
-			cache.clear();
+		synchronized (cachedEvaluations) {
+			for (EvaluationCache cache : cachedEvaluations.values()) {
+				cache.clear();
+			}
 		}
 	}
 
@@ -42,6 +42,14 @@ public final class NavigatorViewerDescriptor implements
 	 */
 	public static final String PROP_ENFORCE_HAS_CHILDREN = "org.eclipse.ui.navigator.enforceHasChildren"; //$NON-NLS-1$
 
+	/**
+	 * {@value} (boolean): True indicates the first class content extensions are
+	 * asked for children concurrently, so their content providers must be
+	 * thread safe and must not wait for the UI thread (defaults to
+	 * <b>false</b>).
+	 */
+	public static final String PROP_PARALLEL_CONTENT_EXTENSIONS = "org.eclipse.ui.navigator.parallelContentExtensions"; //$NON-NLS-1$
+
 	static final String TAG_INCLUDES = "includes"; //$NON-NLS-1$
 
 	static final String TAG_EXCLUDES = "excludes"; //$NON-NLS-1$
@@ -642,12 +642,17 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 				IHashFunction hash= new DJBHashFunction();
 				DocumentEquivalenceClass leftEquivalent= new DocumentEquivalenceClass(reference, hash);
 				fLeftEquivalent= leftEquivalent;
-				IRangeComparator ref= new DocEquivalenceComparator(leftEquivalent, null);
 
 				DocumentEquivalenceClass rightEquivalent= new DocumentEquivalenceClass(actual, hash);
 				fRightEquivalent= rightEquivalent;
-				IRangeComparator act= new DocEquivalenceComparator(rightEquivalent, null);
-				ArrayList<QuickDiffRangeDifference> diffs= asQuickDiffRangeDifference(RangeDifferencer.findRanges(fRangeDiffFactory, monitor, ref, act));
+
+				// both documents are private copies at this point, so they can be hashed up front
+				leftEquivalent.computeHashes();
+				rightEquivalent.computeHashes();
+				if (isCanceled(monitor))
+					return Status.CANCEL_STATUS;
+
+				ArrayList<QuickDiffRangeDifference> diffs= findRanges(monitor, leftEquivalent, rightEquivalent);
 				// 7:	Reset the model to the just gotten differences
 				// 		re-inject stored events to get up to date.
 				synchronized (DocumentLineDiffer.this) {
@@ -1142,6 +1147,64 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 		fLastDifference= null;
 	}
 
+	/**
+	 * Computes the differences between two complete documents. Identical lines at the start and
+	 * the end of the documents are matched up front, so the range differencer only has to compare
+	 * the lines in between, which usually is a small window.
+	 * <p>
+	 * Both equivalence classes must have their hashes computed. Public for testing only.
+	 * </p>
+	 *
+	 * @param monitor the progress monitor, may be <code>null</code>
+	 * @param left the equivalence class of the left document
+	 * @param right the equivalence class of the right document
+	 * @return the differences covering both documents
+	 */
+	public ArrayList<QuickDiffRangeDifference> findRanges(IProgressMonitor monitor, DocumentEquivalenceClass left, DocumentEquivalenceClass right) {
+		int leftCount= left.getCount();
+		int rightCount= right.getCount();
+		int min= Math.min(leftCount, rightCount);
+
+		int prefix= 0;
+		while (prefix < min && left.getHash(prefix).equals(right.getHash(prefix)))
+			prefix++;
+		int suffix= 0;
+		while (suffix < min - prefix && left.getHash(leftCount - suffix - 1).equals(right.getHash(rightCount - suffix - 1)))
+			suffix++;
+
+		ArrayList<QuickDiffRangeDifference> diffs;
+		int leftLength= leftCount - prefix - suffix;
+		int rightLength= rightCount - prefix - suffix;
+		if (leftLength == 0 && rightLength == 0) {
+			diffs= new ArrayList<>();
+		} else {
+			IRangeComparator ref= new DocEquivalenceComparator(left, new LineRange(prefix, leftLength));
+			IRangeComparator act= new DocEquivalenceComparator(right, new LineRange(prefix, rightLength));
+			diffs= asQuickDiffRangeDifference(RangeDifferencer.findRanges(fRangeDiffFactory, monitor, ref, act));
+			for (QuickDiffRangeDifference d : diffs) {
+				d.shiftLeft(prefix);
+				d.shiftRight(prefix);
+			}
+		}
+
+		if (prefix > 0) {
+			if (!diffs.isEmpty() && diffs.get(0).kind() == RangeDifference.NOCHANGE)
+				diffs.get(0).extendStart(-prefix);
+			else
+				diffs.add(0, new QuickDiffRangeDifference(RangeDifference.NOCHANGE, 0, prefix, 0, prefix));
+		}
+
+		if (suffix > 0) {
+			QuickDiffRangeDifference last= diffs.isEmpty() ? null : diffs.get(diffs.size() - 1);
+			if (last != null && last.kind() == RangeDifference.NOCHANGE)
+				last.extendEnd(suffix);
+			else
+				diffs.add(new QuickDiffRangeDifference(RangeDifference.NOCHANGE, rightCount - suffix, suffix, leftCount - suffix, suffix));
+		}
+
+		return diffs;
+	}
+
 	/**
 	 * Converts a {@code RangeDifference[]} into an {@code ArrayList<QuickDiffRangeDifference>}.
 	 * This is unsafe in general, but OK if used carefully.
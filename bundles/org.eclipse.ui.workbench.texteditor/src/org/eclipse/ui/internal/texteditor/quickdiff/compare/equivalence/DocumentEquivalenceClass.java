@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
+import java.util.stream.IntStream;
 
 import org.eclipse.core.runtime.Assert;
 
@@ -32,6 +33,11 @@ public final class DocumentEquivalenceClass {
 
 	private static final boolean DEBUG= false;
 
+	/**
+	 * The number of lines from which on {@link #computeHashes()} hashes the lines in parallel.
+	 */
+	private static final int PARALLEL_THRESHOLD= 10000;
+
 	private final ArrayList<Hash> fHashes;
 	private IDocument fDocument;
 	private final IHashFunction fHashFunction;
@@ -119,6 +125,47 @@ public final class DocumentEquivalenceClass {
 		Collections.fill(fHashes.subList(firstLine, firstLine + changed), null);
 	}
 
+	/**
+	 * Computes the hashes of all lines that have not been computed yet. Large documents are
+	 * hashed in parallel, which requires the hash function to be stateless. The document must
+	 * not be modified while this method runs, which is the case for the private copies used
+	 * during initialization.
+	 *
+	 * @throws ConcurrentModificationException if the document is modified concurrently to this
+	 *             method call
+	 * @since 3.17
+	 */
+	public void computeHashes() {
+		int count= getCount();
+		if (count < PARALLEL_THRESHOLD || fDocument == null) {
+			for (int line= 0; line < count; line++)
+				getHash(line);
+			return;
+		}
+
+		// line information is read sequentially, only the hashing is done in parallel
+		String contents= fDocument.get();
+		int[] offsets= new int[count];
+		int[] lengths= new int[count];
+		try {
+			for (int line= 0; line < count; line++) {
+				IRegion lineRegion= fDocument.getLineInformation(line);
+				offsets[line]= lineRegion.getOffset();
+				lengths[line]= lineRegion.getLength();
+			}
+		} catch (BadLocationException x) {
+			throw new ConcurrentModificationException();
+		}
+
+		Hash[] hashes= fHashes.toArray(new Hash[count]);
+		IntStream.range(0, count).parallel().forEach(line -> {
+			if (hashes[line] == null)
+				hashes[line]= fHashFunction.computeHash(contents.substring(offsets[line], offsets[line] + lengths[line]));
+		});
+		for (int line= 0; line < count; line++)
+			fHashes.set(line, hashes[line]);
+	}
+
 	/**
 	 * @return the number of items
 	 */
@@ -30,6 +30,7 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -38,6 +39,7 @@ import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.eclipse.core.commands.AbstractHandler;
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.IHandler;
@@ -123,6 +125,8 @@ import org.eclipse.ui.internal.IWorkbenchGraphicConstants;
 import org.eclipse.ui.internal.WorkbenchImages;
 import org.eclipse.ui.internal.WorkbenchMessages;
 import org.eclipse.ui.internal.WorkbenchPlugin;
+import org.eclipse.ui.internal.dialogs.IConcurrentItemsFilter;
+import org.eclipse.ui.internal.dialogs.TopItemsSelector;
 import org.eclipse.ui.progress.UIJob;
 import org.eclipse.ui.statushandlers.StatusManager;
 
@@ -225,6 +229,23 @@ public abstract class FilteredItemsSelectionDialog extends SelectionStatusDialog
 
 	private static final String EMPTY_STRING = ""; //$NON-NLS-1$
 
+	/**
+	 * Minimum number of cached items to match in parallel, below that the
+	 * overhead of splitting the work outweighs the gain.
+	 */
+	private static final int PARALLEL_FILTERING_THRESHOLD = 10000;
+
+	/**
+	 * Minimum number of matching items for which the first page is sorted and
+	 * shown before all items are sorted.
+	 */
+	private static final int FIRST_PAGE_THRESHOLD = 10000;
+
+	/**
+	 * Number of items shown before all items are sorted.
+	 */
+	private static final int FIRST_PAGE_SIZE = 200;
+
 	private boolean refreshWithLastSelection = false;
 
 	private IHandlerActivation showViewHandler;
@@ -1394,6 +1415,10 @@ public abstract class FilteredItemsSelectionDialog extends SelectionStatusDialog
 			}
 
 			if (FilteredItemsSelectionDialog.this != null) {
+				// sorting many items takes a while, show the first ones early
+				if (contentProvider.reloadFirstPage(monitor) && !monitor.isCanceled()) {
+					refreshJob.schedule();
+				}
 				GranualProgressMonitor wrappedMonitor = new GranualProgressMonitor(monitor);
 				FilteredItemsSelectionDialog.this.reloadCache(true, wrappedMonitor);
 			}
@@ -1928,6 +1953,12 @@ public abstract class FilteredItemsSelectionDialog extends SelectionStatusDialog
 
 			if (lastCompletedFilter != null && lastCompletedFilter.isSubFilter(this.itemsFilter)) {
 
+				if (itemsFilter instanceof IConcurrentItemsFilter
+						&& lastCompletedResult.size() >= PARALLEL_FILTERING_THRESHOLD) {
+					filterCachedContentInParallel(monitor);
+					return;
+				}
+
 				int length = lastCompletedResult.size() / 500;
 				monitor.beginTask(WorkbenchMessages.FilteredItemsSelectionDialog_cacheSearchJob_taskName, length);
 
@@ -1962,6 +1993,26 @@ public abstract class FilteredItemsSelectionDialog extends SelectionStatusDialog
 
 		}
 
+		/**
+		 * Matches the result of the last completed filter against the current
+		 * filter on several threads. Only called for filters that are marked as
+		 * {@link IConcurrentItemsFilter}.
+		 *
+		 * @param monitor for monitoring progress
+		 */
+		private void filterCachedContentInParallel(GranualProgressMonitor monitor) {
+			Object[] cachedItems = lastCompletedResult.toArray();
+			monitor.beginTask(WorkbenchMessages.FilteredItemsSelectionDialog_cacheSearchJob_taskName, 1);
+			ItemsFilter currentFilter = itemsFilter;
+			List<Object> matchingItems = Arrays.stream(cachedItems).parallel()
+					.filter(item -> !monitor.isCanceled() && currentFilter.matchItem(item))
+					.collect(Collectors.toList());
+			if (!monitor.isCanceled()) {
+				contentProvider.addAll(matchingItems, currentFilter);
+				monitor.worked(1);
+			}
+		}
+
 	}
 
 	/**
@@ -2434,6 +2485,18 @@ public abstract class FilteredItemsSelectionDialog extends SelectionStatusDialog
 			}
 		}
 
+		/**
+		 * Adds items that have already been matched against the given filter.
+		 *
+		 * @param matchingItems the items to add
+		 * @param itemsFilter   the filter the items were matched against
+		 */
+		public void addAll(Collection<Object> matchingItems, ItemsFilter itemsFilter) {
+			if (itemsFilter == filter) {
+				this.items.addAll(matchingItems);
+			}
+		}
+
 		/**
 		 * Add all history items to <code>contentProvider</code>.
 		 *
@@ -2655,6 +2718,35 @@ public abstract class FilteredItemsSelectionDialog extends SelectionStatusDialog
 			}
 		}
 
+		/**
+		 * Prepares the first page of the filtered items when there are many items,
+		 * so it can be shown before all items are sorted by
+		 * {@link #reloadCache(boolean, IProgressMonitor)}. The first page is
+		 * selected without sorting all items, and is replaced once all items are
+		 * sorted.
+		 *
+		 * @param monitor progress monitor, only used for cancellation
+		 * @return <code>true</code> if a first page has been prepared,
+		 *         <code>false</code> if there are not enough items or the
+		 *         preparation was canceled
+		 */
+		public boolean reloadFirstPage(IProgressMonitor monitor) {
+			reset = false;
+			currentlyCompletingFilter = filter;
+
+			Object[] allItems = items.toArray();
+			if (allItems.length < FIRST_PAGE_THRESHOLD || lastSortedItems.size() == allItems.length) {
+				// few items, or sorted already
+				return false;
+			}
+			Object[] firstItems = TopItemsSelector.selectFirst(allItems, FIRST_PAGE_SIZE, getHistoryComparator());
+			if (reset || monitor.isCanceled()) {
+				return false;
+			}
+			lastFilteredItems = Arrays.asList(getFilteredItems(tableViewer.getInput(), firstItems, null));
+			return !reset && !monitor.isCanceled();
+		}
+
 		private void checkDuplicates(IProgressMonitor monitor) {
 			synchronized (lastFilteredItems) {
 				SubMonitor subMonitor = SubMonitor.convert(monitor,
@@ -2690,6 +2782,20 @@ public abstract class FilteredItemsSelectionDialog extends SelectionStatusDialog
 		 * @return an array of filtered items
 		 */
 		protected Object[] getFilteredItems(Object parent, IProgressMonitor monitor) {
+			return getFilteredItems(parent, null, monitor);
+		}
+
+		/**
+		 * Returns an array of the given sorted items filtered using the provided
+		 * <code>ViewerFilter</code>s with a separator added.
+		 *
+		 * @param parent      the parent
+		 * @param sortedItems the sorted items to filter, or <code>null</code> to
+		 *                    filter all items
+		 * @param monitor     progress monitor, can be <code>null</code>
+		 * @return an array of filtered items
+		 */
+		private Object[] getFilteredItems(Object parent, Object[] sortedItems, IProgressMonitor monitor) {
 			int ticks = 100;
 			if (monitor == null) {
 				monitor = new NullProgressMonitor();
@@ -2704,7 +2810,7 @@ public abstract class FilteredItemsSelectionDialog extends SelectionStatusDialog
 			}
 
 			// get already sorted array
-			Object[] filteredElements = getSortedItems();
+			Object[] filteredElements = sortedItems != null ? sortedItems : getSortedItems();
 
 			monitor.worked(ticks);
 
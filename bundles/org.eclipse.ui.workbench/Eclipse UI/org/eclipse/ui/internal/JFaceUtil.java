@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2021 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,17 +14,22 @@
 
 package org.eclipse.ui.internal;
 
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences.NodeChangeEvent;
 import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.jface.internal.ImageDataCache;
 import org.eclipse.jface.internal.InternalPolicy;
 import org.eclipse.jface.preference.JFacePreferences;
 import org.eclipse.jface.util.Policy;
 import org.eclipse.jface.util.SafeRunnable;
 import org.eclipse.jface.util.StatusHandler;
+import org.eclipse.osgi.service.datalocation.Location;
 import org.eclipse.ui.statushandlers.IStatusAdapterConstants;
 import org.eclipse.ui.statushandlers.StatusAdapter;
 import org.eclipse.ui.statushandlers.StatusManager;
@@ -36,6 +41,12 @@ import org.eclipse.ui.statushandlers.StatusManager;
  */
 final class JFaceUtil {
 
+	/**
+	 * The system property enabling the cache of decoded images in the
+	 * configuration area.
+	 */
+	private static final String IMAGE_DATA_CACHE = "org.eclipse.jface.imageDataCache"; //$NON-NLS-1$
+
 	private JFaceUtil() {
 		// prevents instantiation
 	}
@@ -92,6 +103,39 @@ final class JFaceUtil {
 			InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_2x_PNG_FOR_GIF = "true".equalsIgnoreCase( //$NON-NLS-1$
 					Platform.getDebugOption(Policy.JFACE + "/debug/loadURLImageDescriptor2xPngForGif")); //$NON-NLS-1$
 		}
+
+		initializeImageDataCache();
+	}
+
+	/**
+	 * Caches the decoded images of the image descriptors in the configuration
+	 * area, if enabled by the system property.
+	 */
+	private static void initializeImageDataCache() {
+		if (!Boolean.getBoolean(IMAGE_DATA_CACHE)) {
+			return;
+		}
+		Location location = Platform.getConfigurationLocation();
+		if (location == null || location.isReadOnly()) {
+			return;
+		}
+		try {
+			URL url = location.getDataArea(Policy.JFACE + "/imageData.cache"); //$NON-NLS-1$
+			ImageDataCache.setDefault(new ImageDataCache(new File(url.getFile()).toPath()));
+		} catch (IOException e) {
+			WorkbenchPlugin.log("Could not open the image data cache", e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Writes the cache of decoded images, if any.
+	 */
+	public static void closeImageDataCache() {
+		ImageDataCache cache = ImageDataCache.getDefault();
+		if (cache != null) {
+			ImageDataCache.setDefault(null);
+			cache.close();
+		}
 	}
 
 	/**
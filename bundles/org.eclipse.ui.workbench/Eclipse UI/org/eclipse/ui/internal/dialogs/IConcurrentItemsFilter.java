@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.dialogs;
+
+import org.eclipse.ui.dialogs.FilteredItemsSelectionDialog;
+
+/**
+ * Marks a {@link FilteredItemsSelectionDialog} items filter whose
+ * <code>matchItem(Object)</code> may be called from several threads at the
+ * same time. Large results of a previous filter are narrowed down to the items
+ * matching such a filter in parallel.
+ * <p>
+ * Only final filter classes whose matching code is known should implement this
+ * interface, since subclasses may override the matching with code that is not
+ * thread safe.
+ * </p>
+ */
+public interface IConcurrentItemsFilter {
+	// marker interface
+}
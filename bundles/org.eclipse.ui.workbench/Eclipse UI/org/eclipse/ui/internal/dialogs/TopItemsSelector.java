@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.dialogs;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Selects the first items of a large array in sort order without sorting the
+ * whole array. Selecting the first <code>k</code> of <code>n</code> items takes
+ * <code>O(n log k)</code> comparisons, and usually close to <code>n</code>,
+ * since most items are larger than all items selected so far.
+ */
+public final class TopItemsSelector {
+
+	private TopItemsSelector() {
+		// not instantiated
+	}
+
+	/**
+	 * Returns the first items of the given array in the order of the given
+	 * comparator.
+	 *
+	 * @param items      the items to select from, not modified
+	 * @param count      the maximum number of items to return
+	 * @param comparator the sort order
+	 * @return the first <code>count</code> items in sort order, or all items
+	 *         sorted if there are not more than <code>count</code>
+	 */
+	public static Object[] selectFirst(Object[] items, int count, Comparator<Object> comparator) {
+		if (count <= 0) {
+			return new Object[0];
+		}
+		if (items.length <= count) {
+			Object[] result = items.clone();
+			Arrays.sort(result, comparator);
+			return result;
+		}
+		// the largest of the items selected so far is at the head, and is
+		// replaced by every smaller item
+		PriorityQueue<Object> selected = new PriorityQueue<>(count + 1, comparator.reversed());
+		for (Object item : items) {
+			if (selected.size() < count) {
+				selected.add(item);
+			} else if (comparator.compare(item, selected.peek()) < 0) {
+				selected.poll();
+				selected.add(item);
+			}
+		}
+		Object[] result = selected.toArray();
+		Arrays.sort(result, comparator);
+		return result;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,14 +32,19 @@ import java.text.Collator;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.function.Predicate;
 import org.eclipse.core.commands.common.EventManager;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtension;
@@ -69,6 +74,7 @@ import org.eclipse.ui.ISharedImages;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.WorkbenchException;
 import org.eclipse.ui.XMLMemento;
+import org.eclipse.ui.activities.IWorkbenchActivitySupport;
 import org.eclipse.ui.activities.WorkbenchActivityHelper;
 import org.eclipse.ui.internal.IPreferenceConstants;
 import org.eclipse.ui.internal.IWorkbenchConstants;
@@ -126,6 +132,22 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
 
 	}
 
+	/**
+	 * The editors and image resolved for a file name or extension, each computed
+	 * when first asked for.
+	 */
+	private static final class FileNameLookup {
+		final String key;
+		volatile IEditorDescriptor[] editors;
+		volatile IEditorDescriptor defaultEditor;
+		volatile boolean defaultEditorResolved;
+		volatile ImageDescriptor image;
+
+		FileNameLookup(String key) {
+			this.key = key;
+		}
+	}
+
 	private Map<IContentType, IEditorDescriptor[]> contentTypeToEditorMappingsFromPlugins = new HashMap<>();
 	private Map<IContentType, LinkedHashSet<IEditorDescriptor>> contentTypeToEditorMappingsFromUser = new HashMap<>();
 
@@ -136,6 +158,48 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
 	 */
 	private Map<Object, ImageDescriptor> extensionImages = new HashMap<>();
 
+	/**
+	 * The upper bound of the number of keys in {@link #fileNameLookups}, the
+	 * least recently used key is dropped when it is exceeded.
+	 */
+	private static final int MAX_FILE_NAME_LOOKUPS = 1000;
+
+	/**
+	 * Index of the editors and images resolved for a file name, so that label
+	 * providers of large file trees do not resolve the content type and walk the
+	 * content type hierarchy for every element. File names are indexed by their
+	 * extension unless a mapping or content type is bound to the whole name, see
+	 * {@link #getFileNameLookupKey(String)}.
+	 * <p>
+	 * Like the rest of the registry, the index is read in the UI thread. It is
+	 * synchronized since the content type and activity listeners clearing it may
+	 * be notified in other threads. It is cleared whenever the mappings, the
+	 * content types or the enabled activities change.
+	 * </p>
+	 */
+	private final Map<String, FileNameLookup> fileNameLookups = Collections
+			.synchronizedMap(new LinkedHashMap<String, FileNameLookup>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Entry<String, FileNameLookup> eldest) {
+					return size() > MAX_FILE_NAME_LOOKUPS;
+				}
+			});
+
+	/**
+	 * Tests whether a mapping or content type is bound to a whole file name, or
+	 * <code>null</code> if not computed since {@link #fileNameLookups} was last
+	 * cleared.
+	 */
+	private volatile Predicate<String> boundFileNames;
+
+	/**
+	 * The number of times {@link #fileNameLookups} was cleared, so that file
+	 * names collected while it is cleared are not kept.
+	 */
+	private volatile int fileNameLookupsCleared;
+
 	/**
 	 * Vector of EditorDescriptor - all the editors loaded from plugin files. The
 	 * list is kept in order to be able to show in the editor selection dialog of
@@ -194,7 +258,96 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
 				contentTypeToEditorMappingsFromUser.remove(event.getContentType());
 				saveAssociations();
 			}
+			clearFileNameLookups();
 		});
+		IWorkbenchActivitySupport activitySupport = PlatformUI.getWorkbench().getActivitySupport();
+		if (activitySupport != null) {
+			activitySupport.getActivityManager().addActivityManagerListener(event -> {
+				if (event.haveEnabledActivityIdsChanged()) {
+					clearFileNameLookups();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Returns the index entry of a file name, creating it if needed.
+	 *
+	 * @param filename the file name
+	 * @return the index entry
+	 */
+	private FileNameLookup getFileNameLookup(String filename) {
+		return fileNameLookups.computeIfAbsent(getFileNameLookupKey(filename), FileNameLookup::new);
+	}
+
+	/**
+	 * Returns the key of a file name in the index. The editors and image of a
+	 * file name only depend on its extension, unless a mapping or content type is
+	 * bound to the whole name, so the names sharing an extension share their
+	 * entry.
+	 *
+	 * @param filename the file name
+	 * @return the extension prefixed with <code>"*"</code>, or the whole name if
+	 *         it has no extension or is bound
+	 */
+	private String getFileNameLookupKey(String filename) {
+		int index = filename.lastIndexOf('.');
+		if (index == -1) {
+			return filename;
+		}
+		Predicate<String> bound = boundFileNames;
+		if (bound == null) {
+			int cleared = fileNameLookupsCleared;
+			bound = findBoundFileNames();
+			synchronized (fileNameLookups) {
+				if (cleared == fileNameLookupsCleared) {
+					boundFileNames = bound;
+				}
+			}
+		}
+		return bound.test(mappingKeyFor(filename)) ? filename : "*" + filename.substring(index); //$NON-NLS-1$
+	}
+
+	/**
+	 * Collects the file names bound by the mappings and content types. Any file
+	 * name may be bound if a content type declares a file pattern.
+	 */
+	private Predicate<String> findBoundFileNames() {
+		Set<String> names = new HashSet<>();
+		for (FileEditorMapping mapping : typeEditorMappings.allMappings()) {
+			if (!"*".equals(mapping.getName())) { //$NON-NLS-1$
+				names.add(mappingKeyFor(mapping));
+			}
+		}
+		for (IContentType type : contentTypeManager.getAllContentTypes()) {
+			if (type.getFileSpecs(IContentType.FILE_PATTERN_SPEC).length > 0) {
+				return name -> true;
+			}
+			for (String name : type.getFileSpecs(IContentType.FILE_NAME_SPEC)) {
+				names.add(mappingKeyFor(name));
+			}
+		}
+		return names::contains;
+	}
+
+	/**
+	 * Returns whether a value computed for an index entry may be kept, that is,
+	 * the index was not cleared and the entry not dropped while computing it.
+	 */
+	private boolean isCurrent(FileNameLookup lookup) {
+		return fileNameLookups.get(lookup.key) == lookup;
+	}
+
+	/**
+	 * Clears the index of file names, must be called after every change of the
+	 * mappings.
+	 */
+	private void clearFileNameLookups() {
+		synchronized (fileNameLookups) {
+			fileNameLookupsCleared++;
+			boundFileNames = null;
+			fileNameLookups.clear();
+		}
 	}
 
 	/**
@@ -271,6 +424,7 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
 
 		// Update editor map.
 		mapIDtoInternalEditor.put(editor.getId(), editor);
+		clearFileNameLookups();
 	}
 
 	public void addContentTypeBindingFromPlugin(IContentType contentType, IEditorDescriptor editor, boolean bDefault) {
@@ -289,6 +443,7 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
 			}
 			contentTypeToEditorMappingsFromPlugins.put(contentType, newArray);
 		}
+		clearFileNameLookups();
 	}
 
 	/**
@@ -381,6 +536,22 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
 
 	@Override
 	public IEditorDescriptor getDefaultEditor(String filename) {
+		if (filename == null) {
+			return findDefaultEditor(filename);
+		}
+		FileNameLookup lookup = getFileNameLookup(filename);
+		if (lookup.defaultEditorResolved) {
+			return lookup.defaultEditor;
+		}
+		IEditorDescriptor defaultEditor = findDefaultEditor(filename);
+		if (isCurrent(lookup)) {
+			lookup.defaultEditor = defaultEditor;
+			lookup.defaultEditorResolved = true;
+		}
+		return defaultEditor;
+	}
+
+	private IEditorDescriptor findDefaultEditor(String filename) {
 		IEditorDescriptor defaultEditor = getDefaultEditor(filename, guessAtContentType(filename));
 		if (defaultEditor != null) {
 			return defaultEditor;
@@ -419,7 +590,18 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
 
 	@Override
 	public IEditorDescriptor[] getEditors(String filename) {
-		return getEditors(filename, guessAtContentType(filename));
+		if (filename == null) {
+			return getEditors(filename, guessAtContentType(filename));
+		}
+		FileNameLookup lookup = getFileNameLookup(filename);
+		IEditorDescriptor[] editors = lookup.editors;
+		if (editors == null) {
+			editors = getEditors(filename, guessAtContentType(filename));
+			if (isCurrent(lookup)) {
+				lookup.editors = editors;
+			}
+		}
+		return editors.clone();
 	}
 
 	@Override
@@ -436,7 +618,18 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
 
 	@Override
 	public ImageDescriptor getImageDescriptor(String filename) {
-		return getImageDescriptor(filename, guessAtContentType(filename));
+		if (filename == null) {
+			return getDefaultImage();
+		}
+		FileNameLookup lookup = getFileNameLookup(filename);
+		ImageDescriptor image = lookup.image;
+		if (image == null) {
+			image = getImageDescriptor(filename, guessAtContentType(filename));
+			if (isCurrent(lookup)) {
+				lookup.image = image;
+			}
+		}
+		return image;
 	}
 
 	/**
@@ -1062,6 +1255,7 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
 		}
 		extensionImages = new HashMap<>();
 		rebuildEditorMap();
+		clearFileNameLookups();
 		firePropertyChange(PROP_CONTENTS);
 	}
 
@@ -1079,6 +1273,7 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
 		if (mapping[1] != null) {
 			mapping[1].setDefaultEditor(desc);
 		}
+		clearFileNameLookups();
 	}
 
 	/**
@@ -1250,6 +1445,7 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
 			}
 
 		}
+		clearFileNameLookups();
 	}
 
 	/**
@@ -1362,7 +1558,9 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
 					return anImage;
 				}
 				anImage = desc.getImageDescriptor();
-				extensionImages.put(desc, anImage);
+				if (anImage != null) {
+					extensionImages.put(desc, anImage);
+				}
 				return anImage;
 			}
 		}
@@ -1387,7 +1585,9 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
 				IEditorDescriptor editor = mapping[i].getDefaultEditor();
 				if (editor != null) {
 					mappingImage = editor.getImageDescriptor();
-					extensionImages.put(mappingKey, mappingImage);
+					if (mappingImage != null) {
+						extensionImages.put(mappingKey, mappingImage);
+					}
 					return mappingImage;
 				}
 			}
@@ -1603,6 +1803,7 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
 		if (this.contentTypeToEditorMappingsFromUser.containsKey(contentType)) {
 			this.contentTypeToEditorMappingsFromUser.get(contentType).remove(editor);
 		}
+		clearFileNameLookups();
 		saveAssociations();
 	}
 
@@ -1614,6 +1815,7 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
 			mapIDtoInternalEditor.put(selectedEditor.getId(), selectedEditor);
 		}
 		this.contentTypeToEditorMappingsFromUser.get(contentType).add(selectedEditor);
+		clearFileNameLookups();
 		saveAssociations();
 	}
 
@@ -14,6 +14,7 @@
 
 package org.eclipse.ui.internal.services;
 
+import java.util.Map;
 import org.eclipse.core.expressions.EvaluationResult;
 import org.eclipse.core.expressions.Expression;
 import org.eclipse.core.expressions.IEvaluationContext;
@@ -42,6 +43,10 @@ public class EvaluationReference extends RunAndTrack implements IEvaluationRefer
 	boolean participating = true;
 	boolean postingChanges = true;
 	boolean hasRun = false;
+	/**
+	 * The service this reference is registered with, or <code>null</code>.
+	 */
+	EvaluationService service;
 	static LogThrottle logThrottle = new LogThrottle(THROTTLE_MAX, THROTTLE_VALUE);
 
 	public EvaluationReference(IEclipseContext context, Expression expression, IPropertyChangeListener listener,
@@ -72,20 +77,56 @@ public class EvaluationReference extends RunAndTrack implements IEvaluationRefer
 		if (expression == null) {
 			cache = true;
 		} else {
-			try {
-				cache = expression.evaluate(context) != EvaluationResult.FALSE;
-			} catch (CoreException e) {
-				String message = "Failed to evaluate: " + expression; //$NON-NLS-1$
-				boolean logged = logThrottle.error(message, e);
-				if (!logged && Policy.DEBUG_CMDS) {
-					Activator.trace(Policy.DEBUG_CMDS_FLAG, message, e);
-				}
+			Boolean result = evaluateExpression(context);
+			if (result == null) {
 				return false;
 			}
+			cache = result.booleanValue();
 		}
 		return cache;
 	}
 
+	/**
+	 * @return the result of the expression, or <code>null</code> if it failed
+	 */
+	private Boolean evaluateExpression(IEvaluationContext context) {
+		try {
+			return Boolean.valueOf(expression.evaluate(context) != EvaluationResult.FALSE);
+		} catch (CoreException e) {
+			String message = "Failed to evaluate: " + expression; //$NON-NLS-1$
+			boolean logged = logThrottle.error(message, e);
+			if (!logged && Policy.DEBUG_CMDS) {
+				Activator.trace(Policy.DEBUG_CMDS_FLAG, message, e);
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Evaluates the expression in the context of this reference. While the
+	 * service requests the evaluation of a property, the results are shared
+	 * between references with equal expressions. This is never the case in a
+	 * {@link #changed(IEclipseContext)} run, which has to read the variables
+	 * of the expression to keep tracking them.
+	 */
+	private void evaluateInContext(boolean shareResult) {
+		Map<Expression, Boolean> results = service == null || !shareResult ? null
+				: service.getSharedResults(context);
+		if (results == null || expression == null) {
+			evaluate(new ExpressionContext(context));
+			return;
+		}
+		Boolean result = results.get(expression);
+		if (result == null) {
+			result = evaluateExpression(new ExpressionContext(context));
+			if (result == null) {
+				return;
+			}
+			results.put(expression, result);
+		}
+		cache = result.booleanValue();
+	}
+
 	@Override
 	public void setResult(boolean result) {
 		cache = result;
@@ -97,13 +138,17 @@ public class EvaluationReference extends RunAndTrack implements IEvaluationRefer
 			return false;
 		}
 
-		evaluate();
+		evaluate(false);
 		return participating;
 	}
 
 	public void evaluate() {
+		evaluate(true);
+	}
+
+	private void evaluate(boolean shareResult) {
 		boolean value = cache;
-		evaluate(new ExpressionContext(context));
+		evaluateInContext(shareResult);
 		if (!postingChanges) {
 			return;
 		}
@@ -18,11 +18,13 @@ package org.eclipse.ui.internal.services;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import org.eclipse.core.expressions.Expression;
 import org.eclipse.core.expressions.ExpressionInfo;
 import org.eclipse.core.expressions.IEvaluationContext;
@@ -61,7 +63,18 @@ public final class EvaluationService implements IEvaluationService {
 
 	private ListenerList<IPropertyChangeListener> serviceListeners = new ListenerList<>(ListenerList.IDENTITY);
 	ArrayList<ISourceProvider> sourceProviders = new ArrayList<>();
-	LinkedList<EvaluationReference> refs = new LinkedList<>();
+	LinkedHashSet<EvaluationReference> refs = new LinkedHashSet<>();
+	/**
+	 * The references by the names of the variables and properties their
+	 * expressions access.
+	 */
+	private HashMap<String, Set<EvaluationReference>> refsByName = new HashMap<>();
+	/**
+	 * The results of the expressions evaluated in the rat context during the
+	 * current shared evaluation, or <code>null</code> outside of one.
+	 */
+	private HashMap<Expression, Boolean> sharedResults;
+	private int sharedEvaluations = 0;
 	private ISourceProviderListener contextUpdater;
 
 	private HashSet<String> ratVariables = new HashSet<>();
@@ -72,9 +85,17 @@ public final class EvaluationService implements IEvaluationService {
 			String[] vars = ratVariables.toArray(new String[ratVariables.size()]);
 			for (String var : vars) {
 				Object value = context.getActive(var);
+				// The references re-run as RunAndTrack while the rat context changes.
+				// Their results are not shared then, since a reference that skipped
+				// its evaluation would not read any variables and lose its
+				// dependencies.
 				if (value == null) {
-					ratContext.remove(var);
-				} else {
+					if (ratContext.getLocal(var) != null) {
+						invalidateSharedResults();
+						ratContext.remove(var);
+					}
+				} else if (ratContext.getLocal(var) != value) {
+					invalidateSharedResults();
 					ratContext.set(var, value);
 				}
 			}
@@ -190,8 +211,10 @@ public final class EvaluationService implements IEvaluationService {
 	public void dispose() {
 		for (EvaluationReference ref : refs) {
 			invalidate(ref, false);
+			ref.service = null;
 		}
 		refs.clear();
+		refsByName.clear();
 		serviceListeners.clear();
 	}
 
@@ -217,6 +240,7 @@ public final class EvaluationService implements IEvaluationService {
 	public void addEvaluationReference(IEvaluationReference ref) {
 		EvaluationReference eref = (EvaluationReference) ref;
 		refs.add(eref);
+		eref.service = this;
 		boolean changed = false;
 		if (eref.getExpression() != null) {
 			ExpressionInfo info = new ExpressionInfo();
@@ -225,6 +249,10 @@ public final class EvaluationService implements IEvaluationService {
 				if (ratVariables.add(varName)) {
 					changed = true;
 				}
+				refsByName.computeIfAbsent(varName, k -> new LinkedHashSet<>()).add(eref);
+			}
+			for (String propertyName : info.getAccessedPropertyNames()) {
+				refsByName.computeIfAbsent(propertyName, k -> new LinkedHashSet<>()).add(eref);
 			}
 
 			if (info.hasDefaultVariableAccess() && ratVariables.add(IServiceConstants.ACTIVE_SELECTION)) {
@@ -239,10 +267,17 @@ public final class EvaluationService implements IEvaluationService {
 	}
 
 	private void invalidate(IEvaluationReference ref, boolean remove) {
+		EvaluationReference eref = (EvaluationReference) ref;
 		if (remove) {
-			refs.remove(ref);
+			refs.remove(eref);
+			eref.service = null;
+			for (Iterator<Set<EvaluationReference>> i = refsByName.values().iterator(); i.hasNext();) {
+				Set<EvaluationReference> namedRefs = i.next();
+				if (namedRefs.remove(eref) && namedRefs.isEmpty()) {
+					i.remove();
+				}
+			}
 		}
-		EvaluationReference eref = (EvaluationReference) ref;
 		eref.participating = false;
 		eref.evaluate();
 		eref.hasRun = false;
@@ -267,35 +302,62 @@ public final class EvaluationService implements IEvaluationService {
 		context.set(pokeVar, "link"); //$NON-NLS-1$
 
 		startSourceChange();
-		for (EvaluationReference ref : refs) {
-			Expression expr = ref.getExpression();
-			if (expr != null) {
-				boolean evaluated = false;
-				ExpressionInfo info = expr.computeExpressionInfo();
-				String[] names = info.getAccessedPropertyNames();
-				for (String name : names) {
-					if (propertyName.equals(name)) {
-						evaluated = true;
-						ref.evaluate();
-						break;
-					}
-				}
-				if (!evaluated) {
-					names = info.getAccessedVariableNames();
-					for (String name : names) {
-						if (propertyName.equals(name)) {
-							evaluated = true;
-							ref.evaluate();
-							break;
-						}
-					}
+		Set<EvaluationReference> namedRefs = refsByName.get(propertyName);
+		if (namedRefs != null) {
+			startSharedEvaluation();
+			try {
+				for (EvaluationReference ref : namedRefs.toArray(new EvaluationReference[namedRefs.size()])) {
+					ref.evaluate();
 				}
+			} finally {
+				endSharedEvaluation();
 			}
 		}
 		endSourceChange();
 		eventBroker.send(UIEvents.REQUEST_ENABLEMENT_UPDATE_TOPIC, UIEvents.ALL_ELEMENT_ID);
 	}
 
+	/**
+	 * Starts a shared evaluation of references outside of their RunAndTrack.
+	 * Until it ends, the references evaluated in the rat context share the
+	 * results of equal expressions.
+	 */
+	private void startSharedEvaluation() {
+		sharedEvaluations++;
+		if (sharedResults == null) {
+			sharedResults = new HashMap<>();
+		} else {
+			// a nested request invalidates the results of the enclosing one
+			sharedResults.clear();
+		}
+	}
+
+	/**
+	 * Drops the shared results, since the rat context is about to change.
+	 */
+	private void invalidateSharedResults() {
+		if (sharedResults != null) {
+			sharedResults.clear();
+		}
+	}
+
+	private void endSharedEvaluation() {
+		sharedEvaluations--;
+		if (sharedEvaluations == 0) {
+			sharedResults = null;
+		} else {
+			sharedResults.clear();
+		}
+	}
+
+	/**
+	 * Returns the results shared by the references evaluated in the given
+	 * context, or <code>null</code> if the results must not be shared.
+	 */
+	Map<Expression, Boolean> getSharedResults(IEclipseContext context) {
+		return context == ratContext ? sharedResults : null;
+	}
+
 	private void startSourceChange() {
 		notifying++;
 		if (notifying == 1) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,8 +19,11 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -32,6 +35,9 @@ import org.eclipse.core.filesystem.IFileStore;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -39,6 +45,8 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
 
 import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.IFileBuffer;
+import org.eclipse.core.filebuffers.IFileBufferListenerExtension;
 import org.eclipse.core.filebuffers.ITextFileBuffer;
 import org.eclipse.core.filebuffers.ITextFileBufferManager;
 import org.eclipse.core.filebuffers.LocationKind;
@@ -604,4 +612,159 @@ public class FileBufferCreation {
 		manager.disconnectFileStore(fileStore, null);
 		assertNull(manager.getFileStoreTextFileBuffer(fileStore));
 	}
+
+	/*
+	 * Tests the creation of file buffers for several files at once.
+	 */
+	@Test
+	public void test8() throws Exception {
+		IFolder folder= ResourceHelper.createFolder("project/folderA/");
+		IPath[] paths= new IPath[20];
+		for (int i= 0; i < paths.length; i++)
+			paths[i]= ResourceHelper.createFile(folder, "file" + i, CONTENT1 + i).getFullPath();
+
+		List<IFileBuffer[]> created= new ArrayList<>();
+		List<IFileBuffer[]> disposed= new ArrayList<>();
+		class BatchListener extends FileBufferListener implements IFileBufferListenerExtension {
+			@Override
+			public void bufferCreated(IFileBuffer[] buffers) {
+				created.add(buffers);
+			}
+
+			@Override
+			public void bufferDisposed(IFileBuffer[] buffers) {
+				disposed.add(buffers);
+			}
+		}
+		BatchListener listener= new BatchListener();
+
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		manager.connect(paths[0], LocationKind.NORMALIZE, null);
+		manager.addFileBufferListener(listener);
+		try {
+			manager.connect(paths, LocationKind.NORMALIZE, null);
+			assertEquals(1, created.size());
+			assertEquals(paths.length - 1, created.get(0).length);
+			for (int i= 0; i < paths.length; i++) {
+				ITextFileBuffer buffer= manager.getTextFileBuffer(paths[i], LocationKind.NORMALIZE);
+				assertNotNull(buffer);
+				assertEquals(CONTENT1 + i, buffer.getDocument().get());
+			}
+
+			manager.disconnect(paths, LocationKind.NORMALIZE, null);
+			assertEquals(1, disposed.size());
+			assertEquals(paths.length - 1, disposed.get(0).length);
+			assertNotNull(manager.getTextFileBuffer(paths[0], LocationKind.NORMALIZE));
+			for (int i= 1; i < paths.length; i++)
+				assertNull(manager.getTextFileBuffer(paths[i], LocationKind.NORMALIZE));
+		} finally {
+			manager.removeFileBufferListener(listener);
+			manager.disconnect(paths[0], LocationKind.NORMALIZE, null);
+		}
+		assertNull(manager.getTextFileBuffer(paths[0], LocationKind.NORMALIZE));
+	}
+
+	/*
+	 * Tests that connecting several files at once is rolled back when a file
+	 * buffer cannot be created.
+	 */
+	@Test
+	public void test9() throws Exception {
+		IFolder folder= ResourceHelper.createFolder("project/folderA/");
+		IPath[] paths= new IPath[21];
+		for (int i= 0; i < paths.length - 1; i++)
+			paths[i]= ResourceHelper.createFile(folder, "file" + i, CONTENT1 + i).getFullPath();
+		// a workspace file needs at least two segments
+		paths[paths.length - 1]= IPath.fromOSString("/project");
+
+		List<IFileBuffer> created= new ArrayList<>();
+		FileBufferListener listener= new FileBufferListener() {
+			@Override
+			public void bufferCreated(IFileBuffer buffer) {
+				created.add(buffer);
+			}
+		};
+
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		manager.connect(paths[0], LocationKind.IFILE, null);
+		manager.addFileBufferListener(listener);
+		try {
+			manager.connect(paths, LocationKind.IFILE, null);
+			fail("connecting should fail");
+		} catch (CoreException e) {
+			assertFalse(e.getStatus().isOK());
+		} finally {
+			manager.removeFileBufferListener(listener);
+		}
+		assertTrue(created.isEmpty());
+		for (int i= 1; i < paths.length; i++)
+			assertNull(manager.getTextFileBuffer(paths[i], LocationKind.IFILE));
+		// the existing buffer keeps its own connection only
+		assertNotNull(manager.getTextFileBuffer(paths[0], LocationKind.IFILE));
+		manager.disconnect(paths[0], LocationKind.IFILE, null);
+		assertNull(manager.getTextFileBuffer(paths[0], LocationKind.IFILE));
+	}
+
+	/*
+	 * Tests that connecting several files at once is rolled back when
+	 * canceled, also while file buffers are being created.
+	 */
+	@Test
+	public void test10() throws Exception {
+		IFolder folder= ResourceHelper.createFolder("project/folderA/");
+		IPath[] paths= new IPath[100];
+		for (int i= 0; i < paths.length; i++)
+			paths[i]= ResourceHelper.createFile(folder, "file" + i, CONTENT1 + i).getFullPath();
+
+		List<IFileBuffer> created= new ArrayList<>();
+		List<IFileBuffer> disposed= new ArrayList<>();
+		FileBufferListener listener= new FileBufferListener() {
+			@Override
+			public void bufferCreated(IFileBuffer buffer) {
+				created.add(buffer);
+			}
+
+			@Override
+			public void bufferDisposed(IFileBuffer buffer) {
+				disposed.add(buffer);
+			}
+		};
+		// cancels once the first file is connected
+		IProgressMonitor monitor= new NullProgressMonitor() {
+			@Override
+			public void worked(int work) {
+				setCanceled(true);
+			}
+
+			@Override
+			public void internalWorked(double work) {
+				setCanceled(true);
+			}
+		};
+
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		manager.connect(paths[0], LocationKind.NORMALIZE, null);
+		manager.addFileBufferListener(listener);
+		try {
+			manager.connect(paths, LocationKind.NORMALIZE, monitor);
+			fail("connecting should be canceled");
+		} catch (OperationCanceledException e) {
+			// expected
+		} finally {
+			manager.removeFileBufferListener(listener);
+		}
+		assertTrue(created.isEmpty());
+		assertTrue(disposed.isEmpty());
+		for (int i= 1; i < paths.length; i++)
+			assertNull(manager.getTextFileBuffer(paths[i], LocationKind.NORMALIZE));
+		assertNotNull(manager.getTextFileBuffer(paths[0], LocationKind.NORMALIZE));
+		manager.disconnect(paths[0], LocationKind.NORMALIZE, null);
+		assertNull(manager.getTextFileBuffer(paths[0], LocationKind.NORMALIZE));
+
+		// nothing is left behind that would keep the files from being connected again
+		manager.connect(paths, LocationKind.NORMALIZE, null);
+		for (int i= 0; i < paths.length; i++)
+			assertEquals(CONTENT1 + i, manager.getTextFileBuffer(paths[i], LocationKind.NORMALIZE).getDocument().get());
+		manager.disconnect(paths, LocationKind.NORMALIZE, null);
+	}
 }
@@ -23,6 +23,8 @@ import static org.junit.Assert.assertTrue;
 import jakarta.inject.Inject;
 import java.util.Arrays;
 import java.util.List;
+import org.eclipse.e4.core.di.annotations.CanExecute;
+import org.eclipse.e4.core.services.events.IEventBroker;
 import org.eclipse.e4.ui.model.application.MApplication;
 import org.eclipse.e4.ui.model.application.ui.basic.MTrimBar;
 import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
@@ -30,11 +32,13 @@ import org.eclipse.e4.ui.model.application.ui.menu.MDirectToolItem;
 import org.eclipse.e4.ui.model.application.ui.menu.MToolBar;
 import org.eclipse.e4.ui.model.application.ui.menu.MToolItem;
 import org.eclipse.e4.ui.tests.rules.WorkbenchContextRule;
+import org.eclipse.e4.ui.workbench.UIEvents;
 import org.eclipse.e4.ui.workbench.modeling.EModelService;
 import org.eclipse.emf.common.util.ECollections;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.ActionContributionItem;
 import org.eclipse.jface.action.ToolBarManager;
+import org.eclipse.swt.widgets.Display;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -50,6 +54,9 @@ public class ToolBarManagerRendererTest {
 	@Inject
 	private MApplication application;
 
+	@Inject
+	private IEventBroker broker;
+
 	private MToolBar toolBar;
 	private MTrimmedWindow window;
 
@@ -436,6 +443,89 @@ public class ToolBarManagerRendererTest {
 		assertEquals(2, toolBar.getChildren().size());
 	}
 
+	@Test
+	public void testEnablementUpdateById() {
+		CountingHandler handler = new CountingHandler();
+		MDirectToolItem toolItem = ems.createModelElement(MDirectToolItem.class);
+		toolItem.setElementId("Item1");
+		toolItem.setObject(handler);
+		toolBar.getChildren().add(toolItem);
+		contextRule.createAndRunWorkbench(window);
+		waitForEnablementUpdate();
+		handler.canExecuteCount = 0;
+
+		broker.send(UIEvents.REQUEST_ENABLEMENT_UPDATE_TOPIC, "Item1");
+		waitForEnablementUpdate();
+		assertEquals(1, handler.canExecuteCount);
+
+		broker.send(UIEvents.REQUEST_ENABLEMENT_UPDATE_TOPIC, "Other");
+		waitForEnablementUpdate();
+		assertEquals(1, handler.canExecuteCount);
+
+		// ids that are not strings are not matched against the element id
+		broker.send(UIEvents.REQUEST_ENABLEMENT_UPDATE_TOPIC, new StringBuilder("Item1"));
+		waitForEnablementUpdate();
+		assertEquals(1, handler.canExecuteCount);
+	}
+
+	@Test
+	public void testEnablementUpdateAfterIdChange() {
+		CountingHandler handler = new CountingHandler();
+		MDirectToolItem toolItem = ems.createModelElement(MDirectToolItem.class);
+		toolItem.setElementId("Item1");
+		toolItem.setObject(handler);
+		toolBar.getChildren().add(toolItem);
+		contextRule.createAndRunWorkbench(window);
+		waitForEnablementUpdate();
+		handler.canExecuteCount = 0;
+
+		toolItem.setElementId("Item2");
+		broker.send(UIEvents.REQUEST_ENABLEMENT_UPDATE_TOPIC, "Item1");
+		waitForEnablementUpdate();
+		assertEquals(0, handler.canExecuteCount);
+
+		broker.send(UIEvents.REQUEST_ENABLEMENT_UPDATE_TOPIC, "Item2");
+		waitForEnablementUpdate();
+		assertEquals(1, handler.canExecuteCount);
+	}
+
+	@Test
+	public void testEnablementUpdateOfAllItemsIsCoalesced() {
+		CountingHandler handler = new CountingHandler();
+		MDirectToolItem toolItem = ems.createModelElement(MDirectToolItem.class);
+		toolItem.setElementId("Item1");
+		toolItem.setObject(handler);
+		toolBar.getChildren().add(toolItem);
+		contextRule.createAndRunWorkbench(window);
+		waitForEnablementUpdate();
+		handler.canExecuteCount = 0;
+
+		broker.send(UIEvents.REQUEST_ENABLEMENT_UPDATE_TOPIC, UIEvents.ALL_ELEMENT_ID);
+		broker.send(UIEvents.REQUEST_ENABLEMENT_UPDATE_TOPIC, "Item1");
+		broker.send(UIEvents.REQUEST_ENABLEMENT_UPDATE_TOPIC, UIEvents.ALL_ELEMENT_ID);
+		waitForEnablementUpdate();
+		assertEquals(1, handler.canExecuteCount);
+	}
+
+	/**
+	 * Runs the event loop long enough for the queued enablement updates to be
+	 * done.
+	 */
+	private void waitForEnablementUpdate() {
+		Display display = Display.getDefault();
+		long end = System.currentTimeMillis() + 500;
+		while (System.currentTimeMillis() < end) {
+			if (!display.readAndDispatch()) {
+				try {
+					Thread.sleep(10);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
 	private ToolBarManagerRenderer getToolBarManagerRenderer() {
 		Object renderer = toolBar.getRenderer();
 		assertEquals(ToolBarManagerRenderer.class, renderer.getClass());
@@ -447,6 +537,16 @@ public class ToolBarManagerRendererTest {
 	}
 
 
+	public static class CountingHandler {
+		int canExecuteCount;
+
+		@CanExecute
+		public boolean canExecute() {
+			canExecuteCount++;
+			return true;
+		}
+	}
+
 	static private class TestActionContributionItem extends ActionContributionItem {
 		private boolean disposed = false;
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2008 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,7 +19,9 @@ import static org.junit.Assert.assertEquals;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import org.eclipse.core.databinding.observable.Diffs;
 import org.eclipse.core.databinding.observable.list.ListDiff;
@@ -268,6 +270,57 @@ public class Diffs_ListDiffTests {
 		checkComputedListDiff(List.of("a", "b", "c"), List.of("c", "a", "b"));
 	}
 
+	@Test
+	public void testComputeListDiff_LargeShuffle() {
+		List<Object> oldList = createLargeList();
+		List<Object> newList = new ArrayList<>(oldList);
+		Collections.shuffle(newList, new Random(0));
+		checkComputedListDiff(oldList, newList);
+		checkComputedListDiff(newList, oldList);
+	}
+
+	@Test
+	public void testComputeListDiff_LargeReverse() {
+		List<Object> oldList = createLargeList();
+		List<Object> newList = new ArrayList<>(oldList);
+		Collections.reverse(newList);
+		checkComputedListDiff(oldList, newList);
+	}
+
+	@Test
+	public void testComputeListDiff_LargeMove() {
+		List<Object> oldList = createLargeList();
+		List<Object> newList = new ArrayList<>(oldList);
+		newList.add(newList.remove(0));
+		checkComputedListDiff(oldList, newList);
+		assertEquals(2, Diffs.computeListDiff(oldList, newList).getDifferences().length);
+
+		newList = new ArrayList<>(oldList);
+		newList.add(0, newList.remove(newList.size() - 1));
+		checkComputedListDiff(oldList, newList);
+		assertEquals(2, Diffs.computeListDiff(oldList, newList).getDifferences().length);
+	}
+
+	@Test
+	public void testComputeListDiff_LargeWithDuplicates() {
+		Random random = new Random(0);
+		List<Object> oldList = new ArrayList<>();
+		List<Object> newList = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			oldList.add(random.nextInt(10) == 0 ? null : "" + random.nextInt(100));
+			newList.add(random.nextInt(10) == 0 ? null : "" + random.nextInt(100));
+		}
+		checkComputedListDiff(oldList, newList);
+	}
+
+	private static List<Object> createLargeList() {
+		List<Object> list = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			list.add("element" + i);
+		}
+		return list;
+	}
+
 	private static void checkComputedListDiff(List<Object> oldList, List<Object> newList) {
 		ListDiff<?> diff = Diffs.computeListDiff(oldList, newList);
 
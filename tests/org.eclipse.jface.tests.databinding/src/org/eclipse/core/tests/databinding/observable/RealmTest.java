@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 Brad Reynolds and others.
+ * Copyright (c) 2006, 2026 Brad Reynolds and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,8 +15,23 @@
 package org.eclipse.core.tests.databinding.observable;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.list.ListDiff;
+import org.eclipse.core.databinding.observable.list.WritableList;
+import org.eclipse.core.databinding.observable.map.MapDiff;
+import org.eclipse.core.databinding.observable.map.WritableMap;
+import org.eclipse.core.databinding.observable.set.SetDiff;
+import org.eclipse.core.databinding.observable.set.WritableSet;
+import org.eclipse.core.databinding.observable.value.ValueDiff;
+import org.eclipse.core.databinding.observable.value.WritableValue;
 import org.eclipse.jface.databinding.conformance.util.CurrentRealm;
 import org.eclipse.jface.databinding.conformance.util.RealmTester;
 import org.junit.Test;
@@ -35,4 +50,151 @@ public class RealmTest {
 
 		assertEquals("old realm should have been restored", oldRealm, Realm.getDefault());
 	}
+
+	@Test
+	public void testRunBatch_List() {
+		Realm realm = new CurrentRealm(true);
+		WritableList<String> list = new WritableList<>(realm);
+		list.add("a");
+		List<ListDiff<? extends String>> diffs = new ArrayList<>();
+		list.addListChangeListener(event -> diffs.add(event.diff));
+
+		realm.runBatch(() -> {
+			assertTrue(realm.isBatching());
+			list.add("b");
+			list.add(0, "c");
+			list.remove("a");
+			assertTrue(diffs.isEmpty());
+		});
+
+		assertFalse(realm.isBatching());
+		assertEquals(1, diffs.size());
+		List<String> applied = new ArrayList<>(List.of("a"));
+		diffs.get(0).applyTo(applied);
+		assertEquals(List.of("c", "b"), applied);
+	}
+
+	@Test
+	public void testRunBatch_Set() {
+		Realm realm = new CurrentRealm(true);
+		WritableSet<String> set = new WritableSet<>(realm);
+		set.add("a");
+		List<SetDiff<? extends String>> diffs = new ArrayList<>();
+		set.addSetChangeListener(event -> diffs.add(event.diff));
+
+		realm.runBatch(() -> {
+			set.add("b");
+			set.remove("a");
+			set.add("c");
+			set.remove("c");
+		});
+
+		assertEquals(1, diffs.size());
+		assertEquals(Set.of("b"), diffs.get(0).getAdditions());
+		assertEquals(Set.of("a"), diffs.get(0).getRemovals());
+	}
+
+	@Test
+	public void testRunBatch_Map() {
+		Realm realm = new CurrentRealm(true);
+		WritableMap<String, String> map = new WritableMap<>(realm);
+		map.put("a", "1");
+		map.put("b", "2");
+		List<MapDiff<? extends String, ? extends String>> diffs = new ArrayList<>();
+		map.addMapChangeListener(event -> diffs.add(event.diff));
+
+		realm.runBatch(() -> {
+			map.put("a", "3");
+			map.put("a", "4");
+			map.remove("b");
+			map.put("c", "5");
+			map.put("c", "6");
+		});
+
+		assertEquals(1, diffs.size());
+		MapDiff<? extends String, ? extends String> diff = diffs.get(0);
+		assertEquals(Set.of("c"), diff.getAddedKeys());
+		assertEquals(Set.of("b"), diff.getRemovedKeys());
+		assertEquals(Set.of("a"), diff.getChangedKeys());
+		assertEquals("1", diff.getOldValue("a"));
+		assertEquals("4", diff.getNewValue("a"));
+		assertEquals("2", diff.getOldValue("b"));
+		assertEquals("6", diff.getNewValue("c"));
+	}
+
+	@Test
+	public void testRunBatch_Nested() {
+		Realm realm = new CurrentRealm(true);
+		WritableValue<String> value = new WritableValue<>(realm, "a", String.class);
+		List<ValueDiff<? extends String>> diffs = new ArrayList<>();
+		value.addValueChangeListener(event -> diffs.add(event.diff));
+
+		realm.runBatch(() -> {
+			value.setValue("b");
+			realm.runBatch(() -> value.setValue("c"));
+			assertTrue(diffs.isEmpty());
+		});
+
+		assertEquals(1, diffs.size());
+		assertEquals("a", diffs.get(0).getOldValue());
+		assertEquals("c", diffs.get(0).getNewValue());
+	}
+
+	@Test
+	public void testRunBatch_ValueSetBack() {
+		Realm realm = new CurrentRealm(true);
+		WritableValue<String> value = new WritableValue<>(realm, "a", String.class);
+		List<ValueDiff<? extends String>> diffs = new ArrayList<>();
+		value.addValueChangeListener(event -> diffs.add(event.diff));
+
+		realm.runBatch(() -> {
+			value.setValue("b");
+			value.setValue("a");
+		});
+
+		assertTrue(diffs.isEmpty());
+	}
+
+	@Test
+	public void testRunBatch_MapChangesUndone() {
+		Realm realm = new CurrentRealm(true);
+		WritableMap<String, String> map = new WritableMap<>(realm);
+		map.put("a", "1");
+		List<MapDiff<? extends String, ? extends String>> diffs = new ArrayList<>();
+		map.addMapChangeListener(event -> diffs.add(event.diff));
+
+		realm.runBatch(() -> {
+			map.put("a", "2");
+			map.put("a", "1");
+			map.put("b", "3");
+			map.remove("b");
+		});
+
+		assertTrue(diffs.isEmpty());
+	}
+
+	@Test
+	public void testRunBatch_OverriddenFireMethod() {
+		Realm realm = new CurrentRealm(true);
+		AtomicInteger overrideCalls = new AtomicInteger();
+		WritableValue<String> value = new WritableValue<>(realm, "a", String.class) {
+			@Override
+			protected void fireValueChange(ValueDiff<String> diff) {
+				overrideCalls.incrementAndGet();
+				super.fireValueChange(diff);
+			}
+		};
+		List<ValueDiff<? extends String>> diffs = new ArrayList<>();
+		value.addValueChangeListener(event -> diffs.add(event.diff));
+
+		realm.runBatch(() -> {
+			value.setValue("b");
+			value.setValue("c");
+		});
+
+		assertEquals("override runs once per change only", 2, overrideCalls.get());
+		assertEquals(1, diffs.size());
+		assertEquals("a", diffs.get(0).getOldValue());
+		assertEquals("c", diffs.get(0).getNewValue());
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2007 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,6 +26,8 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
+import org.eclipse.core.databinding.observable.list.ComputedList;
+import org.eclipse.core.databinding.observable.list.IObservableList;
 import org.eclipse.core.databinding.observable.value.ComputedValue;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
 import org.eclipse.core.databinding.observable.value.WritableValue;
@@ -158,4 +160,78 @@ public class ComputedValueTest extends AbstractDefaultRealmTestCase {
 
 		assertThrows(UnsupportedOperationException.class, () -> cv.setValue(new Object()));
 	}
+
+	@Test
+	public void testDiamondDependency_NoGlitches() throws Exception {
+		WritableValue<Integer> source = new WritableValue<>(1, Integer.TYPE);
+		int[] computations = new int[3];
+		IObservableValue<Integer> plusOne = ComputedValue.create(() -> {
+			computations[0]++;
+			return source.getValue() + 1;
+		});
+		IObservableValue<Integer> timesTwo = ComputedValue.create(() -> {
+			computations[1]++;
+			return source.getValue() * 2;
+		});
+		IObservableValue<Integer> sum = ComputedValue.create(() -> {
+			computations[2]++;
+			return plusOne.getValue() + timesTwo.getValue();
+		});
+		List<Integer> sums = new ArrayList<>();
+		sum.addValueChangeListener(event -> sums.add(event.diff.getNewValue()));
+		// the listener of the source is notified after the computed values
+		// have been marked dirty
+		source.addValueChangeListener(event -> sums.add(sum.getValue()));
+		assertEquals(Integer.valueOf(4), sum.getValue());
+		computations[0] = computations[1] = computations[2] = 0;
+
+		source.setValue(2);
+
+		// never the sum of the new plusOne and the old timesTwo
+		assertEquals(List.of(7, 7), sums);
+		assertEquals(1, computations[0]);
+		assertEquals(1, computations[1]);
+		assertEquals(1, computations[2]);
+	}
+
+	@Test
+	public void testListenersNotifiedInTopologicalOrder() throws Exception {
+		WritableValue<Integer> source = new WritableValue<>(1, Integer.TYPE);
+		IObservableValue<Integer> first = ComputedValue.create(source::getValue);
+		IObservableValue<Integer> second = ComputedValue.create(() -> first.getValue() + source.getValue());
+		IObservableList<Integer> third = ComputedList.create(() -> List.of(second.getValue(), first.getValue()));
+		List<String> notified = new ArrayList<>();
+		third.addListChangeListener(event -> notified.add("third"));
+		second.addValueChangeListener(event -> notified.add("second"));
+		first.addValueChangeListener(event -> notified.add("first"));
+		assertEquals(List.of(2, 1), third);
+
+		source.setValue(2);
+
+		assertEquals(List.of("first", "second", "third"), notified);
+		assertEquals(List.of(4, 2), third);
+	}
+
+	@Test
+	public void testDependenciesKeptWhileListening() throws Exception {
+		WritableValueExt<Integer> value1 = new WritableValueExt<>(Integer.TYPE, Integer.valueOf(1));
+		WritableValueExt<Integer> value2 = new WritableValueExt<>(Integer.TYPE, Integer.valueOf(1));
+		IObservableValue<Integer> cv = ComputedValue.create(() -> {
+			int result = value1.getValue();
+			return result > 1 ? result : result + value2.getValue();
+		});
+		cv.addValueChangeListener(event -> {
+		});
+		assertTrue(value1.hasListeners());
+		assertTrue(value2.hasListeners());
+
+		value1.setValue(Integer.valueOf(2));
+		// still listening while dirty
+		assertTrue(value1.hasListeners());
+		assertTrue(value2.hasListeners());
+
+		assertEquals(Integer.valueOf(2), cv.getValue());
+		assertTrue(value1.hasListeners());
+		assertFalse("value2 is no longer a dependency", value2.hasListeners());
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 Matthew Hall and others.
+ * Copyright (c) 2009, 2026 Matthew Hall and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,8 @@
 package org.eclipse.core.tests.internal.databinding.beans;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
 import java.beans.PropertyDescriptor;
 
@@ -26,6 +28,22 @@ import org.junit.Test;
  * @since 3.2
  */
 public class BeanPropertyHelperTest {
+	public static class PrimitiveBean {
+		private long count;
+
+		public long getCount() {
+			return count;
+		}
+
+		public void setCount(long count) {
+			this.count = count;
+		}
+
+		public String getFailing() {
+			throw new IllegalStateException("failing");
+		}
+	}
+
 	@Test
 	public void testGetPropertyDescriptor_ClassProperty()
 			throws SecurityException, NoSuchMethodException {
@@ -53,4 +71,40 @@ public class BeanPropertyHelperTest {
 		assertEquals(IBean.class.getMethod("setValue", String.class), pd.getWriteMethod());
 	}
 
+	@Test
+	public void testReadAndWriteProperty() {
+		Bean bean = new Bean("a");
+		PropertyDescriptor pd = BeanPropertyHelper.getPropertyDescriptor(Bean.class, "value");
+		assertEquals("a", BeanPropertyHelper.readProperty(bean, pd));
+		BeanPropertyHelper.writeProperty(bean, pd, "b");
+		assertEquals("b", bean.getValue());
+	}
+
+	@Test
+	public void testGetPropertyDescriptor_Cached() {
+		assertSame(BeanPropertyHelper.getPropertyDescriptor(Bean.class, "value"),
+				BeanPropertyHelper.getPropertyDescriptor(Bean.class, "value"));
+	}
+
+	@Test
+	public void testReadAndWritePrimitiveProperty() {
+		PrimitiveBean bean = new PrimitiveBean();
+		PropertyDescriptor pd = BeanPropertyHelper.getPropertyDescriptor(PrimitiveBean.class, "count");
+		BeanPropertyHelper.writeProperty(bean, pd, Long.valueOf(2));
+		assertEquals(Long.valueOf(2), BeanPropertyHelper.readProperty(bean, pd));
+		// widening conversion, as done by reflection
+		BeanPropertyHelper.writeProperty(bean, pd, Integer.valueOf(3));
+		assertEquals(3, bean.getCount());
+	}
+
+	@Test
+	public void testReadProperty_ExceptionIsWrapped() {
+		PropertyDescriptor pd = BeanPropertyHelper.getPropertyDescriptor(PrimitiveBean.class, "failing");
+		try {
+			BeanPropertyHelper.readProperty(new PrimitiveBean(), pd);
+			fail();
+		} catch (RuntimeException e) {
+			assertEquals(IllegalStateException.class, e.getCause().getClass());
+		}
+	}
 }
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.jface.tests.images;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jface.resource.ColorDescriptor;
+import org.eclipse.jface.resource.ConcurrentResourceManager;
+import org.eclipse.jface.resource.DeviceResourceException;
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.resource.ResourceLocator;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.widgets.Display;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrentResourceManagerTest {
+
+	private Display display;
+	private ConcurrentResourceManager manager;
+
+	private static ImageDescriptor getImage(String path) {
+		return ResourceLocator.imageDescriptorFromBundle("org.eclipse.jface.tests", path).orElse(null);
+	}
+
+	@Before
+	public void setUp() {
+		display = Display.getCurrent();
+		manager = new ConcurrentResourceManager(display);
+	}
+
+	@After
+	public void tearDown() {
+		manager.dispose();
+		assertEquals(0, manager.getResourceCount());
+	}
+
+	private void waitFor(Future<?> future) {
+		while (!future.isDone()) {
+			if (!display.readAndDispatch()) {
+				display.sleep();
+			}
+		}
+	}
+
+	@Test
+	public void testCreateInBackground() throws Exception {
+		ColorDescriptor descriptor = ColorDescriptor.createFrom(new RGB(10, 40, 20));
+		CompletableFuture<Color> background = CompletableFuture.supplyAsync(() -> manager.create(descriptor));
+		waitFor(background);
+		Color color = background.get();
+
+		assertSame(color, manager.create(descriptor));
+		assertEquals(1, manager.getResourceCount());
+		assertEquals(2, manager.getReferenceCount());
+
+		manager.destroy(descriptor);
+		assertSame(color, manager.find(descriptor));
+		manager.destroy(descriptor);
+		assertEquals(0, manager.getResourceCount());
+		assertNull(manager.find(descriptor));
+	}
+
+	@Test
+	public void testCreateImageAsync() throws Exception {
+		ImageDescriptor descriptor = getImage("icons/anything.gif");
+		CompletableFuture<Image> future = manager.createImageAsync(descriptor);
+		waitFor(future);
+		Image image = future.get();
+
+		assertFalse(image.isDisposed());
+		assertSame(image, manager.find(descriptor));
+		assertSame(image, manager.createImage(descriptor));
+		assertSame(image, manager.createImageAsync(descriptor).get());
+		assertEquals(1, manager.getResourceCount());
+		assertEquals(3, manager.getReferenceCount());
+
+		manager.destroy(descriptor);
+		manager.destroy(descriptor);
+		manager.destroy(descriptor);
+		assertTrue(image.isDisposed());
+		assertEquals(0, manager.getReferenceCount());
+	}
+
+	@Test
+	public void testCreateImageAsyncFailure() throws Exception {
+		ImageDescriptor descriptor = new ImageDescriptor() {
+			@Override
+			public ImageData getImageData(int zoom) {
+				throw new SWTException(SWT.ERROR_IO);
+			}
+		};
+		CompletableFuture<Image> future = manager.createImageAsync(descriptor);
+		try {
+			// a failure completes the future without the user-interface thread
+			future.get(10, TimeUnit.SECONDS);
+			fail("The image is created");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof DeviceResourceException);
+			assertTrue(e.getCause().getCause() instanceof SWTException);
+		}
+		assertEquals(0, manager.getReferenceCount());
+	}
+
+	@Test
+	public void testCreateImageAsyncDestroyed() {
+		ImageDescriptor descriptor = getImage("icons/anything.gif");
+		CompletableFuture<Image> future = manager.createImageAsync(descriptor);
+		// released before the user-interface thread creates the image
+		manager.destroy(descriptor);
+		waitFor(future);
+
+		assertTrue(future.isCancelled());
+		assertNull(manager.find(descriptor));
+		assertEquals(0, manager.getResourceCount());
+	}
+
+	@Test
+	public void testDisposeExecFromBackground() throws Exception {
+		AtomicInteger runs = new AtomicInteger();
+		Runnable cancelled = runs::incrementAndGet;
+		CompletableFuture<Void> background = CompletableFuture.runAsync(() -> {
+			manager.disposeExec(runs::incrementAndGet);
+			manager.disposeExec(cancelled);
+			manager.cancelDisposeExec(cancelled);
+		});
+		background.get(10, TimeUnit.SECONDS);
+
+		manager.dispose();
+		assertEquals(1, runs.get());
+	}
+
+	@Test
+	public void testDisposeReleasesResources() {
+		Image image = manager.createImage(getImage("icons/binary_co.gif"));
+		manager.createColor(new RGB(230, 100, 26));
+		assertEquals(2, manager.getResourceCount());
+
+		manager.dispose();
+		assertTrue(image.isDisposed());
+	}
+}
@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.jface.tests.images;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jface.internal.ImageDataCache;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ImageDataCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static ImageData createImageData() {
+		ImageData data = new ImageData(4, 3, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		data.setPixel(1, 2, 0x123456);
+		data.alphaData = new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 };
+		return data;
+	}
+
+	private static ImageData createIndexedImageData() {
+		RGB[] colors = { new RGB(0, 0, 0), new RGB(255, 128, 1) };
+		ImageData data = new ImageData(5, 2, 1, new PaletteData(colors));
+		data.setPixel(4, 1, 1);
+		data.transparentPixel = 0;
+		return data;
+	}
+
+	@Test
+	public void testImageDataRestoredAfterRestart() throws IOException {
+		Path cacheFile = folder.getRoot().toPath().resolve("imageData.cache");
+		URL direct = folder.newFile("direct.png").toURI().toURL();
+		URL indexed = folder.newFile("indexed.gif").toURI().toURL();
+		AtomicInteger loads = new AtomicInteger();
+
+		ImageDataCache cache = new ImageDataCache(cacheFile);
+		cache.getImageData(direct, 100, () -> {
+			loads.incrementAndGet();
+			return createImageData();
+		});
+		cache.getImageData(indexed, 100, () -> {
+			loads.incrementAndGet();
+			return createIndexedImageData();
+		});
+		assertNull(cache.getImageData(indexed, 200, () -> {
+			loads.incrementAndGet();
+			return null;
+		}));
+		cache.close();
+		assertEquals(3, loads.get());
+
+		cache = new ImageDataCache(cacheFile);
+		ImageData data = cache.getImageData(direct, 100, () -> {
+			fail("The image data is not cached");
+			return null;
+		});
+		ImageData expected = createImageData();
+		assertNotNull(data);
+		assertEquals(expected.width, data.width);
+		assertEquals(expected.height, data.height);
+		assertEquals(0x123456, data.getPixel(1, 2));
+		assertArrayEquals(expected.data, data.data);
+		assertArrayEquals(expected.alphaData, data.alphaData);
+
+		data = cache.getImageData(indexed, 100, () -> {
+			fail("The image data is not cached");
+			return null;
+		});
+		assertEquals(1, data.getPixel(4, 1));
+		assertEquals(0, data.transparentPixel);
+		assertEquals(new RGB(255, 128, 1), data.palette.getRGB(1));
+
+		assertNull(cache.getImageData(indexed, 200, () -> {
+			fail("The missing image is not cached");
+			return null;
+		}));
+		assertArrayEquals(new int[] { 3, 0 }, cache.getStatistics());
+		cache.close();
+	}
+
+	@Test
+	public void testChangedFileLoadedAgain() throws IOException {
+		Path cacheFile = folder.getRoot().toPath().resolve("imageData.cache");
+		File imageFile = folder.newFile("image.png");
+		URL url = imageFile.toURI().toURL();
+		AtomicInteger loads = new AtomicInteger();
+
+		ImageDataCache cache = new ImageDataCache(cacheFile);
+		cache.getImageData(url, 100, () -> {
+			loads.incrementAndGet();
+			return createImageData();
+		});
+		cache.close();
+
+		imageFile.setLastModified(imageFile.lastModified() - 10000);
+		cache = new ImageDataCache(cacheFile);
+		cache.getImageData(url, 100, () -> {
+			loads.incrementAndGet();
+			return createImageData();
+		});
+		cache.close();
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void testChangedFileWithSpaceInPathLoadedAgain() throws IOException {
+		Path cacheFile = folder.getRoot().toPath().resolve("imageData.cache");
+		File imageFile = new File(folder.newFolder("with space"), "image.png");
+		imageFile.createNewFile();
+		URL url = imageFile.toURI().toURL();
+		AtomicInteger loads = new AtomicInteger();
+
+		ImageDataCache cache = new ImageDataCache(cacheFile);
+		cache.getImageData(url, 100, () -> {
+			loads.incrementAndGet();
+			return createImageData();
+		});
+		cache.close();
+
+		cache = new ImageDataCache(cacheFile);
+		cache.getImageData(url, 100, () -> {
+			loads.incrementAndGet();
+			return createImageData();
+		});
+		cache.close();
+		assertEquals("The unchanged file is cached", 1, loads.get());
+
+		imageFile.setLastModified(imageFile.lastModified() - 10000);
+		cache = new ImageDataCache(cacheFile);
+		cache.getImageData(url, 100, () -> {
+			loads.incrementAndGet();
+			return createImageData();
+		});
+		cache.close();
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void testMissingFileNotCached() throws IOException {
+		Path cacheFile = folder.getRoot().toPath().resolve("imageData.cache");
+		URL url = new File(folder.getRoot(), "missing.png").toURI().toURL();
+		AtomicInteger loads = new AtomicInteger();
+
+		ImageDataCache cache = new ImageDataCache(cacheFile);
+		for (int i = 0; i < 2; i++) {
+			assertNull(cache.getImageData(url, 100, () -> {
+				loads.incrementAndGet();
+				return null;
+			}));
+		}
+		cache.close();
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void testChangedZoomFileLoadedAgain() throws IOException {
+		Path cacheFile = folder.getRoot().toPath().resolve("imageData.cache");
+		URL url = folder.newFile("image.png").toURI().toURL();
+		File zoomFile = folder.newFile("image@2x.png");
+		URL zoomURL = zoomFile.toURI().toURL();
+		AtomicInteger loads = new AtomicInteger();
+
+		ImageDataCache cache = new ImageDataCache(cacheFile);
+		cache.getImageData(url, 100, () -> Collections.singletonList(url), () -> {
+			loads.incrementAndGet();
+			return createImageData();
+		});
+		cache.getImageData(url, 200, () -> Arrays.asList(zoomURL, null), () -> {
+			loads.incrementAndGet();
+			return createImageData();
+		});
+		cache.close();
+		assertEquals(2, loads.get());
+
+		zoomFile.setLastModified(zoomFile.lastModified() - 10000);
+		cache = new ImageDataCache(cacheFile);
+		cache.getImageData(url, 100, () -> Collections.singletonList(url), () -> {
+			fail("The unchanged file is cached");
+			return null;
+		});
+		cache.getImageData(url, 200, () -> Arrays.asList(zoomURL, null), () -> {
+			loads.incrementAndGet();
+			return createImageData();
+		});
+		cache.close();
+		assertEquals(3, loads.get());
+	}
+
+	@Test
+	public void testCorruptFileIgnored() throws IOException {
+		Path cacheFile = folder.getRoot().toPath().resolve("imageData.cache");
+		Files.write(cacheFile, new byte[] { 1, 2, 3 });
+		URL url = folder.newFile("image.png").toURI().toURL();
+
+		ImageDataCache cache = new ImageDataCache(cacheFile);
+		assertNotNull(cache.getImageData(url, 100, ImageDataCacheTest::createImageData));
+		cache.close();
+
+		cache = new ImageDataCache(cacheFile);
+		assertNotNull(cache.getImageData(url, 100, () -> {
+			fail("The image data is not cached");
+			return null;
+		}));
+		cache.close();
+	}
+}
@@ -17,6 +17,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -262,6 +263,22 @@ public abstract class AbstractTreeViewerTest extends StructuredItemViewerTest {
 		// assertFalse(expandedAfter.contains(ab));
 	}
 
+	@Test
+	public void testRefreshWithReuseItemsOnRefresh() {
+		fTreeViewer.setReuseItemsOnRefresh(true);
+		TestElement first = fRootElement.getFirstChild();
+		TestElement last = fRootElement.getLastChild();
+		fTreeViewer.expandToLevel(last, 1);
+		Widget lastItem = fViewer.testFindItem(last);
+		assertNotNull("last child is visible", lastItem);
+
+		fRootElement.deleteChild(first, new TestModelChange(TestModelChange.STRUCTURE_CHANGE, fRootElement));
+
+		assertNull("deleted child is not visible", fViewer.testFindItem(first));
+		assertSame("item of remaining child is reused", lastItem, fViewer.testFindItem(last));
+		assertTrue("remaining child stays expanded", fTreeViewer.getExpandedState(last));
+	}
+
 	@Test
 	public void testRenameChildElement() {
 		TestElement first = fRootElement.getFirstChild();
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.tests.viewers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.deferred.DeferredTreeContentProvider;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+import org.junit.Test;
+
+/**
+ * Tests TreeViewer's VIRTUAL support with a {@link DeferredTreeContentProvider}.
+ */
+public class DeferredTreeContentProviderTest extends ViewerTestCase {
+
+	private final List<Runnable> queued = new ArrayList<>();
+
+	@Override
+	protected StructuredViewer createViewer(Composite parent) {
+		Tree tree = new Tree(fShell, SWT.VIRTUAL | SWT.MULTI);
+		TreeViewer treeViewer = new TreeViewer(tree);
+		treeViewer.setUseHashlookup(true);
+		treeViewer.setContentProvider(new DeferredTreeContentProvider(new TestModelContentProvider(), queued::add));
+		return treeViewer;
+	}
+
+	private TreeViewer getTreeViewer() {
+		return (TreeViewer) fViewer;
+	}
+
+	private void runQueued() {
+		while (!queued.isEmpty()) {
+			queued.remove(0).run();
+			processEvents();
+		}
+	}
+
+	@Test
+	public void testPendingNodeUntilRootsAreComputed() {
+		Tree tree = getTreeViewer().getTree();
+		processEvents();
+		assertEquals(1, tree.getItemCount());
+		assertTrue(DeferredTreeContentProvider.isPending(tree.getItem(0).getData()));
+
+		runQueued();
+		assertEquals(fRootElement.getChildCount(), tree.getItemCount());
+		assertEquals(fRootElement.getFirstChild(), tree.getItem(0).getData());
+	}
+
+	@Test
+	public void testExpandComputesChildren() {
+		runQueued();
+		TestElement first = fRootElement.getFirstChild();
+		getTreeViewer().expandToLevel(first, 1);
+		runQueued();
+		Tree tree = getTreeViewer().getTree();
+		assertEquals(first.getChildCount(), tree.getItem(0).getItemCount());
+	}
+
+	@Test
+	public void testExpandThroughWidgetComputesChildren() {
+		runQueued();
+		Tree tree = getTreeViewer().getTree();
+		TreeItem item = tree.getItem(0);
+		TestElement first = fRootElement.getFirstChild();
+		assertEquals(first, item.getData());
+		// whether the element has children is known before it is expanded
+		assertEquals(1, item.getItemCount());
+
+		// the tree asks for the child count before the item is expanded
+		Event event = new Event();
+		event.item = item;
+		tree.notifyListeners(SWT.Expand, event);
+		item.setExpanded(true);
+		processEvents();
+		assertTrue(DeferredTreeContentProvider.isPending(item.getItem(0).getData()));
+
+		runQueued();
+		assertEquals(first.getChildCount(), item.getItemCount());
+		assertEquals(first.getFirstChild(), item.getItem(0).getData());
+	}
+
+	@Test
+	public void testSetExpandedStateComputesChildren() {
+		runQueued();
+		TestElement first = fRootElement.getFirstChild();
+		getTreeViewer().setExpandedState(first, true);
+		processEvents();
+		runQueued();
+		Tree tree = getTreeViewer().getTree();
+		assertEquals(first.getChildCount(), tree.getItem(0).getItemCount());
+		assertEquals(first.getFirstChild(), tree.getItem(0).getItem(0).getData());
+	}
+
+}
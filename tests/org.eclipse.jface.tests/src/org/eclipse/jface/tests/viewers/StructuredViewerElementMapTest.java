@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.tests.viewers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.jface.viewers.IElementComparer;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Widget;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the element map used by {@link org.eclipse.jface.viewers.StructuredViewer}
+ * when hash lookup is enabled, including colliding hash codes, removal from
+ * probe sequences, growing the map, and elements mapped to several items.
+ */
+public class StructuredViewerElementMapTest {
+
+	/**
+	 * Gives access to the element mapping methods.
+	 */
+	private static class MappingViewer extends TableViewer {
+
+		MappingViewer(Composite parent) {
+			super(parent);
+		}
+
+		void map(Object element, Widget item) {
+			mapElement(element, item);
+		}
+
+		void unmap(Object element, Widget item) {
+			unmapElement(element, item);
+		}
+	}
+
+	/**
+	 * Compares elements by value, with hash codes that are the same for groups
+	 * of elements.
+	 */
+	private static class CollidingComparer implements IElementComparer {
+
+		private final int groupSize;
+
+		CollidingComparer(int groupSize) {
+			this.groupSize = groupSize;
+		}
+
+		@Override
+		public boolean equals(Object a, Object b) {
+			return a.equals(b);
+		}
+
+		@Override
+		public int hashCode(Object element) {
+			return groupSize == 0 ? 31 : Integer.parseInt(((String) element).substring(1)) / groupSize;
+		}
+	}
+
+	private Shell shell;
+
+	private MappingViewer viewer;
+
+	private TableItem[] items;
+
+	@Before
+	public void setUp() {
+		shell = new Shell();
+		viewer = new MappingViewer(shell);
+		viewer.setUseHashlookup(true);
+		items = new TableItem[3];
+		for (int i = 0; i < items.length; i++) {
+			items[i] = new TableItem(viewer.getTable(), SWT.NONE);
+		}
+	}
+
+	@After
+	public void tearDown() {
+		shell.dispose();
+	}
+
+	private static String element(int i) {
+		// a new instance each time, so lookups do not take the identity path
+		return new String("e" + i); //$NON-NLS-1$
+	}
+
+	private void assertMapped(int i, Widget... expected) {
+		assertArrayEquals("element " + i, expected, viewer.testFindItems(element(i))); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testCollidingElementsAcrossResize() {
+		viewer.setComparer(new CollidingComparer(4));
+		for (int i = 0; i < 1000; i++) {
+			viewer.map(element(i), items[i % 3]);
+		}
+		for (int i = 0; i < 1000; i++) {
+			assertMapped(i, items[i % 3]);
+		}
+		assertMapped(1000);
+	}
+
+	@Test
+	public void testRemoveFromProbeSequence() {
+		viewer.setComparer(new CollidingComparer(4));
+		for (int i = 0; i < 1000; i++) {
+			viewer.map(element(i), items[i % 3]);
+		}
+		// remove from the start, the middle and the end of the collision groups
+		for (int i = 0; i < 1000; i += 3) {
+			viewer.unmap(element(i), items[i % 3]);
+		}
+		for (int i = 0; i < 1000; i++) {
+			if (i % 3 == 0) {
+				assertMapped(i);
+			} else {
+				assertMapped(i, items[i % 3]);
+			}
+		}
+		// unmapping with the wrong item leaves the mapping alone
+		viewer.unmap(element(1), items[0]);
+		assertMapped(1, items[1]);
+	}
+
+	@Test
+	public void testRemoveFromWrappingProbeSequence() {
+		// all elements hash to the last slot, so the probe sequence wraps around
+		viewer.setComparer(new CollidingComparer(0));
+		for (int i = 0; i < 12; i++) {
+			viewer.map(element(i), items[i % 3]);
+		}
+		viewer.unmap(element(0), items[0]);
+		viewer.unmap(element(5), items[2]);
+		viewer.unmap(element(11), items[2]);
+		for (int i = 0; i < 12; i++) {
+			if (i == 0 || i == 5 || i == 11) {
+				assertMapped(i);
+			} else {
+				assertMapped(i, items[i % 3]);
+			}
+		}
+		for (int i = 12; i < 40; i++) {
+			viewer.map(element(i), items[i % 3]);
+		}
+		for (int i = 1; i < 40; i++) {
+			if (i != 5 && i != 11) {
+				assertMapped(i, items[i % 3]);
+			}
+		}
+	}
+
+	@Test
+	public void testElementMappedToSeveralItems() {
+		viewer.map(element(1), items[0]);
+		viewer.map(element(1), items[0]);
+		assertMapped(1, items[0]);
+
+		viewer.map(element(1), items[1]);
+		viewer.map(element(1), items[2]);
+		viewer.map(element(1), items[1]);
+		assertMapped(1, items[0], items[1], items[2]);
+
+		Widget[] shared = viewer.testFindItems(element(1));
+		viewer.unmap(element(1), items[1]);
+		assertMapped(1, items[0], items[2]);
+		// arrays handed out before are not modified
+		assertArrayEquals(new Widget[] { items[0], items[1], items[2] }, shared);
+
+		viewer.unmap(element(1), items[0]);
+		assertMapped(1, items[2]);
+		viewer.unmap(element(1), items[2]);
+		assertMapped(1);
+	}
+
+	@Test
+	public void testSetComparerKeepsMappings() {
+		for (int i = 0; i < 100; i++) {
+			viewer.map(element(i), items[i % 3]);
+		}
+		viewer.setComparer(new CollidingComparer(8));
+		for (int i = 0; i < 100; i++) {
+			assertMapped(i, items[i % 3]);
+		}
+		assertEquals(0, viewer.testFindItems(element(100)).length);
+	}
+
+}
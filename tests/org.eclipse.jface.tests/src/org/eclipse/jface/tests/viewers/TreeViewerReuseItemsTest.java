@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.tests.viewers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.TreeItem;
+import org.junit.Test;
+
+/**
+ * Tests refreshing a {@link TreeViewer} that reuses the items of unchanged
+ * elements, see {@link TreeViewer#setReuseItemsOnRefresh(boolean)}.
+ */
+public class TreeViewerReuseItemsTest extends ViewerTestCase {
+
+	@Override
+	protected StructuredViewer createViewer(Composite parent) {
+		TreeViewer viewer = new TreeViewer(parent);
+		viewer.setContentProvider(new TestModelContentProvider());
+		viewer.setReuseItemsOnRefresh(true);
+		return viewer;
+	}
+
+	private TreeViewer getTreeViewer() {
+		return (TreeViewer) fViewer;
+	}
+
+	private TreeItem[] getRootItems() {
+		return getTreeViewer().getTree().getItems();
+	}
+
+	private void assertItemsMatchModel() {
+		TreeItem[] items = getRootItems();
+		assertEquals(fRootElement.getChildCount(), items.length);
+		for (int i = 0; i < items.length; i++) {
+			assertSame("element at " + i, fRootElement.getChildAt(i), items[i].getData());
+			assertEquals("label at " + i, fRootElement.getChildAt(i).toString(), items[i].getText());
+		}
+	}
+
+	private int countReused(TreeItem[] oldItems) {
+		int reused = 0;
+		for (TreeItem item : oldItems) {
+			if (!item.isDisposed()) {
+				reused++;
+			}
+		}
+		return reused;
+	}
+
+	@Test
+	public void testMoveToEnd() {
+		TestElement first = fRootElement.getFirstChild();
+		TestElement last = fRootElement.getLastChild();
+		getTreeViewer().expandToLevel(first, 1);
+		getTreeViewer().expandToLevel(last, 1);
+		TreeItem[] oldItems = getRootItems();
+
+		fRootElement.fChildren.remove(first);
+		fRootElement.fChildren.add(first);
+		fViewer.refresh();
+
+		assertItemsMatchModel();
+		TreeItem[] newItems = getRootItems();
+		assertTrue("item of the moved element is replaced", oldItems[0].isDisposed());
+		for (int i = 1; i < oldItems.length; i++) {
+			assertSame("item of unmoved element " + i + " is reused", oldItems[i], newItems[i - 1]);
+		}
+		assertTrue("moved element stays expanded", getTreeViewer().getExpandedState(first));
+		assertTrue("unmoved element stays expanded", getTreeViewer().getExpandedState(last));
+	}
+
+	@Test
+	public void testMoveToStart() {
+		TestElement last = fRootElement.getLastChild();
+		TreeItem[] oldItems = getRootItems();
+
+		fRootElement.fChildren.remove(last);
+		fRootElement.fChildren.add(0, last);
+		fViewer.refresh();
+
+		assertItemsMatchModel();
+		TreeItem[] newItems = getRootItems();
+		assertTrue("item of the moved element is replaced", oldItems[oldItems.length - 1].isDisposed());
+		for (int i = 0; i < oldItems.length - 1; i++) {
+			assertSame("item of unmoved element " + i + " is reused", oldItems[i], newItems[i + 1]);
+		}
+	}
+
+	@Test
+	public void testSwapNeighbours() {
+		TestElement expandedFirst = fRootElement.getChildAt(0);
+		TestElement expandedSecond = fRootElement.getChildAt(3);
+		getTreeViewer().expandToLevel(expandedFirst, 1);
+		getTreeViewer().expandToLevel(expandedSecond, 1);
+		TreeItem[] oldItems = getRootItems();
+
+		for (int i = 0; i + 1 < fRootElement.fChildren.size(); i += 2) {
+			Collections.swap(fRootElement.fChildren, i, i + 1);
+		}
+		fViewer.refresh();
+
+		assertItemsMatchModel();
+		// one element of each swapped pair keeps its item
+		assertEquals(oldItems.length / 2, countReused(oldItems));
+		assertTrue(getTreeViewer().getExpandedState(expandedFirst));
+		assertTrue(getTreeViewer().getExpandedState(expandedSecond));
+		for (int i = 0; i < fRootElement.getChildCount(); i++) {
+			TestElement element = fRootElement.getChildAt(i);
+			if (element != expandedFirst && element != expandedSecond) {
+				assertFalse("element " + i + " stays collapsed", getTreeViewer().getExpandedState(element));
+			}
+		}
+	}
+
+	@Test
+	public void testReverse() {
+		TestElement expanded = fRootElement.getChildAt(2);
+		getTreeViewer().expandToLevel(expanded, 1);
+		TreeItem[] oldItems = getRootItems();
+
+		Collections.reverse(fRootElement.fChildren);
+		fViewer.refresh();
+
+		assertItemsMatchModel();
+		assertEquals(1, countReused(oldItems));
+		assertTrue(getTreeViewer().getExpandedState(expanded));
+	}
+
+	@Test
+	public void testInsertAndRemove() {
+		TestElement removed = fRootElement.getChildAt(7);
+		TreeItem[] oldItems = getRootItems();
+
+		TestElement inserted = new TestElement(fModel, fRootElement);
+		fRootElement.fChildren.add(3, inserted);
+		fRootElement.basicDeleteChild(removed);
+		fViewer.refresh();
+
+		assertItemsMatchModel();
+		assertTrue(oldItems[7].isDisposed());
+		assertEquals(oldItems.length - 1, countReused(oldItems));
+		TreeItem[] newItems = getRootItems();
+		assertSame(oldItems[2], newItems[2]);
+		assertSame(oldItems[3], newItems[4]);
+		assertSame(oldItems[8], newItems[8]);
+	}
+
+}
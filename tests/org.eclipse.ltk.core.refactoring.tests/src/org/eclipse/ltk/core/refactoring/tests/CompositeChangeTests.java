@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.text.edits.ReplaceEdit;
+
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.PerformChangeOperation;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
+import org.eclipse.ltk.core.refactoring.tests.util.SimpleTestProject;
+
+public class CompositeChangeTests {
+
+	// enough text file changes to validate their buffers concurrently
+	private static final int FILE_COUNT= 150;
+
+	private SimpleTestProject fProject;
+
+	private IFile[] fFiles;
+
+	private CompositeChange fChange;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= new SimpleTestProject();
+		IFolder folder= fProject.createFolder("test");
+		fFiles= new IFile[FILE_COUNT];
+		fChange= new CompositeChange("composite");
+		for (int i= 0; i < FILE_COUNT; i++) {
+			fFiles[i]= fProject.createFile(folder, "test" + i + ".txt", "section one");
+			TextFileChange change= new TextFileChange("", fFiles[i]);
+			change.setEdit(new ReplaceEdit(8, 3, "two"));
+			fChange.add(change);
+		}
+		fChange.initializeValidationData(new NullProgressMonitor());
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fChange.dispose();
+		fProject.delete();
+	}
+
+	@Test
+	public void testValidateManyTextFileChanges() throws Exception {
+		assertTrue(fChange.isValid(new NullProgressMonitor()).isOK());
+
+		fFiles[FILE_COUNT / 2].delete(true, null);
+		assertTrue(fChange.isValid(new NullProgressMonitor()).hasFatalError());
+	}
+
+	@Test
+	public void testPerformManyTextFileChanges() throws Exception {
+		PerformChangeOperation op= new PerformChangeOperation(fChange);
+		ResourcesPlugin.getWorkspace().run(op, null);
+
+		assertTrue(op.getValidationStatus().isOK());
+		assertEquals("section two", fProject.getContent(fFiles[0]));
+		assertEquals("section two", fProject.getContent(fFiles[FILE_COUNT - 1]));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
@@ -32,6 +33,7 @@ import org.osgi.service.prefs.BackingStoreException;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
 
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
@@ -50,6 +52,7 @@ import org.eclipse.ltk.core.refactoring.history.RefactoringExecutionEvent;
 import org.eclipse.ltk.core.refactoring.history.RefactoringHistory;
 import org.eclipse.ltk.core.refactoring.history.RefactoringHistoryEvent;
 import org.eclipse.ltk.core.refactoring.tests.util.SimpleTestProject;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringPreferenceConstants;
 import org.eclipse.ltk.internal.core.refactoring.history.RefactoringDescriptorProxyAdapter;
 import org.eclipse.ltk.internal.core.refactoring.history.RefactoringHistoryImplementation;
@@ -240,6 +243,78 @@ public class RefactoringHistoryServiceTests {
 		fProject.delete();
 	}
 
+	@Test
+	public void testBinaryHistory() throws Exception {
+		final IProject project= fProject.getProject();
+		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
+		RefactoringHistory previousHistory= service.getProjectHistory(project, null);
+		final IEclipsePreferences preferences= InstanceScope.INSTANCE.getNode(RefactoringCore.ID_PLUGIN);
+		preferences.putBoolean(RefactoringPreferenceConstants.PREFERENCE_BINARY_REFACTORING_HISTORY, true);
+		try {
+			setSharedRefactoringHistory(false);
+			File folder= RefactoringCorePlugin.getDefault().getStateLocation().append(RefactoringHistoryService.NAME_HISTORY_FOLDER).append(project.getName()).toFile();
+			RefactoringHistory nextHistory= service.getProjectHistory(project, null);
+			assertEquals("Refactoring history should be the same:", previousHistory, nextHistory);
+			assertFalse("Reading should not create a refactoring history log", new File(folder, RefactoringHistoryService.NAME_LOG_FILE).exists());
+			assertTrue("Reading should keep the refactoring history stamp folders", getStampFolders(folder).length > 0);
+			RefactoringDescriptorProxy proxy= getLatestDescriptor(nextHistory);
+			service.deleteRefactoringDescriptors(new RefactoringDescriptorProxy[] { proxy }, null);
+			assertTrue("Refactoring history log should exist", new File(folder, RefactoringHistoryService.NAME_LOG_FILE).exists());
+			assertEquals("Refactoring history stamp folders should be removed", 0, getStampFolders(folder).length);
+			assertEquals("Refactoring history has wrong size", TOTAL_PROJECT_NUMBER - 1, service.getProjectHistory(project, null).getDescriptors().length);
+			RefactoringHistory range= service.getProjectHistory(project, STAMP_FACTOR, STAMP_FACTOR * 5, RefactoringDescriptor.NONE, null);
+			assertEquals("Refactoring history has wrong size", 5, range.getDescriptors().length);
+			proxy= range.getDescriptors()[0];
+			RefactoringDescriptor descriptor= proxy.requestDescriptor(null);
+			assertNotNull("Could not resolve refactoring descriptor", descriptor);
+			assertEquals("Wrong refactoring descriptor:", proxy.getDescription(), descriptor.getDescription());
+			setSharedRefactoringHistory(true);
+			File sharedFolder= project.getLocation().append(RefactoringHistoryService.NAME_HISTORY_FOLDER).toFile();
+			assertFalse("Shared refactoring history log should not exist", new File(sharedFolder, RefactoringHistoryService.NAME_LOG_FILE).exists());
+			assertTrue("Shared refactoring history should have stamp folders", getStampFolders(sharedFolder).length > 0);
+			RefactoringHistory lastHistory= service.getProjectHistory(project, null);
+			assertEquals("Refactoring history has wrong size", TOTAL_PROJECT_NUMBER - 1, lastHistory.getDescriptors().length);
+		} finally {
+			preferences.remove(RefactoringPreferenceConstants.PREFERENCE_BINARY_REFACTORING_HISTORY);
+		}
+	}
+
+	@Test
+	public void testBinaryHistoryPreferenceChange() throws Exception {
+		final IProject project= fProject.getProject();
+		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
+		final IEclipsePreferences preferences= InstanceScope.INSTANCE.getNode(RefactoringCore.ID_PLUGIN);
+		setSharedRefactoringHistory(false);
+		File folder= RefactoringCorePlugin.getDefault().getStateLocation().append(RefactoringHistoryService.NAME_HISTORY_FOLDER).append(project.getName()).toFile();
+		RefactoringHistory history= service.getProjectHistory(project, null);
+		try {
+			// the manager of the project history is cached by now
+			preferences.putBoolean(RefactoringPreferenceConstants.PREFERENCE_BINARY_REFACTORING_HISTORY, true);
+			service.deleteRefactoringDescriptors(new RefactoringDescriptorProxy[] { history.getDescriptors()[0] }, null);
+			assertTrue("Refactoring history log should exist", new File(folder, RefactoringHistoryService.NAME_LOG_FILE).exists());
+		} finally {
+			preferences.remove(RefactoringPreferenceConstants.PREFERENCE_BINARY_REFACTORING_HISTORY);
+		}
+		service.deleteRefactoringDescriptors(new RefactoringDescriptorProxy[] { history.getDescriptors()[1] }, null);
+		assertFalse("Refactoring history log should be exported", new File(folder, RefactoringHistoryService.NAME_LOG_FILE).exists());
+		assertTrue("Refactoring history should have stamp folders", getStampFolders(folder).length > 0);
+		assertEquals("Refactoring history has wrong size", TOTAL_PROJECT_NUMBER - 2, service.getProjectHistory(project, null).getDescriptors().length);
+	}
+
+	private static RefactoringDescriptorProxy getLatestDescriptor(RefactoringHistory history) {
+		RefactoringDescriptorProxy latest= null;
+		for (RefactoringDescriptorProxy proxy : history.getDescriptors()) {
+			if (latest == null || proxy.getTimeStamp() > latest.getTimeStamp())
+				latest= proxy;
+		}
+		return latest;
+	}
+
+	private static File[] getStampFolders(File folder) {
+		File[] folders= folder.listFiles(file -> file.isDirectory() && Character.isDigit(file.getName().charAt(0)));
+		return folders != null ? folders : new File[0];
+	}
+
 	@Test
 	public void testDeleteProjectHistory0() throws Exception {
 		setUpWorkspaceRefactorings();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,27 +15,47 @@
 package org.eclipse.search.tests.filesearch;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Item;
 import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
 import org.eclipse.swt.widgets.Widget;
 
 import org.eclipse.core.runtime.jobs.IJobManager;
 import org.eclipse.core.runtime.jobs.Job;
 
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+
 import org.eclipse.jface.viewers.AbstractTreeViewer;
+import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.StructuredViewer;
 import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.TreeViewer;
 
+import org.eclipse.search.internal.ui.text.FileMatch;
 import org.eclipse.search.internal.ui.text.FileSearchPage;
 import org.eclipse.search.internal.ui.text.FileSearchQuery;
+import org.eclipse.search.internal.ui.text.FileSearchResult;
+import org.eclipse.search.internal.ui.text.LineElement;
+import org.eclipse.search.tests.ResourceHelper;
 import org.eclipse.search.tests.SearchTestPlugin;
 import org.eclipse.search.ui.ISearchResultViewPart;
 import org.eclipse.search.ui.NewSearchUI;
@@ -43,6 +63,7 @@ import org.eclipse.search.ui.text.AbstractTextSearchResult;
 import org.eclipse.search.ui.text.AbstractTextSearchViewPage;
 import org.eclipse.search.ui.text.FileTextSearchScope;
 import org.eclipse.search.ui.text.Match;
+import org.eclipse.search.ui.text.MatchFilter;
 
 public class SearchResultPageTest {
 	FileSearchQuery fQuery1;
@@ -161,5 +182,136 @@ public class SearchResultPageTest {
 		consumeEvents();
 		assertEquals(1, table.getSelectionCount());
 		assertEquals(0, table.getSelectionIndex());
-}
+	}
+
+	@Test
+	public void testVirtualTreeChildCounts() {
+		NewSearchUI.runQueryInForeground(null, fQuery1);
+		FileSearchPage page= showTree();
+		TreeViewer viewer= (TreeViewer) page.getViewer();
+		FileSearchResult result= (FileSearchResult) fQuery1.getSearchResult();
+
+		Object file= null;
+		for (Object element : result.getElements()) {
+			if (result.getMatchCount(element) > 1) {
+				file= element;
+				break;
+			}
+		}
+		assertNotNull("file with several matches", file);
+		viewer.reveal(file);
+		consumeEvents();
+		TreeItem item= (TreeItem) viewer.testFindItem(file);
+		assertNotNull(item);
+		assertFalse(item.getExpanded());
+		int countBeforeExpansion= item.getItemCount();
+
+		viewer.setExpandedState(file, true);
+		consumeEvents();
+		assertEquals("child count of the collapsed file", countBeforeExpansion, item.getItemCount());
+		Set<LineElement> lines= new HashSet<>();
+		for (Match match : result.getMatches(file)) {
+			lines.add(((FileMatch) match).getLineElement());
+		}
+		assertEquals(lines.size(), item.getItemCount());
+		for (int i= 0; i < item.getItemCount(); i++) {
+			Object data= getData(item.getItem(i));
+			assertTrue("line element " + i, lines.remove(data));
+		}
+	}
+
+	@Test
+	public void testVirtualTreeFilter() throws Exception {
+		IProject outer= ResourceHelper.createProject("OuterProject");
+		try {
+			IProjectDescription description= outer.getWorkspace().newProjectDescription("InnerProject");
+			description.setLocation(outer.getLocation().append("inner"));
+			IProject inner= outer.getWorkspace().getRoot().getProject("InnerProject");
+			inner.create(description, null);
+			inner.open(null);
+			IFile innerFile= ResourceHelper.createFile(ResourceHelper.createFolder(inner.getFolder("src")), "Nested.txt", "nested\nnested nested\n");
+			outer.refreshLocal(IResource.DEPTH_INFINITE, null);
+			IFile outerFile= outer.getFile("inner/src/Nested.txt");
+			assertTrue(outerFile.exists());
+
+			FileTextSearchScope scope= FileTextSearchScope.newSearchScope(new IResource[] { outer, inner }, new String[] { "*.txt" }, false);
+			FileSearchQuery query= new FileSearchQuery("nested", false, true, scope);
+			NewSearchUI.runQueryInForeground(null, query);
+			FileSearchPage page= showTree();
+			Tree tree= ((TreeViewer) page.getViewer()).getTree();
+			FileSearchResult result= (FileSearchResult) query.getSearchResult();
+			MatchFilter[] lastUsedFilters= FileSearchResult.getLastUsedFilters();
+			try {
+				result.setActiveMatchFilters(new MatchFilter[0]);
+				consumeEvents(page);
+				assertEquals(2, tree.getItemCount());
+
+				result.setActiveMatchFilters(result.getAllMatchFilters());
+				consumeEvents(page);
+				assertEquals("the file of the outer project is filtered", 1, tree.getItemCount());
+				assertEquals(inner, getData(tree.getItem(0)));
+				assertEquals(3, result.getUnfilteredMatchCount(innerFile));
+				assertEquals(0, result.getUnfilteredMatchCount(outerFile));
+
+				result.setActiveMatchFilters(new MatchFilter[0]);
+				consumeEvents(page);
+				assertEquals(2, tree.getItemCount());
+				assertEquals(3, result.getUnfilteredMatchCount(outerFile));
+			} finally {
+				result.setActiveMatchFilters(lastUsedFilters);
+			}
+		} finally {
+			ResourceHelper.deleteProject("InnerProject");
+			ResourceHelper.deleteProject("OuterProject");
+		}
+	}
+
+	@Test
+	public void testVirtualTreeNavigation() {
+		NewSearchUI.runQueryInForeground(null, fQuery1);
+		FileSearchPage page= showTree();
+		TreeViewer viewer= (TreeViewer) page.getViewer();
+
+		// from the first item, which is not a match, to the first match
+		page.gotoNextMatch();
+		consumeEvents();
+		Object first= getSelectedElement(viewer);
+		assertTrue(first instanceof LineElement);
+
+		// back from the first match, goto the last
+		page.gotoPreviousMatch();
+		consumeEvents();
+		Object last= getSelectedElement(viewer);
+		assertTrue(last instanceof LineElement);
+		assertNotEquals(first, last);
+		TreeItem lastItem= (TreeItem) viewer.testFindItem(last);
+		assertEquals("last line of the file", lastItem.getParentItem().getItemCount() - 1, lastItem.getParentItem().indexOf(lastItem));
+
+		// and forward again, to the first match
+		page.gotoNextMatch();
+		consumeEvents();
+		assertEquals(first, getSelectedElement(viewer));
+	}
+
+	private FileSearchPage showTree() {
+		ISearchResultViewPart view= NewSearchUI.getSearchResultView();
+		FileSearchPage page= (FileSearchPage) view.getActivePage();
+		page.setLayout(AbstractTextSearchViewPage.FLAG_LAYOUT_TREE);
+		consumeEvents(page);
+		consumeEvents();
+		assertTrue("virtual viewer", (page.getViewer().getControl().getStyle() & SWT.VIRTUAL) != 0);
+		return page;
+	}
+
+	private static Object getData(TreeItem item) {
+		// virtual items get their element when they are shown
+		item.getText();
+		return item.getData();
+	}
+
+	private static Object getSelectedElement(StructuredViewer viewer) {
+		IStructuredSelection selection= viewer.getStructuredSelection();
+		assertEquals(1, selection.size());
+		return selection.getFirstElement();
+	}
 }
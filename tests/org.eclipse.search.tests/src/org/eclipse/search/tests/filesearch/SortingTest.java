@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,18 +17,27 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Test;
 
+import org.eclipse.search.internal.ui.text.FileMatch;
 import org.eclipse.search.internal.ui.text.FileSearchQuery;
+import org.eclipse.search.internal.ui.text.LineElement;
+import org.eclipse.search.ui.ISearchResultListener;
 import org.eclipse.search.ui.NewSearchUI;
 import org.eclipse.search.ui.text.AbstractTextSearchResult;
 import org.eclipse.search.ui.text.FileTextSearchScope;
 import org.eclipse.search.ui.text.Match;
+import org.eclipse.search.ui.text.MatchEvent;
+import org.eclipse.search2.internal.ui.text.ElementsChangedEvent;
 
 public class SortingTest {
 	FileSearchQuery fQuery1;
@@ -78,6 +87,57 @@ public class SortingTest {
 		}
 	}
 
+	@Test
+	public void testMatchCountsBeforeAccess() throws Exception {
+		NewSearchUI.runQueryInForeground(null, fQuery1);
+		AbstractTextSearchResult result= (AbstractTextSearchResult) fQuery1.getSearchResult();
+		int originalMatchCount= result.getMatchCount();
+		assertTrue("has matches", originalMatchCount > 0);
+
+		int matchCount= 0;
+		for (Object element : result.getElements()) {
+			int elementMatchCount= result.getMatchCount(element);
+			Match[] matches= result.getMatches(element);
+			assertEquals("match count of " + element, elementMatchCount, matches.length);
+			for (Match match : matches) {
+				LineElement lineElement= ((FileMatch) match).getLineElement();
+				assertTrue("line contains match", lineElement.contains(match.getOffset()));
+				assertTrue("line contains match end", match.getOffset() + match.getLength() <= lineElement.getOffset() + lineElement.getLength());
+			}
+			matchCount+= matches.length;
+		}
+		assertEquals(originalMatchCount, matchCount);
+		assertEquals(originalMatchCount, result.getMatchCount());
+	}
+
+	@Test
+	public void testEventsOfCompactMatches() throws Exception {
+		AbstractTextSearchResult result= (AbstractTextSearchResult) fQuery1.getSearchResult();
+		List<Match> unknownMatches= Collections.synchronizedList(new ArrayList<>());
+		Set<Object> changedElements= ConcurrentHashMap.newKeySet();
+		ISearchResultListener listener= e -> {
+			if (e instanceof MatchEvent) {
+				for (Match match : ((MatchEvent) e).getMatches()) {
+					if (((FileMatch) match).getLineElement() == null) {
+						unknownMatches.add(match);
+					}
+					changedElements.add(match.getElement());
+				}
+			} else if (e instanceof ElementsChangedEvent) {
+				Collections.addAll(changedElements, ((ElementsChangedEvent) e).getElements());
+			}
+		};
+		result.addListener(listener);
+		try {
+			NewSearchUI.runQueryInForeground(null, fQuery1);
+		} finally {
+			result.removeListener(listener);
+		}
+
+		assertEquals("events only carry matches of the result", Collections.emptyList(), unknownMatches);
+		assertEquals(new HashSet<>(Arrays.asList(result.getElements())), changedElements);
+	}
+
 	private boolean isLessOrEqual(Match match, Match match2) {
 		int diff= match2.getOffset() - match.getOffset();
 		if (diff > 0)
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+
+import org.eclipse.search.internal.ui.text.FileSearchQuery;
+import org.eclipse.search.internal.ui.text.FileSearchResult;
+import org.eclipse.search.internal.ui.text.ReplaceRefactoring;
+import org.eclipse.search.tests.ResourceHelper;
+import org.eclipse.search.ui.NewSearchUI;
+import org.eclipse.search.ui.text.FileTextSearchScope;
+
+/**
+ * Tests the streaming replace of {@link ReplaceRefactoring}, see
+ * {@link ReplaceRefactoring#setStreaming(boolean)}.
+ */
+public class StreamingReplaceTest {
+
+	private static final String PROJECT_NAME= "StreamingReplaceProject";
+
+	/** More files than are connected in one batch. */
+	private static final int FILE_COUNT= 150;
+
+	private static final String CONTENT= "foo bar\nbar foo foo\n";
+
+	private static final String REPLACED= "baz bar\nbar baz baz\n";
+
+	private IFile[] fFiles;
+
+	@Before
+	public void setUp() throws Exception {
+		IProject project= ResourceHelper.createProject(PROJECT_NAME);
+		IFolder folder= ResourceHelper.createFolder(project.getFolder("src"));
+		fFiles= new IFile[FILE_COUNT];
+		for (int i= 0; i < FILE_COUNT; i++) {
+			fFiles[i]= ResourceHelper.createFile(folder, String.format("file%03d.txt", Integer.valueOf(i)), CONTENT);
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		ResourceHelper.deleteProject(PROJECT_NAME);
+	}
+
+	private ReplaceRefactoring createRefactoring() throws Exception {
+		FileTextSearchScope scope= FileTextSearchScope.newSearchScope(new IResource[] { fFiles[0].getProject() }, new String[] { "*.txt" }, false);
+		FileSearchQuery query= new FileSearchQuery("foo", false, true, scope);
+		NewSearchUI.runQueryInForeground(null, query);
+		FileSearchResult result= (FileSearchResult) query.getSearchResult();
+		assertEquals(FILE_COUNT * 3, result.getMatchCount());
+
+		ReplaceRefactoring refactoring= new ReplaceRefactoring(result, null);
+		refactoring.setStreaming(true);
+		refactoring.setReplaceString("baz");
+		assertTrue(refactoring.checkInitialConditions(new NullProgressMonitor()).isOK());
+		assertTrue(refactoring.checkFinalConditions(new NullProgressMonitor()).isOK());
+		return refactoring;
+	}
+
+	private static Change perform(Change change) throws Exception {
+		change.initializeValidationData(new NullProgressMonitor());
+		assertTrue(change.isValid(new NullProgressMonitor()).isOK());
+		return change.perform(new NullProgressMonitor());
+	}
+
+	private static String getContents(IFile file) throws Exception {
+		try (InputStream stream= file.getContents()) {
+			return new String(stream.readAllBytes(), StandardCharsets.ISO_8859_1);
+		}
+	}
+
+	private static void setContents(IFile file, String contents) throws Exception {
+		file.setContents(new ByteArrayInputStream(contents.getBytes(StandardCharsets.ISO_8859_1)), true, false, null);
+	}
+
+	@Test
+	public void testReplaceAndUndo() throws Exception {
+		ReplaceRefactoring refactoring= createRefactoring();
+		FileSearchResult result= (FileSearchResult) refactoring.getQuery().getSearchResult();
+		assertNull("nothing performed yet", refactoring.getPerformStatus());
+
+		Change undo= perform(refactoring.createChange(new NullProgressMonitor()));
+		assertTrue(refactoring.getPerformStatus().isOK());
+		for (IFile file : fFiles) {
+			assertEquals(REPLACED, getContents(file));
+		}
+		assertEquals("replaced matches are removed", 0, result.getMatchCount());
+
+		assertNotNull(undo);
+		Change redo= perform(undo);
+		for (IFile file : fFiles) {
+			assertEquals(CONTENT, getContents(file));
+		}
+		assertEquals("undo restores the matches", FILE_COUNT * 3, result.getMatchCount());
+
+		assertNotNull(redo);
+		perform(redo);
+		for (IFile file : fFiles) {
+			assertEquals(REPLACED, getContents(file));
+		}
+	}
+
+	@Test
+	public void testSkippedMatchesAreReported() throws Exception {
+		ReplaceRefactoring refactoring= createRefactoring();
+		// the matches are beyond the end of the shortened file
+		setContents(fFiles[7], "x");
+
+		Change undo= perform(refactoring.createChange(new NullProgressMonitor()));
+		RefactoringStatus status= refactoring.getPerformStatus();
+		assertFalse(status.isOK());
+		assertFalse("the other files are replaced", status.hasError());
+		assertEquals(1, status.getEntries().length);
+		assertTrue(status.getEntries()[0].getMessage(), status.getEntries()[0].getMessage().contains(fFiles[7].getName()));
+		for (int i= 0; i < FILE_COUNT; i++) {
+			assertEquals(i == 7 ? "x" : REPLACED, getContents(fFiles[i]));
+		}
+
+		perform(undo);
+		for (int i= 0; i < FILE_COUNT; i++) {
+			assertEquals(i == 7 ? "x" : CONTENT, getContents(fFiles[i]));
+		}
+	}
+}
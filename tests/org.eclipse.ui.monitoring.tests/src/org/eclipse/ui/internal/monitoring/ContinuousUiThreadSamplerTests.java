@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.monitoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.ui.internal.monitoring.ContinuousUiThreadSampler.Activity;
+import org.junit.Test;
+
+/**
+ * JUnit test for the ring buffers of the {@link ContinuousUiThreadSampler}.
+ */
+public class ContinuousUiThreadSamplerTests {
+	private static final long INTERVAL = 20;
+
+	private static StackTraceElement[] stack(String methodName) {
+		return new StackTraceElement[] { new StackTraceElement("org.example.Test", methodName, null, 1) };
+	}
+
+	@Test
+	public void testActivity() {
+		List<Long> sampled = new ArrayList<>();
+		ContinuousUiThreadSampler sampler = new ContinuousUiThreadSampler(1, INTERVAL,
+				(timestamp, stackTrace, interval) -> sampled.add(timestamp));
+		StackTraceElement[] inside = stack("inside");
+		sampler.recordSample(900, stack("before"));
+		sampler.recordSample(1000, inside);
+		sampler.recordSample(2000, stack("after"));
+		sampler.recordEvent(950, 100);
+		sampler.recordEvent(1500, 10); // shorter than the interval
+		sampler.recordEvent(1900, 200);
+
+		Activity activity = sampler.getActivity(1000, 2000);
+
+		assertEquals(1, activity.samples.size());
+		assertSame(inside, activity.samples.get(0));
+		assertEquals(1, activity.eventCount);
+		assertEquals(100, activity.eventDuration);
+		assertEquals(List.of(900L, 1000L, 2000L), sampled);
+	}
+
+	@Test
+	public void testRingBufferKeepsLatestSamples() {
+		ContinuousUiThreadSampler sampler = new ContinuousUiThreadSampler(1, INTERVAL, null);
+		for (int i = 0; i < 5000; i++) {
+			sampler.recordSample(i, stack("sample" + i));
+		}
+
+		Activity activity = sampler.getActivity(0, 5000);
+
+		assertEquals(2048, activity.samples.size());
+		assertEquals("sample2952", activity.samples.get(0)[0].getMethodName());
+		assertEquals("sample4999", activity.samples.get(2047)[0].getMethodName());
+	}
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.monitoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ui.monitoring.StackSample;
+import org.eclipse.ui.monitoring.UiFreezeEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit test for the {@link FreezeProfile}.
+ */
+public class FreezeProfileTests {
+	private static final long DAY = TimeUnit.DAYS.toMillis(1);
+	private File file;
+
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("freeze_profile", ".txt");
+		file.delete();
+	}
+
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	@Test
+	public void testFold() {
+		StackTraceElement[] stackTrace = {
+				new StackTraceElement("org.example.Leaf", "run", null, 1),
+				new StackTraceElement("org.example.Root", "main", null, 1) };
+
+		assertEquals("org.example.Root.main;org.example.Leaf.run", FreezeProfile.fold(stackTrace));
+	}
+
+	@Test
+	public void testLogEventSplitsDurationBetweenSamples() {
+		ThreadInfo thread = ManagementFactory.getThreadMXBean()
+				.getThreadInfo(Thread.currentThread().getId(), Integer.MAX_VALUE);
+		long now = System.currentTimeMillis();
+		StackSample[] samples = {
+				new StackSample(now, new ThreadInfo[] { thread }),
+				new StackSample(now + 100, new ThreadInfo[] { thread }) };
+		FreezeProfile profile = new FreezeProfile(file, 7, 1024 * 1024);
+
+		profile.log(new UiFreezeEvent(now, 501, samples, false, false, false));
+		profile.log(new UiFreezeEvent(now, 10000, samples, true, false, false));
+
+		Map<String, Long> stacks = profile.getStacks();
+		assertEquals(1, stacks.size());
+		assertEquals(Long.valueOf(501), stacks.get(FreezeProfile.fold(thread.getStackTrace())));
+		assertTrue(file.isFile());
+	}
+
+	@Test
+	public void testPersistence() throws IOException {
+		long now = System.currentTimeMillis();
+		FreezeProfile profile = new FreezeProfile(file, 7, 1024 * 1024);
+		profile.add(now, "a.A.run;b.B.run", 300);
+		profile.add(now - DAY, "a.A.run;b.B.run", 200);
+		profile.add(now, "a.A.run;c.C.run", 100);
+		profile.save();
+
+		Map<String, Long> stacks = new FreezeProfile(file, 7, 1024 * 1024).getStacks();
+		assertEquals(2, stacks.size());
+		assertEquals(Long.valueOf(500), stacks.get("a.A.run;b.B.run"));
+		assertEquals(Long.valueOf(100), stacks.get("a.A.run;c.C.run"));
+	}
+
+	@Test
+	public void testRollingWindow() throws IOException {
+		long now = System.currentTimeMillis();
+		FreezeProfile profile = new FreezeProfile(file, 2, 1024 * 1024);
+		profile.add(now - 3 * DAY, "a.A.old", 300);
+		profile.add(now - DAY, "a.A.recent", 200);
+		profile.save();
+
+		Map<String, Long> stacks = new FreezeProfile(file, 2, 1024 * 1024).getStacks();
+		assertEquals(1, stacks.size());
+		assertEquals(Long.valueOf(200), stacks.get("a.A.recent"));
+	}
+
+	@Test
+	public void testMaximumSize() throws IOException {
+		long now = System.currentTimeMillis();
+		FreezeProfile profile = new FreezeProfile(file, 7, 80);
+		profile.add(now, "a.A.heavy", 300);
+		profile.add(now, "a.A.light", 100);
+		profile.add(now, "a.A.medium", 200);
+		profile.save();
+
+		assertTrue(Files.size(file.toPath()) <= 80);
+		Map<String, Long> stacks = profile.getStacks();
+		assertEquals(2, stacks.size());
+		assertEquals(Long.valueOf(300), stacks.get("a.A.heavy"));
+		assertEquals(Long.valueOf(200), stacks.get("a.A.medium"));
+	}
+
+	@Test
+	public void testSamplesAreTrimmedWithoutSaving() {
+		long now = System.currentTimeMillis();
+		FreezeProfile profile = new FreezeProfile(file, 2, 1024);
+		StackTraceElement root = new StackTraceElement("org.example.Root", "main", null, 1);
+		profile.addSample(now - 3 * DAY, new StackTraceElement[] { root }, 10);
+		for (int i = 0; i < 10000; i++) {
+			StackTraceElement leaf = new StackTraceElement("org.example.Leaf", "run" + i, null, 1);
+			profile.addSample(now, new StackTraceElement[] { leaf, root }, i == 5000 ? 1000 : 10);
+		}
+
+		Map<String, Long> stacks = profile.getStacks();
+		assertTrue(stacks.size() < 100);
+		assertEquals(Long.valueOf(1000), stacks.get("org.example.Root.main;org.example.Leaf.run5000"));
+		assertFalse(stacks.containsKey("org.example.Root.main"));
+		assertFalse(file.exists());
+	}
+
+	@Test
+	public void testPluginStacks() throws IOException {
+		FreezeProfile profile = new FreezeProfile(file, 7, 1024 * 1024);
+		long now = System.currentTimeMillis();
+		profile.add(now, "org.a.Main.run;org.a.Loop.dispatch;org.b.Handler.execute", 300);
+		profile.add(now, "org.a.Main.run;org.a.Loop.dispatch;org.b.Handler.update", 200);
+		profile.add(now, "org.a.Main.run;org.c.Job.schedule", 100);
+
+		Map<String, Long> stacks = profile.getPluginStacks(className -> className.substring(0, 5));
+		assertEquals(2, stacks.size());
+		assertEquals(Long.valueOf(500), stacks.get("org.a;org.b"));
+		assertEquals(Long.valueOf(100), stacks.get("org.a;org.c"));
+
+		StringWriter writer = new StringWriter();
+		FreezeProfile.writeFolded(stacks, writer);
+		assertEquals("org.a;org.b 500\norg.a;org.c 100\n", writer.toString());
+	}
+}
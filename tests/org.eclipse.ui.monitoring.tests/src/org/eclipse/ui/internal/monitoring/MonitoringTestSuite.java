@@ -26,6 +26,8 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 	EventLoopMonitorThreadTests.class,
 	FilterHandlerTests.class,
-	DefaultLoggerTests.class})
+	DefaultLoggerTests.class,
+	FreezeProfileTests.class,
+	ContinuousUiThreadSamplerTests.class})
 public class MonitoringTestSuite {
 }
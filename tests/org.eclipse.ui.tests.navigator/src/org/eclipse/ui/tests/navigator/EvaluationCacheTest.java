@@ -127,6 +127,43 @@ public class EvaluationCacheTest extends NavigatorTestBase {
 		Assert.assertNull(cache.getDescriptors(key, true));
 	}
 
+	@Test
+	public void testTriggerPointAndPossibleChildAreSeparate() {
+		Object key = new Object();
+		NavigatorContentDescriptor[] value1 = new NavigatorContentDescriptor[0];
+		NavigatorContentDescriptor[] value2 = new NavigatorContentDescriptor[0];
+		cache.setDescriptors(key, value1, false, false);
+		cache.setDescriptors(key, value2, false, true);
+		Assert.assertSame(value1, cache.getDescriptors(key, false, false));
+		Assert.assertSame(value2, cache.getDescriptors(key, false, true));
+		Assert.assertNull(cache.getDescriptors(key, true, true));
+		Assert.assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEviction() {
+		INavigatorViewerDescriptor mockViewerDescript = new TestNavigatorViewerDescriptor();
+		INavigatorActivationService mockActivationService = new TestNavigatorActivationService();
+		cache = new EvaluationCache(new VisibilityAssistant(mockViewerDescript, mockActivationService), 2);
+		NavigatorContentDescriptor[] value = new NavigatorContentDescriptor[0];
+		Object key1 = new Object();
+		Object key2 = new Object();
+		Object key3 = new Object();
+		cache.setDescriptors(key1, value, false);
+		cache.setDescriptors(key2, value, false);
+		// Makes key2 the eldest entry.
+		Assert.assertSame(value, cache.getDescriptors(key1, false));
+		cache.setDescriptors(key3, value, false);
+
+		Assert.assertEquals(2, cache.size());
+		Assert.assertEquals(1, cache.getEvictionCount());
+		Assert.assertSame(value, cache.getDescriptors(key1, false));
+		Assert.assertNull(cache.getDescriptors(key2, false));
+		Assert.assertSame(value, cache.getDescriptors(key3, false));
+		Assert.assertEquals(3, cache.getHitCount());
+		Assert.assertEquals(1, cache.getMissCount());
+	}
+
 	// TODO Some way to reliably test the clearing of entries. Possibly using
 	// java.lang.ref.Reference#enqueue().
 }
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.tests.navigator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.TreeItem;
+import org.eclipse.ui.progress.PendingUpdateAdapter;
+import org.eclipse.ui.tests.navigator.extension.TestSimpleChildrenContentProvider;
+import org.eclipse.ui.tests.navigator.extension.TestSlowChildrenContentProvider;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests a viewer that asks its content extensions for children concurrently,
+ * see the <code>org.eclipse.ui.navigator.parallelContentExtensions</code>
+ * viewer property.
+ */
+public class ParallelContentTest extends NavigatorTestBase {
+
+	private static final String PENDING = new PendingUpdateAdapter().toString();
+
+	public ParallelContentTest() {
+		_navigatorInstanceId = TEST_VIEWER_PARALLEL;
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		TestSlowChildrenContentProvider.release();
+		super.tearDown();
+	}
+
+	private TreeItem expandProject() {
+		TreeItem projectItem = _viewer.getTree().getItems()[0];
+		_viewer.setExpandedState(projectItem.getData(), true);
+		return projectItem;
+	}
+
+	private void activate(String... extensionIds) {
+		_contentService.bindExtensions(extensionIds, false);
+		_contentService.getActivationService().activateExtensions(extensionIds, true);
+	}
+
+	@Test
+	public void testChildrenAreMergedInOrder() {
+		activate(COMMON_NAVIGATOR_RESOURCE_EXT, TEST_SIMPLE_CHILDREN1, TEST_SIMPLE_CHILDREN3);
+
+		TreeItem projectItem = expandProject();
+
+		assertEquals(1, projectItem.getItemCount());
+		assertEquals(PENDING, projectItem.getItems()[0].getText());
+		waitForCondition("children are computed", () -> projectItem.getItemCount() > 1);
+		assertEquals("30", projectItem.getItems()[0].getText());
+		assertEquals("10", projectItem.getItems()[TestSimpleChildrenContentProvider.NUM_ITEMS].getText());
+	}
+
+	@Test
+	public void testSlowExtensionDoesNotBlock() {
+		TestSlowChildrenContentProvider.resetTest();
+		activate(COMMON_NAVIGATOR_RESOURCE_EXT, TEST_SIMPLE_CHILDREN1, TEST_SLOW_CHILDREN);
+
+		TreeItem projectItem = expandProject();
+
+		assertFalse("expanding waited for the slow extension", TestSlowChildrenContentProvider.isReleased());
+		assertEquals(PENDING, projectItem.getItems()[0].getText());
+
+		TestSlowChildrenContentProvider.release();
+		waitForCondition("children are computed", () -> projectItem.getItemCount() > 1);
+		List<String> texts = new ArrayList<>();
+		for (TreeItem item : projectItem.getItems()) {
+			texts.add(item.getText());
+		}
+		assertTrue(texts.toString(), texts.contains("S0"));
+		assertTrue(texts.toString(), texts.contains("10"));
+		assertFalse(texts.toString(), texts.contains(PENDING));
+	}
+
+	@Test
+	public void testRefreshWhilePending() {
+		TestSlowChildrenContentProvider.resetTest();
+		activate(COMMON_NAVIGATOR_RESOURCE_EXT, TEST_SIMPLE_CHILDREN1, TEST_SLOW_CHILDREN);
+
+		TreeItem projectItem = expandProject();
+		assertEquals(PENDING, projectItem.getItems()[0].getText());
+		// asks for the children again, restarting their computation
+		_viewer.refresh(projectItem.getData());
+		assertEquals(PENDING, projectItem.getItems()[0].getText());
+
+		TestSlowChildrenContentProvider.release();
+		waitForCondition("children are computed", () -> projectItem.getItemCount() > 1);
+		for (TreeItem item : projectItem.getItems()) {
+			assertFalse(PENDING.equals(item.getText()));
+		}
+	}
+
+	@Test
+	public void testCollapseWhilePending() {
+		TestSlowChildrenContentProvider.resetTest();
+		activate(COMMON_NAVIGATOR_RESOURCE_EXT, TEST_SIMPLE_CHILDREN1, TEST_SLOW_CHILDREN);
+
+		TreeItem projectItem = expandProject();
+		assertEquals(PENDING, projectItem.getItems()[0].getText());
+		Event event = new Event();
+		event.item = projectItem;
+		_viewer.getTree().notifyListeners(SWT.Collapse, event);
+		projectItem.setExpanded(false);
+
+		TestSlowChildrenContentProvider.release();
+		waitForCondition("the pending node is dropped",
+				() -> projectItem.getItemCount() == 1 && projectItem.getItems()[0].getData() == null);
+
+		expandProject();
+		waitForCondition("children are computed again", () -> projectItem.getItemCount() > 1);
+		for (TreeItem item : projectItem.getItems()) {
+			assertFalse(PENDING.equals(item.getText()));
+		}
+	}
+
+}
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.tests.navigator.extension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provides its children only once {@link #release()} is called, or after a
+ * minute.
+ */
+public class TestSlowChildrenContentProvider extends TestSimpleChildrenContentProvider {
+
+	private static CountDownLatch _latch = new CountDownLatch(1);
+
+	public TestSlowChildrenContentProvider() {
+		_name = "S";
+	}
+
+	public static void resetTest() {
+		_latch = new CountDownLatch(1);
+	}
+
+	public static void release() {
+		_latch.countDown();
+	}
+
+	public static boolean isReleased() {
+		return _latch.getCount() == 0;
+	}
+
+	@Override
+	public Object[] getChildren(Object parentElement) {
+		try {
+			_latch.await(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return super.getChildren(parentElement);
+	}
+
+}
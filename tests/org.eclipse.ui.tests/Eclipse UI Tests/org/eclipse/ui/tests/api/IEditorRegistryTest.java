@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -620,6 +620,63 @@ public class IEditorRegistryTest {
 		}
 	}
 
+	@Test
+	public void testLookupByFileNameUpdated() {
+		EditorRegistry registry = (EditorRegistry) fReg;
+		FileEditorMapping mapping = new FileEditorMapping(null, "testLookupByFileName");
+		EditorDescriptor editor1 = (EditorDescriptor) fReg.findEditor(MockEditorPart.ID1);
+		EditorDescriptor editor2 = (EditorDescriptor) fReg.findEditor(MockEditorPart.ID2);
+		mapping.addEditor(editor1);
+		mapping.addEditor(editor2);
+		FileEditorMapping[] src = (FileEditorMapping[]) fReg.getFileEditorMappings();
+		FileEditorMapping[] maps = Arrays.copyOf(src, src.length + 1);
+		maps[maps.length - 1] = mapping;
+		try {
+			registry.setFileEditorMappings(maps);
+			assertEquals(editor1, fReg.getDefaultEditor("a.testLookupByFileName"));
+			assertEquals(editor1.getImageDescriptor(), fReg.getImageDescriptor("a.testLookupByFileName"));
+
+			// the looked up editors are not shared with the caller
+			IEditorDescriptor[] editors = fReg.getEditors("a.testLookupByFileName");
+			assertArrayEquals(new IEditorDescriptor[] { editor1, editor2 }, editors);
+			editors[0] = null;
+			assertEquals(editor1, fReg.getEditors("a.testLookupByFileName")[0]);
+
+			registry.setDefaultEditor("*.testLookupByFileName", editor2);
+			assertEquals(editor2, fReg.getDefaultEditor("a.testLookupByFileName"));
+			assertEquals(editor2, fReg.getEditors("a.testLookupByFileName")[0]);
+		} finally {
+			registry.setFileEditorMappings(src);
+		}
+		assertNull(fReg.getDefaultEditor("a.testLookupByFileName"));
+	}
+
+	@Test
+	public void testLookupByExtensionAndWholeFileName() {
+		EditorRegistry registry = (EditorRegistry) fReg;
+		FileEditorMapping extensionMapping = new FileEditorMapping(null, "testLookupByExtension");
+		FileEditorMapping nameMapping = new FileEditorMapping("bound", "testLookupByExtension");
+		EditorDescriptor editor1 = (EditorDescriptor) fReg.findEditor(MockEditorPart.ID1);
+		EditorDescriptor editor2 = (EditorDescriptor) fReg.findEditor(MockEditorPart.ID2);
+		extensionMapping.addEditor(editor1);
+		nameMapping.addEditor(editor2);
+		FileEditorMapping[] src = (FileEditorMapping[]) fReg.getFileEditorMappings();
+		FileEditorMapping[] maps = Arrays.copyOf(src, src.length + 2);
+		maps[maps.length - 2] = extensionMapping;
+		maps[maps.length - 1] = nameMapping;
+		try {
+			registry.setFileEditorMappings(maps);
+			assertEquals(editor1, fReg.getDefaultEditor("a.testLookupByExtension"));
+			// the names sharing the extension share the result, unless they are bound
+			assertEquals(editor1, fReg.getDefaultEditor("b.testLookupByExtension"));
+			assertEquals(editor2, fReg.getDefaultEditor("bound.testLookupByExtension"));
+			assertEquals(editor2, fReg.getEditors("bound.testLookupByExtension")[0]);
+			assertEquals(editor1, fReg.getEditors("c.testLookupByExtension")[0]);
+		} finally {
+			registry.setFileEditorMappings(src);
+		}
+	}
+
 	@Test
 	public void testAddContentTypeBinding_bug502837() {
 		IEditorDescriptor[] editors = fReg.getEditors("blah.bug502837");
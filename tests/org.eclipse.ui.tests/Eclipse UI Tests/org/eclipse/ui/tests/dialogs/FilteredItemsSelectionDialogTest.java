@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.tests.dialogs;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.dialogs.DialogSettings;
+import org.eclipse.jface.dialogs.IDialogSettings;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.Text;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.dialogs.FilteredItemsSelectionDialog;
+import org.eclipse.ui.internal.dialogs.IConcurrentItemsFilter;
+import org.eclipse.ui.internal.dialogs.TopItemsSelector;
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
+import org.eclipse.ui.tests.harness.util.UITestCase;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests filtering large numbers of items in a
+ * {@link FilteredItemsSelectionDialog}.
+ */
+@RunWith(JUnit4.class)
+public class FilteredItemsSelectionDialogTest extends UITestCase {
+
+	private static final int ITEM_COUNT = 20000;
+
+	public FilteredItemsSelectionDialogTest() {
+		super(FilteredItemsSelectionDialogTest.class.getSimpleName());
+	}
+
+	@Test
+	public void testSelectFirstReturnsSmallestItemsInOrder() {
+		Integer[] values = new Integer[5000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = Integer.valueOf(i);
+		}
+		shuffle(values);
+		Object[] items = values.clone();
+
+		Object[] first = TopItemsSelector.selectFirst(items, 100, comparingInts());
+
+		assertEquals(100, first.length);
+		for (int i = 0; i < first.length; i++) {
+			assertEquals(Integer.valueOf(i), first[i]);
+		}
+		assertArrayEquals("input is not modified", values, items);
+	}
+
+	@Test
+	public void testSelectFirstWithFewItems() {
+		Object[] items = { 3, 1, 2 };
+		assertArrayEquals(new Object[] { 1, 2, 3 }, TopItemsSelector.selectFirst(items, 10, comparingInts()));
+		assertEquals(0, TopItemsSelector.selectFirst(items, 0, comparingInts()).length);
+	}
+
+	@Test
+	public void testNarrowLargeResultConcurrently() {
+		assertNarrowing(true);
+	}
+
+	@Test
+	public void testNarrowLargeResult() {
+		assertNarrowing(false);
+	}
+
+	/**
+	 * Types a pattern that matches half of the items, then narrows it down and
+	 * checks that only the cached result is matched again, and that the shown
+	 * items are the matching ones in sort order.
+	 */
+	private void assertNarrowing(boolean concurrent) {
+		StringItemsDialog dialog = new StringItemsDialog(
+				PlatformUI.getWorkbench().getActiveWorkbenchWindow().getShell(), concurrent);
+		dialog.setBlockOnOpen(false);
+		try {
+			dialog.open();
+			Table table = findTable(dialog.getShell());
+			Text pattern = (Text) dialog.getPatternControl();
+
+			pattern.setText("item1"); //$NON-NLS-1$
+			assertTrue(DisplayHelper.waitForCondition(table.getDisplay(), 10000,
+					() -> table.getItemCount() == 10000 && dialog.isIdle()));
+			assertEquals("item10000", table.getItem(0).getData()); //$NON-NLS-1$
+
+			dialog.matchCount.set(0);
+			pattern.setText("item12"); //$NON-NLS-1$
+			assertTrue(DisplayHelper.waitForCondition(table.getDisplay(), 10000,
+					() -> table.getItemCount() == 1000 && dialog.isIdle()));
+			assertEquals("only the cached result is matched again", 10000, dialog.matchCount.get()); //$NON-NLS-1$
+			for (int i = 0; i < 1000; i++) {
+				assertEquals(String.format("item%05d", Integer.valueOf(12000 + i)), table.getItem(i).getData()); //$NON-NLS-1$
+			}
+		} finally {
+			dialog.close();
+		}
+	}
+
+	private static Table findTable(Control control) {
+		if (control instanceof Table table) {
+			return table;
+		}
+		if (control instanceof Composite composite) {
+			for (Control child : composite.getChildren()) {
+				Table table = findTable(child);
+				if (table != null) {
+					return table;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static Comparator<Object> comparingInts() {
+		return (a, b) -> Integer.compare((Integer) a, (Integer) b);
+	}
+
+	private static void shuffle(Object[] values) {
+		Random random = new Random(42);
+		for (int i = values.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			Object value = values[i];
+			values[i] = values[j];
+			values[j] = value;
+		}
+	}
+
+	private static class StringItemsDialog extends FilteredItemsSelectionDialog {
+
+		private final boolean concurrent;
+
+		final AtomicInteger matchCount = new AtomicInteger();
+
+		private final AtomicInteger runningFills = new AtomicInteger();
+
+		StringItemsDialog(Shell shell, boolean concurrent) {
+			super(shell);
+			this.concurrent = concurrent;
+			setListLabelProvider(new LabelProvider());
+			setDetailsLabelProvider(new LabelProvider());
+		}
+
+		boolean isIdle() {
+			return runningFills.get() == 0;
+		}
+
+		@Override
+		protected Control createExtendedContentArea(Composite parent) {
+			return null;
+		}
+
+		@Override
+		protected IDialogSettings getDialogSettings() {
+			return new DialogSettings(getClass().getSimpleName());
+		}
+
+		@Override
+		protected IStatus validateItem(Object item) {
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		protected ItemsFilter createFilter() {
+			return concurrent ? new ConcurrentStringFilter() : new StringFilter();
+		}
+
+		@Override
+		protected Comparator<Object> getItemsComparator() {
+			return Comparator.comparing(String.class::cast);
+		}
+
+		@Override
+		protected void fillContentProvider(AbstractContentProvider contentProvider, ItemsFilter itemsFilter,
+				IProgressMonitor progressMonitor) {
+			runningFills.incrementAndGet();
+			try {
+				// add in an order that differs from the sort order
+				Integer[] indexes = new Integer[ITEM_COUNT];
+				for (int i = 0; i < ITEM_COUNT; i++) {
+					indexes[i] = Integer.valueOf(i);
+				}
+				shuffle(indexes);
+				for (Integer index : Arrays.asList(indexes)) {
+					contentProvider.add(String.format("item%05d", index), itemsFilter); //$NON-NLS-1$
+				}
+			} finally {
+				runningFills.decrementAndGet();
+			}
+		}
+
+		@Override
+		public String getElementName(Object item) {
+			return (String) item;
+		}
+
+		private class StringFilter extends ItemsFilter {
+
+			@Override
+			public boolean matchItem(Object item) {
+				matchCount.incrementAndGet();
+				return matches((String) item);
+			}
+
+			@Override
+			public boolean isConsistentItem(Object item) {
+				return true;
+			}
+		}
+
+		private final class ConcurrentStringFilter extends StringFilter implements IConcurrentItemsFilter {
+			// matching only reads the immutable pattern
+		}
+	}
+}
@@ -23,7 +23,7 @@ import org.junit.runners.Suite;
 		DeprecatedUIWizardsAuto.class, UIPreferencesAuto.class, UIComparePreferencesAuto.class,
 		DeprecatedUIPreferencesAuto.class, UIMessageDialogsAuto.class, UINewWorkingSetWizardAuto.class,
 		UIEditWorkingSetWizardAuto.class, SearchPatternAuto.class, InfixSearchPatternAuto.class,
-		UIFilteredResourcesSelectionDialogAuto.class,
+		UIFilteredResourcesSelectionDialogAuto.class, FilteredItemsSelectionDialogTest.class,
 		TreeManagerTest.class, ContainerCheckedTreeViewerTest.class })
 public class UIAutomatedSuite {
 
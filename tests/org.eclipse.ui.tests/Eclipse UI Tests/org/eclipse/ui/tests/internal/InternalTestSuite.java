@@ -27,6 +27,8 @@ import org.eclipse.ui.tests.markers.MarkerSupportViewTest;
 import org.eclipse.ui.tests.markers.MarkerTesterTest;
 import org.eclipse.ui.tests.markers.MarkerViewTests;
 import org.eclipse.ui.tests.markers.MarkerViewUtilTest;
+import org.eclipse.ui.tests.markers.MarkersIncrementalUpdateTest;
+import org.eclipse.ui.tests.markers.MarkersViewUpdateTest;
 import org.eclipse.ui.tests.markers.ResourceMappingMarkersTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -45,6 +47,8 @@ import org.junit.runners.Suite;
 	MarkerSupportRegistryTests.class,
 	MarkerSupportViewTest.class,
 	MarkerSortUtilTest.class,
+	MarkersIncrementalUpdateTest.class,
+	MarkersViewUpdateTest.class,
 	MarkerViewTests.class,
 	MarkerViewUtilTest.class,
 	MarkerHelpRegistryTest.class,
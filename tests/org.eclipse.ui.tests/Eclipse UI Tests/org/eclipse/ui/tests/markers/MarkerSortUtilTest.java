@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,11 @@
 
 package org.eclipse.ui.tests.markers;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
 
 import org.eclipse.ui.internal.views.markers.MarkerSortUtil;
 import org.eclipse.ui.internal.views.markers.MockMarkerEntry;
@@ -68,6 +71,30 @@ public class MarkerSortUtilTest extends UITestCase {
 		}
 	}
 
+	@Test
+	public void testMergeSorted() {
+		Comparator<MarkerItem> comparator = (o1, o2) -> ((MockMarkerEntry) o1).name
+				.compareTo(((MockMarkerEntry) o2).name);
+		MockMarkerEntry[] entries = { new MockMarkerEntry("z"), new MockMarkerEntry("a"),
+				new MockMarkerEntry("c"), new MockMarkerEntry("e"), new MockMarkerEntry("g"),
+				new MockMarkerEntry("a") };
+		Predicate<Object> removed = entry -> entry == entries[2];
+		List<MockMarkerEntry> added = Arrays.asList(new MockMarkerEntry("b"), new MockMarkerEntry("e"),
+				new MockMarkerEntry("h"));
+		List<Object> result = new ArrayList<>();
+
+		// only the range [1,4] is merged
+		MarkerSortUtil.mergeSorted(entries, 1, 4, removed, added, comparator, result);
+
+		assertEquals(6, result.size());
+		String[] names = { "a", "b", "e", "e", "g", "h" };
+		for (int i = 0; i < names.length; i++) {
+			assertEquals(names[i], ((MockMarkerEntry) result.get(i)).name);
+		}
+		// the entries of the array come before equal added entries
+		assertSame(entries[3], result.get(2));
+		assertSame(added.get(1), result.get(3));
+	}
 
 	/**
 	 * Generate a large sized array for sorting
@@ -0,0 +1,331 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.tests.markers;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.internal.views.markers.CachedMarkerBuilder;
+import org.eclipse.ui.internal.views.markers.ExtendedMarkersView;
+import org.eclipse.ui.tests.harness.util.FileUtil;
+import org.eclipse.ui.tests.harness.util.UITestCase;
+import org.eclipse.ui.views.markers.MarkerItem;
+import org.eclipse.ui.views.markers.internal.MarkerGroupingEntry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests applying marker updates to the sorted and grouped markers of a markers
+ * view with the IncrementUpdateJob instead of gathering all markers again.
+ * The builder is never started, so the queued updates are only applied when
+ * the test runs the job.
+ */
+@RunWith(JUnit4.class)
+public class MarkersIncrementalUpdateTest extends UITestCase {
+
+	private static final String PACKAGE = "org.eclipse.ui.internal.views.markers.";
+
+	private static final String ERRORS = "org.eclipse.ui.ide.errorSeverity";
+
+	private static final String WARNINGS = "org.eclipse.ui.ide.warningSeverity";
+
+	private static final String INFOS = "org.eclipse.ui.ide.infoSeverity";
+
+	private IProject project;
+
+	private IFile file;
+
+	private MarkersTestMarkersView view;
+
+	private CachedMarkerBuilder builder;
+
+	private Job incrementJob;
+
+	public MarkersIncrementalUpdateTest() {
+		super(MarkersIncrementalUpdateTest.class.getSimpleName());
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		project = FileUtil.createProject("MarkersIncrementalUpdateTest");
+		file = FileUtil.createFile("file.txt", project);
+		createMarker("error a", IMarker.SEVERITY_ERROR);
+		createMarker("error c", IMarker.SEVERITY_ERROR);
+		createMarker("warning a", IMarker.SEVERITY_WARNING);
+		createMarker("warning b", IMarker.SEVERITY_WARNING);
+
+		IWorkbenchPage page = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+		view = (MarkersTestMarkersView) page.showView("org.eclipse.ui.tests.markerTests");
+
+		// a builder of its own that shares the generator of the view
+		builder = new CachedMarkerBuilder(view);
+		setField(builder, "generator", MarkerSupportViewTest.getMarkerContentGenerator(view));
+		invoke(builder, "restoreState", (Object) null);
+		Constructor<?> constructor = internalClass("IncrementUpdateJob")
+				.getDeclaredConstructor(CachedMarkerBuilder.class);
+		constructor.setAccessible(true);
+		incrementJob = (Job) constructor.newInstance(builder);
+		setField(builder, "incrementJob", incrementJob);
+
+		invoke(getMarkers(), "updateWithNewMarkers", createEntries(findMarkers()), Boolean.TRUE,
+				new NullProgressMonitor());
+		assertEquals(Arrays.asList(ERRORS + ": error a, error c", WARNINGS + ": warning a, warning b"),
+				getCategoryContents());
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		if (view != null) {
+			view.getSite().getPage().hideView(view);
+		}
+		if (project != null) {
+			FileUtil.deleteProject(project);
+		}
+		super.doTearDown();
+	}
+
+	@Test
+	public void testCategoriesAppearAndDisappear() throws Exception {
+		IMarker[] warnings = findMarkers("warning a", "warning b");
+		Collection<Object> removed = createEntries(warnings);
+		for (IMarker warning : warnings) {
+			warning.delete();
+		}
+		IMarker info = createMarker("info a", IMarker.SEVERITY_INFO);
+
+		applyUpdate(createEntries(info), removed, Collections.emptyList());
+
+		List<String> contents = getCategoryContents();
+		assertEquals(Arrays.asList(ERRORS + ": error a, error c", INFOS + ": info a"), contents);
+		assertEquals(contents, getRebuiltCategoryContents());
+	}
+
+	@Test
+	public void testChangedMarkerMovesToOtherCategory() throws Exception {
+		IMarker changed = findMarkers("error c")[0];
+		changed.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_WARNING);
+		IMarker added = createMarker("error b", IMarker.SEVERITY_ERROR);
+
+		applyUpdate(createEntries(added), Collections.emptyList(), createEntries(changed));
+
+		List<String> contents = getCategoryContents();
+		assertEquals(2, contents.size());
+		assertTrue(contents.get(0), contents.get(0).startsWith(ERRORS + ":"));
+		assertFalse(contents.get(0), contents.get(0).contains("error c"));
+		assertTrue(contents.get(1), contents.get(1).startsWith(WARNINGS + ":"));
+		assertTrue(contents.get(1), contents.get(1).contains("error c"));
+		assertEquals(contents, getRebuiltCategoryContents());
+	}
+
+	@Test
+	public void testRepeatedUpdateHasNoEffect() throws Exception {
+		IMarker added = createMarker("error b", IMarker.SEVERITY_ERROR);
+		Collection<Object> entries = createEntries(added);
+
+		applyUpdate(entries, Collections.emptyList(), Collections.emptyList());
+		List<String> contents = getCategoryContents();
+		// the gathered markers may already include a marker whose delta follows
+		applyUpdate(entries, Collections.emptyList(), Collections.emptyList());
+
+		assertEquals(contents, getCategoryContents());
+		assertEquals(5, ((Object[]) invoke(getMarkers(), "getMarkerEntryArray")).length);
+	}
+
+	@Test
+	public void testGroupingChangeFallsBackToFullUpdate() throws Exception {
+		invoke(builder, "setCategoryGroup", (Object) null);
+		IMarker added = createMarker("error b", IMarker.SEVERITY_ERROR);
+
+		applyUpdate(createEntries(added), Collections.emptyList(), Collections.emptyList());
+
+		assertEquals("markers are gathered without categories", 0,
+				((Object[]) invoke(getMarkers(), "getCategories")).length);
+		Set<IMarker> shown = new HashSet<>();
+		for (Object entry : (Object[]) invoke(getMarkers(), "getMarkerEntryArray")) {
+			IMarker marker = ((MarkerItem) entry).getMarker();
+			if (marker != null && project.equals(marker.getResource().getProject())) {
+				shown.add(marker);
+			}
+		}
+		assertEquals(new HashSet<>(Arrays.asList(findMarkers())), shown);
+	}
+
+	@Test
+	public void testUpdatesQueuedWhileInactive() throws Exception {
+		assertFalse((Boolean) invoke(builder, "isActive"));
+		IMarker added = createMarker("info a", IMarker.SEVERITY_INFO);
+		IMarker changed = findMarkers("warning b")[0];
+		changed.setAttribute(IMarker.MESSAGE, "warning d");
+
+		invoke(builder, "incrementalUpdate",
+				createUpdate(createEntries(added), Collections.emptyList(), Collections.emptyList()));
+		invoke(builder, "incrementalUpdate",
+				createUpdate(Collections.emptyList(), Collections.emptyList(), createEntries(changed)));
+
+		assertEquals("inactive views do not apply updates", Job.NONE, incrementJob.getState());
+		assertEquals(Arrays.asList(ERRORS + ": error a, error c", WARNINGS + ": warning a, warning b"),
+				getCategoryContents());
+
+		assertEquals(IStatus.OK, runIncrementJob().getSeverity());
+		List<String> contents = getCategoryContents();
+		assertEquals(Arrays.asList(ERRORS + ": error a, error c", WARNINGS + ": warning a, warning d",
+				INFOS + ": info a"), contents);
+		assertEquals(contents, getRebuiltCategoryContents());
+	}
+
+	private IMarker createMarker(String message, int severity) throws CoreException {
+		IMarker marker = file.createMarker(IMarker.PROBLEM);
+		marker.setAttribute(IMarker.MESSAGE, message);
+		marker.setAttribute(IMarker.SEVERITY, severity);
+		return marker;
+	}
+
+	private IMarker[] findMarkers(String... messages) throws CoreException {
+		IMarker[] markers = project.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE);
+		if (messages.length == 0) {
+			return markers;
+		}
+		List<String> wanted = Arrays.asList(messages);
+		List<IMarker> result = new ArrayList<>();
+		for (IMarker marker : markers) {
+			if (wanted.contains(marker.getAttribute(IMarker.MESSAGE, ""))) {
+				result.add(marker);
+			}
+		}
+		assertEquals(messages.length, result.size());
+		return result.toArray(new IMarker[result.size()]);
+	}
+
+	/**
+	 * Queues the update and runs the increment job the way the marker listener
+	 * does.
+	 */
+	private void applyUpdate(Collection<Object> added, Collection<Object> removed, Collection<Object> changed)
+			throws Exception {
+		invoke(builder, "incrementalUpdate", createUpdate(added, removed, changed));
+		assertEquals(IStatus.OK, runIncrementJob().getSeverity());
+	}
+
+	private IStatus runIncrementJob() throws Exception {
+		return (IStatus) invoke(incrementJob, "run", new NullProgressMonitor());
+	}
+
+	/**
+	 * Returns the categories and the messages of their markers, sorting and
+	 * grouping all markers of the project again.
+	 */
+	private List<String> getRebuiltCategoryContents() throws Exception {
+		invoke(getMarkers(), "updateWithNewMarkers", createEntries(findMarkers()), Boolean.TRUE,
+				new NullProgressMonitor());
+		return getCategoryContents();
+	}
+
+	/**
+	 * Returns the grouping entry of each category followed by the messages of
+	 * its markers.
+	 */
+	private List<String> getCategoryContents() throws Exception {
+		List<String> contents = new ArrayList<>();
+		for (Object category : (Object[]) invoke(getMarkers(), "getCategories")) {
+			MarkerGroupingEntry groupingEntry = (MarkerGroupingEntry) getField(category, "groupingEntry");
+			StringBuilder content = new StringBuilder(groupingEntry.getId()).append(':');
+			Object[] children = (Object[]) invoke(category, "getChildren");
+			for (int i = 0; i < children.length; i++) {
+				content.append(i == 0 ? " " : ", ");
+				content.append(((MarkerItem) children[i]).getMarker().getAttribute(IMarker.MESSAGE, ""));
+			}
+			contents.add(content.toString());
+		}
+		return contents;
+	}
+
+	private Object getMarkers() throws Exception {
+		return invoke(builder, "getMarkers");
+	}
+
+	private static Collection<Object> createEntries(IMarker... markers) throws Exception {
+		Constructor<?> constructor = internalClass("MarkerEntry").getDeclaredConstructor(IMarker.class);
+		constructor.setAccessible(true);
+		Collection<Object> entries = new ArrayList<>();
+		for (IMarker marker : markers) {
+			entries.add(constructor.newInstance(marker));
+		}
+		return entries;
+	}
+
+	private static Object createUpdate(Collection<Object> added, Collection<Object> removed,
+			Collection<Object> changed) throws Exception {
+		Constructor<?> constructor = internalClass("MarkerUpdate").getDeclaredConstructor(Collection.class,
+				Collection.class, Collection.class);
+		constructor.setAccessible(true);
+		return constructor.newInstance(added, removed, changed);
+	}
+
+	private static Class<?> internalClass(String name) throws ClassNotFoundException {
+		return Class.forName(PACKAGE + name, true, ExtendedMarkersView.class.getClassLoader());
+	}
+
+	private static Object invoke(Object target, String name, Object... args) throws Exception {
+		for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+			for (Method method : type.getDeclaredMethods()) {
+				if (method.getName().equals(name) && method.getParameterCount() == args.length) {
+					method.setAccessible(true);
+					try {
+						return method.invoke(target, args);
+					} catch (InvocationTargetException e) {
+						if (e.getCause() instanceof Exception) {
+							throw (Exception) e.getCause();
+						}
+						throw e;
+					}
+				}
+			}
+		}
+		throw new NoSuchMethodException(name);
+	}
+
+	private static Object getField(Object target, String name) throws Exception {
+		Field field = target.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		return field.get(target);
+	}
+
+	private static void setField(Object target, String name, Object value) throws Exception {
+		Field field = target.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(target, value);
+	}
+}
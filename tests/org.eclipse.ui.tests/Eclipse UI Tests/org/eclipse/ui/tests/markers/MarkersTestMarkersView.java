@@ -128,12 +128,18 @@ public class MarkersTestMarkersView extends MarkerSupportView {
 	}
 
 	private Tree getTreeWidget() {
-		TreeViewer viewer;
+		TreeViewer viewer = getTreeViewer();
+		return viewer == null ? null : viewer.getTree();
+	}
+
+	/**
+	 * Return the viewer of the receiver.
+	 */
+	public TreeViewer getTreeViewer() {
 		try {
 			Method m = ExtendedMarkersView.class.getDeclaredMethod("getViewer");
 			m.setAccessible(true);
-			viewer = (TreeViewer) m.invoke(this);
-			return viewer.getTree();
+			return (TreeViewer) m.invoke(this);
 		} catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException
 				| InvocationTargetException e) {
 			e.printStackTrace();
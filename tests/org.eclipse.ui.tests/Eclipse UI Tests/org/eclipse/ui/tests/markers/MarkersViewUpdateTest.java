@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.tests.markers;
+
+import java.util.Arrays;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.swt.widgets.TreeItem;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.tests.harness.util.FileUtil;
+import org.eclipse.ui.tests.harness.util.UITestCase;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests that updates of a markers view keep the items of the categories that
+ * did not change.
+ */
+@RunWith(JUnit4.class)
+public class MarkersViewUpdateTest extends UITestCase {
+
+	private static final long TIMEOUT = 30000;
+
+	private IProject project;
+
+	private IFile file;
+
+	private MarkersTestMarkersView view;
+
+	public MarkersViewUpdateTest() {
+		super(MarkersViewUpdateTest.class.getSimpleName());
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		project = FileUtil.createProject("MarkersViewUpdateTest");
+		file = FileUtil.createFile("file.txt", project);
+		IWorkbenchPage page = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+		view = (MarkersTestMarkersView) page.showView("org.eclipse.ui.tests.markerTests");
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		if (view != null) {
+			view.getSite().getPage().hideView(view);
+		}
+		if (project != null) {
+			FileUtil.deleteProject(project);
+		}
+		super.doTearDown();
+	}
+
+	@Test
+	public void testUnchangedCategoryKeepsItsItem() throws Exception {
+		createMarker("error a", IMarker.SEVERITY_ERROR);
+		createMarker("warning a", IMarker.SEVERITY_WARNING);
+		TreeViewer viewer = view.getTreeViewer();
+		waitForUpdate(() -> {
+			viewer.expandAll();
+			return findItem(viewer.getTree().getItems(), "error a") != null
+					&& findItem(viewer.getTree().getItems(), "warning a") != null;
+		});
+		TreeItem errors = findItem(viewer.getTree().getItems(), "error a").getParentItem();
+		assertNotNull(errors);
+		TreeItem[] errorChildren = errors.getItems();
+		Object category = errors.getData();
+		viewer.getTree().setSelection(errors);
+
+		createMarker("warning b", IMarker.SEVERITY_WARNING);
+		waitForUpdate(() -> findItem(viewer.getTree().getItems(), "warning b") != null);
+
+		assertSame("the item of the unchanged category is kept", errors,
+				findItem(viewer.getTree().getItems(), "error a").getParentItem());
+		assertEquals(category, errors.getData());
+		assertTrue(errors.getExpanded());
+		assertTrue("the items of its markers are kept", Arrays.equals(errorChildren, errors.getItems()));
+		assertEquals(Arrays.asList(errors), Arrays.asList(viewer.getTree().getSelection()));
+	}
+
+	private void createMarker(String message, int severity) throws CoreException {
+		IMarker marker = file.createMarker(IMarker.PROBLEM);
+		marker.setAttribute(IMarker.MESSAGE, message);
+		marker.setAttribute(IMarker.SEVERITY, severity);
+	}
+
+	/**
+	 * Waits until the condition holds and the view has no updates running.
+	 */
+	private void waitForUpdate(Condition condition) {
+		assertTrue("view was not updated", processEventsUntil(
+				() -> Job.getJobManager().find(view.MARKERSVIEW_UPDATE_JOB_FAMILY).length == 0
+						&& condition.compute(),
+				TIMEOUT));
+	}
+
+	private static TreeItem findItem(TreeItem[] items, String text) {
+		for (TreeItem item : items) {
+			if (text.equals(item.getText())) {
+				return item;
+			}
+			TreeItem found = findItem(item.getItems(), text);
+			if (found != null) {
+				return found;
+			}
+		}
+		return null;
+	}
+}
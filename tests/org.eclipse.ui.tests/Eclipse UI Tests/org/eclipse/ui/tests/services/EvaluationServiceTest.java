@@ -542,6 +542,107 @@ public class EvaluationServiceTest extends UITestCase {
 		assertEquals(2, listener.count);
 	}
 
+	@Test
+	public void testPropertyChangeEqualExpressions() throws Exception {
+		IWorkbenchWindow window = openTestWindow();
+		IEvaluationService service = window
+				.getService(IEvaluationService.class);
+		assertNotNull(service);
+		IConfigurationElement element = null;
+		IConfigurationElement[] elements = Platform.getExtensionRegistry()
+				.getConfigurationElementsFor("org.eclipse.core.expressions.definitions");
+		for (int i = 0; i < elements.length && element == null; i++) {
+			if (elements[i].getAttribute("id").equals(
+					"org.eclipse.ui.tests.defWithPropertyTester")) {
+				element = elements[i];
+			}
+		}
+
+		assertNotNull(element);
+		StaticVarPropertyTester.result = false;
+		MyEval listener1 = new MyEval();
+		MyEval listener2 = new MyEval();
+		IEvaluationReference ref1 = service.addEvaluationListener(
+				ExpressionConverter.getDefault().perform(element.getChildren()[0]),
+				listener1, IEvaluationService.RESULT);
+		IEvaluationReference ref2 = service.addEvaluationListener(
+				ExpressionConverter.getDefault().perform(element.getChildren()[0]),
+				listener2, IEvaluationService.RESULT);
+		try {
+			assertFalse(listener1.currentValue);
+			assertFalse(listener2.currentValue);
+
+			StaticVarPropertyTester.result = true;
+			service.requestEvaluation("org.eclipse.ui.tests.unrelated");
+			assertFalse(listener1.currentValue);
+			assertFalse(listener2.currentValue);
+
+			service.requestEvaluation("org.eclipse.ui.tests.class.method");
+			assertTrue(listener1.currentValue);
+			assertTrue(listener2.currentValue);
+			assertEquals(2, listener1.count);
+			assertEquals(2, listener2.count);
+		} finally {
+			service.removeEvaluationListener(ref1);
+			service.removeEvaluationListener(ref2);
+			StaticVarPropertyTester.result = false;
+		}
+	}
+
+	@Test
+	public void testVariableChangeEqualExpressions() throws Exception {
+		IWorkbenchWindow window = openTestWindow();
+		waitForJobs(500, 5000);
+
+		boolean activeShell = forceActive(window.getShell());
+		Assume.assumeTrue(activeShell);
+
+		IEvaluationService service = window
+				.getService(IEvaluationService.class);
+		assertNotNull(service);
+
+		ActiveContextExpression expression = new ActiveContextExpression(CONTEXT_ID1,
+				new String[] { ISources.ACTIVE_CONTEXT_NAME });
+		MyEval listener1 = new MyEval();
+		MyEval listener2 = new MyEval();
+		IContextActivation context1 = null;
+		IEvaluationReference ref1 = null;
+		IEvaluationReference ref2 = null;
+		IContextService contextService = window.getService(IContextService.class);
+		try {
+			ref1 = service.addEvaluationListener(expression, listener1, IEvaluationService.RESULT);
+			ref2 = service.addEvaluationListener(expression, listener2, IEvaluationService.RESULT);
+			assertFalse(listener1.currentValue);
+			assertFalse(listener2.currentValue);
+
+			// both references keep tracking the variable after each change
+			for (int i = 0; i < 2; i++) {
+				context1 = contextService.activateContext(CONTEXT_ID1);
+				processEvents();
+				assertTrue(listener1.currentValue);
+				assertTrue(listener2.currentValue);
+
+				contextService.deactivateContext(context1);
+				context1 = null;
+				processEvents();
+				assertFalse(listener1.currentValue);
+				assertFalse(listener2.currentValue);
+			}
+			assertEquals(5, listener1.count);
+			assertEquals(5, listener2.count);
+		} finally {
+			if (context1 != null) {
+				contextService.deactivateContext(context1);
+			}
+			if (ref1 != null) {
+				service.removeEvaluationListener(ref1);
+			}
+			if (ref2 != null) {
+				service.removeEvaluationListener(ref2);
+			}
+		}
+	}
+
 	@Test
 	public void testPlatformProperty() throws Exception {
 		IEvaluationService evaluationService = PlatformUI
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.workbench.texteditor.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IRegion;
+
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DJBHashFunction;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocumentEquivalenceClass;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.IHashFunction;
+
+/**
+ * Tests for the {@link DocumentEquivalenceClass}.
+ */
+public class DocumentEquivalenceClassTest {
+
+	private final IHashFunction fHashFunction= new DJBHashFunction();
+
+	@Test
+	public void computeHashesMatchesLineContents() throws Exception {
+		StringBuilder contents= new StringBuilder();
+		String[] delimiters= { "\n", "\r\n", "\r" };
+		for (int i= 0; i < 25000; i++) {
+			contents.append("line ").append(i % 1000);
+			contents.append(delimiters[i % delimiters.length]);
+		}
+		Document document= new Document(contents.toString());
+
+		DocumentEquivalenceClass equivalenceClass= new DocumentEquivalenceClass(document, fHashFunction);
+		equivalenceClass.computeHashes();
+
+		assertEquals(document.getNumberOfLines(), equivalenceClass.getCount());
+		for (int line= 0; line < document.getNumberOfLines(); line++) {
+			IRegion region= document.getLineInformation(line);
+			String lineContents= document.get(region.getOffset(), region.getLength());
+			assertEquals(fHashFunction.computeHash(lineContents), equivalenceClass.getHash(line));
+		}
+	}
+
+	@Test
+	public void computeHashesOnSmallDocument() throws Exception {
+		Document document= new Document("a\nb\na");
+
+		DocumentEquivalenceClass equivalenceClass= new DocumentEquivalenceClass(document, fHashFunction);
+		equivalenceClass.computeHashes();
+
+		assertEquals(3, equivalenceClass.getCount());
+		assertEquals(equivalenceClass.getHash(0), equivalenceClass.getHash(2));
+	}
+
+}
@@ -14,15 +14,23 @@
 package org.eclipse.ui.workbench.texteditor.tests;
 
 import static org.eclipse.jface.text.DocumentRewriteSessionType.SEQUENTIAL;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.List;
+
 import org.junit.Test;
 
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 
 import org.eclipse.ui.internal.texteditor.quickdiff.DocumentLineDiffer;
+import org.eclipse.ui.internal.texteditor.quickdiff.QuickDiffRangeDifference;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DJBHashFunction;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocumentEquivalenceClass;
+
+import org.eclipse.compare.rangedifferencer.RangeDifference;
 
 /**
  * Tests for the {@link DocumentLineDiffer}.
@@ -169,4 +177,113 @@ public class DocumentLineDifferTest {
 		assertFalse(fLineDiffer.isSuspended());
 	}
 
+	/**
+	 * Test that identical documents result in a single unchanged range, without consulting the
+	 * range differencer.
+	 *
+	 * @throws Exception unexpected exception
+	 */
+	@Test
+	public void findRangesOnIdenticalDocuments() throws Exception {
+		List<QuickDiffRangeDifference> diffs= findRanges("a\nb\nc\n", "a\nb\nc\n");
+
+		assertEquals(1, diffs.size());
+		assertRange(diffs.get(0), RangeDifference.NOCHANGE, 0, 4, 0, 4);
+	}
+
+	/**
+	 * Test that a change in the middle of the documents is surrounded by the trimmed common prefix
+	 * and suffix.
+	 *
+	 * @throws Exception unexpected exception
+	 */
+	@Test
+	public void findRangesTrimsCommonPrefixAndSuffix() throws Exception {
+		List<QuickDiffRangeDifference> diffs= findRanges("a\nb\nc\nd\ne", "a\nb\nX\nY\nd\ne");
+
+		assertEquals(3, diffs.size());
+		assertRange(diffs.get(0), RangeDifference.NOCHANGE, 0, 2, 0, 2);
+		assertRange(diffs.get(1), RangeDifference.CHANGE, 2, 2, 2, 1);
+		assertRange(diffs.get(2), RangeDifference.NOCHANGE, 4, 2, 3, 2);
+	}
+
+	/**
+	 * Test that lines appended to the end of a document are reported after the common prefix.
+	 *
+	 * @throws Exception unexpected exception
+	 */
+	@Test
+	public void findRangesWithAppendedLines() throws Exception {
+		List<QuickDiffRangeDifference> diffs= findRanges("a\nb\n", "a\nb\nc\nd\n");
+
+		assertEquals(3, diffs.size());
+		assertRange(diffs.get(0), RangeDifference.NOCHANGE, 0, 2, 0, 2);
+		assertRange(diffs.get(1), RangeDifference.CHANGE, 2, 2, 2, 0);
+		assertRange(diffs.get(2), RangeDifference.NOCHANGE, 4, 1, 2, 1);
+	}
+
+	/**
+	 * Test that lines removed from the start of a document are reported before the common suffix.
+	 *
+	 * @throws Exception unexpected exception
+	 */
+	@Test
+	public void findRangesWithRemovedLeadingLines() throws Exception {
+		List<QuickDiffRangeDifference> diffs= findRanges("x\ny\na\nb", "a\nb");
+
+		assertEquals(2, diffs.size());
+		assertRange(diffs.get(0), RangeDifference.CHANGE, 0, 0, 0, 2);
+		assertRange(diffs.get(1), RangeDifference.NOCHANGE, 0, 2, 2, 2);
+	}
+
+	/**
+	 * Test that the ranges computed with prefix and suffix trimming are contiguous and cover both
+	 * documents, when unchanged lines also occur inside the changed window.
+	 *
+	 * @throws Exception unexpected exception
+	 */
+	@Test
+	public void findRangesCoversBothDocuments() throws Exception {
+		StringBuilder left= new StringBuilder();
+		StringBuilder right= new StringBuilder();
+		for (int i= 0; i < 200; i++) {
+			left.append("line ").append(i).append('\n');
+			if (i % 37 == 5)
+				right.append("changed ").append(i).append('\n');
+			else if (i % 53 != 7)
+				right.append("line ").append(i).append('\n');
+		}
+		List<QuickDiffRangeDifference> diffs= findRanges(left.toString(), right.toString());
+
+		int leftEnd= 0;
+		int rightEnd= 0;
+		for (QuickDiffRangeDifference diff : diffs) {
+			assertEquals(leftEnd, diff.leftStart());
+			assertEquals(rightEnd, diff.rightStart());
+			leftEnd= diff.leftEnd();
+			rightEnd= diff.rightEnd();
+		}
+		assertEquals(new Document(left.toString()).getNumberOfLines(), leftEnd);
+		assertEquals(new Document(right.toString()).getNumberOfLines(), rightEnd);
+		assertEquals(RangeDifference.NOCHANGE, diffs.get(0).kind());
+		assertEquals(RangeDifference.NOCHANGE, diffs.get(diffs.size() - 1).kind());
+	}
+
+	private List<QuickDiffRangeDifference> findRanges(String left, String right) {
+		DJBHashFunction hash= new DJBHashFunction();
+		DocumentEquivalenceClass leftEquivalent= new DocumentEquivalenceClass(new Document(left), hash);
+		DocumentEquivalenceClass rightEquivalent= new DocumentEquivalenceClass(new Document(right), hash);
+		leftEquivalent.computeHashes();
+		rightEquivalent.computeHashes();
+		return fLineDiffer.findRanges(null, leftEquivalent, rightEquivalent);
+	}
+
+	private static void assertRange(RangeDifference diff, int kind, int rightStart, int rightLength, int leftStart, int leftLength) {
+		assertEquals(kind, diff.kind());
+		assertEquals(rightStart, diff.rightStart());
+		assertEquals(rightLength, diff.rightLength());
+		assertEquals(leftStart, diff.leftStart());
+		assertEquals(leftLength, diff.leftLength());
+	}
+
 }